@@ -0,0 +1,398 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.jose;
+
+import java.lang.reflect.Method;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ietf.jose.jwt.JwtClaims;
+import org.ietf.jose.jwt.JwtSigner;
+import org.ietf.jose.jwt.JwtVerifier;
+
+/**
+ * An asynchronous facade for the JWS, JWE and JWT utilities.
+ * <p>
+ * Every method runs the corresponding synchronous utility method on the
+ * configured executor and returns a {@link CompletableFuture} of its result.
+ * A failure (e.g. an invalid signature) completes the future exceptionally
+ * with the exception thrown by the utility method; it is not wrapped. This
+ * keeps CPU bound cryptography (RSA signatures, key unwrapping) off
+ * event-loop and I/O threads:
+ * <pre>
+ *   AsyncJoseUtility.getInstance()
+ *     .verifyJwt(token, publicKey)
+ *     .whenComplete((claims, failure) -&gt; respond(claims, failure));
+ * </pre>
+ * <p>
+ * The default executor runs each task on a virtual thread when the runtime
+ * supports them (JDK 21 and later). On earlier runtimes it is a bounded pool
+ * of daemon threads, one per available processor, with a bounded task queue.
+ * A task rejected by a full queue completes exceptionally with a
+ * {@link RejectedExecutionException}.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public class AsyncJoseUtility {
+
+  /**
+   * The maximum number of tasks queued by the bounded default executor.
+   */
+  private static final int QUEUE_CAPACITY = 4096;
+  /**
+   * Seconds after which an idle thread of the bounded default executor ends.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  /**
+   * Lazily created default instance.
+   */
+  private static final class DefaultInstance {
+
+    private static final AsyncJoseUtility INSTANCE = new AsyncJoseUtility(createDefaultExecutor());
+  }
+
+  /**
+   * The executor that runs the utility methods.
+   */
+  private final Executor executor;
+
+  /**
+   * Construct a new asynchronous facade.
+   *
+   * @param executor the executor that runs the utility methods
+   */
+  public AsyncJoseUtility(Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "executor");
+  }
+
+  /**
+   * Get the shared asynchronous facade on the default executor.
+   *
+   * @return the shared instance
+   */
+  public static AsyncJoseUtility getInstance() {
+    return DefaultInstance.INSTANCE;
+  }
+
+  /**
+   * Create the default executor: a virtual thread per task executor if
+   * available, otherwise a bounded pool of daemon threads.
+   *
+   * @return a new executor service
+   */
+  static ExecutorService createDefaultExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      /**
+       * Virtual threads are not available (JDK 20 and earlier).
+       */
+    }
+    AtomicInteger count = new AtomicInteger();
+    int threads = Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                                                     KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                                     new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                                                     runnable -> {
+                                                       Thread thread = new Thread(runnable, "jose-async-" + count.incrementAndGet());
+                                                       thread.setDaemon(true);
+                                                       return thread;
+                                                     });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * Get the executor that runs the utility methods.
+   *
+   * @return the executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Run a task on the executor. The returned future completes with the task
+   * result, or exceptionally with the exception thrown by the task or by the
+   * executor.
+   *
+   * @param <T>  the result type
+   * @param task the task
+   * @return a future of the task result
+   */
+  public <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+    Objects.requireNonNull(task, "task");
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        try {
+          future.complete(task.call());
+        } catch (Throwable ex) {
+          future.completeExceptionally(ex);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      future.completeExceptionally(ex);
+    }
+    return future;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="JWS">
+  /**
+   * Sign an object as a compact JWS.
+   *
+   * @param object the object to be signed
+   * @param key    a private or secret key
+   * @param keyId  the key ID. Can be null.
+   * @return a future of the compact JWS
+   * @see JwsUtility#sign(java.lang.Object, java.security.Key, java.lang.String)
+   */
+  public CompletableFuture<String> signJws(Object object, Key key, String keyId) {
+    return supplyAsync(() -> JwsUtility.sign(object, key, keyId));
+  }
+
+  /**
+   * Sign an object as a compact JWS with a shared secret.
+   *
+   * @param object       the object to be signed
+   * @param sharedSecret a shared secret
+   * @param keyId        the key ID. Can be null.
+   * @return a future of the compact JWS
+   * @see JwsUtility#sign(java.lang.Object, java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<String> signJws(Object object, String sharedSecret, String keyId) {
+    return supplyAsync(() -> JwsUtility.sign(object, sharedSecret, keyId));
+  }
+
+  /**
+   * Verify a JWS and read its payload.
+   *
+   * @param <T>            the payload type
+   * @param compactFormJws a compact-form JWS string
+   * @param type           the payload type
+   * @param key            a public or secret key
+   * @return a future of the payload
+   * @see JwsUtility#verify(java.lang.String, java.lang.Class, java.security.Key)
+   */
+  public <T> CompletableFuture<T> verifyJws(String compactFormJws, Class<T> type, Key key) {
+    return supplyAsync(() -> JwsUtility.verify(compactFormJws, type, key));
+  }
+
+  /**
+   * Verify a JWS with a shared secret and read its payload.
+   *
+   * @param <T>          the payload type
+   * @param jwsText      a compact-form JWS string
+   * @param type         the payload type
+   * @param sharedSecret a shared secret
+   * @return a future of the payload
+   * @see JwsUtility#verify(java.lang.String, java.lang.Class, java.lang.String)
+   */
+  public <T> CompletableFuture<T> verifyJws(String jwsText, Class<T> type, String sharedSecret) {
+    return supplyAsync(() -> JwsUtility.verify(jwsText, type, sharedSecret));
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="JWE">
+  /**
+   * Encrypt an object as a compact JWE.
+   *
+   * @param object the object to be encrypted
+   * @param key    the recipient public key or a secret key
+   * @param keyId  the key ID. Can be null.
+   * @return a future of the compact JWE
+   * @see JweUtility#encrypt(java.lang.Object, java.security.Key, java.lang.String)
+   */
+  public CompletableFuture<String> encryptJwe(Object object, Key key, String keyId) {
+    return supplyAsync(() -> JweUtility.encrypt(object, key, keyId));
+  }
+
+  /**
+   * Encrypt an object as a compact JWE with a shared secret.
+   *
+   * @param object       the object to be encrypted
+   * @param sharedSecret a shared secret
+   * @param keyId        the key ID. Can be null.
+   * @return a future of the compact JWE
+   * @see JweUtility#encrypt(java.lang.Object, java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<String> encryptJwe(Object object, String sharedSecret, String keyId) {
+    return supplyAsync(() -> JweUtility.encrypt(object, sharedSecret, keyId));
+  }
+
+  /**
+   * Decrypt a JWE and read its payload.
+   *
+   * @param <T>     the payload type
+   * @param jweText a compact-form JWE string
+   * @param type    the payload type
+   * @param key     the recipient private key or a secret key
+   * @return a future of the payload
+   * @see JweUtility#decrypt(java.lang.String, java.lang.Class, java.security.Key)
+   */
+  public <T> CompletableFuture<T> decryptJwe(String jweText, Class<T> type, Key key) {
+    return supplyAsync(() -> JweUtility.decrypt(jweText, type, key));
+  }
+
+  /**
+   * Decrypt a JWE with a shared secret and read its payload.
+   *
+   * @param <T>          the payload type
+   * @param jweText      a compact-form JWE string
+   * @param type         the payload type
+   * @param sharedSecret a shared secret
+   * @return a future of the payload
+   * @see JweUtility#decrypt(java.lang.String, java.lang.Class, java.lang.String)
+   */
+  public <T> CompletableFuture<T> decryptJwe(String jweText, Class<T> type, String sharedSecret) {
+    return supplyAsync(() -> JweUtility.decrypt(jweText, type, sharedSecret));
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="JWT">
+  /**
+   * Create a JWT signed with a keyed hash (HMAC).
+   *
+   * @param claims       the JWT claims
+   * @param sharedSecret a shared secret
+   * @param keyId        the key ID. Can be null.
+   * @return a future of the compact JWT
+   * @see JwtUtility#sign(org.ietf.jose.jwt.JwtClaims, java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<String> signJwt(JwtClaims claims, String sharedSecret, String keyId) {
+    return supplyAsync(() -> JwtUtility.sign(claims, sharedSecret, keyId));
+  }
+
+  /**
+   * Create a JWT signed with a private key.
+   *
+   * @param claims     the JWT claims
+   * @param privateKey the signing private key
+   * @param keyId      the key ID. Can be null.
+   * @return a future of the compact JWT
+   * @see JwtUtility#sign(org.ietf.jose.jwt.JwtClaims, java.security.PrivateKey, java.lang.String)
+   */
+  public CompletableFuture<String> signJwt(JwtClaims claims, PrivateKey privateKey, String keyId) {
+    return supplyAsync(() -> JwtUtility.sign(claims, privateKey, keyId));
+  }
+
+  /**
+   * Create a JWT with a prepared signer.
+   *
+   * @param signer the JWT signer
+   * @param claims the JWT claims
+   * @return a future of the compact JWT
+   * @see JwtSigner#sign(org.ietf.jose.jwt.JwtClaims)
+   */
+  public CompletableFuture<String> signJwt(JwtSigner signer, JwtClaims claims) {
+    return supplyAsync(() -> signer.sign(claims));
+  }
+
+  /**
+   * Verify a JWT signed with a keyed hash (HMAC).
+   *
+   * @param compactFormJws a compact-form JWT
+   * @param sharedSecret   the shared secret
+   * @return a future of the JWT claims
+   * @see JwtUtility#verifySignature(java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<JwtClaims> verifyJwt(String compactFormJws, String sharedSecret) {
+    return supplyAsync(() -> JwtUtility.verifySignature(compactFormJws, sharedSecret));
+  }
+
+  /**
+   * Verify a JWT signed with a private key.
+   *
+   * @param compactFormJws a compact-form JWT
+   * @param publicKey      the signer public key
+   * @return a future of the JWT claims
+   * @see JwtUtility#verifySignature(java.lang.String, java.security.PublicKey)
+   */
+  public CompletableFuture<JwtClaims> verifyJwt(String compactFormJws, PublicKey publicKey) {
+    return supplyAsync(() -> JwtUtility.verifySignature(compactFormJws, publicKey));
+  }
+
+  /**
+   * Verify a JWT with a prepared verifier. A failure completes the future
+   * with a {@link org.ietf.jose.jwt.JwtVerificationException}.
+   *
+   * @param verifier   the JWT verifier
+   * @param compactJwt a compact-form JWT
+   * @return a future of the JWT claims
+   * @see JwtVerifier#verify(java.lang.CharSequence)
+   */
+  public CompletableFuture<JwtClaims> verifyJwt(JwtVerifier verifier, CharSequence compactJwt) {
+    return supplyAsync(() -> verifier.verify(compactJwt));
+  }
+
+  /**
+   * Create a JWT encrypted with a shared secret.
+   *
+   * @param claims       the JWT claims
+   * @param sharedSecret a shared secret
+   * @param keyId        the key ID. Can be null.
+   * @return a future of the compact JWE
+   * @see JwtUtility#encrypt(org.ietf.jose.jwt.JwtClaims, java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<String> encryptJwt(JwtClaims claims, String sharedSecret, String keyId) {
+    return supplyAsync(() -> JwtUtility.encrypt(claims, sharedSecret, keyId));
+  }
+
+  /**
+   * Create a JWT encrypted with a recipient public key.
+   *
+   * @param claims             the JWT claims
+   * @param recipientPublicKey the recipient public key
+   * @param recipientKeyId     the key ID. Can be null.
+   * @return a future of the compact JWE
+   * @see JwtUtility#encrypt(org.ietf.jose.jwt.JwtClaims, java.security.PublicKey, java.lang.String)
+   */
+  public CompletableFuture<String> encryptJwt(JwtClaims claims, PublicKey recipientPublicKey, String recipientKeyId) {
+    return supplyAsync(() -> JwtUtility.encrypt(claims, recipientPublicKey, recipientKeyId));
+  }
+
+  /**
+   * Decrypt an encrypted JWT.
+   *
+   * @param compactFormJwe a compact-form JWE
+   * @param key            the recipient private key or a secret key
+   * @return a future of the JWT claims
+   * @see JwtUtility#decrypt(java.lang.String, java.security.Key)
+   */
+  public CompletableFuture<JwtClaims> decryptJwt(String compactFormJwe, Key key) {
+    return supplyAsync(() -> JwtUtility.decrypt(compactFormJwe, key));
+  }
+
+  /**
+   * Decrypt a JWT encrypted with a shared secret.
+   *
+   * @param compactFormJwe a compact-form JWE
+   * @param sharedSecret   the shared secret
+   * @return a future of the JWT claims
+   * @see JwtUtility#decrypt(java.lang.String, java.lang.String)
+   */
+  public CompletableFuture<JwtClaims> decryptJwt(String compactFormJwe, String sharedSecret) {
+    return supplyAsync(() -> JwtUtility.decrypt(compactFormJwe, sharedSecret));
+  }//</editor-fold>
+
+}
@@ -61,6 +61,10 @@ public class JoseFactory {
    * The Key Bridge JOSE profile.
    */
   private static final JoseProfile PROFILE = new KeyBridgeJoseProfile();
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
 
   /**
    * Build, verify and decode Javascript Web Encryption objects.
@@ -227,7 +231,7 @@ public class JoseFactory {
           return null;
         }
         String mainPayload = jws.getStringPayload();
-        return new JsonbUtility().unmarshal(mainPayload, type);
+        return JSONB.unmarshal(mainPayload, type);
       } catch (IOException | GeneralSecurityException e) {
         LOG.log(Level.SEVERE, null, e);
       }
@@ -271,7 +275,7 @@ public class JoseFactory {
           return null;
         }
         String mainPayload = jws.getStringPayload();
-        return new JsonbUtility().unmarshal(mainPayload, type);
+        return JSONB.unmarshal(mainPayload, type);
       } catch (IOException | GeneralSecurityException e) {
         LOG.log(Level.SEVERE, null, e);
       }
@@ -304,7 +308,7 @@ public class JoseFactory {
      */
     public static String write(Object object, PrivateKey senderPrivateKey, PublicKey publicKey, String signatureKeyId, String encryptionKeyId) {
       try {
-        String jsonPayload = new JsonbUtility().marshal(object);
+        String jsonPayload = JSONB.marshal(object);
 
         JsonWebSignature jws = JwsBuilder.getInstance().withStringPayload(jsonPayload)
           .sign(senderPrivateKey, PROFILE.getSignatureAlgAsymmetric(), signatureKeyId)
@@ -333,7 +337,7 @@ public class JoseFactory {
      */
     public static String write(Object object, SecretKey secretKey, String keyId) {
       try {
-        String jsonPayload = new JsonbUtility().marshal(object);
+        String jsonPayload = JSONB.marshal(object);
 
         JsonWebSignature jws = JwsBuilder.getInstance()
           .withStringPayload(jsonPayload)
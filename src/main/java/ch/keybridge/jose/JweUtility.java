@@ -48,6 +48,11 @@ import org.ietf.jose.util.JsonbUtility;
  */
 public class JweUtility {
 
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+
   /**
    * Converts a JWE compact serialization string into a JWE instance.
    * <p>
@@ -77,10 +82,10 @@ public class JweUtility {
    */
   public static <T> T decrypt(String jweText, Class<T> type, Key key) throws IOException, GeneralSecurityException {
     JsonWebEncryption jwe = parsJsonWebEncryption(jweText); // throws IOException
-    String jsonPayload = JweDecryptor.createFor(jwe)
+    byte[] jsonPayload = JweDecryptor.createFor(jwe)
       .decrypt(key) // throws GeneralSecurityException
-      .getAsString();
-    return new JsonbUtility().unmarshal(jsonPayload, type);
+      .getAsBytes();
+    return JSONB.unmarshal(jsonPayload, type);
   }
 
   /**
@@ -111,10 +116,10 @@ public class JweUtility {
    */
   public static <T> T decrypt(String jweText, Class<T> type, String sharedSecret) throws IOException, GeneralSecurityException {
     JsonWebEncryption jwe = parsJsonWebEncryption(jweText); // throws IOException
-    String jsonPayload = JweDecryptor.createFor(jwe)
+    byte[] jsonPayload = JweDecryptor.createFor(jwe)
       .decrypt(sharedSecret) // throws GeneralSecurityException
-      .getAsString();
-    return new JsonbUtility().unmarshal(jsonPayload, type);
+      .getAsBytes();
+    return JSONB.unmarshal(jsonPayload, type);
   }
 
   /**
@@ -132,9 +137,9 @@ public class JweUtility {
    * @throws GeneralSecurityException in case of failure to encrypt
    */
   public static String encrypt(Object object, Key key, String keyId) throws IOException, GeneralSecurityException {
-    String jsonPayload = new JsonbUtility().marshal(object);
+    byte[] jsonPayload = JSONB.marshalToBytes(object);
     return JweBuilder.getInstance()
-      .withStringPayload(jsonPayload)
+      .withBinaryPayload(jsonPayload)
       .withKey(key, keyId)
       .build(); // throws IOException, GeneralSecurityException
   }
@@ -154,10 +159,10 @@ public class JweUtility {
    * @throws GeneralSecurityException in case of failure to encrypt
    */
   public static String encrypt(Object object, String sharedSecret, String keyId) throws IOException, GeneralSecurityException {
-    String jsonPayload = new JsonbUtility().marshal(object);
+    byte[] jsonPayload = JSONB.marshalToBytes(object);
     SecretKey secretKey = SecretKeyBuilder.fromSharedSecret(sharedSecret);
     return JweBuilder.getInstance()
-      .withStringPayload(jsonPayload)
+      .withBinaryPayload(jsonPayload)
       .withKey(secretKey, keyId)
       .build(); // throws IOException, GeneralSecurityException
   }
@@ -47,6 +47,11 @@ import org.ietf.jose.util.JsonbUtility;
  */
 public class JwsUtility {
 
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+
   /**
    * Build a Json Web Signature compact string: a string which contains the
    * payload and a single signature. Writes and returns the serialiezd object as
@@ -65,9 +70,9 @@ public class JwsUtility {
    * @throws GeneralSecurityException in case of failure to sign
    */
   public static String sign(Object object, Key key, String keyId) throws IOException, GeneralSecurityException {
-    String jsonPayload = new JsonbUtility().marshal(object);
+    byte[] jsonPayload = JSONB.marshalToBytes(object);
     return JwsBuilder.getInstance()
-      .withStringPayload(jsonPayload)
+      .withBinaryPayload(jsonPayload)
       .withKey(key, keyId)
       .sign() // throws IOException, GeneralSecurityException
       .build();
@@ -91,9 +96,9 @@ public class JwsUtility {
    * @throws GeneralSecurityException in case of failure to sign
    */
   public static String sign(Object object, String sharedSecret, String keyId) throws IOException, GeneralSecurityException {
-    String jsonPayload = new JsonbUtility().marshal(object);
+    byte[] jsonPayload = JSONB.marshalToBytes(object);
     return JwsBuilder.getInstance()
-      .withStringPayload(jsonPayload)
+      .withBinaryPayload(jsonPayload)
       .withKey(SecretKeyBuilder.fromSharedSecret(sharedSecret), keyId)
       .sign() // throws IOException, GeneralSecurityException
       .build();
@@ -115,11 +120,11 @@ public class JwsUtility {
    */
   public static <T> T verify(String compactFormJws, Class<T> type, Key key) throws IOException, GeneralSecurityException {
     JsonWebSignature jws = parseJsonWebSignature(compactFormJws);
-    String jsonText = jws.getStringPayload();
+    byte[] jsonText = jws.getPayload();
     if (!SignatureValidator.isValid(jws, key)) {
       throw new GeneralSecurityException("Invalid signature");
     }
-    return new JsonbUtility().unmarshal(jsonText, type);
+    return JSONB.unmarshal(jsonText, type);
   }
 
   /**
@@ -138,11 +143,11 @@ public class JwsUtility {
    */
   public static <T> T verify(String jwsText, Class<T> type, String sharedSecret) throws IOException, GeneralSecurityException {
     JsonWebSignature jws = parseJsonWebSignature(jwsText);
-    String jsonText = jws.getStringPayload();
+    byte[] jsonText = jws.getPayload();
     if (!SignatureValidator.isValid(jws, SecretKeyBuilder.fromSharedSecret(sharedSecret))) {
       throw new GeneralSecurityException("Invalid signature");
     }
-    return new JsonbUtility().unmarshal(jsonText, type);
+    return JSONB.unmarshal(jsonText, type);
   }
 
   /**
@@ -199,7 +199,7 @@ public class JwtUtility {
    */
   public static JwtClaims decrypt(String compactFormJwe, Key key) throws Exception {
     JsonWebEncryption jwe = JwtReader.read(compactFormJwe).getJsonWebEncryption();
-    String json = JweDecryptor.createFor(jwe).decrypt(key).getAsString();
+    byte[] json = JweDecryptor.createFor(jwe).decrypt(key).getAsBytes();
     return JwtClaims.fromJson(json);
   }
 
@@ -214,7 +214,7 @@ public class JwtUtility {
    */
   public static JwtClaims decrypt(String compactFormJwe, String sharedSecret) throws Exception {
     JsonWebEncryption jwe = JwtReader.read(compactFormJwe).getJsonWebEncryption();
-    String json = JweDecryptor.createFor(jwe).decrypt(sharedSecret).getAsString();
+    byte[] json = JweDecryptor.createFor(jwe).decrypt(sharedSecret).getAsBytes();
     return JwtClaims.fromJson(json);
   }
 
@@ -240,7 +240,7 @@ public class JwtUtility {
       .sign(secretKey, PROFILE.getSignatureAlgSymmetric(), keyId)
       .buildJsonWebSignature();
     return JweBuilder.getInstance()
-      .withStringPayload(jws.toJson())
+      .withBinaryPayload(jws.toJsonBytes())
       .withKey(secretKey, keyId)
       .build();
   }
@@ -281,7 +281,7 @@ public class JwtUtility {
       .sign(senderPrivateKey, PROFILE.getSignatureAlgAsymmetric(), senderKeyId)
       .buildJsonWebSignature();
     return JweBuilder.getInstance()
-      .withStringPayload(jws.toJson())
+      .withBinaryPayload(jws.toJsonBytes())
       .withKey(recipientPublicKey, recipientKeyId)
       .build();
 
@@ -302,7 +302,7 @@ public class JwtUtility {
   public static JwtClaims decryptAndVerifySignature(String compactFormJwe, String sharedSecret) throws GeneralSecurityException, IOException, Exception {
     final SecretKey secretKey = SecretKeyBuilder.fromSharedSecret(sharedSecret);
     JsonWebEncryption jwe = JsonWebEncryption.fromCompactForm(compactFormJwe);
-    String payload = JweDecryptor.createFor(jwe).decrypt(sharedSecret).getAsString(); // throws GeneralSecurityException
+    byte[] payload = JweDecryptor.createFor(jwe).decrypt(sharedSecret).getAsBytes(); // throws GeneralSecurityException
     JsonWebSignature jws = JsonWebSignature.fromJson(payload); // throws IOException
     if (jws.getSignatures().isEmpty()) {
       throw new GeneralSecurityException("A JWS must have at least one signature");
@@ -334,9 +334,9 @@ public class JwtUtility {
                                                     PrivateKey recipientPrivateKey,
                                                     PublicKey senderPublicKey) throws GeneralSecurityException, IOException, Exception {
     JsonWebEncryption jwe = JsonWebEncryption.fromCompactForm(compactFormJwe);
-    String payload = JweDecryptor.createFor(jwe)
+    byte[] payload = JweDecryptor.createFor(jwe)
       .decrypt(recipientPrivateKey)
-      .getAsString();
+      .getAsBytes();
     JsonWebSignature jws = JsonWebSignature.fromJson(payload);
     if (jws.getSignatures().isEmpty()) {
       throw new GeneralSecurityException("A JWS must have at least one signature");
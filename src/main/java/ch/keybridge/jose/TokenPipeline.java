@@ -0,0 +1,617 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.jose;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwe.JsonWebEncryption;
+import org.ietf.jose.jwe.JweDecryptor;
+import org.ietf.jose.jws.JsonWebSignature;
+import org.ietf.jose.jws.SignatureValidator;
+import org.ietf.jose.jwt.JwtClaims;
+import org.ietf.jose.util.JsonbUtility;
+
+/**
+ * A staged, backpressured pipeline that decrypts, verifies and binds signed
+ * and encrypted messages, such as the output of
+ * {@link JwtUtility#signAndEncrypt(org.ietf.jose.jwt.JwtClaims, java.security.PrivateKey, java.security.PublicKey, java.lang.String, java.lang.String)}.
+ * <p>
+ * Each message passes through five stages:
+ * <ol>
+ * <li>{@link Stage#PARSE} the compact or JSON JWE,</li>
+ * <li>{@link Stage#UNWRAP} the content encryption key,</li>
+ * <li>{@link Stage#DECRYPT} the JWE ciphertext,</li>
+ * <li>{@link Stage#VERIFY} the enclosed JWS signature, and</li>
+ * <li>{@link Stage#BIND} the JWS payload to the result type.</li>
+ * </ol>
+ * Every stage has its own bounded queue and a configurable number of worker
+ * threads. A worker blocks when the queue of the next stage is full, so a slow
+ * stage (typically the RSA key unwrap) throttles the stages before it and,
+ * ultimately, {@link #submit(String)}. Memory use is therefore bounded by the
+ * queue capacities regardless of the arrival rate. Each result, or the first
+ * failure of a message, is delivered to the listener from the worker thread
+ * that produced it; results are not ordered.
+ * <pre>
+ *   try (TokenPipeline&lt;JwtClaims&gt; pipeline = TokenPipeline.builder(JwtClaims.class)
+ *     .withDecryptionKey(recipientPrivateKey)
+ *     .withVerificationKey(senderPublicKey)
+ *     .withParallelism(TokenPipeline.Stage.UNWRAP, 4)
+ *     .withListener((message, claims, failure) -&gt; handle(claims, failure))
+ *     .build()) {
+ *     for (String message : queue) {
+ *       pipeline.submit(message); // blocks while the pipeline is full
+ *     }
+ *   } // close() waits for every submitted message to complete
+ * </pre>
+ * <p>
+ * Workers run on virtual threads when the runtime supports them (JDK 21 and
+ * later) and on daemon platform threads otherwise, unless a thread factory is
+ * configured. Per-stage counters report the processed and failed messages,
+ * the queue length and the time spent in each stage.
+ *
+ * @author Key Bridge
+ * @param <T> the payload type
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class TokenPipeline<T> implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(TokenPipeline.class.getName());
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+  /**
+   * The default capacity of each stage queue.
+   */
+  private static final int DEFAULT_QUEUE_CAPACITY = 256;
+  /**
+   * Signals a worker to stop. It is queued after every submitted message.
+   */
+  private static final Work END = new Work(null);
+
+  /**
+   * The pipeline stages, in processing order.
+   */
+  public enum Stage {
+    /**
+     * Parse the compact or JSON JWE.
+     */
+    PARSE,
+    /**
+     * Unwrap the JWE content encryption key.
+     */
+    UNWRAP,
+    /**
+     * Decrypt the JWE ciphertext.
+     */
+    DECRYPT,
+    /**
+     * Verify the signature of the enclosed JWS.
+     */
+    VERIFY,
+    /**
+     * Bind the JWS payload to the result type.
+     */
+    BIND
+  }
+
+  /**
+   * Receives the outcome of each message.
+   *
+   * @param <T> the payload type
+   */
+  @FunctionalInterface
+  public interface Listener<T> {
+
+    /**
+     * Called once for each submitted message.
+     *
+     * @param message the submitted message
+     * @param payload the bound payload, or null if processing failed
+     * @param failure the processing failure, or null if processing succeeded
+     */
+    void onResult(String message, T payload, Exception failure);
+  }
+
+  /**
+   * A message in flight and its intermediate results.
+   */
+  private static final class Work {
+
+    private final String message;
+    private JweDecryptor decryptor;
+    private SecretKey contentEncryptionKey;
+    private byte[] plaintext;
+    private JsonWebSignature jws;
+    private Object payload;
+
+    private Work(String message) {
+      this.message = message;
+    }
+  }
+
+  /**
+   * The queue, workers and counters of one stage.
+   */
+  private final class StageRunner {
+
+    private final Stage stage;
+    private final BlockingQueue<Work> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    /**
+     * The number of workers still running.
+     */
+    private final AtomicInteger running;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    /**
+     * The next stage. Null for the last stage.
+     */
+    private StageRunner next;
+
+    private StageRunner(Stage stage, int parallelism, int capacity, ThreadFactory threadFactory) {
+      this.stage = stage;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.running = new AtomicInteger(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        Thread worker = threadFactory.newThread(this::run);
+        worker.setName("token-pipeline-" + stage.name().toLowerCase() + "-" + i);
+        workers.add(worker);
+      }
+    }
+
+    private void run() {
+      try {
+        Work work;
+        while ((work = queue.take()) != END) {
+          long start = System.nanoTime();
+          try {
+            process(stage, work);
+            processed.increment();
+          } catch (Exception ex) {
+            failed.increment();
+            deliver(work, ex);
+            continue;
+          } finally {
+            busyNanos.add(System.nanoTime() - start);
+          }
+          if (next == null) {
+            deliver(work, null);
+          } else {
+            next.queue.put(work);
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        /**
+         * The last worker of a stage to stop has forwarded every message, so
+         * the next stage may now be told to stop.
+         */
+        if (running.decrementAndGet() == 0 && next != null) {
+          next.end();
+        }
+      }
+    }
+
+    /**
+     * Queue one end signal per worker, after all queued messages.
+     */
+    private void end() {
+      try {
+        for (int i = 0; i < workers.size(); i++) {
+          queue.put(END);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        workers.forEach(Thread::interrupt);
+      }
+    }
+  }
+
+  /**
+   * The JWE decryption key.
+   */
+  private final Key decryptionKey;
+  /**
+   * The JWS verification key.
+   */
+  private final Key verificationKey;
+  /**
+   * The payload type.
+   */
+  private final Class<T> type;
+  /**
+   * The result listener.
+   */
+  private final Listener<? super T> listener;
+  /**
+   * The stages, in processing order.
+   */
+  private final Map<Stage, StageRunner> stages = new EnumMap<>(Stage.class);
+  /**
+   * Set when the pipeline stops accepting messages.
+   */
+  private volatile boolean closed;
+  /**
+   * Orders submissions against close: a message is queued under the read lock
+   * and the end signal under the write lock, so no message can be queued
+   * behind the end signal.
+   */
+  private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+  private TokenPipeline(Builder<T> builder) {
+    this.type = builder.type;
+    this.decryptionKey = Objects.requireNonNull(builder.decryptionKey, "decryptionKey");
+    this.verificationKey = Objects.requireNonNull(builder.verificationKey, "verificationKey");
+    this.listener = Objects.requireNonNull(builder.listener, "listener");
+    ThreadFactory threadFactory = builder.threadFactory != null ? builder.threadFactory : defaultThreadFactory();
+    StageRunner previous = null;
+    for (Stage stage : Stage.values()) {
+      StageRunner runner = new StageRunner(stage, builder.parallelism.get(stage), builder.queueCapacity, threadFactory);
+      if (previous != null) {
+        previous.next = runner;
+      }
+      stages.put(stage, runner);
+      previous = runner;
+    }
+    stages.values().forEach(runner -> runner.workers.forEach(Thread::start));
+  }
+
+  /**
+   * Get a new pipeline builder.
+   *
+   * @param <T>  the payload type
+   * @param type the payload type
+   * @return a new builder
+   */
+  public static <T> Builder<T> builder(Class<T> type) {
+    return new Builder<>(type);
+  }
+
+  /**
+   * Submit a message, waiting if the first stage queue is full. A concurrent
+   * {@link #close()} waits until the message is queued.
+   *
+   * @param message a compact or JSON JWE containing a JWS
+   * @throws InterruptedException  if interrupted while waiting
+   * @throws IllegalStateException if the pipeline is closed
+   */
+  public void submit(String message) throws InterruptedException {
+    Work work = new Work(Objects.requireNonNull(message, "message"));
+    Lock lock = submitLock.readLock();
+    lock.lockInterruptibly();
+    try {
+      checkOpen();
+      stages.get(Stage.PARSE).queue.put(work);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Submit a message, waiting up to the indicated time if the first stage
+   * queue is full.
+   *
+   * @param message a compact or JSON JWE containing a JWS
+   * @param timeout the maximum time to wait
+   * @param unit    the timeout unit
+   * @return true if the message was accepted, false if the pipeline remained
+   *         full
+   * @throws InterruptedException  if interrupted while waiting
+   * @throws IllegalStateException if the pipeline is closed
+   */
+  public boolean offer(String message, long timeout, TimeUnit unit) throws InterruptedException {
+    Work work = new Work(Objects.requireNonNull(message, "message"));
+    Lock lock = submitLock.readLock();
+    lock.lockInterruptibly();
+    try {
+      checkOpen();
+      return stages.get(Stage.PARSE).queue.offer(work, timeout, unit);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stop accepting messages and wait until every submitted message has been
+   * delivered to the listener. If the calling thread is interrupted while
+   * waiting the workers are interrupted, messages still in flight may not be
+   * delivered, and the interrupt status of the calling thread is restored.
+   */
+  @Override
+  public void close() {
+    Lock lock = submitLock.writeLock();
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      stages.get(Stage.PARSE).end();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      for (StageRunner runner : stages.values()) {
+        for (Thread worker : runner.workers) {
+          worker.join();
+        }
+      }
+    } catch (InterruptedException ex) {
+      stages.values().forEach(runner -> runner.workers.forEach(Thread::interrupt));
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Get the number of messages a stage has processed successfully.
+   *
+   * @param stage the stage
+   * @return the processed message count
+   */
+  public long getProcessedCount(Stage stage) {
+    return stages.get(stage).processed.sum();
+  }
+
+  /**
+   * Get the number of messages that failed in a stage.
+   *
+   * @param stage the stage
+   * @return the failed message count
+   */
+  public long getFailedCount(Stage stage) {
+    return stages.get(stage).failed.sum();
+  }
+
+  /**
+   * Get the number of messages waiting in the queue of a stage.
+   *
+   * @param stage the stage
+   * @return the queue length
+   */
+  public int getQueueSize(Stage stage) {
+    return stages.get(stage).queue.size();
+  }
+
+  /**
+   * Get the total time the workers of a stage have spent processing messages.
+   * Divided by the processed and failed counts this is the mean processing
+   * time; the stage with the highest mean time per worker limits the
+   * throughput of the pipeline.
+   *
+   * @param stage the stage
+   * @return the busy time in nanoseconds
+   */
+  public long getBusyNanos(Stage stage) {
+    return stages.get(stage).busyNanos.sum();
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("The pipeline is closed");
+    }
+  }
+
+  /**
+   * Run one stage of a message.
+   */
+  private void process(Stage stage, Work work) throws Exception {
+    switch (stage) {
+      case PARSE:
+        JsonWebEncryption jwe = work.message.trim().startsWith("{")
+                                ? JsonWebEncryption.fromJson(work.message)
+                                : JsonWebEncryption.fromCompactForm(work.message);
+        work.decryptor = JweDecryptor.createFor(jwe);
+        break;
+      case UNWRAP:
+        work.contentEncryptionKey = work.decryptor.unwrapContentEncryptionKey(decryptionKey);
+        break;
+      case DECRYPT:
+        work.plaintext = work.decryptor.decryptContent(work.contentEncryptionKey).getAsBytes();
+        work.decryptor = null;
+        work.contentEncryptionKey = null;
+        break;
+      case VERIFY:
+        work.jws = work.plaintext.length > 0 && work.plaintext[0] == '{'
+                   ? JsonWebSignature.fromJson(work.plaintext)
+                   : JsonWebSignature.fromCompactForm(new String(work.plaintext, StandardCharsets.US_ASCII));
+        work.plaintext = null;
+        if (work.jws.getSignatures().isEmpty() || !SignatureValidator.isValid(work.jws, verificationKey)) {
+          throw new GeneralSecurityException("Invalid signature");
+        }
+        break;
+      case BIND:
+        /**
+         * JwtClaims keeps custom claims outside of its bound properties and
+         * accepts a single string audience, so it is read with its own reader.
+         */
+        work.payload = type == JwtClaims.class
+                       ? JwtClaims.fromJson(work.jws.getPayload())
+                       : JSONB.unmarshal(work.jws.getPayload(), type);
+        work.jws = null;
+        break;
+      default:
+        throw new IllegalStateException("Unknown stage " + stage);
+    }
+  }
+
+  /**
+   * Deliver the outcome of a message to the listener. A listener failure is
+   * logged and does not stop the worker.
+   */
+  private void deliver(Work work, Exception failure) {
+    try {
+      listener.onResult(work.message, failure == null ? type.cast(work.payload) : null, failure);
+    } catch (RuntimeException ex) {
+      LOG.log(Level.WARNING, "Token pipeline listener failed: {0}", ex.getMessage());
+    }
+  }
+
+  /**
+   * Get a virtual thread factory if available (JDK 21 and later), otherwise a
+   * daemon platform thread factory.
+   */
+  private static ThreadFactory defaultThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      return (ThreadFactory) factory.invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      return runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      };
+    }
+  }
+
+  /**
+   * A TokenPipeline builder.
+   *
+   * @param <T> the payload type
+   */
+  public static final class Builder<T> {
+
+    private final Class<T> type;
+    private final Map<Stage, Integer> parallelism = new EnumMap<>(Stage.class);
+    private Key decryptionKey;
+    private Key verificationKey;
+    private Listener<? super T> listener;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private ThreadFactory threadFactory;
+
+    private Builder(Class<T> type) {
+      this.type = Objects.requireNonNull(type, "type");
+      int processors = Runtime.getRuntime().availableProcessors();
+      for (Stage stage : Stage.values()) {
+        parallelism.put(stage, 1);
+      }
+      parallelism.put(Stage.UNWRAP, processors);
+      parallelism.put(Stage.VERIFY, processors);
+    }
+
+    /**
+     * Set the JWE decryption key.
+     *
+     * @param decryptionKey the recipient private key or a secret key
+     * @return this builder
+     */
+    public Builder<T> withDecryptionKey(Key decryptionKey) {
+      this.decryptionKey = decryptionKey;
+      return this;
+    }
+
+    /**
+     * Set the JWS verification key.
+     *
+     * @param verificationKey the sender public key or a secret key
+     * @return this builder
+     */
+    public Builder<T> withVerificationKey(Key verificationKey) {
+      this.verificationKey = verificationKey;
+      return this;
+    }
+
+    /**
+     * Set the result listener.
+     *
+     * @param listener the result listener
+     * @return this builder
+     */
+    public Builder<T> withListener(Listener<? super T> listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Set the number of worker threads of a stage. The default is the number
+     * of available processors for the unwrap and verify stages and one for
+     * the other stages.
+     *
+     * @param stage       the stage
+     * @param parallelism the number of workers
+     * @return this builder
+     */
+    public Builder<T> withParallelism(Stage stage, int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Parallelism must be positive");
+      }
+      this.parallelism.put(Objects.requireNonNull(stage, "stage"), parallelism);
+      return this;
+    }
+
+    /**
+     * Set the capacity of each stage queue. The default is 256.
+     *
+     * @param queueCapacity the queue capacity
+     * @return this builder
+     */
+    public Builder<T> withQueueCapacity(int queueCapacity) {
+      if (queueCapacity < 1) {
+        throw new IllegalArgumentException("Queue capacity must be positive");
+      }
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Set the worker thread factory. The default creates virtual threads if
+     * available and daemon platform threads otherwise.
+     *
+     * @param threadFactory the worker thread factory
+     * @return this builder
+     */
+    public Builder<T> withThreadFactory(ThreadFactory threadFactory) {
+      this.threadFactory = threadFactory;
+      return this;
+    }
+
+    /**
+     * Build and start the pipeline.
+     *
+     * @return a new, running pipeline
+     * @throws NullPointerException if a key or the listener is not set
+     */
+    public TokenPipeline<T> build() {
+      return new TokenPipeline<>(this);
+    }
+  }
+
+}
@@ -8,13 +8,31 @@ import org.ietf.jose.util.JsonbUtility;
  */
 public abstract class JsonSerializable {
 
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+  /**
+   * The shared JsonB utility with formatted (pretty-printed) output.
+   */
+  private static final JsonbUtility JSONB_FORMATTED = JSONB.copy().withFormatting(true);
+
   /**
    * Serialize this instance to a JSON string.
    *
    * @return this class instance as a JSON encoded string.
    */
   public String toJson() {
-    return new JsonbUtility().marshal(this);
+    return JSONB.marshal(this);
+  }
+
+  /**
+   * Serialize this instance to UTF-8 encoded JSON.
+   *
+   * @return this class instance as UTF-8 encoded JSON bytes.
+   */
+  public byte[] toJsonBytes() {
+    return JSONB.marshalToBytes(this);
   }
 
   /**
@@ -25,7 +43,7 @@ public abstract class JsonSerializable {
    */
   @Override
   public String toString() {
-    return new JsonbUtility().withFormatting(true).marshal(this);
+    return JSONB_FORMATTED.marshal(this);
   }
 
   /**
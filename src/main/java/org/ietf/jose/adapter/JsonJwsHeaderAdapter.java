@@ -26,12 +26,21 @@ import org.ietf.jose.util.JsonbWriter;
  */
 public class JsonJwsHeaderAdapter implements JsonbAdapter<JwsHeader, String> {
 
+  /**
+   * The shared JsonB reader. Thread safe.
+   */
+  private static final JsonbReader READER = new JsonbReader();
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+
   /**
    * {@inheritDoc}
    */
   @Override
   public String adaptToJson(JwsHeader obj) throws Exception {
-    String protectedHeaderJson = new JsonbWriter().marshal(obj);
+    String protectedHeaderJson = WRITER.marshal(obj);
     return Base64Utility.toBase64Url(protectedHeaderJson);
   }
 
@@ -41,6 +50,6 @@ public class JsonJwsHeaderAdapter implements JsonbAdapter<JwsHeader, String> {
   @Override
   public JwsHeader adaptFromJson(String obj) throws Exception {
     String json = Base64Utility.fromBase64UrlToString(obj);
-    return new JsonbReader().unmarshal(json, JwsHeader.class);
+    return READER.unmarshal(json, JwsHeader.class);
   }
 }
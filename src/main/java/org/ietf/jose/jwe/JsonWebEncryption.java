@@ -19,8 +19,11 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.util.Arrays;
-import java.util.Objects;
-import java.util.StringTokenizer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+import javax.crypto.SecretKey;
 import javax.json.bind.annotation.JsonbProperty;
 import javax.json.bind.annotation.JsonbTypeAdapter;
 import org.ietf.jose.adapter.JsonJweHeaderAdapter;
@@ -28,12 +31,12 @@ import org.ietf.jose.jwa.JweEncryptionAlgorithmType;
 import org.ietf.jose.jwa.JweKeyAlgorithmType;
 import org.ietf.jose.jwe.encryption.EncryptionResult;
 import org.ietf.jose.JsonSerializable;
+import org.ietf.jose.util.CompactTokenizer;
 import org.ietf.jose.util.CryptographyUtility;
 import org.ietf.jose.util.JsonbReader;
 import org.ietf.jose.util.JsonbUtility;
 import org.ietf.jose.util.JsonbWriter;
 
-import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.ietf.jose.util.Base64Utility.*;
 
 /**
@@ -48,9 +51,29 @@ import static org.ietf.jose.util.Base64Utility.*;
  * The "recipients" member MUST NOT be present when using this syntax. Other
  * than this syntax difference, JWE JSON Serialization objects using the
  * flattened syntax are processed identically to those using the general syntax.
+ * <p>
+ * 7.2.1. General JWE JSON Serialization Syntax
+ * <p>
+ * When the content is encrypted to more than one recipient the "recipients"
+ * member is present and holds one entry per recipient; the top-level
+ * "encrypted_key" member is then absent. The content is encrypted once with a
+ * single content encryption key and only that key is wrapped per recipient.
  */
 public class JsonWebEncryption extends JsonSerializable {
 
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+  /**
+   * The shared JsonB reader. Thread safe.
+   */
+  private static final JsonbReader READER = new JsonbReader();
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+
   /**
    * Integrity-protected header contents
    */
@@ -67,6 +90,12 @@ public class JsonWebEncryption extends JsonSerializable {
    */
   @JsonbProperty("encrypted_key")
   private byte[] encryptedKey;
+  /**
+   * Per-recipient headers and encrypted keys. Present only in the general JWE
+   * JSON serialization.
+   */
+  @JsonbProperty("recipients")
+  private List<Recipient> recipients;
   /**
    * Initialization vector contents
    */
@@ -143,8 +172,90 @@ public class JsonWebEncryption extends JsonSerializable {
     /**
      * The default Additional Authentication Data can be the protected header
      */
-    String headerJson = new JsonbWriter().marshal(protectedHeader);// new JsonbUtility().marshal(protectedHeader); // throws IOException
-    jwe.additionalAuthenticationData = toBase64Url(headerJson).getBytes(US_ASCII);
+    jwe.additionalAuthenticationData = toBase64UrlBytes(WRITER.marshalToBytes(protectedHeader));
+    EncryptionResult encryptionResult = contentEnc.getEncrypter().encrypt(payload, null,
+                                                                          jwe.additionalAuthenticationData, contentEncryptionKey);
+    jwe.ciphertext = encryptionResult.getCiphertext();
+    jwe.authenticationTag = encryptionResult.getAuthTag();
+    jwe.initializationVector = encryptionResult.getIv();
+    return jwe;
+  }
+
+  /**
+   * Creates a general JWE instance for the payload, encrypted once and
+   * readable by each of the provided recipient keys. A single content
+   * encryption key is generated and wrapped for every recipient; when more
+   * than one recipient uses an asymmetric key the keys are wrapped in
+   * parallel.
+   *
+   * @param payload           byte array representing the data that is to be
+   *                          JWE-encrypted
+   * @param contentEnc        Content encryption algorithm
+   * @param protectedHeader   the JSON protected header. This is copied and
+   *                          populated with the content encryption algorithm.
+   * @param unprotected       the shared unprotected content. Can be null.
+   * @param keys              the recipient keys (PublicKey or SecretKey)
+   * @param keyMgmt           the key management algorithm for each recipient
+   *                          key
+   * @param keyIds            an identifier for each recipient key, written as
+   *                          the 'kid' field in the per-recipient header. An
+   *                          entry can be null.
+   * @return a valid JWE instance
+   * @throws java.io.IOException      if the protectedHeader fails to marshal to
+   *                                  JSON
+   * @throws GeneralSecurityException if the requested encryption algorithm is
+   *                                  not available or a key fails to wrap
+   */
+  static JsonWebEncryption getInstance(final byte[] payload,
+                                       final JweEncryptionAlgorithmType contentEnc,
+                                       JweHeader protectedHeader,
+                                       JweHeader unprotected,
+                                       List<? extends Key> keys,
+                                       List<JweKeyAlgorithmType> keyMgmt,
+                                       List<String> keyIds) throws IOException, GeneralSecurityException {
+    if (keys.isEmpty()) {
+      throw new IllegalArgumentException("At least one JWE recipient is required.");
+    }
+    JsonWebEncryption jwe = new JsonWebEncryption();
+    jwe.protectedHeader = protectedHeader == null ? new JweHeader() : new JweHeader(protectedHeader);
+    jwe.protectedHeader.setEnc(contentEnc);
+    jwe.unprotected = unprotected;
+
+    Key contentEncryptionKey = contentEnc.getEncrypter().generateKey();
+    Recipient[] wrapped = new Recipient[keys.size()];
+    IntStream indexes = IntStream.range(0, wrapped.length);
+    if (wrapped.length > 1 && keys.stream().anyMatch(key -> !(key instanceof SecretKey))) {
+      /**
+       * RSA key wrapping is far more expensive than the content encryption;
+       * AES key wrapping is not worth the hand off.
+       */
+      indexes = indexes.parallel();
+    }
+    try {
+      indexes.forEach(i -> {
+        try {
+          wrapped[i] = Recipient.getInstance(contentEncryptionKey, keys.get(i), keyMgmt.get(i), keyIds.get(i));
+        } catch (GeneralSecurityException ex) {
+          throw new CompletionException(ex);
+        }
+      });
+    } catch (CompletionException ex) {
+      /**
+       * A key that fails to wrap on a worker thread is rethrown by the
+       * fork/join framework wrapped in a further CompletionException.
+       */
+      Throwable cause = ex;
+      while (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof GeneralSecurityException) {
+        throw (GeneralSecurityException) cause;
+      }
+      throw ex;
+    }
+    jwe.recipients = Arrays.asList(wrapped);
+
+    jwe.additionalAuthenticationData = toBase64UrlBytes(WRITER.marshalToBytes(jwe.protectedHeader));
     EncryptionResult encryptionResult = contentEnc.getEncrypter().encrypt(payload, null,
                                                                           jwe.additionalAuthenticationData, contentEncryptionKey);
     jwe.ciphertext = encryptionResult.getCiphertext();
@@ -161,7 +272,18 @@ public class JsonWebEncryption extends JsonSerializable {
    * @throws IOException in case of failure to deserialise the JSON string
    */
   public static JsonWebEncryption fromJson(String json) throws IOException {
-    return new JsonbUtility().unmarshal(json, JsonWebEncryption.class);
+    return JSONB.unmarshal(json, JsonWebEncryption.class);
+  }
+
+  /**
+   * Create instance from UTF-8 encoded JSON
+   *
+   * @param json UTF-8 encoded JSON
+   * @return a JweJsonFlattened instance
+   * @throws IOException in case of failure to deserialise the JSON
+   */
+  public static JsonWebEncryption fromJson(byte[] json) throws IOException {
+    return JSONB.unmarshal(json, JsonWebEncryption.class);
   }
 
   /**
@@ -187,20 +309,28 @@ public class JsonWebEncryption extends JsonSerializable {
    *                                  compact JWE string
    */
   public static JsonWebEncryption fromCompactForm(String text) throws IOException {
-    StringTokenizer tokenizer = new StringTokenizer(Objects.requireNonNull(text), ".");
-    if (tokenizer.countTokens() != 5) {
-      throw new IllegalArgumentException("JWE compact form must have 5 elements separated by dots. Supplied string "
-        + "has " + tokenizer.countTokens() + ".");
-    }
+    return fromCompactForm(CompactTokenizer.of(text));
+  }
+
+  /**
+   * Read a JWE from its tokenized compact serialization.
+   *
+   * @param tokenizer a tokenized compact JWE
+   * @return non-null JWE instance
+   * @throws java.io.IOException      on serialization error
+   * @throws IllegalArgumentException if the provided input is not a valid
+   *                                  compact JWE
+   * @see #fromCompactForm(java.lang.String)
+   */
+  public static JsonWebEncryption fromCompactForm(CompactTokenizer tokenizer) throws IOException {
+    tokenizer.requireSegmentCount(5, "JWE");
     JsonWebEncryption jwe = new JsonWebEncryption();
-    String protectedHeaderJson = fromBase64UrlToString(tokenizer.nextToken());
-//    jwe.protectedHeader =  new JsonbUtility().unmarshal(protectedHeaderJson, JweHeader.class);
-    jwe.protectedHeader = new JsonbReader().unmarshal(protectedHeaderJson, JweHeader.class);
-    jwe.encryptedKey = fromBase64Url(tokenizer.nextToken());
-    jwe.initializationVector = fromBase64Url(tokenizer.nextToken());
-    jwe.ciphertext = fromBase64Url(tokenizer.nextToken());
-    jwe.authenticationTag = fromBase64Url(tokenizer.nextToken());
-    jwe.additionalAuthenticationData = toBase64Url(protectedHeaderJson).getBytes(US_ASCII);
+    jwe.protectedHeader = READER.unmarshal(tokenizer.decode(0), JweHeader.class);
+    jwe.encryptedKey = tokenizer.decode(1);
+    jwe.initializationVector = tokenizer.decode(2);
+    jwe.ciphertext = tokenizer.decode(3);
+    jwe.authenticationTag = tokenizer.decode(4);
+    jwe.additionalAuthenticationData = tokenizer.getAsciiBytes(0);
     return jwe;
   }
 
@@ -221,13 +351,18 @@ public class JsonWebEncryption extends JsonSerializable {
    * Serialization.
    *
    * @return non-null string
+   * @throws IllegalStateException if this is a general JWE with per-recipient
+   *                               headers
    */
   public String toCompactForm() {
-    return toBase64Url(new JsonbWriter().marshal(protectedHeader)) + '.'
-      + toBase64Url(encryptedKey) + '.'
-      + toBase64Url(initializationVector) + '.'
-      + toBase64Url(ciphertext) + '.'
-      + toBase64Url(authenticationTag);
+    if (recipients != null) {
+      throw new IllegalStateException("A general JWE with per-recipient headers has no compact serialization.");
+    }
+    return toCompactSerialization(WRITER.marshalToBytes(protectedHeader),
+                                  encryptedKey,
+                                  initializationVector,
+                                  ciphertext,
+                                  authenticationTag);
   }
 
   public JweHeader getProtectedHeader() {
@@ -242,6 +377,16 @@ public class JsonWebEncryption extends JsonSerializable {
     return this.encryptedKey;
   }
 
+  /**
+   * Get the recipients of a general JWE JSON serialization.
+   *
+   * @return an unmodifiable list of recipients; empty for the flattened and
+   *         compact serializations
+   */
+  public List<Recipient> getRecipients() {
+    return recipients == null ? Collections.emptyList() : Collections.unmodifiableList(recipients);
+  }
+
   public byte[] getInitializationVector() {
     return this.initializationVector;
   }
@@ -21,6 +21,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
 import javax.crypto.SecretKey;
 import org.ietf.jose.JoseProfile;
 import org.ietf.jose.jwa.JweEncryptionAlgorithmType;
@@ -75,6 +77,13 @@ public class JweBuilder {
    * written as the 'kid' field in the protected header. Can be null.
    */
   private String keyId;
+  /**
+   * The recipient keys, key management algorithms and key identifiers of a
+   * general (multi-recipient) JWE. Entries at the same index belong together.
+   */
+  private final List<Key> recipientKeys = new ArrayList<>();
+  private final List<JweKeyAlgorithmType> recipientKeyMgmtAlgos = new ArrayList<>();
+  private final List<String> recipientKeyIds = new ArrayList<>();
 
   private JweBuilder() {
   }
@@ -116,7 +125,7 @@ public class JweBuilder {
    * @return this builder
    */
   public JweBuilder withClaimsPayload(JwtClaims claims) {
-    this.payload = claims.toJson().getBytes(StandardCharsets.UTF_8);
+    this.payload = claims.toJsonBytes();
     return this;
   }
 
@@ -207,6 +216,64 @@ public class JweBuilder {
     return this;
   }
 
+  /**
+   * Add a recipient of a general JWE. The key may be either the recipient's
+   * PublicKey, wrapped with the profile default asymmetric key management
+   * algorithm, or a shared SecretKey, wrapped with the AES key wrap algorithm
+   * matching its length.
+   *
+   * @param key   a Key instance which is used to encrypt the content
+   *              encryption key for this recipient
+   * @param keyId an identifier for the recipient key. This value gets written
+   *              as the 'kid' field in the per-recipient header. Can be null.
+   * @return this builder
+   * @see #buildJweJsonGeneral()
+   */
+  public JweBuilder withRecipient(Key key, String keyId) {
+    return withRecipient(key,
+                         key instanceof SecretKey
+                         ? resolveKeyManagementAlgorithm((SecretKey) key)
+                         : PROFILE.getKeyMgmtAlgAsym(),
+                         keyId);
+  }
+
+  /**
+   * Add a recipient of a general JWE with a specific key management
+   * algorithm.
+   *
+   * @param key       a Key instance which is used to encrypt the content
+   *                  encryption key for this recipient
+   * @param algorithm the key management algorithm
+   * @param keyId     an identifier for the recipient key. This value gets
+   *                  written as the 'kid' field in the per-recipient header.
+   *                  Can be null.
+   * @return this builder
+   * @see #buildJweJsonGeneral()
+   */
+  public JweBuilder withRecipient(Key key, JweKeyAlgorithmType algorithm, String keyId) {
+    recipientKeys.add(key);
+    recipientKeyMgmtAlgos.add(algorithm);
+    recipientKeyIds.add(keyId);
+    return this;
+  }
+
+  /**
+   * Encrypt the payload once for all recipients added with
+   * {@link #withRecipient(Key, String)}. One content encryption key is
+   * generated, the content is encrypted once, and only the content encryption
+   * key is wrapped per recipient (in parallel for asymmetric keys).
+   *
+   * @return a general JWE instance with a "recipients" array
+   * @throws IOException              in case of failure to serialise the
+   *                                  protected header to JSON
+   * @throws GeneralSecurityException in case of failure to encrypt
+   * @throws IllegalArgumentException if no recipient was added
+   */
+  public JsonWebEncryption buildJweJsonGeneral() throws IOException, GeneralSecurityException {
+    return JsonWebEncryption.getInstance(payload, encryptionAlgo, protectedHeader, unprotectedHeader,
+                                         recipientKeys, recipientKeyMgmtAlgos, recipientKeyIds);
+  }
+
   /**
    * Encrypt the payload with the provided recipient's PublicKey
    *
@@ -243,6 +310,18 @@ public class JweBuilder {
                                          protectedHeader, unprotectedHeader, keyId);
   }
 
+  /**
+   * Create a streaming encrypter with the algorithms, protected header and key
+   * of this builder. The payload of this builder is not used; the plaintext is
+   * read from a stream instead. Call this method _after_ setting the key.
+   *
+   * @return a streaming encrypter
+   * @see JweStreamEncrypter
+   */
+  public JweStreamEncrypter buildStreamEncrypter() {
+    return JweStreamEncrypter.getInstance(encryptionAlgo, keyMgmtAlgo, key, protectedHeader, keyId);
+  }
+
   /**
    * Encrypt the payload with the provided key and converts the JWE instance
    * into a single URL-safe string. Call this method _after_ setting the key.
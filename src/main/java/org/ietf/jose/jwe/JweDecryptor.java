@@ -9,7 +9,9 @@ import org.ietf.jose.util.KeyUtility;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
 import java.security.Key;
+import java.util.List;
 
 /**
  * A JWE decryption utility. Accepts a JweJsonFlattened instance, decrypts the
@@ -52,6 +54,22 @@ public class JweDecryptor {
     return decryptGeneric(key);
   }
 
+  /**
+   * Decrypt a general (multi-recipient) JWE using the private key or (shared)
+   * SecretKey of the recipient with the indicated key ID. Only that
+   * recipient's encrypted key is unwrapped.
+   *
+   * @param key   a private key or SecretKey
+   * @param keyId the recipient key ID
+   * @return DecryptionResult containing the decrypted plaintext
+   * @throws GeneralSecurityException in case of failure to unwrap the key or
+   *                                  decrypt, or if no recipient has the key
+   *                                  ID
+   */
+  public DecryptionResult decrypt(Key key, String keyId) throws GeneralSecurityException {
+    return decryptContent(unwrapContentEncryptionKey(key, keyId));
+  }
+
   /**
    * Decrypt using bytes of the shared secret key that was used to encrypt they
    * plaintext.
@@ -90,19 +108,111 @@ public class JweDecryptor {
    *                                  decrypt
    */
   private DecryptionResult decryptGeneric(Key key) throws GeneralSecurityException {
-    final JweKeyAlgorithmType keyAlgorithm = jwe.getProtectedHeader().getJweKeyAlgorithmType();
+    return decryptContent(unwrapContentEncryptionKey(key));
+  }
+
+  /**
+   * Unwrap the content encryption key (CEK). This is the first of the two
+   * decryption steps and, with an RSA key, by far the more expensive one.
+   * Together with {@link #decryptContent(SecretKey)} it allows the two steps
+   * to be run separately, for example by different stages of a pipeline.
+   *
+   * <p>
+   * For a general JWE without a key ID each recipient is tried in turn; use
+   * {@link #unwrapContentEncryptionKey(Key, String)} to select the recipient
+   * directly.
+   *
+   * @param key the private key or shared secret key that wrapped the CEK
+   * @return the content encryption key
+   * @throws GeneralSecurityException in case of failure to unwrap the key
+   */
+  public SecretKey unwrapContentEncryptionKey(Key key) throws GeneralSecurityException {
+    List<Recipient> recipients = jwe.getRecipients();
+    if (recipients.isEmpty()) {
+      return unwrap(jwe.getEncryptedKey(), jwe.getProtectedHeader().getJweKeyAlgorithmType(), key);
+    }
+    GeneralSecurityException failure = null;
+    for (Recipient recipient : recipients) {
+      try {
+        return unwrap(recipient, key);
+      } catch (GeneralSecurityException ex) {
+        failure = ex;
+      }
+    }
+    throw failure;
+  }
+
+  /**
+   * Unwrap the content encryption key (CEK) of the recipient with the
+   * indicated key ID. For a flattened or compact JWE the key ID, if present
+   * in the protected header, must match.
+   *
+   * @param key   the private key or shared secret key that wrapped the CEK
+   * @param keyId the recipient key ID
+   * @return the content encryption key
+   * @throws GeneralSecurityException in case of failure to unwrap the key, or
+   *                                  if no recipient has the key ID
+   */
+  public SecretKey unwrapContentEncryptionKey(Key key, String keyId) throws GeneralSecurityException {
+    List<Recipient> recipients = jwe.getRecipients();
+    if (recipients.isEmpty()) {
+      String protectedKeyId = jwe.getProtectedHeader().getKid();
+      if (keyId != null && protectedKeyId != null && !keyId.equals(protectedKeyId)) {
+        throw new InvalidKeyException("JWE key ID " + protectedKeyId + " does not match " + keyId);
+      }
+      return unwrapContentEncryptionKey(key);
+    }
+    for (Recipient recipient : recipients) {
+      if (keyId == null ? recipient.getKeyId() == null : keyId.equals(recipient.getKeyId())) {
+        return unwrap(recipient, key);
+      }
+    }
+    throw new InvalidKeyException("No JWE recipient with key ID " + keyId);
+  }
+
+  /**
+   * Unwrap a recipient's encrypted key. The key management algorithm is read
+   * from the per-recipient header, then the protected and shared unprotected
+   * headers.
+   */
+  private SecretKey unwrap(Recipient recipient, Key key) throws GeneralSecurityException {
+    String alg = recipient.getHeader() == null ? null : recipient.getHeader().getAlg();
+    if (alg == null) {
+      alg = jwe.getProtectedHeader().getAlg();
+    }
+    if (alg == null && jwe.getUnprotected() != null) {
+      alg = jwe.getUnprotected().getAlg();
+    }
+    return unwrap(recipient.getEncryptedKey(), JweKeyAlgorithmType.resolveAlgorithm(alg), key);
+  }
+
+  /**
+   * Unwrap an encrypted content encryption key.
+   */
+  private SecretKey unwrap(byte[] encryptedKey, JweKeyAlgorithmType keyAlgorithm, Key key) throws GeneralSecurityException {
+    final Encrypter encrypter = jwe.getProtectedHeader().getEnc().getEncrypter();
+    return (SecretKey) CryptographyUtility.unwrapKey(encryptedKey, key,
+                                                     keyAlgorithm.getJavaAlgorithm(), encrypter.getSecretKeyAlgorithm());
+  }
+
+  /**
+   * Decrypt the ciphertext with an unwrapped content encryption key.
+   *
+   * @param contentEncryptionKey the content encryption key returned by
+   *                             {@link #unwrapContentEncryptionKey(Key)}
+   * @return DecryptionResult containing the decrypted plaintext
+   * @throws GeneralSecurityException in case of failure to decrypt
+   */
+  public DecryptionResult decryptContent(SecretKey contentEncryptionKey) throws GeneralSecurityException {
     final JweEncryptionAlgorithmType encAlgorithm = jwe.getProtectedHeader().getEnc();
-    final Encrypter encrypter = encAlgorithm.getEncrypter();
-    final SecretKey aesKey = (SecretKey) CryptographyUtility.unwrapKey(jwe.getEncryptedKey(), key,
-                                                                       keyAlgorithm.getJavaAlgorithm(), encrypter.getSecretKeyAlgorithm());
     /**
      * Developer note: Additional files may need to be downloaded and copied
      * into the Java installation security directory
      * https://stackoverflow.com/questions/6481627/java-security-illegal-key-size-or-default-parameters
      */
-    byte[] plaintext = encrypter.decrypt(jwe.getCiphertext(), jwe.getInitializationVector(), jwe
-                                         .getAdditionalAuthenticationData(),
-                                         jwe.getAuthenticationTag(), aesKey);
+    byte[] plaintext = encAlgorithm.getEncrypter().decrypt(jwe.getCiphertext(), jwe.getInitializationVector(), jwe
+                                                           .getAdditionalAuthenticationData(),
+                                                           jwe.getAuthenticationTag(), contentEncryptionKey);
     return new DecryptionResult(plaintext);
   }
 
@@ -103,6 +103,18 @@ public class JweHeader extends JwsHeader {
   public JweHeader() {
   }
 
+  /**
+   * Copy constructor. The new header has the same parameter values as the
+   * source header; list values are copied.
+   *
+   * @param source the header to copy
+   */
+  public JweHeader(JweHeader source) {
+    super(source);
+    this.enc = source.enc;
+    this.zip = source.zip;
+  }
+
   public JweEncryptionAlgorithmType getEnc() {
     return this.enc;
   }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jwe;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Base64;
+import org.ietf.jose.jwa.JweEncryptionAlgorithmType;
+import org.ietf.jose.jwa.JweKeyAlgorithmType;
+import org.ietf.jose.jwe.encryption.EncryptionStream;
+import org.ietf.jose.jwe.encryption.Encrypter;
+import org.ietf.jose.util.CryptographyUtility;
+import org.ietf.jose.util.JsonbWriter;
+
+import static org.ietf.jose.util.Base64Utility.toBase64UrlBytes;
+
+/**
+ * A streaming JWE encrypter.
+ * <p>
+ * {@link JsonWebEncryption#getInstance} requires the whole plaintext in memory
+ * and holds several full size copies of it. This encrypter instead reads the
+ * plaintext from an input stream in fixed size chunks and writes the
+ * BASE64URL encoded ciphertext incrementally, in either the JWE Compact
+ * Serialization or the flattened JWE JSON Serialization layout. The
+ * authentication tag is computed alongside and written last. Heap use is
+ * therefore fixed regardless of the plaintext size.
+ * <p>
+ * The output is readable by {@link JsonWebEncryption#fromCompactForm(String)}
+ * and {@link JsonWebEncryption#fromJson(String)} respectively. Instances are
+ * immutable and thread safe; each call generates a new content encryption key
+ * and initialization vector.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JweStreamEncrypter {
+
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+  /**
+   * The plaintext read and output buffer size.
+   */
+  private static final int BUFFER_SIZE = 8192;
+
+  private final JweEncryptionAlgorithmType contentEnc;
+  private final JweKeyAlgorithmType keyMgmt;
+  private final Key key;
+  /**
+   * The protected header, with the algorithms and key ID set.
+   */
+  private final JweHeader protectedHeader;
+
+  private JweStreamEncrypter(JweEncryptionAlgorithmType contentEnc,
+                             JweKeyAlgorithmType keyMgmt,
+                             Key key,
+                             JweHeader protectedHeader,
+                             String keyId) {
+    this.contentEnc = contentEnc;
+    this.keyMgmt = keyMgmt;
+    this.key = key;
+    this.protectedHeader = protectedHeader == null ? new JweHeader() : new JweHeader(protectedHeader);
+    this.protectedHeader.setAlg(keyMgmt.getJoseAlgorithmName());
+    this.protectedHeader.setEnc(contentEnc);
+    if (keyId != null) {
+      this.protectedHeader.setKid(keyId);
+    }
+  }
+
+  /**
+   * Create a streaming encrypter.
+   *
+   * @param contentEnc Content encryption algorithm
+   * @param keyMgmt    key management algorithm
+   * @param key        a Key instance which is used to encrypt the random data
+   *                   encryption key
+   * @param keyId      an identifier for the encryption key. This value gets
+   *                   written as the 'kid' field in the protected header. Can
+   *                   be null.
+   * @return a new streaming encrypter
+   */
+  public static JweStreamEncrypter getInstance(JweEncryptionAlgorithmType contentEnc,
+                                               JweKeyAlgorithmType keyMgmt,
+                                               Key key,
+                                               String keyId) {
+    return getInstance(contentEnc, keyMgmt, key, null, keyId);
+  }
+
+  /**
+   * Create a streaming encrypter with additional protected header parameters.
+   *
+   * @param contentEnc      Content encryption algorithm
+   * @param keyMgmt         key management algorithm
+   * @param key             a Key instance which is used to encrypt the random
+   *                        data encryption key
+   * @param protectedHeader the JSON protected header. This is copied and
+   *                        populated with the algorithms and key ID. Can be
+   *                        null.
+   * @param keyId           an identifier for the encryption key. This value
+   *                        gets written as the 'kid' field in the protected
+   *                        header. Can be null.
+   * @return a new streaming encrypter
+   */
+  public static JweStreamEncrypter getInstance(JweEncryptionAlgorithmType contentEnc,
+                                               JweKeyAlgorithmType keyMgmt,
+                                               Key key,
+                                               JweHeader protectedHeader,
+                                               String keyId) {
+    return new JweStreamEncrypter(contentEnc, keyMgmt, key, protectedHeader, keyId);
+  }
+
+  /**
+   * Encrypt the plaintext stream and write the JWE Compact Serialization. The
+   * input and output streams are not closed.
+   *
+   * @param plaintext the plaintext input stream
+   * @param out       the output stream
+   * @throws IOException              if the plaintext cannot be read or the
+   *                                  JWE cannot be written
+   * @throws GeneralSecurityException in case of failure to encrypt
+   */
+  public void encryptCompact(InputStream plaintext, OutputStream out) throws IOException, GeneralSecurityException {
+    encrypt(plaintext, out, false);
+  }
+
+  /**
+   * Encrypt the plaintext stream and write the flattened JWE JSON
+   * Serialization. The input and output streams are not closed.
+   *
+   * @param plaintext the plaintext input stream
+   * @param out       the output stream
+   * @throws IOException              if the plaintext cannot be read or the
+   *                                  JWE cannot be written
+   * @throws GeneralSecurityException in case of failure to encrypt
+   */
+  public void encryptJson(InputStream plaintext, OutputStream out) throws IOException, GeneralSecurityException {
+    encrypt(plaintext, out, true);
+  }
+
+  /**
+   * Write the JWE. All members other than the ciphertext and authentication
+   * tag are known before the plaintext is read and are written first.
+   */
+  private void encrypt(InputStream plaintext, OutputStream sink, boolean json) throws IOException, GeneralSecurityException {
+    /**
+     * The default Additional Authentication Data is the protected header, as
+     * in JsonWebEncryption.
+     */
+    byte[] aad = toBase64UrlBytes(WRITER.marshalToBytes(protectedHeader));
+    Encrypter encrypter = contentEnc.getEncrypter();
+    Key contentEncryptionKey = encrypter.generateKey();
+    byte[] encryptedKey = CryptographyUtility.wrapKey(contentEncryptionKey, key, keyMgmt.getJavaAlgorithm());
+
+    OutputStream out = new BufferedOutputStream(new UnclosableOutputStream(sink), BUFFER_SIZE);
+    OutputStream ciphertext = Base64.getUrlEncoder().withoutPadding().wrap(new UnclosableOutputStream(out));
+    EncryptionStream encryption = encrypter.openEncryptionStream(ciphertext, null, aad, contentEncryptionKey);
+    if (json) {
+      writeAscii(out, "{\"protected\":\"");
+      out.write(aad);
+      writeAscii(out, "\",\"encrypted_key\":\"");
+      out.write(toBase64UrlBytes(encryptedKey));
+      writeAscii(out, "\",\"iv\":\"");
+      out.write(toBase64UrlBytes(encryption.getIv()));
+      writeAscii(out, "\",\"aad\":\"");
+      out.write(toBase64UrlBytes(aad));
+      writeAscii(out, "\",\"ciphertext\":\"");
+    } else {
+      out.write(aad);
+      out.write('.');
+      out.write(toBase64UrlBytes(encryptedKey));
+      out.write('.');
+      out.write(toBase64UrlBytes(encryption.getIv()));
+      out.write('.');
+    }
+
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int read;
+    while ((read = plaintext.read(buffer)) != -1) {
+      encryption.write(buffer, 0, read);
+    }
+    byte[] authTag = encryption.finish();
+    /**
+     * Closing the encoder writes the final BASE64URL quantum.
+     */
+    ciphertext.close();
+
+    if (json) {
+      writeAscii(out, "\",\"tag\":\"");
+      out.write(toBase64UrlBytes(authTag));
+      writeAscii(out, "\"}");
+    } else {
+      out.write('.');
+      out.write(toBase64UrlBytes(authTag));
+    }
+    out.flush();
+  }
+
+  private static void writeAscii(OutputStream out, String text) throws IOException {
+    out.write(text.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Passes writes through but only flushes on close, so that an enclosing
+   * stream may be closed to complete its output without closing the sink.
+   */
+  private static final class UnclosableOutputStream extends FilterOutputStream {
+
+    UnclosableOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.flush();
+    }
+  }
+
+}
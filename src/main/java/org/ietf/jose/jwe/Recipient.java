@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jwe;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Objects;
+import javax.json.bind.annotation.JsonbProperty;
+import org.ietf.jose.jwa.JweKeyAlgorithmType;
+import org.ietf.jose.util.CryptographyUtility;
+
+/**
+ * RFC 7516 JSON Web Encryption (JWE)
+ * <p>
+ * 7.2.1. General JWE JSON Serialization Syntax
+ * <p>
+ * The following members are defined for use in the JSON objects that are
+ * elements of the "recipients" array:
+ * <p>
+ * header: The "header" member MUST be present and contain the value JWE Per-
+ * Recipient Unprotected Header when the JWE Per-Recipient Unprotected Header
+ * value is non-empty; otherwise, it MUST be absent. This value is represented
+ * as an unencoded JSON object, rather than as a string. These Header Parameter
+ * values are not integrity protected.
+ * <p>
+ * encrypted_key: The "encrypted_key" member MUST be present and contain the
+ * value BASE64URL(JWE Encrypted Key) when the JWE Encrypted Key value is
+ * non-empty; otherwise, it MUST be absent.
+ * <p>
+ * Each recipient holds the same content encryption key, wrapped with that
+ * recipient's key. The per-recipient header carries the key management
+ * algorithm ("alg") and the key identifier ("kid").
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public class Recipient {
+
+  /**
+   * JWE Per-Recipient Unprotected Header
+   */
+  @JsonbProperty("header")
+  private JweHeader header;
+  /**
+   * The content encryption key, wrapped with the recipient's key
+   */
+  @JsonbProperty("encrypted_key")
+  private byte[] encryptedKey;
+
+  public Recipient() {
+  }
+
+  /**
+   * Wrap the content encryption key for a recipient.
+   *
+   * @param contentEncryptionKey the content encryption key shared by all
+   *                             recipients
+   * @param key                  the recipient's PublicKey or shared SecretKey
+   * @param keyMgmt              the key management algorithm
+   * @param keyId                an identifier for the recipient key. This
+   *                             value gets written as the 'kid' field in the
+   *                             per-recipient header. Can be null.
+   * @return a new Recipient instance
+   * @throws GeneralSecurityException in case of failure to wrap the key
+   */
+  static Recipient getInstance(Key contentEncryptionKey, Key key, JweKeyAlgorithmType keyMgmt, String keyId) throws GeneralSecurityException {
+    Recipient recipient = new Recipient();
+    recipient.header = new JweHeader();
+    recipient.header.setAlg(keyMgmt.getJoseAlgorithmName());
+    recipient.header.setKid(keyId);
+    recipient.encryptedKey = CryptographyUtility.wrapKey(contentEncryptionKey, key, keyMgmt.getJavaAlgorithm());
+    return recipient;
+  }
+
+  public JweHeader getHeader() {
+    return header;
+  }
+
+  public byte[] getEncryptedKey() {
+    return encryptedKey;
+  }
+
+  /**
+   * Get the recipient key identifier.
+   *
+   * @return the per-recipient header 'kid' field, null if not set
+   */
+  public String getKeyId() {
+    return header == null ? null : header.getKid();
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 53 * hash + Objects.hashCode(this.header);
+    hash = 53 * hash + Arrays.hashCode(this.encryptedKey);
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final Recipient other = (Recipient) obj;
+    if (!Objects.equals(this.header, other.header)) {
+      return false;
+    }
+    return Arrays.equals(this.encryptedKey, other.encryptedKey);
+  }
+
+}
@@ -1,9 +1,12 @@
 package org.ietf.jose.jwe;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import javax.crypto.SecretKey;
 import javax.xml.bind.annotation.adapters.HexBinaryAdapter;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 import org.ietf.jose.util.KeyUtility;
 
 /**
@@ -65,8 +68,14 @@ public class SecretKeyBuilder {
    *                                                MUST support SHA-256.
    */
   public static SecretKey fromSharedSecret(String sharedSecret) throws NoSuchAlgorithmException {
-    byte[] secret = java.security.MessageDigest.getInstance("SHA-256")
-      .digest(sharedSecret.getBytes(StandardCharsets.UTF_8));
+    EnginePool<MessageDigest> pool = JcaEngines.messageDigest("SHA-256");
+    MessageDigest digest = pool.borrow();
+    byte[] secret;
+    try {
+      secret = digest.digest(sharedSecret.getBytes(StandardCharsets.UTF_8));
+    } finally {
+      pool.release(digest);
+    }
     return KeyUtility.convertSecretToKey(ALGORITHM, secret);
   }
 
@@ -15,12 +15,17 @@
  */
 package org.ietf.jose.jwe.encryption;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.Key;
 import java.util.Arrays;
 import javax.crypto.Cipher;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 import org.ietf.jose.util.SecureRandomUtility;
 
 /**
@@ -165,16 +170,133 @@ public class AesGcmEncrypter implements Encrypter {
       iv = SecureRandomUtility.generateBytes(IV_BYTE_LENGTH);
     }
     validateInputs(key, aad, iv);
-    Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-    cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
-    cipher.updateAAD(aad);
-    byte[] ciphertextWithAad = cipher.doFinal(payload);
+    EnginePool<Cipher> pool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    Cipher cipher = pool.borrow();
+    byte[] ciphertextWithAad;
+    try {
+      try {
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
+      } catch (InvalidAlgorithmParameterException ex) {
+        /**
+         * A GCM cipher refuses to encrypt again with the key and IV of its
+         * previous encryption. A pooled cipher may have last been used by
+         * another caller, so discard it and use a fresh one.
+         */
+        cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
+      }
+      cipher.updateAAD(aad);
+      ciphertextWithAad = cipher.doFinal(payload);
+    } finally {
+      pool.release(cipher);
+    }
     int ciphertextBytes = ciphertextWithAad.length - AUTH_TAG_LEN;
     byte[] ciphertext = Arrays.copyOf(ciphertextWithAad, ciphertextBytes);
     byte[] authenticationTag = Arrays.copyOfRange(ciphertextWithAad, ciphertextBytes, ciphertextWithAad.length);
     return new EncryptionResult(iv, aad, ciphertext, authenticationTag);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The authentication tag is the final AUTH_TAG_LEN bytes of the cipher
+   * output, as in {@link #encrypt(byte[], byte[], byte[], Key)}; these
+   * are held back and are not written to the ciphertext stream.
+   */
+  @Override
+  public EncryptionStream openEncryptionStream(OutputStream out, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException {
+    if (iv == null) {
+      iv = SecureRandomUtility.generateBytes(IV_BYTE_LENGTH);
+    }
+    validateInputs(key, aad, iv);
+    return new GcmEncryptionStream(out, iv, aad, key);
+  }
+
+  /**
+   * Streaming AES-GCM encryption.
+   */
+  private static final class GcmEncryptionStream extends EncryptionStream {
+
+    private final EnginePool<Cipher> pool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    private final Cipher cipher;
+    /**
+     * The reusable ciphertext buffer.
+     */
+    private byte[] buffer = new byte[0];
+    /**
+     * The most recent cipher output, held back as the authentication tag.
+     */
+    private final byte[] tail = new byte[AUTH_TAG_LEN];
+    private int tailLength;
+
+    GcmEncryptionStream(OutputStream out, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException {
+      super(out, iv);
+      Cipher borrowed = pool.borrow();
+      try {
+        try {
+          borrowed.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
+        } catch (InvalidAlgorithmParameterException ex) {
+          /**
+           * See encrypt: a pooled cipher refuses to reuse its previous key and
+           * IV, so use a fresh one.
+           */
+          borrowed = Cipher.getInstance(CIPHER_ALGORITHM);
+          borrowed.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
+        }
+        borrowed.updateAAD(aad);
+      } catch (GeneralSecurityException | RuntimeException ex) {
+        pool.release(borrowed);
+        throw ex;
+      }
+      this.cipher = borrowed;
+    }
+
+    @Override
+    protected void update(byte[] plaintext, int off, int len) throws GeneralSecurityException, IOException {
+      ensureCapacity(cipher.getOutputSize(len));
+      emit(cipher.update(plaintext, off, len, buffer, 0));
+    }
+
+    @Override
+    protected byte[] doFinal() throws GeneralSecurityException, IOException {
+      try {
+        ensureCapacity(cipher.getOutputSize(0));
+        emit(cipher.doFinal(buffer, 0));
+        return Arrays.copyOf(tail, tailLength);
+      } finally {
+        pool.release(cipher);
+      }
+    }
+
+    /**
+     * Write the cipher output in the buffer, always holding back the most
+     * recent AUTH_TAG_LEN bytes.
+     */
+    private void emit(int length) throws IOException {
+      int total = tailLength + length;
+      if (total <= AUTH_TAG_LEN) {
+        System.arraycopy(buffer, 0, tail, tailLength, length);
+        tailLength = total;
+        return;
+      }
+      int flush = total - AUTH_TAG_LEN;
+      int fromTail = Math.min(flush, tailLength);
+      int fromBuffer = flush - fromTail;
+      out.write(tail, 0, fromTail);
+      out.write(buffer, 0, fromBuffer);
+      int kept = tailLength - fromTail;
+      System.arraycopy(tail, fromTail, tail, 0, kept);
+      System.arraycopy(buffer, fromBuffer, tail, kept, length - fromBuffer);
+      tailLength = AUTH_TAG_LEN;
+    }
+
+    private void ensureCapacity(int size) {
+      if (buffer.length < size) {
+        buffer = new byte[size];
+      }
+    }
+  }
+
   /**
    * Validate inputs (sizes, algorithms)
    *
@@ -218,10 +340,15 @@ public class AesGcmEncrypter implements Encrypter {
   public byte[] decrypt(byte[] ciphertext, byte[] iv, byte[] aad, byte[] authTag, Key key) throws
     GeneralSecurityException {
     validateInputs(key, aad, iv);
-    Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-    cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
-    cipher.updateAAD(aad);
-    return cipher.doFinal(concatenateArrays(ciphertext, authTag));
+    EnginePool<Cipher> pool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(IV_LENGTH, iv));
+      cipher.updateAAD(aad);
+      return cipher.doFinal(concatenateArrays(ciphertext, authTag));
+    } finally {
+      pool.release(cipher);
+    }
   }
 
   @Override
@@ -15,6 +15,8 @@
  */
 package org.ietf.jose.jwe.encryption;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.util.Arrays;
@@ -23,6 +25,8 @@ import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 import org.ietf.jose.util.SecureRandomUtility;
 
 /**
@@ -141,13 +145,37 @@ public class DefaultEncrypter implements Encrypter {
     }
     validateInputs(key, aad, iv);
 
-    Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-    cipher.init(Cipher.ENCRYPT_MODE, generateEncryptionKey(key), new IvParameterSpec(iv));
-    final byte[] ciphertext = cipher.doFinal(payload);
+    EnginePool<Cipher> pool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    Cipher cipher = pool.borrow();
+    final byte[] ciphertext;
+    try {
+      cipher.init(Cipher.ENCRYPT_MODE, generateEncryptionKey(key), new IvParameterSpec(iv));
+      ciphertext = cipher.doFinal(payload);
+    } finally {
+      pool.release(cipher);
+    }
 
     return new EncryptionResult(iv, aad, ciphertext, calculateAuthenticationTag(ciphertext, aad, iv, key));
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The HMAC is computed over the AAD, IV and each ciphertext block as it is
+   * written.
+   */
+  @Override
+  public EncryptionStream openEncryptionStream(OutputStream out, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException {
+    if (iv == null) {
+      iv = SecureRandomUtility.generateBytes(IV_BYTE_LENGTH);
+    }
+    if (aad == null) {
+      aad = new byte[0];
+    }
+    validateInputs(key, aad, iv);
+    return new CbcHmacEncryptionStream(out, iv, aad, key);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -162,18 +190,29 @@ public class DefaultEncrypter implements Encrypter {
       return null;
     }
 
-    Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-    cipher.init(Cipher.DECRYPT_MODE, generateEncryptionKey(key), new IvParameterSpec(iv));
-    return cipher.doFinal(ciphertext);
+    EnginePool<Cipher> pool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.DECRYPT_MODE, generateEncryptionKey(key), new IvParameterSpec(iv));
+      return cipher.doFinal(ciphertext);
+    } finally {
+      pool.release(cipher);
+    }
   }
 
   private byte[] calculateAuthenticationTag(byte[] ciphertext, byte[] aad, byte[] iv, Key key) throws
     GeneralSecurityException {
     final byte[] al = getUnsignedLongBytes(aad.length * 8);
     final byte[] macInput = concatenate(aad, iv, ciphertext, al);
-    Mac mac = Mac.getInstance(configuration.JCE_MAC_ALG);
-    mac.init(generateMacKey(key));
-    byte[] macValue = mac.doFinal(macInput);
+    EnginePool<Mac> pool = JcaEngines.mac(configuration.JCE_MAC_ALG);
+    Mac mac = pool.borrow();
+    byte[] macValue;
+    try {
+      mac.init(generateMacKey(key));
+      macValue = mac.doFinal(macInput);
+    } finally {
+      pool.release(mac);
+    }
     return Arrays.copyOf(macValue, configuration.T_LEN);
   }
 
@@ -225,6 +264,78 @@ public class DefaultEncrypter implements Encrypter {
                              SECRET_KEY_ALGORITHM);
   }
 
+  /**
+   * Streaming AES-CBC encryption with the HMAC computed alongside.
+   */
+  private final class CbcHmacEncryptionStream extends EncryptionStream {
+
+    private final EnginePool<Cipher> cipherPool = JcaEngines.cipher(CIPHER_ALGORITHM);
+    private final EnginePool<Mac> macPool = JcaEngines.mac(configuration.JCE_MAC_ALG);
+    private final Cipher cipher;
+    private final Mac mac;
+    /**
+     * The AAD length in bits (AL).
+     */
+    private final long aadBits;
+    /**
+     * The reusable ciphertext buffer.
+     */
+    private byte[] buffer = new byte[0];
+
+    CbcHmacEncryptionStream(OutputStream out, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException {
+      super(out, iv);
+      this.aadBits = aad.length * 8L;
+      this.cipher = cipherPool.borrow();
+      this.mac = macPool.borrow();
+      try {
+        cipher.init(Cipher.ENCRYPT_MODE, generateEncryptionKey(key), new IvParameterSpec(iv));
+        mac.init(generateMacKey(key));
+        mac.update(aad);
+        mac.update(iv);
+      } catch (GeneralSecurityException | RuntimeException ex) {
+        release();
+        throw ex;
+      }
+    }
+
+    @Override
+    protected void update(byte[] plaintext, int off, int len) throws GeneralSecurityException, IOException {
+      ensureCapacity(cipher.getOutputSize(len));
+      emit(cipher.update(plaintext, off, len, buffer, 0));
+    }
+
+    @Override
+    protected byte[] doFinal() throws GeneralSecurityException, IOException {
+      try {
+        ensureCapacity(cipher.getOutputSize(0));
+        emit(cipher.doFinal(buffer, 0));
+        mac.update(getUnsignedLongBytes(aadBits));
+        return Arrays.copyOf(mac.doFinal(), configuration.T_LEN);
+      } finally {
+        release();
+      }
+    }
+
+    /**
+     * Authenticate and write the ciphertext in the buffer.
+     */
+    private void emit(int length) throws IOException {
+      mac.update(buffer, 0, length);
+      out.write(buffer, 0, length);
+    }
+
+    private void ensureCapacity(int size) {
+      if (buffer.length < size) {
+        buffer = new byte[size];
+      }
+    }
+
+    private void release() {
+      cipherPool.release(cipher);
+      macPool.release(mac);
+    }
+  }
+
   /**
    * Immutable configuration parameters for the AES-CBC-HMAC-SHA2 encryption
    * scheme.
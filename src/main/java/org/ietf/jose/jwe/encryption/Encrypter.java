@@ -15,6 +15,7 @@
  */
 package org.ietf.jose.jwe.encryption;
 
+import java.io.OutputStream;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 
@@ -48,6 +49,23 @@ public interface Encrypter {
    */
   EncryptionResult encrypt(byte[] payload, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException;
 
+  /**
+   * Open a stream that encrypts the plaintext written to it and writes the
+   * ciphertext incrementally to the provided output stream. The ciphertext
+   * and authentication tag are identical to those of
+   * {@link #encrypt(byte[], byte[], byte[], Key)} for the same inputs.
+   *
+   * @param out the ciphertext output stream
+   * @param iv  initialisation vector. Implementations should generate a valid
+   *            initialisation vector automatically in case a null IV is
+   *            provided.
+   * @param aad additional authenticated data
+   * @param key a valid encryption key.
+   * @return an encryption stream
+   * @throws GeneralSecurityException if the cipher cannot be initialised
+   */
+  EncryptionStream openEncryptionStream(OutputStream out, byte[] iv, byte[] aad, Key key) throws GeneralSecurityException;
+
   /**
    * Decrypt the ciphertext using the provided initialisation vector, additional
    * authenticated data, and key.
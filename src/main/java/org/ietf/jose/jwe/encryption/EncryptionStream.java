@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jwe.encryption;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * An output stream that encrypts the plaintext written to it and writes the
+ * ciphertext incrementally to an underlying stream. The authentication tag is
+ * computed alongside and is available once the stream is finished, so memory
+ * use is fixed regardless of the plaintext size.
+ * <p>
+ * The ciphertext and authentication tag are identical to those produced by
+ * {@link Encrypter#encrypt(byte[], byte[], byte[], java.security.Key)} for the
+ * same inputs.
+ * <p>
+ * Call {@link #finish()} or {@link #close()} to complete the encryption and
+ * return the pooled cipher engines. Closing this stream does not close the
+ * underlying ciphertext stream. Instances are not thread safe.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public abstract class EncryptionStream extends OutputStream {
+
+  /**
+   * The ciphertext output stream.
+   */
+  protected final OutputStream out;
+  /**
+   * The initialization vector.
+   */
+  private final byte[] iv;
+  /**
+   * The authentication tag. Set when the stream is finished.
+   */
+  private byte[] authTag;
+  /**
+   * Indicator that the encryption is complete (or failed).
+   */
+  private boolean finished;
+
+  /**
+   * Create a new encryption stream.
+   *
+   * @param out the ciphertext output stream
+   * @param iv  the initialization vector
+   */
+  protected EncryptionStream(OutputStream out, byte[] iv) {
+    this.out = out;
+    this.iv = iv;
+  }
+
+  /**
+   * Get the initialization vector. This is available as soon as the stream is
+   * open, for example to be written before the ciphertext.
+   *
+   * @return the initialization vector bytes
+   */
+  public byte[] getIv() {
+    return iv;
+  }
+
+  /**
+   * Get the authentication tag.
+   *
+   * @return the authentication tag bytes
+   * @throws IllegalStateException if the stream is not finished
+   */
+  public byte[] getAuthTag() {
+    if (authTag == null) {
+      throw new IllegalStateException("The encryption stream is not finished.");
+    }
+    return authTag;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[]{(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (finished) {
+      throw new IOException("The encryption stream is finished.");
+    }
+    try {
+      update(b, off, len);
+    } catch (GeneralSecurityException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  /**
+   * Complete the encryption: write the final ciphertext block(s) and compute
+   * the authentication tag. The underlying stream is not closed.
+   *
+   * @return the authentication tag bytes
+   * @throws IOException if the ciphertext cannot be written or the encryption
+   *                     fails
+   */
+  public byte[] finish() throws IOException {
+    if (!finished) {
+      finished = true;
+      try {
+        authTag = doFinal();
+      } catch (GeneralSecurityException ex) {
+        throw new IOException(ex);
+      }
+    }
+    return getAuthTag();
+  }
+
+  /**
+   * Finish the encryption and flush the underlying stream. The underlying
+   * stream is not closed.
+   *
+   * @throws IOException if the ciphertext cannot be written or the encryption
+   *                     fails
+   */
+  @Override
+  public void close() throws IOException {
+    finish();
+    out.flush();
+  }
+
+  /**
+   * Encrypt plaintext and write the available ciphertext.
+   *
+   * @param plaintext the plaintext buffer
+   * @param off       the start offset in the buffer
+   * @param len       the number of bytes to encrypt
+   * @throws GeneralSecurityException if the encryption fails
+   * @throws IOException              if the ciphertext cannot be written
+   */
+  protected abstract void update(byte[] plaintext, int off, int len) throws GeneralSecurityException, IOException;
+
+  /**
+   * Write the remaining ciphertext and release the cipher engines. Called
+   * exactly once.
+   *
+   * @return the authentication tag
+   * @throws GeneralSecurityException if the encryption fails
+   * @throws IOException              if the ciphertext cannot be written
+   */
+  protected abstract byte[] doFinal() throws GeneralSecurityException, IOException;
+
+}
@@ -15,12 +15,14 @@
  */
 package org.ietf.jose.jwk;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Function;
+import javax.json.bind.annotation.JsonbTransient;
 import javax.json.bind.annotation.JsonbTypeDeserializer;
 import org.ietf.jose.adapter.JsonJwkListDeserializer;
+import org.ietf.jose.jwa.JwsAlgorithmType;
 import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jws.JwsHeader;
 
 /**
  * RFC 7517 JSON Web Key (JWK)
@@ -44,6 +46,14 @@ import org.ietf.jose.jwk.key.AbstractJwk;
  * Implementations SHOULD ignore JWKs within a JWK Set that use "kty" (key type)
  * values that are not understood by them, that are missing required members, or
  * for which values are out of the supported ranges.
+ * <p>
+ * Developer note: keys may be looked up by "kid", "x5t", "x5t#S256", "use" and
+ * "alg" in constant time. The lookup indexes are built on first use and
+ * rebuilt after the key list is modified through {@link #addKey},
+ * {@link #setKeys} or the list returned by {@link #getKeys}. The indexes
+ * reflect the key parameters at the time they are built; keys should not be
+ * modified after they are added to the set. A JWK Set may be shared for
+ * lookups by many threads once it is no longer modified.
  *
  * @see <a href="https://tools.ietf.org/html/rfc7517">JSON Web Key (JWK)</a>
  */
@@ -59,30 +69,308 @@ public class JwkSet {
    */
   @JsonbTypeDeserializer(JsonJwkListDeserializer.class)
   private List<AbstractJwk> keys;
+  /**
+   * The lookup indexes. Rebuilt when the key list changes.
+   */
+  @JsonbTransient
+  private volatile KeyIndex index;
 
   /**
    * Default no-arg constructor. Initializes the the internal keys list.
    */
   public JwkSet() {
-    this.keys = new ArrayList<>();
+    this.keys = new KeyList(new ArrayList<>());
   }
 
   public List<AbstractJwk> getKeys() {
-    return this.keys;
+    return getKeyList();
   }
 
+  /**
+   * Set the keys. The list is copied.
+   *
+   * @param keys the keys
+   */
   public void setKeys(List< AbstractJwk> keys) {
-    this.keys = keys;
+    this.keys = new KeyList(keys == null ? new ArrayList<>() : new ArrayList<>(keys));
   }
 
   public void addKey(AbstractJwk key) {
-    this.keys.add(key);
+    getKeyList().add(key);
+  }
+
+  /**
+   * Find the keys with the indicated "kid" (Key ID) parameter.
+   *
+   * @param kid the key ID
+   * @return an unmodifiable list of matching keys, in set order; empty if
+   *         none match
+   */
+  public List<AbstractJwk> findByKid(String kid) {
+    return lookup(getIndex().byKid, kid);
+  }
+
+  /**
+   * Find the keys with the indicated "x5t" (X.509 Certificate SHA-1
+   * Thumbprint) parameter.
+   *
+   * @param x5t the base64url encoded SHA-1 thumbprint
+   * @return an unmodifiable list of matching keys; empty if none match
+   */
+  public List<AbstractJwk> findByX5t(String x5t) {
+    return lookup(getIndex().byX5t, x5t);
+  }
+
+  /**
+   * Find the keys with the indicated "x5t#S256" (X.509 Certificate SHA-256
+   * Thumbprint) parameter.
+   *
+   * @param x5tS256 the base64url encoded SHA-256 thumbprint
+   * @return an unmodifiable list of matching keys; empty if none match
+   */
+  public List<AbstractJwk> findByX5tS256(String x5tS256) {
+    return lookup(getIndex().byX5tS256, x5tS256);
+  }
+
+  /**
+   * Find the keys with the indicated "use" (Public Key Use) parameter.
+   *
+   * @param use the public key use
+   * @return an unmodifiable list of matching keys; empty if none match
+   */
+  public List<AbstractJwk> findByUse(PublicKeyUseType use) {
+    return lookup(getIndex().byUse, use);
+  }
+
+  /**
+   * Find the keys with the indicated "alg" (Algorithm) parameter.
+   *
+   * @param alg the JOSE algorithm name
+   * @return an unmodifiable list of matching keys; empty if none match
+   */
+  public List<AbstractJwk> findByAlg(String alg) {
+    return lookup(getIndex().byAlg, alg);
+  }
+
+  /**
+   * Find the first key with the indicated "kid" (Key ID) parameter.
+   *
+   * @param kid the key ID
+   * @return the matching key, or null if none match
+   */
+  public AbstractJwk findKey(String kid) {
+    List<AbstractJwk> matches = findByKid(kid);
+    return matches.isEmpty() ? null : matches.get(0);
+  }
+
+  /**
+   * Find the key to verify a JWS with the indicated protected header.
+   * <p>
+   * Candidate keys are selected by the header "kid" if present, otherwise by
+   * "x5t#S256" or "x5t", otherwise all keys are candidates. The first
+   * candidate that is suitable for the header "alg" is returned: its key type
+   * must match the algorithm, its "alg" (if any) must equal the header "alg",
+   * its "use" (if any) must be "sig" and its "key_ops" (if any) must include
+   * "verify".
+   * <p>
+   * The returned JWK memoizes its JCA key, so repeated lookups of the same
+   * key do not repeat the key conversion.
+   *
+   * @param header the JWS protected header
+   * @return the verification key, or null if no suitable key is found
+   */
+  public AbstractJwk findVerificationKey(JwsHeader header) {
+    JwsAlgorithmType algorithm;
+    try {
+      algorithm = JwsAlgorithmType.resolveAlgorithm(header.getAlg());
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+    KeyIndex keyIndex = getIndex();
+    List<AbstractJwk> candidates;
+    if (header.getKid() != null) {
+      candidates = lookup(keyIndex.byKid, header.getKid());
+    } else if (header.getX5tS256() != null) {
+      candidates = lookup(keyIndex.byX5tS256, header.getX5tS256());
+    } else if (header.getX5t() != null) {
+      candidates = lookup(keyIndex.byX5t, header.getX5t());
+    } else {
+      candidates = keyIndex.all;
+    }
+    for (AbstractJwk candidate : candidates) {
+      if (isVerificationKey(candidate, algorithm)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Determine if a key may verify a signature with the indicated algorithm.
+   */
+  private static boolean isVerificationKey(AbstractJwk key, JwsAlgorithmType algorithm) {
+    if (key.getAlg() != null && !key.getAlg().equals(algorithm.getJoseAlgorithmName())) {
+      return false;
+    }
+    if (key.getUse() != null && key.getUse() != PublicKeyUseType.sig) {
+      return false;
+    }
+    if (key.getKey_ops() != null && !key.getKey_ops().contains(KeyOperationType.verify)) {
+      return false;
+    }
+    switch (algorithm) {
+      case HS256:
+      case HS384:
+      case HS512:
+        return key.getKty() == KeyType.oct;
+      case ES256:
+      case ES384:
+      case ES512:
+        return key.getKty() == KeyType.EC;
+      case NONE:
+        return false;
+      default:
+        return key.getKty() == KeyType.RSA;
+    }
+  }
+
+  /**
+   * Get the key list, wrapping a list set by the JSON-B deserializer.
+   */
+  private KeyList getKeyList() {
+    List<AbstractJwk> list = this.keys;
+    if (list instanceof KeyList) {
+      return (KeyList) list;
+    }
+    KeyList keyList = new KeyList(list == null ? new ArrayList<>() : list);
+    this.keys = keyList;
+    return keyList;
+  }
+
+  /**
+   * Build the lookup indexes now instead of on the first lookup, so that a set
+   * is fully prepared before it is published to other threads.
+   */
+  void buildIndex() {
+    getIndex();
+  }
+
+  /**
+   * Get the current lookup index, rebuilding it if the key list has changed.
+   */
+  private KeyIndex getIndex() {
+    KeyList keyList = getKeyList();
+    KeyIndex current = index;
+    if (current == null || current.list != keyList || current.version != keyList.version) {
+      current = new KeyIndex(keyList);
+      index = current;
+    }
+    return current;
+  }
+
+  private static <K> List<AbstractJwk> lookup(Map<K, List<AbstractJwk>> map, K key) {
+    List<AbstractJwk> matches = key == null ? null : map.get(key);
+    return matches == null ? Collections.emptyList() : matches;
+  }
+
+  /**
+   * A key list that records modifications so that the lookup index can be
+   * rebuilt.
+   */
+  private static final class KeyList extends AbstractList<AbstractJwk> implements RandomAccess {
+
+    private final List<AbstractJwk> delegate;
+    /**
+     * Incremented on every modification.
+     */
+    private volatile int version;
+
+    private KeyList(List<AbstractJwk> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public AbstractJwk get(int index) {
+      return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+
+    @Override
+    public AbstractJwk set(int index, AbstractJwk element) {
+      AbstractJwk previous = delegate.set(index, element);
+      version++;
+      return previous;
+    }
+
+    @Override
+    public void add(int index, AbstractJwk element) {
+      delegate.add(index, element);
+      modCount++;
+      version++;
+    }
+
+    @Override
+    public AbstractJwk remove(int index) {
+      AbstractJwk removed = delegate.remove(index);
+      modCount++;
+      version++;
+      return removed;
+    }
+  }
+
+  /**
+   * An immutable snapshot of the lookup indexes for one version of a key list.
+   */
+  private static final class KeyIndex {
+
+    private final KeyList list;
+    private final int version;
+    private final List<AbstractJwk> all;
+    private final Map<String, List<AbstractJwk>> byKid;
+    private final Map<String, List<AbstractJwk>> byX5t;
+    private final Map<String, List<AbstractJwk>> byX5tS256;
+    private final Map<String, List<AbstractJwk>> byAlg;
+    private final Map<PublicKeyUseType, List<AbstractJwk>> byUse;
+
+    private KeyIndex(KeyList list) {
+      this.list = list;
+      this.version = list.version;
+      List<AbstractJwk> snapshot = new ArrayList<>(list.size());
+      for (AbstractJwk key : list.delegate) {
+        if (key != null) {
+          snapshot.add(key);
+        }
+      }
+      this.all = Collections.unmodifiableList(snapshot);
+      this.byKid = index(snapshot, AbstractJwk::getKid, new HashMap<>());
+      this.byX5t = index(snapshot, AbstractJwk::getX5t, new HashMap<>());
+      this.byX5tS256 = index(snapshot, AbstractJwk::getX5tS256, new HashMap<>());
+      this.byAlg = index(snapshot, AbstractJwk::getAlg, new HashMap<>());
+      this.byUse = index(snapshot, AbstractJwk::getUse, new EnumMap<>(PublicKeyUseType.class));
+    }
+
+    private static <K> Map<K, List<AbstractJwk>> index(List<AbstractJwk> keys,
+                                                       Function<AbstractJwk, K> property,
+                                                       Map<K, List<AbstractJwk>> map) {
+      for (AbstractJwk key : keys) {
+        K value = property.apply(key);
+        if (value != null) {
+          map.computeIfAbsent(value, k -> new ArrayList<>(1)).add(key);
+        }
+      }
+      map.replaceAll((k, v) -> Collections.unmodifiableList(v));
+      return map;
+    }
   }
 
   @Override
   public int hashCode() {
     int hash = 3;
-    hash = 43 * hash + Objects.hashCode(this.keys);
+    hash = 43 * hash + Objects.hashCode(this.getKeys());
     return hash;
   }
 
@@ -98,7 +386,7 @@ public class JwkSet {
       return false;
     }
     final JwkSet other = (JwkSet) obj;
-    return Objects.equals(this.keys, other.keys);
+    return Objects.equals(this.getKeys(), other.getKeys());
   }
 
   protected boolean canEqual(Object other) {
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jwk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A source of JWK Set JSON documents for a {@link JwkSetSource}.
+ * <p>
+ * A loader provides the current document. The source calls {@link #load()} on
+ * every check and only parses the document when its size or SHA-256 digest
+ * has changed. Loaders are called from the source refresh thread only.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public interface JwkSetLoader {
+
+  /**
+   * Read the current document.
+   *
+   * @return the UTF-8 encoded JWK Set JSON
+   * @throws IOException if the document cannot be read
+   */
+  byte[] load() throws IOException;
+
+  /**
+   * Get a loader for a local file.
+   *
+   * @param file the JWK Set file
+   * @return a new loader
+   */
+  static JwkSetLoader file(Path file) {
+    Objects.requireNonNull(file, "file");
+    return new JwkSetLoader() {
+      @Override
+      public byte[] load() throws IOException {
+        return Files.readAllBytes(file);
+      }
+
+      @Override
+      public String toString() {
+        return "file:" + file;
+      }
+    };
+  }
+
+  /**
+   * Get a loader for a class path resource.
+   *
+   * @param resource the absolute resource name, e.g. "/jwks.json"
+   * @return a new loader
+   */
+  static JwkSetLoader classpath(String resource) {
+    Objects.requireNonNull(resource, "resource");
+    return new JwkSetLoader() {
+      @Override
+      public byte[] load() throws IOException {
+        URLConnection connection = getUrl().openConnection();
+        connection.setUseCaches(false);
+        try (InputStream inputStream = connection.getInputStream()) {
+          ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+          byte[] buffer = new byte[4096];
+          int read;
+          while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+          }
+          return outputStream.toByteArray();
+        }
+      }
+
+      private URL getUrl() throws FileNotFoundException {
+        URL url = JwkSetLoader.class.getResource(resource);
+        if (url == null) {
+          throw new FileNotFoundException("Class path resource not found: " + resource);
+        }
+        return url;
+      }
+
+      @Override
+      public String toString() {
+        return "classpath:" + resource;
+      }
+    };
+  }
+
+  /**
+   * Get an in-memory loader with the indicated initial document. The
+   * document may be replaced with {@link MemoryLoader#update(String)}.
+   *
+   * @param json the initial JWK Set JSON
+   * @return a new in-memory loader
+   */
+  static MemoryLoader memory(String json) {
+    MemoryLoader loader = new MemoryLoader();
+    loader.update(json);
+    return loader;
+  }
+
+  /**
+   * An in-memory loader, for example as a stand-in for a file in tests.
+   */
+  final class MemoryLoader implements JwkSetLoader {
+
+    private volatile byte[] document;
+
+    private MemoryLoader() {
+    }
+
+    /**
+     * Replace the document.
+     *
+     * @param json the new JWK Set JSON; null to make the document unavailable
+     */
+    public void update(String json) {
+      this.document = json == null ? null : json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] load() throws IOException {
+      byte[] current = document;
+      if (current == null) {
+        throw new NoSuchFileException("memory");
+      }
+      return current.clone();
+    }
+  }
+
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jwk;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwk.key.*;
+import org.ietf.jose.util.JsonbReader;
+import org.ietf.jose.util.TokenDigest;
+
+/**
+ * A hot-reloading source of a trusted JWK Set.
+ * <p>
+ * The source reads a JWK Set from a {@link JwkSetLoader} (for example a local
+ * file that is rotated) and publishes an immutable snapshot with an atomic
+ * swap. Readers call {@link #getJwkSet()}, which is a single volatile read:
+ * readers never lock, never block on a reload and never see an empty set
+ * while a new document is being read.
+ * <p>
+ * Reloads happen off the request path, either on demand with
+ * {@link #refresh()} or periodically after {@link #start(Duration)} on a
+ * shared daemon thread. The document is read on every check and a reload is
+ * skipped if its size and SHA-256 digest are unchanged. A file modification
+ * time is not used: a rotation written within the same time tick, or an atomic
+ * rename that keeps the time, would be missed. When the document has changed
+ * the new set is diffed against the current snapshot by RFC 7638
+ * thumbprint: an unchanged key (same thumbprint and same "kid", "use", "alg"
+ * and "key_ops") is carried over as the same JWK instance, with its already
+ * materialized JCA key; only new or changed keys are converted to JCA keys,
+ * before the new snapshot is published. Keys that cannot be converted are
+ * ignored, as recommended by RFC 7517 section 5.
+ * <p>
+ * If the document cannot be read or parsed the current snapshot is kept and
+ * the error is available from {@link #getLastError()}.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JwkSetSource implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(JwkSetSource.class.getName());
+  /**
+   * The shared JsonB reader. Thread safe.
+   */
+  private static final JsonbReader READER = new JsonbReader();
+  /**
+   * The shared refresh scheduler. A single daemon thread serves all sources.
+   */
+  private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "jwk-set-source");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The document loader.
+   */
+  private final JwkSetLoader loader;
+  /**
+   * The current snapshot. Never null.
+   */
+  private final AtomicReference<Snapshot> snapshot;
+  /**
+   * The periodic refresh task. Null if not started.
+   */
+  private ScheduledFuture<?> task;
+  /**
+   * The last load or parse error. Null if the last refresh succeeded.
+   */
+  private volatile Exception lastError;
+
+  /**
+   * An immutable published key set and its version.
+   */
+  private static final class Snapshot {
+
+    private final JwkSet jwkSet;
+    private final long version;
+    /**
+     * The size and digest of the loaded document. -1 and null before the
+     * first load.
+     */
+    private final int documentLength;
+    private final TokenDigest documentDigest;
+    /**
+     * The keys by thumbprint.
+     */
+    private final Map<String, AbstractJwk> byThumbprint;
+
+    private Snapshot(JwkSet jwkSet, long version, int documentLength, TokenDigest documentDigest,
+                     Map<String, AbstractJwk> byThumbprint) {
+      this.jwkSet = jwkSet;
+      this.version = version;
+      this.documentLength = documentLength;
+      this.documentDigest = documentDigest;
+      this.byThumbprint = byThumbprint;
+    }
+  }
+
+  /**
+   * Construct a new source. The source is empty until the first
+   * {@link #refresh()}.
+   *
+   * @param loader the document loader
+   */
+  public JwkSetSource(JwkSetLoader loader) {
+    this.loader = Objects.requireNonNull(loader, "loader");
+    this.snapshot = new AtomicReference<>(new Snapshot(new JwkSet(), 0, -1, null, Collections.emptyMap()));
+  }
+
+  /**
+   * Create a source for a local file, load it and start polling it for
+   * changes.
+   *
+   * @param file         the JWK Set file
+   * @param pollInterval the interval between change checks
+   * @return a new, started source
+   * @throws IOException if the file cannot be read or parsed
+   */
+  public static JwkSetSource watch(Path file, Duration pollInterval) throws IOException {
+    JwkSetSource source = new JwkSetSource(JwkSetLoader.file(file));
+    if (!source.refresh() && source.lastError != null) {
+      throw new IOException("Failed to load JWK set " + file, source.lastError);
+    }
+    source.start(pollInterval);
+    return source;
+  }
+
+  /**
+   * Get the current JWK Set snapshot. The snapshot must not be modified.
+   *
+   * @return the current JWK set; empty before the first successful refresh
+   */
+  public JwkSet getJwkSet() {
+    return snapshot.get().jwkSet;
+  }
+
+  /**
+   * Get the current snapshot version. The version is incremented each time a
+   * changed key set is published; it may be used to invalidate results that
+   * depend on the key set.
+   *
+   * @return the snapshot version; zero before the first successful refresh
+   */
+  public long getVersion() {
+    return snapshot.get().version;
+  }
+
+  /**
+   * Get the error of the last refresh.
+   *
+   * @return the last load or parse error, or null if the last refresh
+   *         succeeded
+   */
+  public Exception getLastError() {
+    return lastError;
+  }
+
+  /**
+   * Start polling the loader for changes on the shared refresh thread.
+   *
+   * @param pollInterval the interval between change checks
+   * @return this source
+   */
+  public synchronized JwkSetSource start(Duration pollInterval) {
+    if (task == null) {
+      long millis = Math.max(1, pollInterval.toMillis());
+      task = SCHEDULER.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+    return this;
+  }
+
+  /**
+   * Stop polling for changes. The current snapshot remains available.
+   */
+  @Override
+  public synchronized void close() {
+    if (task != null) {
+      task.cancel(false);
+      task = null;
+    }
+  }
+
+  /**
+   * Check the loader for a changed document and, if changed, load, diff and
+   * publish a new snapshot. Refreshes are serialized; readers are never
+   * blocked.
+   *
+   * @return true if a new snapshot was published
+   */
+  public synchronized boolean refresh() {
+    Snapshot current = snapshot.get();
+    byte[] document;
+    TokenDigest documentDigest;
+    JwkSet loaded;
+    try {
+      document = loader.load();
+      documentDigest = TokenDigest.of(document);
+      if (document.length == current.documentLength && documentDigest.equals(current.documentDigest)) {
+        lastError = null;
+        return false;
+      }
+      loaded = READER.unmarshal(document, JwkSet.class);
+      if (loaded == null) {
+        throw new IOException("Empty JWK set document");
+      }
+    } catch (IOException | RuntimeException ex) {
+      lastError = ex;
+      LOG.log(Level.WARNING, "Failed to load JWK set from {0}: {1}", new Object[]{loader, ex.getMessage()});
+      return false;
+    }
+    lastError = null;
+    Map<String, AbstractJwk> byThumbprint = new HashMap<>();
+    List<AbstractJwk> keys = new ArrayList<>(loaded.getKeys().size());
+    boolean changed = false;
+    for (AbstractJwk key : loaded.getKeys()) {
+      String thumbprint;
+      try {
+        thumbprint = key.getThumbprint();
+      } catch (RuntimeException ex) {
+        LOG.log(Level.WARNING, "Ignoring invalid JWK {0}: {1}", new Object[]{key.getKid(), ex.getMessage()});
+        changed = true;
+        continue;
+      }
+      AbstractJwk previous = current.byThumbprint.get(thumbprint);
+      if (previous != null && isSameKey(previous, key)) {
+        key = previous;
+      } else if (!materialize(key)) {
+        changed = true;
+        continue;
+      } else {
+        changed = true;
+      }
+      keys.add(key);
+      byThumbprint.putIfAbsent(thumbprint, key);
+    }
+    if (!changed
+        && keys.size() == current.jwkSet.getKeys().size()
+        && byThumbprint.keySet().equals(current.byThumbprint.keySet())) {
+      /**
+       * Same keys; remember the document without a new version. The
+       * thumbprints are compared as well as the count so that a removed key
+       * replaced by a repeat of a remaining key is not kept.
+       */
+      snapshot.set(new Snapshot(current.jwkSet, current.version, document.length, documentDigest, current.byThumbprint));
+      return false;
+    }
+    JwkSet jwkSet = new JwkSet();
+    jwkSet.setKeys(keys);
+    /**
+     * Build the lookup index before the snapshot is published.
+     */
+    jwkSet.buildIndex();
+    snapshot.set(new Snapshot(jwkSet, current.version + 1, document.length, documentDigest,
+                              Collections.unmodifiableMap(byThumbprint)));
+    LOG.log(Level.FINE, "Published JWK set version {0} with {1} keys from {2}",
+            new Object[]{current.version + 1, keys.size(), loader});
+    return true;
+  }
+
+  /**
+   * Refresh from the scheduler; never throws so that polling continues.
+   */
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException ex) {
+      lastError = ex;
+      LOG.log(Level.WARNING, "JWK set refresh failed", ex);
+    }
+  }
+
+  /**
+   * Determine if a key with the same thumbprint also has the same optional
+   * parameters.
+   */
+  private static boolean isSameKey(AbstractJwk previous, AbstractJwk key) {
+    return previous.getClass() == key.getClass()
+      && Objects.equals(previous.getKid(), key.getKid())
+      && Objects.equals(previous.getUse(), key.getUse())
+      && Objects.equals(previous.getAlg(), key.getAlg())
+      && Objects.equals(previous.getKey_ops(), key.getKey_ops())
+      && Objects.equals(previous.getX5t(), key.getX5t())
+      && Objects.equals(previous.getX5tS256(), key.getX5tS256());
+  }
+
+  /**
+   * Convert a JWK to its JCA key(s), which the JWK memoizes.
+   *
+   * @return false if the key is not valid
+   */
+  private static boolean materialize(AbstractJwk key) {
+    try {
+      if (key instanceof RsaPrivateJwk) {
+        ((RsaPrivateJwk) key).getPrivateKey();
+      }
+      if (key instanceof RsaPublicJwk) {
+        ((RsaPublicJwk) key).getPublicKey();
+      } else if (key instanceof EllipticCurvePrivateJwk) {
+        ((EllipticCurvePrivateJwk) key).getPrivateKey();
+        ((EllipticCurvePrivateJwk) key).getPublicKey();
+      } else if (key instanceof EllipticCurvePublicJwk) {
+        ((EllipticCurvePublicJwk) key).getPublicKey();
+      } else if (key instanceof SymmetricJwk) {
+        ((SymmetricJwk) key).getSecretKey(key.getAlg() == null
+                                          ? JwsAlgorithmType.HS256.getJavaAlgorithmName()
+                                          : getJavaAlgorithmName(key.getAlg()));
+      }
+      return true;
+    } catch (GeneralSecurityException | RuntimeException ex) {
+      LOG.log(Level.WARNING, "Ignoring invalid JWK {0}: {1}", new Object[]{key.getKid(), ex.getMessage()});
+      return false;
+    }
+  }
+
+  /**
+   * Get the JCA name of a JWS algorithm, or the JOSE name if not a JWS
+   * algorithm.
+   */
+  private static String getJavaAlgorithmName(String alg) {
+    try {
+      return JwsAlgorithmType.resolveAlgorithm(alg).getJavaAlgorithmName();
+    } catch (IllegalArgumentException ex) {
+      return alg;
+    }
+  }
+
+}
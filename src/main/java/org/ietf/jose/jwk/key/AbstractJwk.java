@@ -15,6 +15,12 @@
  */
 package org.ietf.jose.jwk.key;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProviderException;
+import java.util.Arrays;
 import java.util.List;
 import javax.json.bind.annotation.JsonbTypeDeserializer;
 import org.ietf.jose.AbstractHeader;
@@ -22,6 +28,9 @@ import org.ietf.jose.adapter.JsonJwkDeserializer;
 import org.ietf.jose.jwk.KeyOperationType;
 import org.ietf.jose.jwk.KeyType;
 import org.ietf.jose.jwk.PublicKeyUseType;
+import org.ietf.jose.util.Base64Utility;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 
 /**
  * RFC-7517 JSON Web Key (JWK)
@@ -184,6 +193,61 @@ public abstract class AbstractJwk extends AbstractHeader {
     this.key_ops = key_ops;
   }
 
+  /**
+   * RFC 7638 JSON Web Key (JWK) Thumbprint.
+   * <p>
+   * The thumbprint is the BASE64URL encoded SHA-256 hash of a JSON object that
+   * contains only the required members of the (public) key, ordered
+   * lexicographically and without whitespace. Two JWKs for the same key have
+   * the same thumbprint regardless of their optional members ("kid", "use",
+   * "alg", etc.) and of any private key members.
+   *
+   * @return the JWK SHA-256 thumbprint
+   */
+  public String getThumbprint() {
+    byte[] json = getThumbprintMembers().getBytes(StandardCharsets.UTF_8);
+    EnginePool<MessageDigest> pool;
+    try {
+      pool = JcaEngines.messageDigest("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new ProviderException("SHA-256 is not available", ex);
+    }
+    MessageDigest digest = pool.borrow();
+    try {
+      return Base64Utility.toBase64Url(digest.digest(json));
+    } finally {
+      pool.release(digest);
+    }
+  }
+
+  /**
+   * Get the JSON object of the required members of this key type, in
+   * lexicographic order and without whitespace, as specified in RFC 7638
+   * section 3.2.
+   *
+   * @return the thumbprint input JSON
+   */
+  protected abstract String getThumbprintMembers();
+
+  /**
+   * BASE64URL encode the unsigned big-endian representation of an integer.
+   *
+   * @param value  the integer value
+   * @param length the octet length; if zero the minimal length is used
+   * @return the encoded value
+   */
+  protected static String toBase64Url(BigInteger value, int length) {
+    byte[] bytes = value.toByteArray();
+    int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+    int size = bytes.length - offset;
+    if (length <= size) {
+      return Base64Utility.toBase64Url(offset == 0 ? bytes : Arrays.copyOfRange(bytes, offset, bytes.length));
+    }
+    byte[] padded = new byte[length];
+    System.arraycopy(bytes, offset, padded, length - size, size);
+    return Base64Utility.toBase64Url(padded);
+  }
+
   @Override
   public String toString() {
     return "AbstractJwk{" + "kty=" + kty + '}';
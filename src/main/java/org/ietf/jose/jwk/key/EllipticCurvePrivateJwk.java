@@ -16,9 +16,17 @@
 package org.ietf.jose.jwk.key;
 
 import java.math.BigInteger;
+import java.security.KeyFactory;
 import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECPrivateKeySpec;
+import java.security.spec.InvalidKeySpecException;
+import javax.json.bind.annotation.JsonbTransient;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 
 /**
  * RFC 7518 JSON Web Algorithms (JWA) 6.2.2.1. Parameters for Elliptic Curve
@@ -46,6 +54,13 @@ public class EllipticCurvePrivateJwk extends EllipticCurvePublicJwk {
    */
   private BigInteger d;
 
+  /**
+   * The materialized JCA private key. Built on first use and cleared when a
+   * key parameter changes.
+   */
+  @JsonbTransient
+  private volatile PrivateKey cachedPrivateKey;
+
   /**
    * Default no-arg constructor. Sets the 'key' value to `EC`.
    */
@@ -72,30 +87,57 @@ public class EllipticCurvePrivateJwk extends EllipticCurvePublicJwk {
     return jwk;
   }
 
+  /**
+   * Get the EC private key from this JWK instance. The key is built on first
+   * use and then cached until a key parameter is changed.
+   *
+   * @return the EC private key
+   * @throws NoSuchAlgorithmException if the key factory fails to instantiate
+   * @throws InvalidKeySpecException  if the EC key fails to build
+   */
+  public PrivateKey getPrivateKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    PrivateKey privateKey = cachedPrivateKey;
+    if (privateKey == null) {
+      ECPrivateKeySpec spec = new ECPrivateKeySpec(d, getParameterSpec());
+      EnginePool<KeyFactory> pool = JcaEngines.keyFactory("EC");
+      KeyFactory kf = pool.borrow();
+      try {
+        privateKey = kf.generatePrivate(spec);
+      } finally {
+        pool.release(kf);
+      }
+      cachedPrivateKey = privateKey;
+    }
+    return privateKey;
+  }
+
+  /**
+   * Get the public / private key pair.
+   *
+   * @return a Key Pair
+   * @throws NoSuchAlgorithmException if the key factory fails to instantiate
+   * @throws InvalidKeySpecException  if the EC key fails to build
+   */
+  public KeyPair getKeyPair() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    return new KeyPair(getPublicKey(), getPrivateKey());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void clearCachedKeys() {
+    super.clearCachedKeys();
+    cachedPrivateKey = null;
+  }
+
   public BigInteger getD() {
     return this.d;
   }
 
   public void setD(BigInteger d) {
     this.d = d;
+    clearCachedKeys();
   }
 
-//  public PrivateKey getPrivateKey() throws NoSuchAlgorithmException {
-//    try {
-////      ECParameterSpec spec = NamedCurve.getECParameterSpec(getCurve());
-//      /**
-//       * This immutable class specifies the set of domain parameters used with
-//       * elliptic curve cryptography (ECC).
-//       */
-//      EllipticCurve curve = new EllipticCurve(new ECFieldFp(crv.getFieldSize()), x, x);
-//      ECParameterSpec parameterSpec = new ECParameterSpec(curve, ECPoint.POINT_INFINITY, x, 0);
-//
-//      ECPrivateKeySpec privspec = new ECPrivateKeySpec(new BigInteger(Base64url.decode(getD())), spec);
-//      ECPrivateKey priv = (ECPrivateKey) ECKeyFactory.INSTANCE.generatePrivate(privspec);
-//      return priv;
-//    } catch (Exception e) {
-//      throw new JsonException("Unable to create private EC key.", e);
-//    }
-//
-//  }
 }
@@ -16,10 +16,17 @@
 package org.ietf.jose.jwk.key;
 
 import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
+import java.security.spec.*;
+import javax.json.bind.annotation.JsonbTransient;
 import javax.json.bind.annotation.JsonbTypeAdapter;
 import org.ietf.jose.adapter.EllipticCurveTypeAdapter;
 import org.ietf.jose.jwk.KeyType;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 
 /**
  * RFC 7518 JSON Web Algorithms (JWA)
@@ -75,6 +82,13 @@ public class EllipticCurvePublicJwk extends AbstractJwk {
    */
   protected BigInteger y;
 
+  /**
+   * The materialized JCA public key. Built on first use and cleared when a key
+   * parameter changes.
+   */
+  @JsonbTransient
+  private volatile PublicKey cachedPublicKey;
+
   /**
    * Default no-arg constructor. Sets the 'key' value to `EC`.
    */
@@ -98,12 +112,75 @@ public class EllipticCurvePublicJwk extends AbstractJwk {
     return jwk;
   }
 
+  /**
+   * Get the EC public key from this JWK instance. The key is built on first
+   * use and then cached until a key parameter is changed.
+   *
+   * @return the EC public key
+   * @throws NoSuchAlgorithmException if the key factory fails to instantiate
+   * @throws InvalidKeySpecException  if the EC key fails to build
+   */
+  public PublicKey getPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    PublicKey publicKey = cachedPublicKey;
+    if (publicKey == null) {
+      ECPublicKeySpec spec = new ECPublicKeySpec(new ECPoint(x, y), getParameterSpec());
+      EnginePool<KeyFactory> pool = JcaEngines.keyFactory("EC");
+      KeyFactory kf = pool.borrow();
+      try {
+        publicKey = kf.generatePublic(spec);
+      } finally {
+        pool.release(kf);
+      }
+      cachedPublicKey = publicKey;
+    }
+    return publicKey;
+  }
+
+  /**
+   * Get the curve domain parameters for the "crv" parameter.
+   *
+   * @return the curve domain parameters
+   * @throws NoSuchAlgorithmException if no provider supports EC
+   * @throws InvalidKeySpecException  if the curve is missing or not supported
+   */
+  protected ECParameterSpec getParameterSpec() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    if (crv == null) {
+      throw new InvalidKeySpecException("EC key requires the \"crv\" parameter");
+    }
+    try {
+      return crv.getParameterSpec();
+    } catch (InvalidParameterSpecException ex) {
+      throw new InvalidKeySpecException("Unsupported EC curve " + crv, ex);
+    }
+  }
+
+  /**
+   * Clear the cached JCA key(s). Called whenever a key parameter changes.
+   */
+  protected void clearCachedKeys() {
+    cachedPublicKey = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The required members of an EC public key are "crv", "kty", "x" and "y".
+   * The coordinates are encoded with the full length of the curve field.
+   */
+  @Override
+  protected String getThumbprintMembers() {
+    int length = (crv.getFieldSize().intValue() + 7) / 8;
+    return "{\"crv\":\"" + crv.name().replace('_', '-') + "\",\"kty\":\"EC\",\"x\":\""
+      + toBase64Url(x, length) + "\",\"y\":\"" + toBase64Url(y, length) + "\"}";
+  }
+
   public EllipticCurveType getCrv() {
     return this.crv;
   }
 
   public void setCrv(EllipticCurveType crv) {
     this.crv = crv;
+    clearCachedKeys();
   }
 
   public BigInteger getX() {
@@ -112,6 +189,7 @@ public class EllipticCurvePublicJwk extends AbstractJwk {
 
   public void setX(BigInteger x) {
     this.x = x;
+    clearCachedKeys();
   }
 
   public BigInteger getY() {
@@ -120,6 +198,7 @@ public class EllipticCurvePublicJwk extends AbstractJwk {
 
   public void setY(BigInteger y) {
     this.y = y;
+    clearCachedKeys();
   }
 
 }
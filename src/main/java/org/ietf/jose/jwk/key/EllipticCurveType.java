@@ -19,6 +19,11 @@
 package org.ietf.jose.jwk.key;
 
 import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.InvalidParameterSpecException;
 import javax.json.bind.annotation.JsonbProperty;
 
 /**
@@ -46,23 +51,32 @@ public enum EllipticCurveType {
    * {@code p = 2^256 – 2^224 + 2^192 + 2^96 – 1}.
    */
   @JsonbProperty("P-256")
-  P_256(256),
+  P_256(256, "secp256r1"),
   /**
    * Curve P-384. The modulus for this curve is
    * {@code p = 2^384 – 2^128 – 2^96 + 2^32 – 1}
    */
   @JsonbProperty("P-384")
-  P_384(384),
+  P_384(384, "secp384r1"),
   /**
    * Curve P-521. The modulus for this curve is {@code p = 2^521 – 1}
    */
   @JsonbProperty("P-521")
-  P_521(521);
+  P_521(521, "secp521r1");
 
   private final int fieldSize;
+  /**
+   * The SEC 2 curve name, as used by the JCA.
+   */
+  private final String standardName;
+  /**
+   * The JCA curve domain parameters. Built on first use.
+   */
+  private volatile ECParameterSpec parameterSpec;
 
-  private EllipticCurveType(int fieldSize) {
+  private EllipticCurveType(int fieldSize, String standardName) {
     this.fieldSize = fieldSize;
+    this.standardName = standardName;
   }
 
   /**
@@ -73,7 +87,7 @@ public enum EllipticCurveType {
    * @return the enumerated instance
    */
   public static EllipticCurveType fromFieldSize(int fieldSize) {
-    return EllipticCurveType.valueOf("P-" + fieldSize);
+    return EllipticCurveType.valueOf("P_" + fieldSize);
   }
 
   /**
@@ -85,4 +99,34 @@ public enum EllipticCurveType {
     return BigInteger.valueOf(fieldSize);
   }
 
+  /**
+   * Get the SEC 2 curve name, e.g. "secp256r1".
+   *
+   * @return the standard curve name
+   */
+  public String getStandardName() {
+    return standardName;
+  }
+
+  /**
+   * Get the JCA curve domain parameters, as provided by the installed "EC"
+   * AlgorithmParameters implementation. The parameters are looked up once and
+   * then cached.
+   *
+   * @return the curve domain parameters
+   * @throws NoSuchAlgorithmException     if no provider supports EC
+   * @throws InvalidParameterSpecException if the provider does not support
+   *                                       this curve
+   */
+  public ECParameterSpec getParameterSpec() throws NoSuchAlgorithmException, InvalidParameterSpecException {
+    ECParameterSpec spec = parameterSpec;
+    if (spec == null) {
+      AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+      parameters.init(new ECGenParameterSpec(standardName));
+      spec = parameters.getParameterSpec(ECParameterSpec.class);
+      parameterSpec = spec;
+    }
+    return spec;
+  }
+
 }
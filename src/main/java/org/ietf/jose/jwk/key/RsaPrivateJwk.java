@@ -24,9 +24,12 @@ import java.security.interfaces.RSAPrivateCrtKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPrivateCrtKeySpec;
 import java.security.spec.RSAPrivateKeySpec;
-import java.security.spec.RSAPublicKeySpec;
 import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 
 /**
  * RFC 7518 JSON Web Algorithms (JWA)
@@ -89,6 +92,13 @@ public class RsaPrivateJwk extends RsaPublicJwk {
    */
   private BigInteger qi;
 
+  /**
+   * The materialized JCA private key. Built on first use and cleared when a
+   * key parameter changes.
+   */
+  @JsonbTransient
+  private volatile PrivateKey cachedPrivateKey;
+
   /**
    * Default no-arg constructor. Sets the 'key' value to `RSA`.
    */
@@ -171,16 +181,86 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   /**
    * Get the RSA private key from this JWK instance.
+   * <p>
+   * If the Chinese Remainder Theorem (CRT) parameters (p, q, dp, dq, qi) are
+   * present then a CRT private key is built, which is several times faster
+   * for signing and decryption than a key built from the modulus and private
+   * exponent alone.
+   * <p>
+   * The key is built on first use and then cached until a key parameter is
+   * changed.
    *
    * @return the RSA private key
    * @throws NoSuchAlgorithmException if the key factory fails to instantiate
-   * @throws InvalidKeySpecException  if the RSA key fails to build
+   * @throws InvalidKeySpecException  if the RSA key fails to build or if the
+   *                                  CRT parameters are incomplete or
+   *                                  inconsistent
    */
   public PrivateKey getPrivateKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
-    KeyFactory kf = KeyFactory.getInstance("RSA");
-    RSAPrivateKeySpec spec = new RSAPrivateKeySpec(getModulus(), getPrivateExponent());
+    PrivateKey privateKey = cachedPrivateKey;
+    if (privateKey == null) {
+      EnginePool<KeyFactory> pool = JcaEngines.keyFactory("RSA");
+      KeyFactory kf = pool.borrow();
+      try {
+        privateKey = kf.generatePrivate(getPrivateKeySpec());
+      } finally {
+        pool.release(kf);
+      }
+      cachedPrivateKey = privateKey;
+    }
+    return privateKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void clearCachedKeys() {
+    super.clearCachedKeys();
+    cachedPrivateKey = null;
+  }
 
-    return kf.generatePrivate(spec);
+  /**
+   * Determine if this key carries the Chinese Remainder Theorem (CRT)
+   * parameters p, q, dp, dq and qi.
+   *
+   * @return true if all CRT parameters are present
+   */
+  public boolean hasCrtParameters() {
+    return p != null && q != null && dp != null && dq != null && qi != null;
+  }
+
+  /**
+   * Build the private key specification. A CRT key specification is returned
+   * if the CRT parameters are present.
+   * <p>
+   * RFC 7518 6.3.2: if the producer includes any of the other private key
+   * parameters, then all of the others MUST be present. The CRT parameters
+   * are also checked for consistency with the modulus and private exponent:
+   * a key built from inconsistent parameters silently produces invalid
+   * signatures.
+   *
+   * @return the private key specification
+   * @throws InvalidKeySpecException if the CRT parameters are incomplete or
+   *                                 inconsistent
+   */
+  private RSAPrivateKeySpec getPrivateKeySpec() throws InvalidKeySpecException {
+    if (!hasCrtParameters()) {
+      if (p != null || q != null || dp != null || dq != null || qi != null) {
+        throw new InvalidKeySpecException("Incomplete RSA CRT parameters: p, q, dp, dq and qi must all be present");
+      }
+      return new RSAPrivateKeySpec(getModulus(), getPrivateExponent());
+    }
+    if (getModulus() == null || getPublicExponent() == null || getPrivateExponent() == null) {
+      throw new InvalidKeySpecException("RSA CRT key requires the modulus, public exponent and private exponent");
+    }
+    if (!p.multiply(q).equals(getModulus())
+      || !getPrivateExponent().mod(p.subtract(BigInteger.ONE)).equals(dp)
+      || !getPrivateExponent().mod(q.subtract(BigInteger.ONE)).equals(dq)
+      || !qi.multiply(q).mod(p).equals(BigInteger.ONE)) {
+      throw new InvalidKeySpecException("Inconsistent RSA CRT parameters");
+    }
+    return new RSAPrivateCrtKeySpec(getModulus(), getPublicExponent(), getPrivateExponent(), p, q, dp, dq, qi);
   }
 
   /**
@@ -192,9 +272,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
    * @throws InvalidKeySpecException  if the RSA key fails to build
    */
   public KeyPair getKeyPair() throws NoSuchAlgorithmException, InvalidKeySpecException {
-    KeyFactory kf = KeyFactory.getInstance("RSA");
-    return new KeyPair(kf.generatePublic(new RSAPublicKeySpec(getModulus(), getPublicExponent())),
-                       kf.generatePrivate(new RSAPrivateKeySpec(getModulus(), getPrivateExponent())));
+    return new KeyPair(getPublicKey(), getPrivateKey());
   }
 
   public BigInteger getPrivateExponent() {
@@ -203,6 +281,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setPrivateExponent(BigInteger privateExponent) {
     this.privateExponent = privateExponent;
+    clearCachedKeys();
   }
 
   public BigInteger getP() {
@@ -211,6 +290,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setP(BigInteger p) {
     this.p = p;
+    clearCachedKeys();
   }
 
   public BigInteger getQ() {
@@ -219,6 +299,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setQ(BigInteger q) {
     this.q = q;
+    clearCachedKeys();
   }
 
   public BigInteger getDp() {
@@ -227,6 +308,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setDp(BigInteger dp) {
     this.dp = dp;
+    clearCachedKeys();
   }
 
   public BigInteger getDq() {
@@ -235,6 +317,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setDq(BigInteger dq) {
     this.dq = dq;
+    clearCachedKeys();
   }
 
   public BigInteger getQi() {
@@ -243,6 +326,7 @@ public class RsaPrivateJwk extends RsaPublicJwk {
 
   public void setQi(BigInteger qi) {
     this.qi = qi;
+    clearCachedKeys();
   }
 
 }
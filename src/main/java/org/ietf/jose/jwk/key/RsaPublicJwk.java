@@ -23,7 +23,10 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.RSAPublicKeySpec;
 import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
 import org.ietf.jose.jwk.KeyType;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
 
 /**
  * RFC 7518 JSON Web Algorithms (JWA)
@@ -64,6 +67,13 @@ public class RsaPublicJwk extends AbstractJwk {
   @JsonbProperty("e")
   protected BigInteger publicExponent;
 
+  /**
+   * The materialized JCA public key. Built on first use and cleared when a key
+   * parameter changes.
+   */
+  @JsonbTransient
+  private volatile PublicKey cachedPublicKey;
+
   /**
    * Default no-arg constructor. Sets the 'key' value to `RSA`.
    */
@@ -79,10 +89,46 @@ public class RsaPublicJwk extends AbstractJwk {
     return jwkRsaKey;
   }
 
+  /**
+   * Get the RSA public key from this JWK instance. The key is built on first
+   * use and then cached until the modulus or exponent is changed.
+   *
+   * @return the RSA public key
+   * @throws NoSuchAlgorithmException if the key factory fails to instantiate
+   * @throws InvalidKeySpecException  if the RSA key fails to build
+   */
   public PublicKey getPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
-    KeyFactory kf = KeyFactory.getInstance("RSA");
-    RSAPublicKeySpec spec = new RSAPublicKeySpec(getModulus(), getPublicExponent());
-    return kf.generatePublic(spec);
+    PublicKey publicKey = cachedPublicKey;
+    if (publicKey == null) {
+      EnginePool<KeyFactory> pool = JcaEngines.keyFactory("RSA");
+      KeyFactory kf = pool.borrow();
+      try {
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(getModulus(), getPublicExponent());
+        publicKey = kf.generatePublic(spec);
+      } finally {
+        pool.release(kf);
+      }
+      cachedPublicKey = publicKey;
+    }
+    return publicKey;
+  }
+
+  /**
+   * Clear the cached JCA key(s). Called whenever a key parameter changes.
+   */
+  protected void clearCachedKeys() {
+    cachedPublicKey = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The required members of an RSA public key are "e", "kty" and "n".
+   */
+  @Override
+  protected String getThumbprintMembers() {
+    return "{\"e\":\"" + toBase64Url(publicExponent, 0)
+      + "\",\"kty\":\"RSA\",\"n\":\"" + toBase64Url(modulus, 0) + "\"}";
   }
 
   public BigInteger getModulus() {
@@ -91,6 +137,7 @@ public class RsaPublicJwk extends AbstractJwk {
 
   public void setModulus(BigInteger modulus) {
     this.modulus = modulus;
+    clearCachedKeys();
   }
 
   public BigInteger getPublicExponent() {
@@ -99,6 +146,7 @@ public class RsaPublicJwk extends AbstractJwk {
 
   public void setPublicExponent(BigInteger publicExponent) {
     this.publicExponent = publicExponent;
+    clearCachedKeys();
   }
 
 }
@@ -15,7 +15,11 @@
  */
 package org.ietf.jose.jwk.key;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import javax.json.bind.annotation.JsonbTransient;
 import org.ietf.jose.jwk.KeyType;
+import org.ietf.jose.util.Base64Utility;
 
 /**
  * RFC 7518 JSON Web Algorithms (JWA)
@@ -40,6 +44,13 @@ public class SymmetricJwk extends AbstractJwk {
    */
   private byte[] k;
 
+  /**
+   * The materialized JCA secret key for the most recently requested
+   * algorithm. Cleared when the key value changes.
+   */
+  @JsonbTransient
+  private volatile SecretKey cachedSecretKey;
+
   /**
    * Default no-arg constructor. Sets the 'key' value to `oct` for "Octet
    * sequence" (used to represent symmetric keys)
@@ -48,12 +59,44 @@ public class SymmetricJwk extends AbstractJwk {
     super(KeyType.oct);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The required members of a symmetric key are "k" and "kty".
+   */
+  @Override
+  protected String getThumbprintMembers() {
+    return "{\"k\":\"" + Base64Utility.toBase64Url(k) + "\",\"kty\":\"oct\"}";
+  }
+
   public byte[] getK() {
     return this.k;
   }
 
   public void setK(byte[] k) {
     this.k = k;
+    this.cachedSecretKey = null;
+  }
+
+  /**
+   * Get the JCA secret key for this JWK instance. The key is built on first
+   * use and then cached until the key value is set again or a different
+   * algorithm is requested.
+   * <p>
+   * Developer note: the key material is copied into the secret key. Modifying
+   * the array returned by {@link #getK()} does not change a cached key; use
+   * {@link #setK(byte[])} instead.
+   *
+   * @param algorithm the JCA secret key algorithm, e.g. "HmacSHA256" or "AES"
+   * @return the secret key
+   */
+  public SecretKey getSecretKey(String algorithm) {
+    SecretKey secretKey = cachedSecretKey;
+    if (secretKey == null || !secretKey.getAlgorithm().equals(algorithm)) {
+      secretKey = new SecretKeySpec(k, algorithm);
+      cachedSecretKey = secretKey;
+    }
+    return secretKey;
   }
 
 }
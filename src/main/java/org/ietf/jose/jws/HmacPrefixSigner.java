@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jws;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.util.Objects;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwk.key.SymmetricJwk;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
+import org.ietf.jose.util.JsonbWriter;
+
+import static org.ietf.jose.util.Base64Utility.encodeInto;
+import static org.ietf.jose.util.Base64Utility.encodedLength;
+
+/**
+ * HMAC (HS256, HS384, HS512) compact JWS signer for a fixed key and protected
+ * header.
+ * <p>
+ * The JWS Signing Input always begins with the same prefix when the protected
+ * header does not change:
+ * <pre>
+ *   ASCII(BASE64URL(UTF8(JWS Protected Header)) || ’.’
+ * </pre> This signer encodes that prefix once and keeps a template Mac that has
+ * already been initialized with the key and has absorbed the prefix. Each
+ * signature then clones the template and hashes only the encoded payload. If
+ * the provider does not support cloning, a pooled Mac is initialized and fed
+ * the prefix for every signature instead, which produces the same result.
+ * <p>
+ * Instances are immutable and thread safe: the template Mac is never updated
+ * after construction.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class HmacPrefixSigner {
+
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+
+  /**
+   * The HMAC algorithm.
+   */
+  private final JwsAlgorithmType algorithm;
+  /**
+   * The HMAC key.
+   */
+  private final SecretKey key;
+  /**
+   * The ASCII encoded protected header segment followed by a '.' separator.
+   */
+  private final byte[] prefix;
+  /**
+   * A Mac initialized with the key that has absorbed the prefix. Null if the
+   * provider does not support cloning.
+   */
+  private final Mac template;
+
+  /**
+   * Construct a new prefix signer.
+   *
+   * @param key             the HMAC key
+   * @param protectedHeader the protected header; must identify an HMAC
+   *                        algorithm
+   * @throws IOException              if the header fails to marshal to JSON
+   * @throws GeneralSecurityException if the algorithm is not an HMAC
+   *                                  algorithm or the key is invalid
+   */
+  private HmacPrefixSigner(SecretKey key, JwsHeader protectedHeader) throws IOException, GeneralSecurityException {
+    this.key = Objects.requireNonNull(key, "key");
+    this.algorithm = protectedHeader.getJwsAlgorithmType();
+    if (algorithm != JwsAlgorithmType.HS256 && algorithm != JwsAlgorithmType.HS384
+      && algorithm != JwsAlgorithmType.HS512) {
+      throw new InvalidKeyException("HMAC prefix signing requires an HMAC algorithm, not " + algorithm);
+    }
+    byte[] header = WRITER.marshalToBytes(protectedHeader);
+    int headerLength = encodedLength(header.length);
+    this.prefix = new byte[headerLength + 1];
+    encodeInto(header, 0, header.length, prefix, 0);
+    prefix[headerLength] = '.';
+    Mac mac = Mac.getInstance(algorithm.getJavaAlgorithmName());
+    mac.init(key);
+    mac.update(prefix);
+    Mac cloneable;
+    try {
+      mac.clone();
+      cloneable = mac;
+    } catch (CloneNotSupportedException ex) {
+      cloneable = null;
+    }
+    this.template = cloneable;
+  }
+
+  /**
+   * Get a prefix signer for a JCA secret key.
+   *
+   * @param key             the HMAC key
+   * @param protectedHeader the protected header; must identify an HMAC
+   *                        algorithm. The header is encoded once and later
+   *                        changes to it have no effect on this signer.
+   * @return a new signer
+   * @throws IOException              if the header fails to marshal to JSON
+   * @throws GeneralSecurityException if the algorithm is not an HMAC
+   *                                  algorithm or the key is invalid
+   */
+  public static HmacPrefixSigner getInstance(SecretKey key, JwsHeader protectedHeader) throws IOException,
+    GeneralSecurityException {
+    return new HmacPrefixSigner(key, protectedHeader);
+  }
+
+  /**
+   * Get a prefix signer for a symmetric JWK.
+   *
+   * @param jwk             the symmetric JWK
+   * @param protectedHeader the protected header; must identify an HMAC
+   *                        algorithm
+   * @return a new signer
+   * @throws IOException              if the header fails to marshal to JSON
+   * @throws GeneralSecurityException if the algorithm is not an HMAC
+   *                                  algorithm or the key is invalid
+   */
+  public static HmacPrefixSigner getInstance(SymmetricJwk jwk, JwsHeader protectedHeader) throws IOException,
+    GeneralSecurityException {
+    return new HmacPrefixSigner(jwk.getSecretKey(protectedHeader.getJwsAlgorithmType().getJavaAlgorithmName()),
+                                protectedHeader);
+  }
+
+  /**
+   * Sign a payload and return the JWS Compact Serialization:
+   * <pre>
+   *   BASE64URL(UTF8(JWS Protected Header)) || ’.’ ||
+   *   BASE64URL(JWS Payload) || ’.’ ||
+   *   BASE64URL(JWS Signature)
+   * </pre>
+   *
+   * @param payload the JWS payload
+   * @return the compact JWS
+   * @throws GeneralSecurityException if the HMAC fails
+   */
+  public String sign(byte[] payload) throws GeneralSecurityException {
+    int payloadLength = encodedLength(payload.length);
+    int signatureOffset = prefix.length + payloadLength + 1;
+    byte[] compact = new byte[signatureOffset + encodedLength(getMacLength())];
+    System.arraycopy(prefix, 0, compact, 0, prefix.length);
+    encodeInto(payload, 0, payload.length, compact, prefix.length);
+    byte[] signature = computeMac(compact, prefix.length, payloadLength);
+    compact[signatureOffset - 1] = '.';
+    encodeInto(signature, 0, signature.length, compact, signatureOffset);
+    return new String(compact, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Compute the HMAC of the prefix followed by the indicated region, which
+   * must contain the encoded payload.
+   */
+  private byte[] computeMac(byte[] input, int offset, int length) throws GeneralSecurityException {
+    if (template != null) {
+      try {
+        Mac mac = (Mac) template.clone();
+        mac.update(input, offset, length);
+        return mac.doFinal();
+      } catch (CloneNotSupportedException ex) {
+        // fall through to a fresh Mac
+      }
+    }
+    EnginePool<Mac> pool = JcaEngines.mac(algorithm.getJavaAlgorithmName());
+    Mac mac = pool.borrow();
+    try {
+      mac.init(key);
+      mac.update(prefix);
+      mac.update(input, offset, length);
+      return mac.doFinal();
+    } finally {
+      pool.release(mac);
+    }
+  }
+
+  /**
+   * Get the HMAC output length in bytes.
+   */
+  private int getMacLength() {
+    switch (algorithm) {
+      case HS384:
+        return 48;
+      case HS512:
+        return 64;
+      default:
+        return 32;
+    }
+  }
+
+  /**
+   * Get the HMAC algorithm.
+   *
+   * @return the HMAC algorithm
+   */
+  public JwsAlgorithmType getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Get the encoded protected header segment.
+   *
+   * @return the BASE64URL encoded protected header
+   */
+  public String getEncodedHeader() {
+    return new String(prefix, 0, prefix.length - 1, StandardCharsets.US_ASCII);
+  }
+
+}
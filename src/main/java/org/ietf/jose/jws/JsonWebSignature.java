@@ -25,11 +25,9 @@ import javax.json.bind.annotation.JsonbTypeAdapter;
 import org.ietf.jose.adapter.JsonJwsHeaderAdapter;
 import org.ietf.jose.jwt.JwtClaims;
 import org.ietf.jose.util.Base64Utility;
+import org.ietf.jose.util.CompactTokenizer;
 import org.ietf.jose.util.JsonbUtility;
 
-import static org.ietf.jose.util.Base64Utility.fromBase64Url;
-import static org.ietf.jose.util.Base64Utility.fromBase64UrlToString;
-
 /**
  * <h1>RFC 7515 JSON Web Signature (JWS)</h1>
  * <p>
@@ -85,6 +83,11 @@ import static org.ietf.jose.util.Base64Utility.fromBase64UrlToString;
  */
 public class JsonWebSignature extends JsonSerializable {
 
+  /**
+   * The shared JsonB utility. Thread safe.
+   */
+  private static final JsonbUtility JSONB = new JsonbUtility();
+
   /**
    * The "payload" member MUST be present and contain the value BASE64URL(JWS
    * Payload).
@@ -162,20 +165,40 @@ public class JsonWebSignature extends JsonSerializable {
    * @throws IOException in case of failure to deserialize the JSON string
    */
   public static JsonWebSignature fromJson(String json) throws IOException {
-    JsonWebSignature jws = new JsonbUtility().unmarshal(json, JsonWebSignature.class);
     /**
      * Read the JSON again but with retained protected header order. This is
      * necessary later when verifying the digital signature on HMAC.
      */
-    JwsFrame frame = new JsonbUtility().unmarshal(json, JwsFrame.class);
+    return withSigningInput(JSONB.unmarshal(json, JsonWebSignature.class), JSONB.unmarshal(json, JwsFrame.class));
+  }
 
+  /**
+   * Create instance from UTF-8 encoded JSON
+   *
+   * @param json UTF-8 encoded JSON
+   * @return a FlattenedJsonSignature instance
+   * @throws IOException in case of failure to deserialize the JSON
+   */
+  public static JsonWebSignature fromJson(byte[] json) throws IOException {
+    return withSigningInput(JSONB.unmarshal(json, JsonWebSignature.class), JSONB.unmarshal(json, JwsFrame.class));
+  }
+
+  /**
+   * Set the signing input on a JWS read from JSON.
+   *
+   * @param jws   the JWS read from JSON
+   * @param frame the same JSON read with the original protected header
+   * @return the JWS instance
+   */
+  private static JsonWebSignature withSigningInput(JsonWebSignature jws, JwsFrame frame) {
     if (jws.protectedHeader != null) {
       // this is a single-signature JWS (flattened)
-      jws.jwsSigningInput = createSignatureInput(frame);
+      jws.jwsSigningInput = createSignatureInput(frame.protectedHeaderJsonBase64Url, frame.payload);
     } else if (!jws.signatures.isEmpty()) {
-      // this is a general JWS JSON object
+      // this is a general JWS JSON object: the payload is shared by all signatures
       for (int i = 0; i < jws.signatures.size(); i++) {
-        jws.signatures.get(i).setJwsSigningInput(createSignatureInput(frame.signatures.get(i)));
+        jws.signatures.get(i).setJwsSigningInput(createSignatureInput(frame.signatures.get(i).protectedHeaderJsonBase64Url,
+                                                                      frame.payload));
       }
     } else {
       throw new IllegalArgumentException("Invalid JWS JSON input");
@@ -183,8 +206,8 @@ public class JsonWebSignature extends JsonSerializable {
     return jws;
   }
 
-  private static byte[] createSignatureInput(JwsFrame frame) {
-    String signingInputString = frame.protectedHeaderJsonBase64Url + '.' + frame.payload;
+  private static byte[] createSignatureInput(String protectedHeaderJsonBase64Url, String payload) {
+    String signingInputString = protectedHeaderJsonBase64Url + '.' + payload;
     return signingInputString.getBytes(StandardCharsets.US_ASCII);
   }
 
@@ -210,22 +233,26 @@ public class JsonWebSignature extends JsonSerializable {
    *                                  compact JWS string
    */
   public static JsonWebSignature fromCompactForm(String text) throws IOException {
-    StringTokenizer tokenizer = new StringTokenizer(Objects.requireNonNull(text), ".");
-    if (tokenizer.countTokens() != 3) {
-      throw new IllegalArgumentException("JWS compact form must have 3 elements separated by dots. "
-        + "Supplied string has " + tokenizer.countTokens() + ".");
-    }
-    JsonWebSignature jws = new JsonWebSignature();
-    String protectedHeaderBase64Url = tokenizer.nextToken();
-    String payloadBase64Url = tokenizer.nextToken();
-    String signatureBase64Url = tokenizer.nextToken();
-
-    String protectedHeaderJson = fromBase64UrlToString(protectedHeaderBase64Url);
-    jws.protectedHeader = new JsonbUtility().unmarshal(protectedHeaderJson, JwsHeader.class);
-    jws.payload = fromBase64Url(payloadBase64Url);
-    jws.signature = fromBase64Url(signatureBase64Url);
+    return fromCompactForm(CompactTokenizer.of(text));
+  }
 
-    jws.jwsSigningInput = (protectedHeaderBase64Url + '.' + payloadBase64Url).getBytes(StandardCharsets.US_ASCII);
+  /**
+   * Read a JWS from its tokenized compact serialization.
+   *
+   * @param tokenizer a tokenized compact JWS
+   * @return non-null JWS instance
+   * @throws IOException              on deserialization error
+   * @throws IllegalArgumentException if the provided input is not a valid
+   *                                  compact JWS
+   * @see #fromCompactForm(java.lang.String)
+   */
+  public static JsonWebSignature fromCompactForm(CompactTokenizer tokenizer) throws IOException {
+    tokenizer.requireSegmentCount(3, "JWS");
+    JsonWebSignature jws = new JsonWebSignature();
+    jws.protectedHeader = JSONB.unmarshal(tokenizer.decode(0), JwsHeader.class);
+    jws.payload = tokenizer.decode(1);
+    jws.signature = tokenizer.decode(2);
+    jws.jwsSigningInput = tokenizer.getSigningInput();
     return jws;
   }
 
@@ -236,7 +263,16 @@ public class JsonWebSignature extends JsonSerializable {
    * @throws java.lang.Exception on parse error
    */
   public JwtClaims getClaims() throws Exception {
-    return JwtClaims.fromJson(getStringPayload());
+    return JwtClaims.fromJson(payload);
+  }
+
+  /**
+   * Get the JWS payload.
+   *
+   * @return the payload bytes
+   */
+  public byte[] getPayload() {
+    return payload;
   }
 
   /**
@@ -251,13 +287,13 @@ public class JsonWebSignature extends JsonSerializable {
   /**
    * Get the signatures as list
    *
-   * @return signature list
+   * @return an unmodifiable view of the signature list
    */
   public List<Signature> getSignatures() {
     if (protectedHeader != null) {
       return Collections.singletonList(getSignature());
     }
-    return new ArrayList<>(signatures);
+    return signatures == null ? Collections.emptyList() : Collections.unmodifiableList(signatures);
   }
 
   /**
@@ -297,9 +333,7 @@ public class JsonWebSignature extends JsonSerializable {
     } else {
       throw new IllegalStateException("JWS is empty");
     }
-    return Base64Utility.toBase64Url(new JsonbUtility().marshal(compactProtectedHeader))
-      + '.' + Base64Utility.toBase64Url(payload)
-      + '.' + Base64Utility.toBase64Url(compactSignature);
+    return Base64Utility.toCompactSerialization(JSONB.marshalToBytes(compactProtectedHeader), payload, compactSignature);
   }
 
   /**
@@ -20,7 +20,11 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 import javax.crypto.SecretKey;
 import org.ietf.jose.JoseProfile;
 import org.ietf.jose.jwa.JwsAlgorithmType;
@@ -60,7 +64,7 @@ public class JwsBuilder {
    * @return this builder
    */
   public Signable withClaimsPayload(JwtClaims claims) {
-    byte[] payloadBytes = claims.toJson().getBytes(Base64Utility.DEFAULT_CHARSET);
+    byte[] payloadBytes = claims.toJsonBytes();
     return Signable.getInstance(payloadBytes);
   }
 
@@ -91,6 +95,11 @@ public class JwsBuilder {
      * The JWS payload.
      */
     private byte[] payload;
+    /**
+     * The ASCII encoded BASE64URL(JWS Payload). Encoded once on first use and
+     * shared by all signatures.
+     */
+    private byte[] encodedPayload;
     /**
      * The "signature" member MUST be present and contain the value
      * BASE64URL(JWS Signature).
@@ -195,10 +204,51 @@ public class JwsBuilder {
      * @throws GeneralSecurityException in case of failure to sign
      */
     public Signable sign(AbstractJwk key, JwsAlgorithmType algorithm) throws IOException, GeneralSecurityException {
-      this.signatures.add(Signature.getInstance(payload, key, algorithm));
+      this.signatures.add(Signature.ofEncodedPayload(getEncodedPayload(), key, algorithm));
       return this;
     }
 
+    /**
+     * Sign using several JWKs. The payload is encoded once and shared by all
+     * signatures. When more than one key is supplied the signatures are
+     * computed in parallel. Signatures are added in the key list order.
+     *
+     * @param keys      the JWK instances
+     * @param algorithm the JwsAlgorithmType
+     * @return this builder
+     * @throws IOException              in case of failure to serialise a
+     *                                  protected header to JSON
+     * @throws GeneralSecurityException in case of failure to sign
+     */
+    public Signable signAll(List<? extends AbstractJwk> keys, JwsAlgorithmType algorithm) throws IOException, GeneralSecurityException {
+      byte[] encoded = getEncodedPayload();
+      return signAll(keys.size(), i -> Signature.ofEncodedPayload(encoded, keys.get(i), algorithm));
+    }
+
+    /**
+     * Sign using several Key instances and a specific algorithm. The payload is
+     * encoded once and shared by all signatures. When more than one key is
+     * supplied the signatures are computed in parallel. Signatures are added in
+     * the map iteration order.
+     *
+     * @param keys      Key instances (either a PrivateKey or a SecretKey),
+     *                  indexed by the key ID which is put in each signature's
+     *                  protected header 'kid' field
+     * @param algorithm a signature algorithm suitable for all provided keys
+     * @return this builder
+     * @throws IOException              in case of failure to serialise a
+     *                                  protected header to JSON
+     * @throws GeneralSecurityException in case of failure to sign
+     */
+    public Signable signAll(Map<String, ? extends Key> keys, JwsAlgorithmType algorithm) throws IOException, GeneralSecurityException {
+      byte[] encoded = getEncodedPayload();
+      List<Map.Entry<String, ? extends Key>> entries = new ArrayList<>(keys.entrySet());
+      return signAll(entries.size(), i -> Signature.ofEncodedPayload(encoded,
+                                                                     entries.get(i).getValue(),
+                                                                     createSignatureHeader(algorithm, entries.get(i).getKey()),
+                                                                     header));
+    }
+
     /**
      * Sign using a Key instance and specific algorithm
      *
@@ -213,12 +263,12 @@ public class JwsBuilder {
      * @throws GeneralSecurityException in case of failure to sign
      */
     public Signable sign(Key key, JwsAlgorithmType algorithm, String keyId) throws IOException, GeneralSecurityException {
-      if (protectedHeader == null) {
-        this.protectedHeader = new JwsHeader();
-      }
-      this.protectedHeader.setKid(keyId);
-      this.protectedHeader.setAlg(algorithm.getJoseAlgorithmName());
-      this.signatures.add(Signature.getInstance(payload, key, protectedHeader, header));
+      /**
+       * Sign with a copy so that the caller's header (which may be shared
+       * between builders) is never modified.
+       */
+      JwsHeader signatureHeader = createSignatureHeader(algorithm, keyId);
+      this.signatures.add(Signature.ofEncodedPayload(getEncodedPayload(), key, signatureHeader, header));
       return this;
     }
 
@@ -235,6 +285,78 @@ public class JwsBuilder {
       return sign(key, signatureAlgo, keyId);
     }
 
+    /**
+     * Copy the protected header and set the signature algorithm and key ID.
+     */
+    private JwsHeader createSignatureHeader(JwsAlgorithmType algorithm, String keyId) {
+      JwsHeader signatureHeader = protectedHeader == null ? new JwsHeader() : new JwsHeader(protectedHeader);
+      signatureHeader.setKid(keyId);
+      signatureHeader.setAlg(algorithm.getJoseAlgorithmName());
+      return signatureHeader;
+    }
+
+    /**
+     * Get the ASCII encoded BASE64URL(JWS Payload), encoding it on first use.
+     */
+    private byte[] getEncodedPayload() {
+      if (encodedPayload == null) {
+        encodedPayload = Signature.encodePayload(payload);
+      }
+      return encodedPayload;
+    }
+
+    /**
+     * Compute the indicated number of signatures and add them in index order.
+     * More than one signature is computed in parallel on the common pool.
+     *
+     * @param count the number of signatures
+     * @param task  the signing task for each index
+     * @return this builder
+     */
+    private Signable signAll(int count, SigningTask task) throws IOException, GeneralSecurityException {
+      if (count == 1) {
+        signatures.add(task.sign(0));
+        return this;
+      }
+      Signature[] signed = new Signature[count];
+      try {
+        IntStream.range(0, count).parallel().forEach(i -> {
+          try {
+            signed[i] = task.sign(i);
+          } catch (IOException | GeneralSecurityException ex) {
+            throw new CompletionException(ex);
+          }
+        });
+      } catch (CompletionException ex) {
+        /**
+         * A task that fails on a worker thread is rethrown by the fork/join
+         * framework wrapped in a further CompletionException.
+         */
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+          cause = cause.getCause();
+        }
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        if (cause instanceof GeneralSecurityException) {
+          throw (GeneralSecurityException) cause;
+        }
+        throw ex;
+      }
+      signatures.addAll(Arrays.asList(signed));
+      return this;
+    }
+
+    /**
+     * Computes the signature at a given index.
+     */
+    @FunctionalInterface
+    private interface SigningTask {
+
+      Signature sign(int index) throws IOException, GeneralSecurityException;
+    }
+
     /**
      * Build a Json Web Signature instance: A Json Web Signature object with one
      * or more signatures is returned.
@@ -17,6 +17,7 @@ package org.ietf.jose.jws;
 
 import org.ietf.jose.AbstractHeader;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.ietf.jose.jwk.key.AbstractJwk;
@@ -159,6 +160,26 @@ public class JwsHeader extends AbstractHeader {
   public JwsHeader() {
   }
 
+  /**
+   * Copy constructor. The new header has the same parameter values as the
+   * source header; list values are copied.
+   *
+   * @param source the header to copy
+   */
+  public JwsHeader(JwsHeader source) {
+    this.alg = source.alg;
+    this.kid = source.kid;
+    this.x5u = source.x5u;
+    this.x5c = source.x5c == null ? null : new ArrayList<>(source.x5c);
+    this.x5t = source.x5t;
+    this.x5tS256 = source.x5tS256;
+    this.jku = source.jku;
+    this.jwk = source.jwk;
+    this.typ = source.typ;
+    this.cty = source.cty;
+    this.crit = source.crit == null ? null : new ArrayList<>(source.crit);
+  }
+
   //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
   public URI getJku() {
     return this.jku;
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Key Bridge.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ietf.jose.jws;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwk.JwkSet;
+import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jwk.key.EllipticCurvePublicJwk;
+import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.ietf.jose.jwk.key.SymmetricJwk;
+
+/**
+ * Resolves the key to verify one signature of a JWS, typically by its "kid"
+ * (Key ID) header parameter.
+ * <p>
+ * A resolver is used by
+ * {@link SignatureValidator#isValid(JsonWebSignature, KeyResolver)} and
+ * {@link SignatureValidator#isValidAll(JsonWebSignature, KeyResolver)} to
+ * verify a general JSON serialization JWS where each signature was made with
+ * a different key. Resolvers must be thread safe.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+@FunctionalInterface
+public interface KeyResolver {
+
+  /**
+   * Resolve the verification key for a signature.
+   *
+   * @param signature the signature
+   * @return the verification key, or null if no key is known
+   */
+  Key resolve(Signature signature);
+
+  /**
+   * Get the key ID of a signature: the protected header "kid" if present,
+   * otherwise the unprotected header "kid".
+   *
+   * @param signature the signature
+   * @return the key ID, or null if neither header has one
+   */
+  static String getKeyId(Signature signature) {
+    JwsHeader header = signature.getProtectedHeader();
+    if (header != null && header.getKid() != null) {
+      return header.getKid();
+    }
+    header = signature.getHeader();
+    return header == null ? null : header.getKid();
+  }
+
+  /**
+   * Create a resolver that selects keys by key ID.
+   *
+   * @param keys the verification keys, indexed by key ID
+   * @return a new resolver
+   */
+  static KeyResolver of(Map<String, ? extends Key> keys) {
+    Map<String, Key> copy = new HashMap<>(keys);
+    return signature -> {
+      String kid = getKeyId(signature);
+      return kid == null ? null : copy.get(kid);
+    };
+  }
+
+  /**
+   * Create a resolver that selects keys from a JWK set with
+   * {@link JwkSet#findVerificationKey(JwsHeader)}. A key ID in the
+   * unprotected header is used when the protected header has none.
+   *
+   * @param jwkSet the JWK set
+   * @return a new resolver
+   */
+  static KeyResolver of(JwkSet jwkSet) {
+    return signature -> {
+      JwsHeader header = signature.getProtectedHeader();
+      if (header == null) {
+        return null;
+      }
+      String kid = getKeyId(signature);
+      if (header.getKid() == null && kid != null) {
+        header = new JwsHeader(header);
+        header.setKid(kid);
+      }
+      AbstractJwk jwk = jwkSet.findVerificationKey(header);
+      try {
+        if (jwk instanceof RsaPublicJwk) {
+          return ((RsaPublicJwk) jwk).getPublicKey();
+        } else if (jwk instanceof EllipticCurvePublicJwk) {
+          return ((EllipticCurvePublicJwk) jwk).getPublicKey();
+        } else if (jwk instanceof SymmetricJwk) {
+          JwsAlgorithmType algorithm = header.getJwsAlgorithmType();
+          return ((SymmetricJwk) jwk).getSecretKey(algorithm.getJavaAlgorithmName());
+        }
+      } catch (GeneralSecurityException | IllegalArgumentException ex) {
+        /**
+         * An invalid key verifies nothing.
+         */
+      }
+      return null;
+    };
+  }
+
+}
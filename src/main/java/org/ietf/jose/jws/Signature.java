@@ -21,13 +21,15 @@ import java.security.Key;
 import java.util.Arrays;
 import javax.json.bind.annotation.JsonbProperty;
 import javax.json.bind.annotation.JsonbTransient;
+import javax.json.bind.annotation.JsonbTypeAdapter;
+import org.ietf.jose.adapter.JsonJwsHeaderAdapter;
 import org.ietf.jose.jwa.JwsAlgorithmType;
 import org.ietf.jose.jwk.key.AbstractJwk;
 import org.ietf.jose.util.CryptographyUtility;
 import org.ietf.jose.util.JsonbWriter;
 
-import static java.nio.charset.StandardCharsets.US_ASCII;
-import static org.ietf.jose.util.Base64Utility.toBase64Url;
+import static org.ietf.jose.util.Base64Utility.encodeInto;
+import static org.ietf.jose.util.Base64Utility.encodedLength;
 
 /**
  * RFC 7515 JSON Web Signature (JWS)
@@ -63,6 +65,11 @@ import static org.ietf.jose.util.Base64Utility.toBase64Url;
  */
 public class Signature {
 
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+
   /**
    * The "protected" member MUST be present and contain the value
    * BASE64URL(UTF8(JWS Protected Header)) when the JWS Protected Header value
@@ -70,6 +77,7 @@ public class Signature {
    * are integrity protected.
    */
   @JsonbProperty("protected")
+  @JsonbTypeAdapter(JsonJwsHeaderAdapter.class)
   private JwsHeader protectedHeader;
   /**
    * The "header" member MUST be present and contain the value JWS Unprotected
@@ -109,6 +117,23 @@ public class Signature {
    * @throws GeneralSecurityException in case of failure to sign
    */
   public static Signature getInstance(byte[] payload, AbstractJwk key, JwsAlgorithmType algorithm) throws IOException,
+    GeneralSecurityException {
+    return ofEncodedPayload(encodePayload(payload), key, algorithm);
+  }
+
+  /**
+   * Create signature for an encoded payload and JSON Web Key. Used to sign
+   * the same payload with several keys without encoding it again.
+   *
+   * @param encodedPayload the ASCII encoded BASE64URL(JWS Payload)
+   * @param key            a valid JWK instance
+   * @param algorithm      the signature algorithm
+   * @return a JWS instance
+   * @throws IOException              in case of failure to serialise the
+   *                                  protected header to JSON
+   * @throws GeneralSecurityException in case of failure to sign
+   */
+  static Signature ofEncodedPayload(byte[] encodedPayload, AbstractJwk key, JwsAlgorithmType algorithm) throws IOException,
     GeneralSecurityException {
     Signature signature = new Signature();
     JwsHeader ph = new JwsHeader();
@@ -121,22 +146,41 @@ public class Signature {
     signature.protectedHeader = ph;
     validateProtectedHeader(ph);
 
-    signature.jwsSigningInput = createJwsSigningInput(ph, payload);
+    signature.jwsSigningInput = createJwsSigningInput(ph, encodedPayload);
     signature.signature = CryptographyUtility.sign(signature.jwsSigningInput, key, algorithm);
     return signature;
   }
 
+  /**
+   * Encode the JWS Payload segment: ASCII(BASE64URL(JWS Payload)).
+   *
+   * @param jwsPayload the JWS payload
+   * @return the ASCII encoded payload segment
+   */
+  static byte[] encodePayload(byte[] jwsPayload) {
+    byte[] encoded = new byte[encodedLength(jwsPayload.length)];
+    encodeInto(jwsPayload, 0, jwsPayload.length, encoded, 0);
+    return encoded;
+  }
+
   /**
    * JWS Signing Input
    * <pre>
    *        ASCII(BASE64URL(UTF8(JWS Protected Header)) || ’.’ ||
    *        BASE64URL(JWS Payload))
    * </pre>
+   *
+   * @param protectedHeader the protected header
+   * @param encodedPayload  the ASCII encoded payload segment
    */
-  private static byte[] createJwsSigningInput(JwsHeader protectedHeader, byte[] jwsPayload) throws IOException {
-    String protectedHeaderJson = new JsonbWriter().marshal(protectedHeader);
-    String fullPayload = toBase64Url(protectedHeaderJson) + '.' + toBase64Url(jwsPayload);
-    return fullPayload.getBytes(US_ASCII);
+  private static byte[] createJwsSigningInput(JwsHeader protectedHeader, byte[] encodedPayload) throws IOException {
+    byte[] header = WRITER.marshalToBytes(protectedHeader);
+    int headerLength = encodedLength(header.length);
+    byte[] signingInput = new byte[headerLength + 1 + encodedPayload.length];
+    encodeInto(header, 0, header.length, signingInput, 0);
+    signingInput[headerLength] = '.';
+    System.arraycopy(encodedPayload, 0, signingInput, headerLength + 1, encodedPayload.length);
+    return signingInput;
   }
 
   /**
@@ -174,11 +218,31 @@ public class Signature {
    *                                  compute HMAC
    */
   public static Signature getInstance(byte[] payload, Key key, JwsHeader protectedHeader, JwsHeader unprotectedHeader) throws IOException, GeneralSecurityException {
+    return ofEncodedPayload(encodePayload(payload), key, protectedHeader, unprotectedHeader);
+  }
+
+  /**
+   * Create signature for an encoded payload, key, and headers. Used to sign
+   * the same payload with several keys without encoding it again.
+   *
+   * @param encodedPayload    the ASCII encoded BASE64URL(JWS Payload)
+   * @param key               a valid key. Must be an instance of
+   *                          javax.crypto.SecretKey or java.security.PrivateKey
+   * @param protectedHeader   a JwsHeader that will be integrity-protected
+   * @param unprotectedHeader a JwsHeader that will not be integrity-protected
+   *                          by the signature
+   * @return Signature instance
+   * @throws IOException              in case of failure to serialize the
+   *                                  protected header to JSON
+   * @throws GeneralSecurityException in case of failure to digitally sign or
+   *                                  compute HMAC
+   */
+  static Signature ofEncodedPayload(byte[] encodedPayload, Key key, JwsHeader protectedHeader, JwsHeader unprotectedHeader) throws IOException, GeneralSecurityException {
     validateProtectedHeader(protectedHeader);
     Signature signature = new Signature();
     signature.protectedHeader = protectedHeader;
     signature.header = unprotectedHeader;
-    signature.jwsSigningInput = createJwsSigningInput(protectedHeader, payload);
+    signature.jwsSigningInput = createJwsSigningInput(protectedHeader, encodedPayload);
 
     signature.signature = CryptographyUtility.sign(signature.jwsSigningInput, key,
                                                    protectedHeader.getJwsAlgorithmType().getJavaAlgorithmName());
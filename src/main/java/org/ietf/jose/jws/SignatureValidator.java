@@ -4,6 +4,8 @@ import org.ietf.jose.AbstractHeader;
 import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Stream;
 import javax.crypto.SecretKey;
 import org.ietf.jose.jwa.JwsAlgorithmType;
 import org.ietf.jose.jwe.SecretKeyBuilder;
@@ -85,7 +87,93 @@ public class SignatureValidator {
    * @return TRUE if any one of the signatures is valid
    */
   public static boolean isValid(JsonWebSignature jws, Key key) {
-    return jws.getSignatures().stream().anyMatch(s -> isValid(s, key));
+    for (Signature signature : jws.getSignatures()) {
+      if (isValid(signature, key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Require that at least one signature made with the identified key is
+   * valid. Only the signatures whose "kid" (protected or unprotected header)
+   * equals the key ID are tried. If no signature has that key ID, the
+   * signatures without a key ID are tried; signatures with a different key ID
+   * are never tried.
+   *
+   * @param jws   a JSON web signature.
+   * @param keyId the key ID. If null all signatures are tried.
+   * @param key   the key to match against
+   * @return TRUE if any one of the candidate signatures is valid
+   */
+  public static boolean isValid(JsonWebSignature jws, String keyId, Key key) {
+    if (keyId == null) {
+      return isValid(jws, key);
+    }
+    List<Signature> signatures = jws.getSignatures();
+    boolean matched = false;
+    for (Signature signature : signatures) {
+      if (keyId.equals(KeyResolver.getKeyId(signature))) {
+        matched = true;
+        if (isValid(signature, key)) {
+          return true;
+        }
+      }
+    }
+    if (!matched) {
+      for (Signature signature : signatures) {
+        if (KeyResolver.getKeyId(signature) == null && isValid(signature, key)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Require that at least one signature is valid with the key resolved for
+   * it. Signatures for which no key is resolved are skipped.
+   *
+   * @param jws      a JSON web signature.
+   * @param resolver the verification key resolver
+   * @return TRUE if any one of the signatures is valid
+   */
+  public static boolean isValid(JsonWebSignature jws, KeyResolver resolver) {
+    for (Signature signature : jws.getSignatures()) {
+      if (isValid(signature, resolver)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Require that every signature is valid with the key resolved for it, e.g.
+   * for a document approved by several parties. A signature for which no key
+   * is resolved is invalid. Signatures are verified in parallel and
+   * verification stops at the first invalid signature.
+   *
+   * @param jws      a JSON web signature.
+   * @param resolver the verification key resolver
+   * @return TRUE if the JWS has at least one signature and all signatures are
+   *         valid
+   */
+  public static boolean isValidAll(JsonWebSignature jws, KeyResolver resolver) {
+    List<Signature> signatures = jws.getSignatures();
+    if (signatures.isEmpty()) {
+      return false;
+    }
+    Stream<Signature> stream = signatures.size() > 1 ? signatures.parallelStream() : signatures.stream();
+    return stream.allMatch(signature -> isValid(signature, resolver));
+  }
+
+  /**
+   * Validate a signature with the key resolved for it.
+   */
+  private static boolean isValid(Signature signature, KeyResolver resolver) {
+    Key key = resolver.resolve(signature);
+    return key != null && isValid(signature, key);
   }
 
   /**
@@ -24,8 +24,6 @@ import javax.json.bind.annotation.JsonbTransient;
 import javax.json.bind.annotation.JsonbTypeAdapter;
 import org.ietf.jose.JsonSerializable;
 import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
-import org.ietf.jose.util.JsonbReader;
-import org.ietf.jose.util.JsonbWriter;
 
 /**
  * RFC 7519 JSON Web Token (JWT)
@@ -175,6 +173,45 @@ public class JwtClaims extends JsonSerializable {
     this.claims = new HashMap<>();
   }
 
+  /**
+   * Full constructor used when reading claims. Unlike the default constructor
+   * no ID or time values are generated.
+   *
+   * @param issuer    the "iss" claim
+   * @param subject   the "sub" claim
+   * @param audience  the "aud" claim
+   * @param jwtId     the "jti" claim
+   * @param expiresAt the "exp" claim
+   * @param notBefore the "nbf" claim
+   * @param issuedAt  the "iat" claim
+   * @param claims    the public and private claims
+   */
+  JwtClaims(String issuer, String subject, Collection<String> audience, String jwtId,
+            ZonedDateTime expiresAt, ZonedDateTime notBefore, ZonedDateTime issuedAt,
+            Map<String, Object> claims) {
+    this.issuer = issuer;
+    this.subject = subject;
+    this.audience = audience;
+    this.jwtId = jwtId;
+    this.expiresAt = expiresAt;
+    this.notBefore = notBefore;
+    this.issuedAt = issuedAt;
+    this.claims = claims;
+  }
+
+  /**
+   * Copy this claims instance. The audience and custom claims containers are
+   * copied; custom claim values are shared.
+   *
+   * @return a new JwtClaims instance
+   */
+  JwtClaims copy() {
+    return new JwtClaims(issuer, subject,
+                         audience == null ? null : new ArrayList<>(audience),
+                         jwtId, expiresAt, notBefore, issuedAt,
+                         claims == null ? null : new HashMap<>(claims));
+  }
+
   //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
   /**
    * Get the principal that issued the JWT
@@ -500,42 +537,18 @@ public class JwtClaims extends JsonSerializable {
    * @throws Exception   if the date times fail to unmarshal
    */
   public static JwtClaims fromJson(final String json) throws IOException, Exception {
-    Class<?> unmarshallingClass = (new HashMap<>()).getClass();
-    Map<String, Object> valueMap = (Map<String, Object>) new JsonbReader().unmarshal(json, unmarshallingClass);
-    JwtClaims claims = new JwtClaims();
-    claims.issuer = (String) valueMap.remove("iss");
-    claims.subject = (String) valueMap.remove("sub");
-    /**
-     * 2020-09-19: Some implementations provide 'aud' as a singleton string.
-     * Inspect the parsed JSON and unmarshal accordingly.
-     */
-    if (valueMap.containsKey("aud") && valueMap.get("aud") != null) {
-      Object aud = valueMap.remove("aud");
-      if (aud instanceof Collection) {
-        claims.audience = (Collection<String>) aud;
-      } else if (aud instanceof String) {
-        claims.audience = Collections.singleton((String) aud);
-      }
-    }
-    claims.jwtId = (String) valueMap.remove("jti");
-    claims.expiresAt = unmarshalZonedDateTime(valueMap.remove("exp"));
-    claims.notBefore = unmarshalZonedDateTime(valueMap.remove("nbf"));
-    claims.issuedAt = unmarshalZonedDateTime(valueMap.remove("iat"));
-    claims.claims = valueMap.isEmpty() ? Collections.EMPTY_MAP : valueMap;
-    return claims;
+    return JwtClaimsReader.read(json);
   }
 
   /**
-   * Internal helper method to unmarshal an object (expect String, Integer, Long
-   * or NULL) to a UTC ZonedDateTime instance.
+   * Create JWT Claims instance from UTF-8 encoded JSON
    *
-   * @param v the object instance
-   * @return a ZonedDateTime instance, null if the input is null
+   * @param json UTF-8 encoded JSON representing JWT claims
+   * @return A JwtClaims object
+   * @throws IOException on json marshal error
    */
-  private static ZonedDateTime unmarshalZonedDateTime(Object v) {
-    return v == null
-           ? null
-           : ZonedDateTime.ofInstant(Instant.ofEpochSecond(Long.parseLong(String.valueOf(v))), ZoneId.of("UTC"));
+  public static JwtClaims fromJson(final byte[] json) throws IOException {
+    return JwtClaimsReader.read(json);
   }
 
   /**
@@ -543,36 +556,15 @@ public class JwtClaims extends JsonSerializable {
    */
   @Override
   public String toJson() {
-    Map<String, Object> jsonObject = new LinkedHashMap<>();
+    return JwtClaimsWriter.write(this);
+  }
 
-    if (issuer != null) {
-      jsonObject.put("iss", issuer);
-    }
-    if (subject != null) {
-      jsonObject.put("sub", subject);
-    }
-    if (audience != null && !audience.isEmpty()) {
-      jsonObject.put("aud", audience);
-    }
-    if (jwtId != null) {
-      jsonObject.put("jti", jwtId);
-    }
-    if (expiresAt != null) {
-      jsonObject.put("exp", expiresAt.toEpochSecond());
-    }
-    if (notBefore != null) {
-      jsonObject.put("nbf", notBefore.toEpochSecond());
-    }
-    if (issuedAt != null) {
-      jsonObject.put("iat", issuedAt.toEpochSecond());
-    }
-    if (claims != null && !claims.isEmpty()) {
-      jsonObject.putAll(claims);
-    }
-    /**
-     * Use the generic JsonbWriter since claims can be any object type.
-     */
-    return new JsonbWriter().withAdapters(new JsonZonedDateTimeEpochAdapter()).marshal(jsonObject);
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public byte[] toJsonBytes() {
+    return JwtClaimsWriter.writeBytes(this);
   }
 
   @Override
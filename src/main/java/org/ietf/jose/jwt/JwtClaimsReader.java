@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+/**
+ * Single pass JWT claims decoder.
+ * <p>
+ * Reads a JWT claims JSON object directly into a JwtClaims instance using a
+ * JSON-P streaming parser. Registered claims are decoded into their typed
+ * fields as they are encountered; all other claims are collected into the
+ * custom claims map. No intermediate map is built for the registered claims
+ * and no default values (random ID, current time) are generated.
+ * <p>
+ * Custom claim values are decoded to the same types produced by the JSON-B
+ * provider for an untyped map: strings to String, numbers to BigDecimal,
+ * booleans to Boolean, objects to HashMap and arrays to ArrayList. As in
+ * ECMAScript, the lexically last duplicate member name wins.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+final class JwtClaimsReader {
+
+  /**
+   * The UTC time zone. JWT NumericDate values are always UTC.
+   */
+  private static final ZoneId UTC = ZoneId.of("UTC");
+  /**
+   * The NumericDate range supported by Instant.
+   */
+  private static final BigDecimal MIN_EPOCH_SECOND = BigDecimal.valueOf(Instant.MIN.getEpochSecond());
+  private static final BigDecimal MAX_EPOCH_SECOND = BigDecimal.valueOf(Instant.MAX.getEpochSecond());
+  /**
+   * The shared JSON-P parser factory. Thread safe.
+   */
+  private static final JsonParserFactory PARSER_FACTORY = Json.createParserFactory(Collections.emptyMap());
+
+  private JwtClaimsReader() {
+  }
+
+  /**
+   * Read a JWT claims instance from its JSON representation.
+   *
+   * @param json a valid JSON object string representing JWT claims
+   * @return a new JwtClaims instance
+   * @throws IOException if the JSON is malformed or if a registered claim has
+   *                     an invalid type
+   */
+  static JwtClaims read(String json) throws IOException {
+    try (JsonParser parser = PARSER_FACTORY.createParser(new StringReader(Objects.requireNonNull(json, "json")))) {
+      return read(parser);
+    } catch (JsonException | NoSuchElementException | IllegalStateException ex) {
+      throw new IOException("Invalid JWT claims JSON: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Read a JWT claims instance from its UTF-8 encoded JSON representation.
+   *
+   * @param json UTF-8 encoded JSON object representing JWT claims
+   * @return a new JwtClaims instance
+   * @throws IOException if the JSON is malformed or if a registered claim has
+   *                     an invalid type
+   */
+  static JwtClaims read(byte[] json) throws IOException {
+    try (JsonParser parser = PARSER_FACTORY.createParser(new ByteArrayInputStream(Objects.requireNonNull(json, "json")),
+                                                         StandardCharsets.UTF_8)) {
+      return read(parser);
+    } catch (JsonException | NoSuchElementException | IllegalStateException ex) {
+      throw new IOException("Invalid JWT claims JSON: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Read a JWT claims instance from a parser positioned before the start of
+   * the claims object.
+   *
+   * @param parser the JSON parser
+   * @return a new JwtClaims instance
+   * @throws IOException if a registered claim has an invalid type
+   */
+  private static JwtClaims read(JsonParser parser) throws IOException {
+    if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+      throw new IOException("JWT claims must be a JSON object");
+    }
+    String issuer = null;
+    String subject = null;
+    Collection<String> audience = null;
+    String jwtId = null;
+    ZonedDateTime expiresAt = null;
+    ZonedDateTime notBefore = null;
+    ZonedDateTime issuedAt = null;
+    Map<String, Object> claims = null;
+
+    JsonParser.Event event;
+    while ((event = parser.next()) != JsonParser.Event.END_OBJECT) {
+      String name = parser.getString(); // KEY_NAME
+      event = parser.next();
+      switch (name) {
+        case "iss":
+          issuer = readString(parser, event, name);
+          break;
+        case "sub":
+          subject = readString(parser, event, name);
+          break;
+        case "aud":
+          audience = readAudience(parser, event);
+          break;
+        case "jti":
+          jwtId = readString(parser, event, name);
+          break;
+        case "exp":
+          expiresAt = readNumericDate(parser, event, name);
+          break;
+        case "nbf":
+          notBefore = readNumericDate(parser, event, name);
+          break;
+        case "iat":
+          issuedAt = readNumericDate(parser, event, name);
+          break;
+        default:
+          if (claims == null) {
+            claims = new HashMap<>();
+          }
+          claims.put(name, readValue(parser, event));
+      }
+    }
+    return new JwtClaims(issuer, subject, audience, jwtId, expiresAt, notBefore, issuedAt,
+                         claims == null ? Collections.emptyMap() : claims);
+  }
+
+  /**
+   * Read a string claim value. A JSON null is read as null.
+   */
+  private static String readString(JsonParser parser, JsonParser.Event event, String name) throws IOException {
+    switch (event) {
+      case VALUE_STRING:
+        return parser.getString();
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new IOException("JWT claim '" + name + "' must be a string");
+    }
+  }
+
+  /**
+   * Read the "aud" (Audience) claim. In the general case the audience is an
+   * array of strings; when the JWT has one audience it MAY be a single string.
+   */
+  private static Collection<String> readAudience(JsonParser parser, JsonParser.Event event) throws IOException {
+    switch (event) {
+      case VALUE_STRING:
+        return Collections.singleton(parser.getString());
+      case VALUE_NULL:
+        return null;
+      case START_ARRAY:
+        List<String> audience = new ArrayList<>();
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+          if (event != JsonParser.Event.VALUE_STRING) {
+            throw new IOException("JWT claim 'aud' must contain only strings");
+          }
+          audience.add(parser.getString());
+        }
+        return audience;
+      default:
+        throw new IOException("JWT claim 'aud' must be a string or an array of strings");
+    }
+  }
+
+  /**
+   * Read a NumericDate claim value: the number of seconds from
+   * 1970-01-01T00:00:00Z UTC. Fractional seconds are truncated. A numeric
+   * string is also accepted.
+   */
+  private static ZonedDateTime readNumericDate(JsonParser parser, JsonParser.Event event, String name) throws IOException {
+    long epochSecond;
+    switch (event) {
+      case VALUE_NUMBER:
+        /**
+         * Range check before truncating so that a huge exponent is neither
+         * expanded nor silently wrapped.
+         */
+        BigDecimal value = parser.getBigDecimal();
+        if (value.compareTo(MIN_EPOCH_SECOND) < 0 || value.compareTo(MAX_EPOCH_SECOND) > 0) {
+          throw new IOException("JWT claim '" + name + "' must be a NumericDate");
+        }
+        try {
+          epochSecond = value.setScale(0, RoundingMode.DOWN).longValueExact();
+        } catch (ArithmeticException ex) {
+          throw new IOException("JWT claim '" + name + "' must be a NumericDate", ex);
+        }
+        break;
+      case VALUE_STRING:
+        try {
+          epochSecond = Long.parseLong(parser.getString().trim());
+        } catch (NumberFormatException ex) {
+          throw new IOException("JWT claim '" + name + "' must be a NumericDate", ex);
+        }
+        break;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new IOException("JWT claim '" + name + "' must be a NumericDate");
+    }
+    try {
+      return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), UTC);
+    } catch (DateTimeException ex) {
+      throw new IOException("JWT claim '" + name + "' must be a NumericDate", ex);
+    }
+  }
+
+  /**
+   * Read an arbitrary JSON value into a plain Java object.
+   */
+  private static Object readValue(JsonParser parser, JsonParser.Event event) {
+    switch (event) {
+      case VALUE_STRING:
+        return parser.getString();
+      case VALUE_NUMBER:
+        return parser.getBigDecimal();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case START_OBJECT:
+        Map<String, Object> object = new HashMap<>();
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+          String name = parser.getString();
+          object.put(name, readValue(parser, parser.next()));
+        }
+        return object;
+      case START_ARRAY:
+        List<Object> array = new ArrayList<>();
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+          array.add(readValue(parser, event));
+        }
+        return array;
+      case VALUE_NULL:
+      default:
+        return null;
+    }
+  }
+
+}
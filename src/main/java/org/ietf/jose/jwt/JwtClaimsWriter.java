@@ -0,0 +1,348 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
+import org.ietf.jose.util.JsonbWriter;
+
+/**
+ * Direct JWT claims encoder.
+ * <p>
+ * Writes a JWT claims instance as a compact JSON object into a reusable,
+ * per-thread character buffer, and encodes it as UTF-8 into a reusable,
+ * per-thread byte buffer when bytes are requested. Registered claims are written in the order iss,
+ * sub, aud, jti, exp, nbf, iat followed by the public and private claims.
+ * <p>
+ * Strings, booleans, integral numbers, dates and collections of these are
+ * written directly. All other custom claim values are delegated to the generic
+ * JsonB writer so that the output is identical to that of the JsonB engine.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+final class JwtClaimsWriter {
+
+  /**
+   * The generic JsonB writer used for non-trivial custom claim values. Thread
+   * safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter().withAdapters(new JsonZonedDateTimeEpochAdapter());
+  /**
+   * The largest integer value written as a JSON number. Larger values are not
+   * exactly representable as an IEEE 754 double and are written by the JsonB
+   * engine as strings.
+   */
+  private static final long MAX_SAFE_INTEGER = 9007199254740991L;
+  /**
+   * Buffers larger than this are not retained between calls.
+   */
+  private static final int MAX_RETAINED_CAPACITY = 8192;
+  /**
+   * The per-thread character buffer.
+   */
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+  /**
+   * The per-thread UTF-8 byte buffer.
+   */
+  private static final ThreadLocal<byte[]> BYTES = ThreadLocal.withInitial(() -> new byte[1536]);
+  /**
+   * Lower case hexadecimal digits for unicode escapes.
+   */
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private JwtClaimsWriter() {
+  }
+
+  /**
+   * Write a JWT claims instance as a compact JSON string.
+   *
+   * @param claims the JWT claims
+   * @return the JSON representation
+   */
+  static String write(JwtClaims claims) {
+    StringBuilder sb = BUFFER.get();
+    sb.setLength(0);
+    try {
+      write(claims, sb);
+      return sb.toString();
+    } finally {
+      if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+        BUFFER.remove();
+      }
+    }
+  }
+
+  /**
+   * Write a JWT claims instance as compact, UTF-8 encoded JSON. The JSON is
+   * encoded from the character buffer without an intermediate string.
+   *
+   * @param claims the JWT claims
+   * @return the UTF-8 encoded JSON representation
+   */
+  static byte[] writeBytes(JwtClaims claims) {
+    StringBuilder sb = BUFFER.get();
+    sb.setLength(0);
+    try {
+      write(claims, sb);
+      return encode(sb);
+    } finally {
+      if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+        BUFFER.remove();
+      }
+    }
+  }
+
+  /**
+   * Encode characters as UTF-8 into the per-thread byte buffer and return a
+   * copy of the encoded bytes. An unpaired surrogate is encoded as '?',
+   * consistent with {@link String#getBytes(java.nio.charset.Charset)}.
+   */
+  private static byte[] encode(CharSequence sb) {
+    int length = sb.length();
+    byte[] out = BYTES.get();
+    if (out.length < length * 3) {
+      out = new byte[length * 3];
+      if (out.length <= MAX_RETAINED_CAPACITY) {
+        BYTES.set(out);
+      }
+    }
+    int n = 0;
+    for (int i = 0; i < length; i++) {
+      char c = sb.charAt(i);
+      if (c < 0x80) {
+        out[n++] = (byte) c;
+      } else if (c < 0x800) {
+        out[n++] = (byte) (0xC0 | c >> 6);
+        out[n++] = (byte) (0x80 | c & 0x3F);
+      } else if (!Character.isSurrogate(c)) {
+        out[n++] = (byte) (0xE0 | c >> 12);
+        out[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+        out[n++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(sb.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, sb.charAt(++i));
+        out[n++] = (byte) (0xF0 | codePoint >> 18);
+        out[n++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        out[n++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        out[n++] = (byte) (0x80 | codePoint & 0x3F);
+      } else {
+        out[n++] = '?';
+      }
+    }
+    return Arrays.copyOf(out, n);
+  }
+
+  /**
+   * Write a JWT claims instance as a compact JSON object into the indicated
+   * buffer.
+   *
+   * @param claims the JWT claims
+   * @param sb     the output buffer
+   */
+  static void write(JwtClaims claims, StringBuilder sb) {
+    sb.append('{');
+    int start = sb.length();
+    if (claims.getIssuer() != null) {
+      writeName(sb, start, "iss");
+      writeString(sb, claims.getIssuer());
+    }
+    if (claims.getSubject() != null) {
+      writeName(sb, start, "sub");
+      writeString(sb, claims.getSubject());
+    }
+    Collection<String> audience = claims.getAudience();
+    if (!audience.isEmpty()) {
+      writeName(sb, start, "aud");
+      writeCollection(sb, audience);
+    }
+    if (claims.getJwtId() != null) {
+      writeName(sb, start, "jti");
+      writeString(sb, claims.getJwtId());
+    }
+    if (claims.getExpiresAt() != null) {
+      writeName(sb, start, "exp");
+      writeLong(sb, claims.getExpiresAt().toEpochSecond());
+    }
+    if (claims.getNotBefore() != null) {
+      writeName(sb, start, "nbf");
+      writeLong(sb, claims.getNotBefore().toEpochSecond());
+    }
+    if (claims.getIssuedAt() != null) {
+      writeName(sb, start, "iat");
+      writeLong(sb, claims.getIssuedAt().toEpochSecond());
+    }
+    Map<String, Object> custom = claims.getClaims();
+    if (custom != null) {
+      for (Map.Entry<String, Object> entry : custom.entrySet()) {
+        Object value = entry.getValue();
+        if (isSimple(value) || isSimpleCollection(value)) {
+          writeName(sb, start, entry.getKey());
+          writeValue(sb, value);
+        } else {
+          if (sb.length() > start) {
+            sb.append(',');
+          }
+          String json = WRITER.marshal(Collections.singletonMap(entry.getKey(), value));
+          sb.append(json, 1, json.length() - 1);
+        }
+      }
+    }
+    sb.append('}');
+  }
+
+  /**
+   * Write a member name, preceded by a comma if it is not the first member.
+   */
+  private static void writeName(StringBuilder sb, int start, String name) {
+    if (sb.length() > start) {
+      sb.append(',');
+    }
+    writeString(sb, name);
+    sb.append(':');
+  }
+
+  /**
+   * Write a value that has passed {@link #isSimple(Object)} or
+   * {@link #isSimpleCollection(Object)}.
+   */
+  private static void writeValue(StringBuilder sb, Object value) {
+    if (value == null) {
+      sb.append("null");
+    } else if (value instanceof String) {
+      writeString(sb, (String) value);
+    } else if (value instanceof Boolean) {
+      sb.append(((Boolean) value).booleanValue());
+    } else if (value instanceof Long) {
+      writeLong(sb, (Long) value);
+    } else if (value instanceof Number) {
+      sb.append(((Number) value).intValue());
+    } else if (value instanceof ZonedDateTime) {
+      writeLong(sb, ((ZonedDateTime) value).toEpochSecond());
+    } else {
+      writeCollection(sb, (Collection<?>) value);
+    }
+  }
+
+  /**
+   * Write a collection of simple values as a JSON array.
+   */
+  private static void writeCollection(StringBuilder sb, Collection<?> values) {
+    sb.append('[');
+    boolean first = true;
+    for (Object value : values) {
+      if (!first) {
+        sb.append(',');
+      }
+      first = false;
+      writeValue(sb, value);
+    }
+    sb.append(']');
+  }
+
+  /**
+   * Write a long value. Values outside the IEEE 754 safe integer range are
+   * written as strings, consistent with the JsonB engine.
+   */
+  private static void writeLong(StringBuilder sb, long value) {
+    if (value > MAX_SAFE_INTEGER || value < -MAX_SAFE_INTEGER) {
+      sb.append('"').append(value).append('"');
+    } else {
+      sb.append(value);
+    }
+  }
+
+  /**
+   * Write a quoted and escaped JSON string. Only the quotation mark, reverse
+   * solidus and control characters are escaped.
+   */
+  private static void writeString(StringBuilder sb, String value) {
+    sb.append('"');
+    int length = value.length();
+    int run = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      sb.append(value, run, i);
+      run = i + 1;
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+      }
+    }
+    sb.append(value, run, length).append('"');
+  }
+
+  /**
+   * Determine if a value can be written directly.
+   */
+  private static boolean isSimple(Object value) {
+    return value == null
+      || value instanceof String
+      || value instanceof Boolean
+      || value instanceof Integer
+      || value instanceof Long
+      || value instanceof Short
+      || value instanceof Byte
+      || value instanceof ZonedDateTime;
+  }
+
+  /**
+   * Determine if a value is a collection of values that can be written
+   * directly.
+   */
+  private static boolean isSimpleCollection(Object value) {
+    if (!(value instanceof Collection)) {
+      return false;
+    }
+    for (Object element : (Collection<?>) value) {
+      if (!isSimple(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -3,6 +3,7 @@ package org.ietf.jose.jwt;
 import java.io.IOException;
 import org.ietf.jose.jwe.JsonWebEncryption;
 import org.ietf.jose.jws.JsonWebSignature;
+import org.ietf.jose.util.CompactTokenizer;
 
 /**
  * A container for the two different types of JSON Web Tokens: the encrypted and
@@ -46,15 +47,40 @@ public class JwtReader {
    * @throws IllegalArgumentException if the JWT (compact form) is not valid
    */
   public static JwtReader read(String compactForm) throws IOException {
-    final int dots = countDots(compactForm);
+    return read(CompactTokenizer.of(compactForm));
+  }
+
+  /**
+   * Parse a JWT in a compact form ASCII byte array
+   *
+   * @param compactForm a JWT in compact form
+   * @return a parsed JWT object
+   * @throws IOException              in case of failure to parse headers of the
+   *                                  JWT
+   * @throws IllegalArgumentException if the JWT (compact form) is not valid
+   */
+  public static JwtReader read(byte[] compactForm) throws IOException {
+    return read(CompactTokenizer.of(compactForm));
+  }
+
+  /**
+   * Parse a tokenized JWT in compact form
+   *
+   * @param tokenizer a tokenized JWT in compact form
+   * @return a parsed JWT object
+   * @throws IOException              in case of failure to parse headers of the
+   *                                  JWT
+   * @throws IllegalArgumentException if the JWT (compact form) is not valid
+   */
+  public static JwtReader read(CompactTokenizer tokenizer) throws IOException {
     JwtReader jwt = new JwtReader();
-    switch (dots) {
-      case 2:
-        jwt.jsonWebSignature = JsonWebSignature.fromCompactForm(compactForm);
+    switch (tokenizer.getSegmentCount()) {
+      case 3:
+        jwt.jsonWebSignature = JsonWebSignature.fromCompactForm(tokenizer);
         jwt.type = JwtType.signed;
         break;
-      case 4:
-        jwt.jsonWebEncryption = JsonWebEncryption.fromCompactForm(compactForm);
+      case 5:
+        jwt.jsonWebEncryption = JsonWebEncryption.fromCompactForm(tokenizer);
         jwt.type = JwtType.encrypted;
         break;
       default:
@@ -63,22 +89,6 @@ public class JwtReader {
     return jwt;
   }
 
-  /**
-   * Count how many dots there are in the token string
-   *
-   * @param string non-null string
-   * @return number of '.' symbol occurrences in the string
-   */
-  private static int countDots(String string) {
-    int dots = 0;
-    for (int i = 0; i < string.length(); i++) {
-      if (string.charAt(i) == '.') {
-        dots++;
-      }
-    }
-    return dots;
-  }
-
   public JwtType getType() {
     return this.type;
   }
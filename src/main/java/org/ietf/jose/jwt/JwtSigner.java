@@ -0,0 +1,427 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwe.SecretKeyBuilder;
+import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jwk.key.EllipticCurvePrivateJwk;
+import org.ietf.jose.jwk.key.RsaPrivateJwk;
+import org.ietf.jose.jwk.key.SymmetricJwk;
+import org.ietf.jose.jws.HmacPrefixSigner;
+import org.ietf.jose.jws.JwsHeader;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
+import org.ietf.jose.util.JsonbWriter;
+
+import static org.ietf.jose.util.Base64Utility.encodeInto;
+import static org.ietf.jose.util.Base64Utility.encodedLength;
+
+/**
+ * An immutable, thread safe signer for JWTs in compact form.
+ * <p>
+ * A signer is bound to one key, algorithm, key ID and set of additional
+ * protected header parameters. The protected header is serialized and encoded
+ * once, when the signer is built, and every token shares that prefix:
+ * <pre>
+ *   JwtSigner signer = JwtSigner.builder()
+ *     .withKey(privateKey, JwsAlgorithmType.RS256)
+ *     .withKeyId("key-1")
+ *     .build();
+ *   String jwt = signer.sign(claims);
+ * </pre>
+ * <p>
+ * Signing writes the header, payload and signature segments into one
+ * exactly-sized buffer and signs the first two segments in place. HMAC
+ * signatures are computed with a {@link HmacPrefixSigner}, which also
+ * reuses the HMAC state of the encoded header. Digital signatures use pooled
+ * JCA engines. ECDSA signatures are DER encoded, consistent with the other
+ * signers in this library.
+ * <p>
+ * Bulk issuance is supported by {@link #signAll(Collection)} and
+ * {@link #signAll(Stream)}, which sign in parallel on all available
+ * processors. Every worker shares the prepared header and key; the engine
+ * pools hand each worker thread its own signing engine.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JwtSigner {
+
+  /**
+   * The shared JsonB writer. Thread safe.
+   */
+  private static final JsonbWriter WRITER = new JsonbWriter();
+
+  /**
+   * The signature algorithm.
+   */
+  private final JwsAlgorithmType algorithm;
+  /**
+   * The encoded protected header followed by the '.' separator.
+   */
+  private final byte[] prefix;
+  /**
+   * The HMAC signer. Null if the algorithm is a digital signature.
+   */
+  private final HmacPrefixSigner hmacSigner;
+  /**
+   * The private key. Null if the algorithm is HMAC.
+   */
+  private final PrivateKey privateKey;
+  /**
+   * The Signature engine pool. Null if the algorithm is HMAC.
+   */
+  private final EnginePool<Signature> signaturePool;
+  /**
+   * The maximum signature length in bytes.
+   */
+  private final int maxSignatureLength;
+
+  private JwtSigner(Builder builder) throws IOException, GeneralSecurityException {
+    this.algorithm = builder.algorithm;
+    JwsHeader header = builder.header == null ? new JwsHeader() : new JwsHeader(builder.header);
+    header.setAlg(algorithm.getJoseAlgorithmName());
+    header.setKid(builder.keyId);
+    if (isHmac(algorithm)) {
+      if (!(builder.key instanceof SecretKey)) {
+        throw new InvalidKeyException(algorithm.getJoseAlgorithmName() + " requires a secret key");
+      }
+      this.hmacSigner = HmacPrefixSigner.getInstance((SecretKey) builder.key, header);
+      this.prefix = null;
+      this.privateKey = null;
+      this.signaturePool = null;
+      this.maxSignatureLength = 0;
+      return;
+    }
+    this.hmacSigner = null;
+    this.privateKey = validatePrivateKey(algorithm, builder.key);
+    this.maxSignatureLength = getMaxSignatureLength(privateKey);
+    byte[] json = WRITER.marshalToBytes(header);
+    int headerLength = encodedLength(json.length);
+    this.prefix = new byte[headerLength + 1];
+    encodeInto(json, 0, json.length, prefix, 0);
+    prefix[headerLength] = '.';
+    this.signaturePool = JcaEngines.signature(algorithm.getJavaAlgorithmName());
+    /**
+     * Initialize once now so that an unusable key fails the build, not the
+     * first signature.
+     */
+    Signature signer = signaturePool.borrow();
+    try {
+      signer.initSign(privateKey);
+    } finally {
+      signaturePool.release(signer);
+    }
+  }
+
+  /**
+   * Get a new signer builder.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Sign JWT claims and return the JWS Compact Serialization.
+   *
+   * @param claims the JWT claims
+   * @return the compact JWT
+   * @throws GeneralSecurityException if the signature fails
+   */
+  public String sign(JwtClaims claims) throws GeneralSecurityException {
+    return sign(claims.toJsonBytes());
+  }
+
+  /**
+   * Sign a payload and return the JWS Compact Serialization:
+   * <pre>
+   *   BASE64URL(UTF8(JWS Protected Header)) || ’.’ ||
+   *   BASE64URL(JWS Payload) || ’.’ ||
+   *   BASE64URL(JWS Signature)
+   * </pre>
+   *
+   * @param payload the JWS payload
+   * @return the compact JWS
+   * @throws GeneralSecurityException if the signature fails
+   */
+  public String sign(byte[] payload) throws GeneralSecurityException {
+    if (hmacSigner != null) {
+      return hmacSigner.sign(payload);
+    }
+    int signingInputLength = prefix.length + encodedLength(payload.length);
+    byte[] compact = new byte[signingInputLength + 1 + encodedLength(maxSignatureLength)];
+    System.arraycopy(prefix, 0, compact, 0, prefix.length);
+    encodeInto(payload, 0, payload.length, compact, prefix.length);
+    byte[] signature;
+    Signature signer = signaturePool.borrow();
+    try {
+      signer.initSign(privateKey);
+      signer.update(compact, 0, signingInputLength);
+      signature = signer.sign();
+    } finally {
+      signaturePool.release(signer);
+    }
+    compact[signingInputLength] = '.';
+    int length = encodeInto(signature, 0, signature.length, compact, signingInputLength + 1);
+    return new String(compact, 0, signingInputLength + 1 + length, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Sign a batch of JWT claims in parallel on the common fork join pool.
+   *
+   * @param claims the JWT claims
+   * @return an unmodifiable list of compact JWTs, in input order
+   * @throws GeneralSecurityException if any signature fails
+   * @see #signAll(java.util.Collection, java.util.concurrent.Executor)
+   */
+  public List<String> signAll(Collection<? extends JwtClaims> claims) throws GeneralSecurityException {
+    return signAll(claims, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Sign a batch of JWT claims in parallel on the indicated executor. The
+   * batch is partitioned into contiguous ranges, a few per available
+   * processor. This method blocks until every token is signed.
+   *
+   * @param claims   the JWT claims
+   * @param executor the executor that runs the signing tasks
+   * @return an unmodifiable list of compact JWTs, in input order
+   * @throws GeneralSecurityException if any signature fails
+   */
+  public List<String> signAll(Collection<? extends JwtClaims> claims, Executor executor) throws GeneralSecurityException {
+    JwtClaims[] source = claims.toArray(new JwtClaims[0]);
+    String[] tokens = new String[source.length];
+    ParallelBatch.<GeneralSecurityException>run(source.length, executor, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        tokens[i] = sign(source[i]);
+      }
+    });
+    return Collections.unmodifiableList(Arrays.asList(tokens));
+  }
+
+  /**
+   * Sign a stream of JWT claims. Claims are signed lazily as the returned
+   * stream is consumed; the returned stream is parallel if the source stream
+   * is parallel, and preserves the source encounter order.
+   *
+   * @param claims the JWT claims
+   * @return a stream of compact JWTs
+   * @throws ProviderException (when the stream is consumed) if a signature
+   *                           fails
+   */
+  public Stream<String> signAll(Stream<? extends JwtClaims> claims) {
+    return claims.map(jwtClaims -> {
+      try {
+        return sign(jwtClaims);
+      } catch (GeneralSecurityException ex) {
+        throw new ProviderException("Failed to sign JWT: " + ex.getMessage(), ex);
+      }
+    });
+  }
+
+  /**
+   * Get the signature algorithm.
+   *
+   * @return the signature algorithm
+   */
+  public JwsAlgorithmType getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Get the BASE64URL encoded protected header.
+   *
+   * @return the encoded protected header
+   */
+  public String getEncodedHeader() {
+    return hmacSigner != null
+           ? hmacSigner.getEncodedHeader()
+           : new String(prefix, 0, prefix.length - 1, StandardCharsets.US_ASCII);
+  }
+
+  private static boolean isHmac(JwsAlgorithmType algorithm) {
+    return algorithm == JwsAlgorithmType.HS256 || algorithm == JwsAlgorithmType.HS384
+      || algorithm == JwsAlgorithmType.HS512;
+  }
+
+  /**
+   * Validate that the key is a private key of the type required by the
+   * algorithm. RSA keys must be at least 2048 bits (RFC 7518 3.3).
+   */
+  private static PrivateKey validatePrivateKey(JwsAlgorithmType algorithm, Key key) throws InvalidKeyException {
+    switch (algorithm) {
+      case ES256:
+      case ES384:
+      case ES512:
+        if (key instanceof ECPrivateKey) {
+          return (PrivateKey) key;
+        }
+        throw new InvalidKeyException(algorithm.getJoseAlgorithmName() + " requires an EC private key");
+      default:
+        if (!(key instanceof RSAPrivateKey)) {
+          throw new InvalidKeyException(algorithm.getJoseAlgorithmName() + " requires an RSA private key");
+        }
+        if (((RSAPrivateKey) key).getModulus().bitLength() < 2048) {
+          throw new InvalidKeyException("A key of size 2048 bits or larger MUST be used with this algorithm: RSA");
+        }
+        return (PrivateKey) key;
+    }
+  }
+
+  /**
+   * Get the maximum signature length for a private key: the modulus length for
+   * RSA, or the largest DER encoding of two integers of the curve order length
+   * for ECDSA.
+   */
+  private static int getMaxSignatureLength(PrivateKey key) {
+    if (key instanceof RSAPrivateKey) {
+      return (((RSAPrivateKey) key).getModulus().bitLength() + 7) / 8;
+    }
+    int orderLength = (((ECPrivateKey) key).getParams().getOrder().bitLength() + 7) / 8;
+    return 3 + 2 * (orderLength + 3);
+  }
+
+  /**
+   * JwtSigner builder. Not thread safe.
+   */
+  public static final class Builder {
+
+    private Key key;
+    private JwsAlgorithmType algorithm;
+    private String keyId;
+    private JwsHeader header;
+
+    private Builder() {
+    }
+
+    /**
+     * Set the signing key and algorithm.
+     *
+     * @param key       a secret key (HMAC) or private key (RSA, EC)
+     * @param algorithm the signature algorithm; not "none"
+     * @return this builder
+     */
+    public Builder withKey(Key key, JwsAlgorithmType algorithm) {
+      if (algorithm == JwsAlgorithmType.NONE) {
+        throw new IllegalArgumentException("Unsecured JWTs are not supported");
+      }
+      this.key = Objects.requireNonNull(key, "key");
+      this.algorithm = Objects.requireNonNull(algorithm, "algorithm");
+      return this;
+    }
+
+    /**
+     * Set the signing key from a JWK. The JCA key is materialized now. The JWK
+     * "kid", if any, is used as the key ID unless one is set.
+     *
+     * @param jwk       a symmetric, RSA private or EC private JWK
+     * @param algorithm the signature algorithm
+     * @return this builder
+     * @throws GeneralSecurityException if the JWK does not hold a valid key
+     */
+    public Builder withJwk(AbstractJwk jwk, JwsAlgorithmType algorithm) throws GeneralSecurityException {
+      Key jwkKey;
+      if (jwk instanceof SymmetricJwk) {
+        jwkKey = ((SymmetricJwk) jwk).getSecretKey(algorithm.getJavaAlgorithmName());
+      } else if (jwk instanceof RsaPrivateJwk) {
+        jwkKey = ((RsaPrivateJwk) jwk).getPrivateKey();
+      } else if (jwk instanceof EllipticCurvePrivateJwk) {
+        jwkKey = ((EllipticCurvePrivateJwk) jwk).getPrivateKey();
+      } else {
+        throw new InvalidKeyException("Unsupported JWK type " + jwk.getClass().getSimpleName());
+      }
+      if (keyId == null) {
+        keyId = jwk.getKid();
+      }
+      return withKey(jwkKey, algorithm);
+    }
+
+    /**
+     * Set an HMAC signing key derived from a shared secret, as by
+     * {@link SecretKeyBuilder#fromSharedSecret(String)}.
+     *
+     * @param sharedSecret the shared secret
+     * @param algorithm    the HMAC algorithm
+     * @return this builder
+     * @throws NoSuchAlgorithmException if SHA-256 is not available
+     */
+    public Builder withSharedSecret(String sharedSecret, JwsAlgorithmType algorithm) throws NoSuchAlgorithmException {
+      return withKey(SecretKeyBuilder.fromSharedSecret(sharedSecret), algorithm);
+    }
+
+    /**
+     * Set the key ID, written as the "kid" protected header parameter.
+     *
+     * @param keyId the key ID; may be null
+     * @return this builder
+     */
+    public Builder withKeyId(String keyId) {
+      this.keyId = keyId;
+      return this;
+    }
+
+    /**
+     * Set additional protected header parameters, such as "typ" or "cty". The
+     * header is copied; its "alg" and "kid" values are replaced.
+     *
+     * @param header the additional protected header parameters
+     * @return this builder
+     */
+    public Builder withHeader(JwsHeader header) {
+      this.header = header == null ? null : new JwsHeader(header);
+      return this;
+    }
+
+    /**
+     * Build the signer.
+     *
+     * @return a new, immutable signer
+     * @throws IOException              if the protected header fails to
+     *                                  marshal to JSON
+     * @throws GeneralSecurityException if the key is not valid for the
+     *                                  algorithm or the algorithm is not
+     *                                  supported
+     * @throws IllegalStateException    if no key is set
+     */
+    public JwtSigner build() throws IOException, GeneralSecurityException {
+      if (key == null) {
+        throw new IllegalStateException("A signing key is required");
+      }
+      return new JwtSigner(this);
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+
+/**
+ * Signals that a JWT failed verification. The {@link Reason} identifies the
+ * failure so that callers can distinguish, for example, an expired token from
+ * a forged one without parsing the message.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ * @see JwtVerifier
+ */
+public class JwtVerificationException extends GeneralSecurityException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The JWT verification failure reasons.
+   */
+  public enum Reason {
+    /**
+     * The token is not a well formed compact JWS, or its header or claims are
+     * not valid JSON.
+     */
+    MALFORMED,
+    /**
+     * The "alg" header is missing or is not a supported JWS algorithm.
+     */
+    UNSUPPORTED_ALGORITHM,
+    /**
+     * The "alg" header is a supported algorithm that the verifier does not
+     * permit.
+     */
+    ALGORITHM_NOT_PERMITTED,
+    /**
+     * No key is configured for the "kid" header and algorithm.
+     */
+    KEY_NOT_FOUND,
+    /**
+     * The signature or MAC is not valid.
+     */
+    INVALID_SIGNATURE,
+    /**
+     * The "exp" (Expiration Time) claim has passed.
+     */
+    EXPIRED,
+    /**
+     * The "nbf" (Not Before) claim has not yet been reached.
+     */
+    NOT_YET_VALID,
+    /**
+     * A required claim (e.g. issuer or audience) is missing or does not match.
+     */
+    INVALID_CLAIMS
+  }
+
+  /**
+   * The failure reason.
+   */
+  private final Reason reason;
+
+  /**
+   * Construct a new verification exception.
+   *
+   * @param reason  the failure reason
+   * @param message the detail message
+   */
+  public JwtVerificationException(Reason reason, String message) {
+    super(message);
+    this.reason = Objects.requireNonNull(reason, "reason");
+  }
+
+  /**
+   * Construct a new verification exception.
+   *
+   * @param reason  the failure reason
+   * @param message the detail message
+   * @param cause   the cause
+   */
+  public JwtVerificationException(Reason reason, String message, Throwable cause) {
+    super(message, cause);
+    this.reason = Objects.requireNonNull(reason, "reason");
+  }
+
+  /**
+   * Get the failure reason.
+   *
+   * @return the failure reason
+   */
+  public Reason getReason() {
+    return reason;
+  }
+
+}
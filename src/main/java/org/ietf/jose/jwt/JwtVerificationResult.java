@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+/**
+ * The outcome of verifying one token in a batch.
+ * <p>
+ * A result holds either the verified claims or the verification failure,
+ * never both. Batch verification reports a result for every input token, in
+ * input order, so one bad token does not abort the batch.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ * @see JwtVerifier#verifyAll(java.util.List)
+ */
+public final class JwtVerificationResult {
+
+  /**
+   * The position of the token in the input, or -1 if not known.
+   */
+  private final long index;
+  /**
+   * The verified claims. Null if verification failed.
+   */
+  private final JwtClaims claims;
+  /**
+   * The verification failure. Null if verification succeeded.
+   */
+  private final JwtVerificationException failure;
+
+  private JwtVerificationResult(long index, JwtClaims claims, JwtVerificationException failure) {
+    this.index = index;
+    this.claims = claims;
+    this.failure = failure;
+  }
+
+  /**
+   * Create a successful result.
+   *
+   * @param index  the position of the token in the input
+   * @param claims the verified claims
+   * @return a new result
+   */
+  static JwtVerificationResult valid(long index, JwtClaims claims) {
+    return new JwtVerificationResult(index, claims, null);
+  }
+
+  /**
+   * Create a failed result.
+   *
+   * @param index   the position of the token in the input
+   * @param failure the verification failure
+   * @return a new result
+   */
+  static JwtVerificationResult invalid(long index, JwtVerificationException failure) {
+    return new JwtVerificationResult(index, null, failure);
+  }
+
+  /**
+   * Get the position of the token in the input. A result from a stream whose
+   * size is not known in advance has no index.
+   *
+   * @return the zero based input position, or -1 if not known
+   */
+  public long getIndex() {
+    return index;
+  }
+
+  /**
+   * Determine if the token was verified.
+   *
+   * @return true if the token was verified
+   */
+  public boolean isValid() {
+    return failure == null;
+  }
+
+  /**
+   * Get the verified claims.
+   *
+   * @return the verified claims, or null if verification failed
+   */
+  public JwtClaims getClaims() {
+    return claims;
+  }
+
+  /**
+   * Get the verification failure.
+   *
+   * @return the verification failure, or null if the token was verified
+   */
+  public JwtVerificationException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Get the verification failure reason.
+   *
+   * @return the failure reason, or null if the token was verified
+   */
+  public JwtVerificationException.Reason getReason() {
+    return failure == null ? null : failure.getReason();
+  }
+
+  @Override
+  public String toString() {
+    return "JwtVerificationResult{" + "index=" + index
+      + (failure == null ? ", valid" : ", reason=" + failure.getReason() + ", message=" + failure.getMessage()) + '}';
+  }
+
+}
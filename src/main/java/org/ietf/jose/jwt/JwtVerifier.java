@@ -0,0 +1,865 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.io.IOException;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.json.bind.JsonbException;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jwk.key.EllipticCurvePublicJwk;
+import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.ietf.jose.jwk.key.SymmetricJwk;
+import org.ietf.jose.jwe.SecretKeyBuilder;
+import org.ietf.jose.jws.JwsHeader;
+import org.ietf.jose.util.CompactTokenizer;
+import org.ietf.jose.util.EnginePool;
+import org.ietf.jose.util.JcaEngines;
+import org.ietf.jose.util.JsonbReader;
+import org.ietf.jose.util.TokenDigest;
+
+import static org.ietf.jose.jwt.JwtVerificationException.Reason.*;
+
+/**
+ * An immutable, thread safe verifier for signed JWTs in compact form.
+ * <p>
+ * A verifier holds the permitted signature algorithms, the resolved
+ * verification keys and the prepared JCA engine pools. It is built once with
+ * {@link #builder()} and may then be shared by any number of threads for its
+ * lifetime:
+ * <pre>
+ *   JwtVerifier verifier = JwtVerifier.builder()
+ *     .withAlgorithms(JwsAlgorithmType.RS256)
+ *     .withKey("key-1", publicKey)
+ *     .withClockSkew(Duration.ofSeconds(30))
+ *     .build();
+ *   JwtClaims claims = verifier.verify(token); // throws JwtVerificationException
+ * </pre>
+ * <p>
+ * Verification is a single pass over the token: the segments are tokenized
+ * once, the signature is checked over the signing input, the claims are
+ * decoded directly from the payload and the registered time claims are
+ * validated. HMAC values are compared in constant time. Every failure is
+ * reported as a {@link JwtVerificationException} with a typed
+ * {@link JwtVerificationException.Reason}.
+ * <p>
+ * The verification key is selected by the "kid" header. If the header has no
+ * "kid", or no key is registered for it, the default key (registered without
+ * a key ID) is used, if any. The key type must match the algorithm: a secret
+ * key for HMAC, an RSA public key for RSA and an EC public key for ECDSA.
+ * <p>
+ * A {@link VerifiedTokenCache} may be configured to answer repeated
+ * verifications of the same token with one digest and lookup. Every built
+ * verifier has a unique key configuration version, so a cache shared by
+ * verifiers (e.g. one per key set rotation) never returns a result verified
+ * with different keys or rules. Likewise a {@link RejectedTokenCache} may be
+ * configured to reject repeats of recently rejected tokens before any parsing
+ * or cryptography.
+ * <p>
+ * Large batches of tokens (e.g. archived audit logs) are verified in parallel
+ * with {@link #verifyAll(List)} or {@link #verifyAll(Stream)}. All workers
+ * share the resolved keys and the engine pools of one verifier; each failure
+ * is reported in a {@link JwtVerificationResult} instead of aborting the
+ * batch.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JwtVerifier {
+
+  /**
+   * The shared JsonB reader for protected headers. Thread safe.
+   */
+  private static final JsonbReader READER = new JsonbReader();
+  /**
+   * The maximum number of distinct protected headers remembered.
+   */
+  private static final int MAX_CACHED_HEADERS = 1024;
+  /**
+   * The source of key configuration versions.
+   */
+  private static final AtomicLong VERSIONS = new AtomicLong();
+
+  /**
+   * The permitted signature algorithms.
+   */
+  private final Set<JwsAlgorithmType> algorithms;
+  /**
+   * The verification keys, by key ID.
+   */
+  private final Map<String, Key> keys;
+  /**
+   * The key used when the token has no "kid" or an unknown "kid". May be
+   * null.
+   */
+  private final Key defaultKey;
+  /**
+   * The prepared Mac engine pools for the permitted HMAC algorithms.
+   */
+  private final Map<JwsAlgorithmType, EnginePool<Mac>> macPools;
+  /**
+   * The prepared Signature engine pools for the permitted digital signature
+   * algorithms.
+   */
+  private final Map<JwsAlgorithmType, EnginePool<java.security.Signature>> signaturePools;
+  /**
+   * The clock used for time validation.
+   */
+  private final Clock clock;
+  /**
+   * The permitted clock skew, in seconds.
+   */
+  private final long clockSkewSeconds;
+  /**
+   * Whether the "exp" and "nbf" claims are validated.
+   */
+  private final boolean validateTime;
+  /**
+   * The required issuer. May be null.
+   */
+  private final String issuer;
+  /**
+   * The required audience. May be null.
+   */
+  private final String audience;
+  /**
+   * The recently seen protected headers, keyed by their encoded segment.
+   * Tokens issued by the same party almost always share one header.
+   */
+  private final ConcurrentMap<String, Header> headers = new ConcurrentHashMap<>();
+  /**
+   * The verified token cache. May be null.
+   */
+  private final VerifiedTokenCache cache;
+  /**
+   * The rejected token cache. May be null.
+   */
+  private final RejectedTokenCache rejectedCache;
+  /**
+   * The unique version of this key configuration, for the verified token
+   * cache.
+   */
+  private final long version = VERSIONS.incrementAndGet();
+
+  /**
+   * The parts of the protected header used for verification.
+   */
+  private static final class Header {
+
+    private final JwsAlgorithmType algorithm;
+    private final String kid;
+
+    private Header(JwsAlgorithmType algorithm, String kid) {
+      this.algorithm = algorithm;
+      this.kid = kid;
+    }
+  }
+
+  private JwtVerifier(Builder builder) throws NoSuchAlgorithmException {
+    this.algorithms = Collections.unmodifiableSet(EnumSet.copyOf(builder.algorithms));
+    this.keys = Collections.unmodifiableMap(new HashMap<>(builder.keys));
+    this.defaultKey = builder.defaultKey;
+    this.clock = builder.clock;
+    this.clockSkewSeconds = builder.clockSkew.getSeconds();
+    this.validateTime = builder.validateTime;
+    this.issuer = builder.issuer;
+    this.audience = builder.audience;
+    this.cache = builder.cache;
+    this.rejectedCache = builder.rejectedCache;
+    Map<JwsAlgorithmType, EnginePool<Mac>> macs = new EnumMap<>(JwsAlgorithmType.class);
+    Map<JwsAlgorithmType, EnginePool<java.security.Signature>> signatures = new EnumMap<>(JwsAlgorithmType.class);
+    for (JwsAlgorithmType algorithm : algorithms) {
+      if (isHmac(algorithm)) {
+        macs.put(algorithm, JcaEngines.mac(algorithm.getJavaAlgorithmName()));
+      } else {
+        signatures.put(algorithm, JcaEngines.signature(algorithm.getJavaAlgorithmName()));
+      }
+    }
+    this.macPools = macs;
+    this.signaturePools = signatures;
+  }
+
+  /**
+   * Get a new verifier builder.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Verify a signed JWT in compact form and return its claims.
+   *
+   * @param compactJwt the compact JWS
+   * @return the verified JWT claims
+   * @throws JwtVerificationException if the token is malformed, not signed
+   *                                  with a permitted algorithm and key, has
+   *                                  an invalid signature, or fails claim
+   *                                  validation
+   */
+  public JwtClaims verify(CharSequence compactJwt) throws JwtVerificationException {
+    if (compactJwt == null) {
+      throw new JwtVerificationException(MALFORMED, "JWT is null");
+    }
+    if (cache == null && rejectedCache == null) {
+      return verify(CompactTokenizer.of(compactJwt));
+    }
+    return verifyCached(TokenDigest.of(compactJwt), compactJwt, null);
+  }
+
+  /**
+   * Verify a signed JWT in compact form, as ASCII bytes, and return its
+   * claims.
+   *
+   * @param compactJwt the ASCII encoded compact JWS
+   * @return the verified JWT claims
+   * @throws JwtVerificationException if the token fails verification
+   * @see #verify(java.lang.CharSequence)
+   */
+  public JwtClaims verify(byte[] compactJwt) throws JwtVerificationException {
+    if (compactJwt == null) {
+      throw new JwtVerificationException(MALFORMED, "JWT is null");
+    }
+    if (cache == null && rejectedCache == null) {
+      return verify(CompactTokenizer.of(compactJwt));
+    }
+    return verifyCached(TokenDigest.of(compactJwt), null, compactJwt);
+  }
+
+  /**
+   * Verify a JWT through the configured caches. Exactly one of the character
+   * and byte sources is non-null.
+   */
+  private JwtClaims verifyCached(TokenDigest digest, CharSequence chars, byte[] bytes) throws JwtVerificationException {
+    long now = clock.millis();
+    if (rejectedCache != null) {
+      JwtVerificationException rejection = rejectedCache.get(digest, version, now);
+      if (rejection != null) {
+        throw rejection;
+      }
+    }
+    JwtClaims claims = cache == null ? null : cache.get(digest, version, now);
+    if (claims != null) {
+      return claims;
+    }
+    try {
+      claims = verify(chars != null ? CompactTokenizer.of(chars) : CompactTokenizer.of(bytes));
+    } catch (JwtVerificationException ex) {
+      if (rejectedCache != null) {
+        rejectedCache.put(digest, version, ex, now);
+      }
+      throw ex;
+    }
+    if (cache != null) {
+      long notAfter = validateTime && claims.getExpiresAt() != null
+                      ? (claims.getExpiresAt().toEpochSecond() + clockSkewSeconds) * 1000
+                      : Long.MAX_VALUE;
+      cache.put(digest, version, claims, notAfter, now);
+    }
+    return claims;
+  }
+
+  /**
+   * Verify a tokenized JWT and return its claims. The token caches, if any,
+   * are not used.
+   *
+   * @param tokenizer the tokenized compact JWS
+   * @return the verified JWT claims
+   * @throws JwtVerificationException if the token fails verification
+   */
+  public JwtClaims verify(CompactTokenizer tokenizer) throws JwtVerificationException {
+    if (tokenizer.getSegmentCount() != 3) {
+      throw new JwtVerificationException(MALFORMED, "A signed JWT must have 3 segments, not " + tokenizer.getSegmentCount());
+    }
+    Header header = readHeader(tokenizer);
+    if (!algorithms.contains(header.algorithm)) {
+      throw new JwtVerificationException(ALGORITHM_NOT_PERMITTED, "Algorithm not permitted: " + header.algorithm.getJoseAlgorithmName());
+    }
+    Key key = resolveKey(header);
+    byte[] signature;
+    try {
+      signature = tokenizer.decode(2);
+    } catch (IllegalArgumentException ex) {
+      throw new JwtVerificationException(MALFORMED, "Invalid signature encoding", ex);
+    }
+    if (!isValidSignature(header.algorithm, key, tokenizer.getSigningInput(), signature)) {
+      throw new JwtVerificationException(INVALID_SIGNATURE, "Invalid signature");
+    }
+    JwtClaims claims;
+    try {
+      claims = JwtClaimsReader.read(tokenizer.decode(1));
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new JwtVerificationException(MALFORMED, "Invalid JWT claims: " + ex.getMessage(), ex);
+    }
+    validateClaims(claims);
+    return claims;
+  }
+
+  /**
+   * Verify a batch of signed JWTs in parallel on the common fork join pool.
+   *
+   * @param compactJwts the compact JWS tokens
+   * @return an unmodifiable list with one result per token, in input order
+   * @see #verifyAll(java.util.List, java.util.concurrent.Executor)
+   */
+  public List<JwtVerificationResult> verifyAll(List<? extends CharSequence> compactJwts) {
+    return verifyAll(compactJwts, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Verify a batch of signed JWTs in parallel on the indicated executor.
+   * <p>
+   * The batch is partitioned into contiguous ranges, a few per available
+   * processor, and each range is verified by one task. Every task shares this
+   * verifier's keys, engine pools and caches. A token that fails verification
+   * is reported in its result; it does not abort the batch. This method
+   * blocks until every token is verified.
+   *
+   * @param compactJwts the compact JWS tokens
+   * @param executor    the executor that runs the verification tasks
+   * @return an unmodifiable list with one result per token, in input order
+   */
+  public List<JwtVerificationResult> verifyAll(List<? extends CharSequence> compactJwts, Executor executor) {
+    CharSequence[] tokens = compactJwts.toArray(new CharSequence[0]);
+    JwtVerificationResult[] results = new JwtVerificationResult[tokens.length];
+    ParallelBatch.run(tokens.length, executor, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        results[i] = verifyResult(i, tokens[i]);
+      }
+    });
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  /**
+   * Verify a stream of signed JWTs. Tokens are verified lazily as the
+   * returned stream is consumed; the returned stream is parallel if the
+   * source stream is parallel, and preserves the source encounter order.
+   * <p>
+   * Result indexes are the token positions in the source when the source is
+   * ordered and its size is known (or it is consumed sequentially); otherwise
+   * results may have no index.
+   *
+   * @param compactJwts the compact JWS tokens
+   * @return a stream with one result per token
+   */
+  public Stream<JwtVerificationResult> verifyAll(Stream<? extends CharSequence> compactJwts) {
+    Spliterator<? extends CharSequence> source = compactJwts.spliterator();
+    return StreamSupport.stream(new VerifyingSpliterator(source, source.hasCharacteristics(Spliterator.ORDERED) ? 0 : -1),
+                                compactJwts.isParallel())
+      .onClose(compactJwts::close);
+  }
+
+  /**
+   * Verify one token of a batch.
+   */
+  private JwtVerificationResult verifyResult(long index, CharSequence compactJwt) {
+    try {
+      return JwtVerificationResult.valid(index, verify(compactJwt));
+    } catch (JwtVerificationException ex) {
+      return JwtVerificationResult.invalid(index, ex);
+    }
+  }
+
+  /**
+   * A spliterator that verifies the tokens of a source spliterator. Splitting
+   * delegates to the source, so a parallel stream partitions the verification
+   * the same way it partitions the source.
+   */
+  private final class VerifyingSpliterator implements Spliterator<JwtVerificationResult> {
+
+    private final Spliterator<? extends CharSequence> source;
+    /**
+     * The index of the next token, or -1 if not known.
+     */
+    private long index;
+
+    private VerifyingSpliterator(Spliterator<? extends CharSequence> source, long index) {
+      this.source = source;
+      this.index = index;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JwtVerificationResult> action) {
+      return source.tryAdvance(jwt -> action.accept(verifyResult(nextIndex(), jwt)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super JwtVerificationResult> action) {
+      source.forEachRemaining(jwt -> action.accept(verifyResult(nextIndex(), jwt)));
+    }
+
+    @Override
+    public Spliterator<JwtVerificationResult> trySplit() {
+      Spliterator<? extends CharSequence> prefix = source.trySplit();
+      if (prefix == null) {
+        return null;
+      }
+      long start = index;
+      if (index >= 0) {
+        long size = prefix.getExactSizeIfKnown();
+        index = size < 0 ? -1 : index + size;
+      }
+      return new VerifyingSpliterator(prefix, start);
+    }
+
+    @Override
+    public long estimateSize() {
+      return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return source.characteristics() & (ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT) | NONNULL;
+    }
+
+    private long nextIndex() {
+      return index < 0 ? -1 : index++;
+    }
+  }
+
+  /**
+   * Read (or recall) the protected header.
+   */
+  private Header readHeader(CompactTokenizer tokenizer) throws JwtVerificationException {
+    String segment = tokenizer.getSegment(0);
+    Header header = headers.get(segment);
+    if (header != null) {
+      return header;
+    }
+    JwsHeader jwsHeader;
+    try {
+      jwsHeader = READER.unmarshal(tokenizer.decode(0), JwsHeader.class);
+    } catch (JsonbException | IllegalArgumentException ex) {
+      throw new JwtVerificationException(MALFORMED, "Invalid JWS header", ex);
+    }
+    if (jwsHeader == null) {
+      throw new JwtVerificationException(MALFORMED, "Invalid JWS header");
+    }
+    if (jwsHeader.getCrit() != null && !jwsHeader.getCrit().isEmpty()) {
+      throw new JwtVerificationException(MALFORMED, "Unsupported critical header parameters " + jwsHeader.getCrit());
+    }
+    JwsAlgorithmType algorithm;
+    try {
+      algorithm = JwsAlgorithmType.resolveAlgorithm(jwsHeader.getAlg());
+    } catch (IllegalArgumentException ex) {
+      throw new JwtVerificationException(UNSUPPORTED_ALGORITHM, ex.getMessage(), ex);
+    }
+    if (algorithm == JwsAlgorithmType.NONE) {
+      throw new JwtVerificationException(ALGORITHM_NOT_PERMITTED, "Unsecured JWTs are not permitted");
+    }
+    header = new Header(algorithm, jwsHeader.getKid());
+    if (headers.size() >= MAX_CACHED_HEADERS) {
+      headers.clear();
+    }
+    headers.put(segment, header);
+    return header;
+  }
+
+  /**
+   * Select the verification key for the header.
+   */
+  private Key resolveKey(Header header) throws JwtVerificationException {
+    Key key = header.kid == null ? null : keys.get(header.kid);
+    if (key == null) {
+      key = defaultKey;
+    }
+    if (key == null || !isCompatible(header.algorithm, key)) {
+      throw new JwtVerificationException(KEY_NOT_FOUND, "No " + header.algorithm.getJoseAlgorithmName()
+        + " key found" + (header.kid == null ? "" : " for kid " + header.kid));
+    }
+    return key;
+  }
+
+  /**
+   * Check the signature or MAC over the signing input.
+   */
+  private boolean isValidSignature(JwsAlgorithmType algorithm, Key key, byte[] signingInput, byte[] signature)
+    throws JwtVerificationException {
+    try {
+      if (isHmac(algorithm)) {
+        EnginePool<Mac> pool = macPools.get(algorithm);
+        Mac mac = pool.borrow();
+        try {
+          mac.init(key);
+          return MessageDigest.isEqual(mac.doFinal(signingInput), signature);
+        } finally {
+          pool.release(mac);
+        }
+      }
+      if (isEcdsa(algorithm)) {
+        signature = ecdsaToDer(signature, getEcdsaSignatureLength(algorithm));
+        if (signature == null) {
+          return false;
+        }
+      }
+      EnginePool<java.security.Signature> pool = signaturePools.get(algorithm);
+      java.security.Signature verifier = pool.borrow();
+      try {
+        verifier.initVerify((PublicKey) key);
+        verifier.update(signingInput);
+        return verifier.verify(signature);
+      } finally {
+        pool.release(verifier);
+      }
+    } catch (InvalidKeyException ex) {
+      throw new JwtVerificationException(KEY_NOT_FOUND, "Key is not valid for " + algorithm.getJoseAlgorithmName(), ex);
+    } catch (SignatureException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Validate the registered claims.
+   */
+  private void validateClaims(JwtClaims claims) throws JwtVerificationException {
+    if (validateTime) {
+      long now = Instant.now(clock).getEpochSecond();
+      if (claims.getExpiresAt() != null && now >= claims.getExpiresAt().toEpochSecond() + clockSkewSeconds) {
+        throw new JwtVerificationException(EXPIRED, "JWT expired at " + claims.getExpiresAt());
+      }
+      if (claims.getNotBefore() != null && now + clockSkewSeconds < claims.getNotBefore().toEpochSecond()) {
+        throw new JwtVerificationException(NOT_YET_VALID, "JWT not valid before " + claims.getNotBefore());
+      }
+    }
+    if (issuer != null && !issuer.equals(claims.getIssuer())) {
+      throw new JwtVerificationException(INVALID_CLAIMS, "Unexpected issuer " + claims.getIssuer());
+    }
+    if (audience != null && !claims.getAudience().contains(audience)) {
+      throw new JwtVerificationException(INVALID_CLAIMS, "JWT audience does not include " + audience);
+    }
+  }
+
+  /**
+   * Get the permitted algorithms.
+   *
+   * @return an unmodifiable set
+   */
+  public Set<JwsAlgorithmType> getAlgorithms() {
+    return algorithms;
+  }
+
+  private static boolean isHmac(JwsAlgorithmType algorithm) {
+    return algorithm == JwsAlgorithmType.HS256 || algorithm == JwsAlgorithmType.HS384
+      || algorithm == JwsAlgorithmType.HS512;
+  }
+
+  private static boolean isEcdsa(JwsAlgorithmType algorithm) {
+    return algorithm == JwsAlgorithmType.ES256 || algorithm == JwsAlgorithmType.ES384
+      || algorithm == JwsAlgorithmType.ES512;
+  }
+
+  /**
+   * Determine if a key type matches an algorithm.
+   */
+  private static boolean isCompatible(JwsAlgorithmType algorithm, Key key) {
+    if (isHmac(algorithm)) {
+      return key instanceof SecretKey;
+    }
+    if (isEcdsa(algorithm)) {
+      return key instanceof ECPublicKey;
+    }
+    return key instanceof RSAPublicKey;
+  }
+
+  /**
+   * Get the length of a JWS ECDSA signature: the concatenated, fixed length R
+   * and S values (RFC 7518 3.4).
+   */
+  private static int getEcdsaSignatureLength(JwsAlgorithmType algorithm) {
+    switch (algorithm) {
+      case ES256:
+        return 64;
+      case ES384:
+        return 96;
+      default:
+        return 132;
+    }
+  }
+
+  /**
+   * Convert a JWS ECDSA signature (R || S) to the ASN.1 DER encoding expected
+   * by the JCA. A signature that is already DER encoded, as produced by
+   * {@link org.ietf.jose.util.CryptographyUtility#sign}, is returned as is.
+   *
+   * @return the DER signature, or null if the signature length is invalid
+   */
+  private static byte[] ecdsaToDer(byte[] signature, int length) {
+    if (signature.length != length) {
+      return signature.length > 0 && signature[0] == 0x30 ? signature : null;
+    }
+    byte[] r = toDerInteger(signature, 0, length / 2);
+    byte[] s = toDerInteger(signature, length / 2, length / 2);
+    int contentLength = r.length + s.length;
+    int headerLength = contentLength > 127 ? 3 : 2;
+    byte[] der = new byte[headerLength + contentLength];
+    der[0] = 0x30;
+    if (contentLength > 127) {
+      der[1] = (byte) 0x81;
+      der[2] = (byte) contentLength;
+    } else {
+      der[1] = (byte) contentLength;
+    }
+    System.arraycopy(r, 0, der, headerLength, r.length);
+    System.arraycopy(s, 0, der, headerLength + r.length, s.length);
+    return der;
+  }
+
+  /**
+   * Encode an unsigned big-endian integer as an ASN.1 DER INTEGER.
+   */
+  private static byte[] toDerInteger(byte[] value, int offset, int length) {
+    int start = offset;
+    int end = offset + length;
+    while (start < end - 1 && value[start] == 0) {
+      start++;
+    }
+    int pad = (value[start] & 0x80) != 0 ? 1 : 0;
+    int size = end - start + pad;
+    byte[] integer = new byte[2 + size];
+    integer[0] = 0x02;
+    integer[1] = (byte) size;
+    System.arraycopy(value, start, integer, 2 + pad, end - start);
+    return integer;
+  }
+
+  /**
+   * JwtVerifier builder. Not thread safe.
+   */
+  public static final class Builder {
+
+    private final Set<JwsAlgorithmType> algorithms = EnumSet.noneOf(JwsAlgorithmType.class);
+    private final Map<String, Key> keys = new HashMap<>();
+    private Key defaultKey;
+    private Clock clock = Clock.systemUTC();
+    private Duration clockSkew = Duration.ZERO;
+    private boolean validateTime = true;
+    private String issuer;
+    private String audience;
+    private VerifiedTokenCache cache;
+    private RejectedTokenCache rejectedCache;
+
+    private Builder() {
+    }
+
+    /**
+     * Permit the indicated signature algorithms. At least one algorithm must
+     * be permitted. The "none" algorithm is never permitted.
+     *
+     * @param algorithms the permitted algorithms
+     * @return this builder
+     */
+    public Builder withAlgorithms(JwsAlgorithmType... algorithms) {
+      for (JwsAlgorithmType algorithm : algorithms) {
+        if (algorithm == JwsAlgorithmType.NONE) {
+          throw new IllegalArgumentException("Unsecured JWTs are not permitted");
+        }
+        this.algorithms.add(Objects.requireNonNull(algorithm, "algorithm"));
+      }
+      return this;
+    }
+
+    /**
+     * Add the default verification key, used when a token has no "kid" header
+     * or a "kid" with no registered key.
+     *
+     * @param key a secret key (HMAC) or public key (RSA, EC)
+     * @return this builder
+     */
+    public Builder withKey(Key key) {
+      this.defaultKey = Objects.requireNonNull(key, "key");
+      return this;
+    }
+
+    /**
+     * Add a verification key for a key ID.
+     *
+     * @param keyId the key ID, matching the "kid" header. If null the key is
+     *              the default key.
+     * @param key   a secret key (HMAC) or public key (RSA, EC)
+     * @return this builder
+     */
+    public Builder withKey(String keyId, Key key) {
+      if (keyId == null) {
+        return withKey(key);
+      }
+      keys.put(keyId, Objects.requireNonNull(key, "key"));
+      return this;
+    }
+
+    /**
+     * Add a verification key from a JWK. The JCA key is materialized now. The
+     * JWK "kid", if any, is the key ID.
+     *
+     * @param jwk a symmetric, RSA or EC JWK
+     * @return this builder
+     * @throws GeneralSecurityException if the JWK does not hold a valid key
+     */
+    public Builder withJwk(AbstractJwk jwk) throws GeneralSecurityException {
+      Key key;
+      if (jwk instanceof SymmetricJwk) {
+        /**
+         * The Mac accepts any RAW secret key; the algorithm name is only a
+         * label and the same key verifies HS256, HS384 and HS512.
+         */
+        key = ((SymmetricJwk) jwk).getSecretKey(JwsAlgorithmType.HS256.getJavaAlgorithmName());
+      } else if (jwk instanceof RsaPublicJwk) {
+        key = ((RsaPublicJwk) jwk).getPublicKey();
+      } else if (jwk instanceof EllipticCurvePublicJwk) {
+        key = ((EllipticCurvePublicJwk) jwk).getPublicKey();
+      } else {
+        throw new InvalidKeyException("Unsupported JWK type " + jwk.getClass().getSimpleName());
+      }
+      return withKey(jwk.getKid(), key);
+    }
+
+    /**
+     * Add an HMAC verification key derived from a shared secret, as by
+     * {@link SecretKeyBuilder#fromSharedSecret(String)}. The key is derived
+     * once, now.
+     *
+     * @param keyId        the key ID; if null the key is the default key
+     * @param sharedSecret the shared secret
+     * @return this builder
+     * @throws NoSuchAlgorithmException if SHA-256 is not available
+     */
+    public Builder withSharedSecret(String keyId, String sharedSecret) throws NoSuchAlgorithmException {
+      return withKey(keyId, SecretKeyBuilder.fromSharedSecret(sharedSecret));
+    }
+
+    /**
+     * Set the clock used for time validation. The default is the system UTC
+     * clock.
+     *
+     * @param clock the clock
+     * @return this builder
+     */
+    public Builder withClock(Clock clock) {
+      this.clock = Objects.requireNonNull(clock, "clock");
+      return this;
+    }
+
+    /**
+     * Set the permitted clock skew when validating the "exp" and "nbf"
+     * claims. The default is zero.
+     *
+     * @param clockSkew the clock skew; must not be negative
+     * @return this builder
+     */
+    public Builder withClockSkew(Duration clockSkew) {
+      if (clockSkew.isNegative()) {
+        throw new IllegalArgumentException("Clock skew must not be negative");
+      }
+      this.clockSkew = clockSkew;
+      return this;
+    }
+
+    /**
+     * Enable or disable validation of the "exp" and "nbf" claims. Enabled by
+     * default.
+     *
+     * @param validateTime true to validate the time claims
+     * @return this builder
+     */
+    public Builder withTimeValidation(boolean validateTime) {
+      this.validateTime = validateTime;
+      return this;
+    }
+
+    /**
+     * Require the "iss" (Issuer) claim to equal the indicated value.
+     *
+     * @param issuer the required issuer
+     * @return this builder
+     */
+    public Builder withIssuer(String issuer) {
+      this.issuer = issuer;
+      return this;
+    }
+
+    /**
+     * Require the "aud" (Audience) claim to contain the indicated value.
+     *
+     * @param audience the required audience
+     * @return this builder
+     */
+    public Builder withAudience(String audience) {
+      this.audience = audience;
+      return this;
+    }
+
+    /**
+     * Answer repeated verifications of the same token from a cache. Only
+     * tokens that pass verification are cached. Not used by
+     * {@link JwtVerifier#verify(CompactTokenizer)}.
+     *
+     * @param cache the verified token cache; null for none
+     * @return this builder
+     */
+    public Builder withCache(VerifiedTokenCache cache) {
+      this.cache = cache;
+      return this;
+    }
+
+    /**
+     * Reject repeats of recently rejected tokens from a cache, before any
+     * parsing or cryptography. Not used by
+     * {@link JwtVerifier#verify(CompactTokenizer)}.
+     *
+     * @param rejectedCache the rejected token cache; null for none
+     * @return this builder
+     */
+    public Builder withRejectedCache(RejectedTokenCache rejectedCache) {
+      this.rejectedCache = rejectedCache;
+      return this;
+    }
+
+    /**
+     * Build the verifier.
+     *
+     * @return a new, immutable verifier
+     * @throws NoSuchAlgorithmException if a permitted algorithm is not
+     *                                  supported by the installed providers
+     * @throws IllegalStateException    if no algorithm or no key is configured
+     */
+    public JwtVerifier build() throws NoSuchAlgorithmException {
+      if (algorithms.isEmpty()) {
+        throw new IllegalStateException("At least one algorithm must be permitted");
+      }
+      if (keys.isEmpty() && defaultKey == null) {
+        throw new IllegalStateException("At least one verification key is required");
+      }
+      return new JwtVerifier(this);
+    }
+  }
+
+}
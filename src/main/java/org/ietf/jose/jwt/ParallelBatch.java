@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs an indexed batch of work in parallel on an executor.
+ * <p>
+ * The batch is partitioned into contiguous ranges, a few per available
+ * processor, and each range is processed by one task. Having more tasks than
+ * workers lets idle workers take over the remainder of a slow partition,
+ * while keeping the per-task overhead small relative to the work. Callers
+ * write their results into a pre-sized array, so the input order is kept
+ * without any merge step.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+final class ParallelBatch {
+
+  /**
+   * The number of tasks per available processor.
+   */
+  private static final int TASKS_PER_PROCESSOR = 4;
+
+  /**
+   * Processes one range of a batch.
+   *
+   * @param <E> the checked exception type
+   */
+  @FunctionalInterface
+  interface RangeTask<E extends Exception> {
+
+    /**
+     * Process the batch items from {@code from}, inclusive, to {@code to},
+     * exclusive.
+     *
+     * @param from the first index
+     * @param to   the end index
+     * @throws E if processing fails
+     */
+    void run(int from, int to) throws E;
+  }
+
+  private ParallelBatch() {
+  }
+
+  /**
+   * Process a batch and wait for it to complete. A batch of one item, or a
+   * single processor, is processed on the calling thread.
+   *
+   * @param <E>      the checked exception type
+   * @param size     the number of items in the batch
+   * @param executor the executor that runs the tasks
+   * @param task     the range task
+   * @throws E if any range fails; the first failure is thrown
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception> void run(int size, Executor executor, RangeTask<E> task) throws E {
+    Objects.requireNonNull(executor, "executor");
+    int tasks = Math.min(size, Runtime.getRuntime().availableProcessors() * TASKS_PER_PROCESSOR);
+    if (tasks <= 1) {
+      task.run(0, size);
+      return;
+    }
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+    for (int i = 0; i < tasks; i++) {
+      int from = (int) ((long) size * i / tasks);
+      int to = (int) ((long) size * (i + 1) / tasks);
+      futures[i] = CompletableFuture.runAsync(() -> {
+        try {
+          task.run(from, to);
+        } catch (RuntimeException ex) {
+          throw ex;
+        } catch (Exception ex) {
+          throw new CompletionException(ex);
+        }
+      }, executor);
+    }
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      if (cause instanceof Exception) {
+        throw (E) cause;
+      }
+      throw ex;
+    }
+  }
+
+}
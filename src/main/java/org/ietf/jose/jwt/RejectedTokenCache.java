@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.ietf.jose.util.ExpiringCache;
+import org.ietf.jose.util.TokenDigest;
+
+/**
+ * An opt-in negative cache of rejected JWTs, placed in front of a
+ * {@link JwtVerifier} with {@link JwtVerifier.Builder#withRejectedCache}.
+ * <p>
+ * When a token fails verification its digest and failure reason are recorded
+ * for a limited time. A repeat of the same token is then rejected with the
+ * same reason after one digest and lookup, before any parsing or
+ * cryptography, so that repeated invalid traffic (misconfigured clients,
+ * replayed or forged tokens) costs little CPU.
+ * <p>
+ * As with the {@link VerifiedTokenCache}, entries are bound to the key
+ * configuration version of the verifier that rejected them. Tokens rejected
+ * as {@link JwtVerificationException.Reason#NOT_YET_VALID} are not recorded,
+ * since they may become valid.
+ * <p>
+ * A cache may be shared by several verifiers and by any number of threads.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class RejectedTokenCache {
+
+  private final ExpiringCache<TokenDigest, Entry> cache;
+  private final long timeToLiveMillis;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  /**
+   * The number of rejections answered from the cache, by reason.
+   */
+  private final Map<JwtVerificationException.Reason, LongAdder> hitsByReason;
+
+  /**
+   * A rejection and the key configuration version that produced it.
+   */
+  private static final class Entry {
+
+    private final long version;
+    private final JwtVerificationException.Reason reason;
+    private final String message;
+
+    private Entry(long version, JwtVerificationException.Reason reason, String message) {
+      this.version = version;
+      this.reason = reason;
+      this.message = message;
+    }
+  }
+
+  /**
+   * Construct a new cache.
+   *
+   * @param maximumSize the maximum number of recorded tokens
+   * @param timeToLive  the time a rejection is recorded
+   */
+  public RejectedTokenCache(int maximumSize, Duration timeToLive) {
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("Time to live must be positive");
+    }
+    this.cache = new ExpiringCache<>(maximumSize);
+    this.timeToLiveMillis = timeToLive.toMillis();
+    Map<JwtVerificationException.Reason, LongAdder> counters = new EnumMap<>(JwtVerificationException.Reason.class);
+    for (JwtVerificationException.Reason reason : JwtVerificationException.Reason.values()) {
+      counters.put(reason, new LongAdder());
+    }
+    this.hitsByReason = counters;
+  }
+
+  /**
+   * Look up a previously rejected token.
+   *
+   * @param digest  the token digest
+   * @param version the key configuration version
+   * @param now     the current time, in epoch milliseconds
+   * @return a new exception with the recorded reason, or null if the token is
+   *         not recorded
+   */
+  JwtVerificationException get(TokenDigest digest, long version, long now) {
+    Entry entry = cache.get(digest, now);
+    if (entry == null || entry.version != version) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    hitsByReason.get(entry.reason).increment();
+    return new JwtVerificationException(entry.reason, entry.message);
+  }
+
+  /**
+   * Record a rejected token.
+   *
+   * @param digest    the token digest
+   * @param version   the key configuration version
+   * @param rejection the verification failure
+   * @param now       the current time, in epoch milliseconds
+   */
+  void put(TokenDigest digest, long version, JwtVerificationException rejection, long now) {
+    if (rejection.getReason() == JwtVerificationException.Reason.NOT_YET_VALID) {
+      return;
+    }
+    cache.put(digest, new Entry(version, rejection.getReason(), rejection.getMessage()), now + timeToLiveMillis, now);
+  }
+
+  /**
+   * Remove all recorded rejections.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Get the number of recorded rejections.
+   *
+   * @return the number of recorded rejections
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Get the number of tokens rejected from the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of tokens rejected from the cache for a reason.
+   *
+   * @param reason the rejection reason
+   * @return the hit count for the reason
+   */
+  public long getHitCount(JwtVerificationException.Reason reason) {
+    return hitsByReason.get(reason).sum();
+  }
+
+  /**
+   * Get the number of tokens not found in the cache.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Get the share of lookups that were rejected from the cache.
+   *
+   * @return the hit rate, from 0 to 1; 0 if there have been no lookups
+   */
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import org.ietf.jose.util.ExpiringCache;
+import org.ietf.jose.util.TokenDigest;
+
+/**
+ * An opt-in cache of verified JWT claims, placed in front of a
+ * {@link JwtVerifier} with {@link JwtVerifier.Builder#withCache}.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the compact token and are bound
+ * to the version of the key configuration that verified them: a result is
+ * only returned to a verifier with the same version. An entry never outlives
+ * the token "exp" claim (plus the verifier clock skew), nor the configured
+ * maximum time to live. The cache is bounded by a sharded segmented LRU.
+ * <p>
+ * Claims are copied when stored and when returned, so a caller that modifies
+ * the returned claims does not affect other callers.
+ * <p>
+ * A cache may be shared by several verifiers and by any number of threads.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class VerifiedTokenCache {
+
+  /**
+   * The default maximum time to live.
+   */
+  private static final Duration DEFAULT_MAX_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+  private final ExpiringCache<TokenDigest, Entry> cache;
+  private final long maxTimeToLiveMillis;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * A verified result and the key configuration version that produced it.
+   */
+  private static final class Entry {
+
+    private final long version;
+    private final JwtClaims claims;
+
+    private Entry(long version, JwtClaims claims) {
+      this.version = version;
+      this.claims = claims;
+    }
+  }
+
+  /**
+   * Construct a new cache with a ten minute maximum time to live.
+   *
+   * @param maximumSize the maximum number of cached tokens
+   */
+  public VerifiedTokenCache(int maximumSize) {
+    this(maximumSize, DEFAULT_MAX_TIME_TO_LIVE);
+  }
+
+  /**
+   * Construct a new cache.
+   *
+   * @param maximumSize    the maximum number of cached tokens
+   * @param maxTimeToLive the maximum time a result is cached, also for
+   *                       tokens without an "exp" claim
+   */
+  public VerifiedTokenCache(int maximumSize, Duration maxTimeToLive) {
+    if (maxTimeToLive.isNegative() || maxTimeToLive.isZero()) {
+      throw new IllegalArgumentException("Maximum time to live must be positive");
+    }
+    this.cache = new ExpiringCache<>(maximumSize);
+    this.maxTimeToLiveMillis = maxTimeToLive.toMillis();
+  }
+
+  /**
+   * Get the cached claims of a verified token.
+   *
+   * @param digest  the token digest
+   * @param version the key configuration version
+   * @param now     the current time, in epoch milliseconds
+   * @return a copy of the cached claims, or null if not cached
+   */
+  JwtClaims get(TokenDigest digest, long version, long now) {
+    Entry entry = cache.get(digest, now);
+    if (entry == null || entry.version != version) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.claims.copy();
+  }
+
+  /**
+   * Cache the claims of a verified token.
+   *
+   * @param digest    the token digest
+   * @param version   the key configuration version
+   * @param claims    the verified claims
+   * @param notAfter  the time after which the result must not be used, in
+   *                  epoch milliseconds
+   * @param now       the current time, in epoch milliseconds
+   */
+  void put(TokenDigest digest, long version, JwtClaims claims, long notAfter, long now) {
+    long expiresAt = Math.min(notAfter, now + maxTimeToLiveMillis);
+    cache.put(digest, new Entry(version, claims.copy()), expiresAt, now);
+  }
+
+  /**
+   * Remove all cached results.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Get the number of cached results.
+   *
+   * @return the number of cached results
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Get the number of verifications answered from the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of verifications not answered from the cache.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+}
@@ -15,7 +15,9 @@
  */
 package org.ietf.jose.util;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Base64;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -23,6 +25,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  * A Base64 and Base64URL encoding utility with defaults consistent with the
  * JOSE family of formats.
+ * <p>
+ * In addition to the whole String and byte array methods this utility provides
+ * an offset-based BASE64URL codec that reads from and writes into caller
+ * supplied arrays and buffers. Use {@link #encodedLength(int)} and
+ * {@link #decodedLength(int)} to size the output once. The offset-based
+ * encoder never writes padding; the decoder accepts (and ignores) trailing
+ * padding characters.
+ *
+ * @since v1.4.0 2026-10-16 add offset-based codec
  */
 public class Base64Utility {
 
@@ -33,6 +44,23 @@ public class Base64Utility {
   private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
   public static final Charset DEFAULT_CHARSET = UTF_8;
 
+  /**
+   * The BASE64URL alphabet. RFC 4648 Table 2.
+   */
+  private static final char[] ENCODE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+  /**
+   * The BASE64URL decoding table, indexed by ASCII character. Invalid
+   * characters are -1.
+   */
+  private static final byte[] DECODE = new byte[128];
+
+  static {
+    Arrays.fill(DECODE, (byte) -1);
+    for (int i = 0; i < ENCODE.length; i++) {
+      DECODE[ENCODE[i]] = (byte) i;
+    }
+  }
+
   /**
    * Convert any string to base64Url
    *
@@ -53,6 +81,16 @@ public class Base64Utility {
     return URL_ENCODER.encodeToString(bytes);
   }
 
+  /**
+   * Convert a byte blob into base64Url ASCII bytes
+   *
+   * @param bytes some byte array
+   * @return base64url-encoded ASCII bytes
+   */
+  public static byte[] toBase64UrlBytes(byte[] bytes) {
+    return URL_ENCODER.encode(bytes);
+  }
+
   /**
    * Decode a base64Url-encoded string into a byte array
    *
@@ -63,6 +101,16 @@ public class Base64Utility {
     return URL_DECODER.decode(text);
   }
 
+  /**
+   * Decode base64Url-encoded ASCII bytes into a byte array
+   *
+   * @param ascii base64url-encoded ASCII bytes
+   * @return decoded bytes
+   */
+  public static byte[] fromBase64Url(byte[] ascii) {
+    return URL_DECODER.decode(ascii);
+  }
+
   /**
    * Decode a base64Url-encoded string into a string
    *
@@ -72,4 +120,385 @@ public class Base64Utility {
   public static String fromBase64UrlToString(String base64encoded) {
     return new String(fromBase64Url(base64encoded), DEFAULT_CHARSET);
   }
+
+  /**
+   * Calculate the exact length of the unpadded BASE64URL encoding of the
+   * indicated number of bytes.
+   *
+   * @param length the number of bytes to encode
+   * @return the number of encoded characters
+   */
+  public static int encodedLength(int length) {
+    int remainder = length % 3;
+    return (length / 3) * 4 + (remainder == 0 ? 0 : remainder + 1);
+  }
+
+  /**
+   * Calculate the exact number of bytes encoded by an unpadded BASE64URL
+   * character sequence of the indicated length.
+   *
+   * @param length the number of encoded characters, without padding
+   * @return the number of decoded bytes
+   * @throws IllegalArgumentException if the length is not a valid BASE64URL
+   *                                  length
+   */
+  public static int decodedLength(int length) {
+    int remainder = length % 4;
+    if (remainder == 1) {
+      throw new IllegalArgumentException("Invalid base64url length " + length);
+    }
+    return (length / 4) * 3 + (remainder == 0 ? 0 : remainder - 1);
+  }
+
+  /**
+   * Calculate the exact number of bytes encoded by a BASE64URL character
+   * sequence. Trailing padding characters are ignored.
+   *
+   * @param src the source
+   * @param off the start of the encoded characters
+   * @param len the number of encoded characters
+   * @return the number of decoded bytes
+   */
+  public static int decodedLength(CharSequence src, int off, int len) {
+    return decodedLength(len - padding(src, off, len));
+  }
+
+  /**
+   * Calculate the exact number of bytes encoded by BASE64URL ASCII bytes.
+   * Trailing padding characters are ignored.
+   *
+   * @param src the source
+   * @param off the start of the encoded bytes
+   * @param len the number of encoded bytes
+   * @return the number of decoded bytes
+   */
+  public static int decodedLength(byte[] src, int off, int len) {
+    return decodedLength(len - padding(src, off, len));
+  }
+
+  /**
+   * Encode bytes as BASE64URL ASCII bytes into a destination array.
+   *
+   * @param src    the source bytes
+   * @param off    the start of the source bytes
+   * @param len    the number of source bytes
+   * @param dst    the destination, which must have at least
+   *               {@code encodedLength(len)} bytes available from
+   *               {@code dstOff}
+   * @param dstOff the start position in the destination
+   * @return the number of bytes written
+   */
+  public static int encodeInto(byte[] src, int off, int len, byte[] dst, int dstOff) {
+    int end = off + len - len % 3;
+    int dp = dstOff;
+    for (int sp = off; sp < end; sp += 3) {
+      int bits = (src[sp] & 0xff) << 16 | (src[sp + 1] & 0xff) << 8 | (src[sp + 2] & 0xff);
+      dst[dp++] = (byte) ENCODE[bits >>> 18];
+      dst[dp++] = (byte) ENCODE[(bits >>> 12) & 0x3f];
+      dst[dp++] = (byte) ENCODE[(bits >>> 6) & 0x3f];
+      dst[dp++] = (byte) ENCODE[bits & 0x3f];
+    }
+    switch (len % 3) {
+      case 1: {
+        int bits = (src[end] & 0xff) << 16;
+        dst[dp++] = (byte) ENCODE[bits >>> 18];
+        dst[dp++] = (byte) ENCODE[(bits >>> 12) & 0x3f];
+        break;
+      }
+      case 2: {
+        int bits = (src[end] & 0xff) << 16 | (src[end + 1] & 0xff) << 8;
+        dst[dp++] = (byte) ENCODE[bits >>> 18];
+        dst[dp++] = (byte) ENCODE[(bits >>> 12) & 0x3f];
+        dst[dp++] = (byte) ENCODE[(bits >>> 6) & 0x3f];
+        break;
+      }
+      default:
+    }
+    return dp - dstOff;
+  }
+
+  /**
+   * Encode bytes as BASE64URL characters into a destination array.
+   *
+   * @param src    the source bytes
+   * @param off    the start of the source bytes
+   * @param len    the number of source bytes
+   * @param dst    the destination, which must have at least
+   *               {@code encodedLength(len)} characters available from
+   *               {@code dstOff}
+   * @param dstOff the start position in the destination
+   * @return the number of characters written
+   */
+  public static int encodeInto(byte[] src, int off, int len, char[] dst, int dstOff) {
+    int end = off + len - len % 3;
+    int dp = dstOff;
+    for (int sp = off; sp < end; sp += 3) {
+      int bits = (src[sp] & 0xff) << 16 | (src[sp + 1] & 0xff) << 8 | (src[sp + 2] & 0xff);
+      dst[dp++] = ENCODE[bits >>> 18];
+      dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+      dst[dp++] = ENCODE[(bits >>> 6) & 0x3f];
+      dst[dp++] = ENCODE[bits & 0x3f];
+    }
+    switch (len % 3) {
+      case 1: {
+        int bits = (src[end] & 0xff) << 16;
+        dst[dp++] = ENCODE[bits >>> 18];
+        dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+        break;
+      }
+      case 2: {
+        int bits = (src[end] & 0xff) << 16 | (src[end + 1] & 0xff) << 8;
+        dst[dp++] = ENCODE[bits >>> 18];
+        dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+        dst[dp++] = ENCODE[(bits >>> 6) & 0x3f];
+        break;
+      }
+      default:
+    }
+    return dp - dstOff;
+  }
+
+  /**
+   * Encode the remaining bytes of the source buffer as BASE64URL ASCII bytes
+   * into the destination buffer. Both buffer positions are advanced.
+   *
+   * @param src the source buffer
+   * @param dst the destination buffer, which must have at least
+   *            {@code encodedLength(src.remaining())} bytes remaining
+   * @return the number of bytes written
+   */
+  public static int encodeInto(ByteBuffer src, ByteBuffer dst) {
+    int len = src.remaining();
+    int encodedLength = encodedLength(len);
+    if (dst.remaining() < encodedLength) {
+      throw new IllegalArgumentException("Destination buffer too small: " + dst.remaining() + " < " + encodedLength);
+    }
+    if (src.hasArray() && dst.hasArray()) {
+      encodeInto(src.array(), src.arrayOffset() + src.position(), len, dst.array(), dst.arrayOffset() + dst.position());
+    } else {
+      byte[] chunk = new byte[Math.min(len, 3 * 1024)];
+      byte[] encoded = new byte[encodedLength(chunk.length)];
+      ByteBuffer source = src.duplicate();
+      ByteBuffer destination = dst.duplicate();
+      while (source.hasRemaining()) {
+        int count = Math.min(chunk.length, source.remaining());
+        source.get(chunk, 0, count);
+        destination.put(encoded, 0, encodeInto(chunk, 0, count, encoded, 0));
+      }
+    }
+    src.position(src.limit());
+    dst.position(dst.position() + encodedLength);
+    return encodedLength;
+  }
+
+  /**
+   * Decode BASE64URL characters into a destination array. Trailing padding
+   * characters are ignored.
+   *
+   * @param src    the source characters
+   * @param off    the start of the encoded characters
+   * @param len    the number of encoded characters
+   * @param dst    the destination, which must have at least
+   *               {@code decodedLength(src, off, len)} bytes available from
+   *               {@code dstOff}
+   * @param dstOff the start position in the destination
+   * @return the number of bytes written
+   * @throws IllegalArgumentException if the source is not valid BASE64URL
+   */
+  public static int decode(CharSequence src, int off, int len, byte[] dst, int dstOff) {
+    len -= padding(src, off, len);
+    int end = off + len - len % 4;
+    int dp = dstOff;
+    for (int sp = off; sp < end; sp += 4) {
+      int bits = decode(src.charAt(sp)) << 18
+        | decode(src.charAt(sp + 1)) << 12
+        | decode(src.charAt(sp + 2)) << 6
+        | decode(src.charAt(sp + 3));
+      dst[dp++] = (byte) (bits >> 16);
+      dst[dp++] = (byte) (bits >> 8);
+      dst[dp++] = (byte) bits;
+    }
+    switch (len % 4) {
+      case 0:
+        break;
+      case 2:
+        dst[dp++] = (byte) ((decode(src.charAt(end)) << 18 | decode(src.charAt(end + 1)) << 12) >> 16);
+        break;
+      case 3: {
+        int bits = decode(src.charAt(end)) << 18 | decode(src.charAt(end + 1)) << 12 | decode(src.charAt(end + 2)) << 6;
+        dst[dp++] = (byte) (bits >> 16);
+        dst[dp++] = (byte) (bits >> 8);
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Invalid base64url length " + len);
+    }
+    return dp - dstOff;
+  }
+
+  /**
+   * Decode BASE64URL ASCII bytes into a destination array. Trailing padding
+   * characters are ignored.
+   *
+   * @param src    the source bytes
+   * @param off    the start of the encoded bytes
+   * @param len    the number of encoded bytes
+   * @param dst    the destination, which must have at least
+   *               {@code decodedLength(src, off, len)} bytes available from
+   *               {@code dstOff}
+   * @param dstOff the start position in the destination
+   * @return the number of bytes written
+   * @throws IllegalArgumentException if the source is not valid BASE64URL
+   */
+  public static int decode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+    len -= padding(src, off, len);
+    int end = off + len - len % 4;
+    int dp = dstOff;
+    for (int sp = off; sp < end; sp += 4) {
+      int bits = decode(src[sp]) << 18 | decode(src[sp + 1]) << 12 | decode(src[sp + 2]) << 6 | decode(src[sp + 3]);
+      dst[dp++] = (byte) (bits >> 16);
+      dst[dp++] = (byte) (bits >> 8);
+      dst[dp++] = (byte) bits;
+    }
+    switch (len % 4) {
+      case 0:
+        break;
+      case 2:
+        dst[dp++] = (byte) ((decode(src[end]) << 18 | decode(src[end + 1]) << 12) >> 16);
+        break;
+      case 3: {
+        int bits = decode(src[end]) << 18 | decode(src[end + 1]) << 12 | decode(src[end + 2]) << 6;
+        dst[dp++] = (byte) (bits >> 16);
+        dst[dp++] = (byte) (bits >> 8);
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Invalid base64url length " + len);
+    }
+    return dp - dstOff;
+  }
+
+  /**
+   * Decode the remaining BASE64URL ASCII bytes of the source buffer into the
+   * destination buffer. Both buffer positions are advanced.
+   *
+   * @param src the source buffer
+   * @param dst the destination buffer
+   * @return the number of bytes written
+   * @throws IllegalArgumentException if the source is not valid BASE64URL or
+   *                                  the destination is too small
+   */
+  public static int decode(ByteBuffer src, ByteBuffer dst) {
+    byte[] source;
+    int off;
+    int len = src.remaining();
+    if (src.hasArray()) {
+      source = src.array();
+      off = src.arrayOffset() + src.position();
+    } else {
+      source = new byte[len];
+      src.duplicate().get(source);
+      off = 0;
+    }
+    int decodedLength = decodedLength(source, off, len);
+    if (dst.remaining() < decodedLength) {
+      throw new IllegalArgumentException("Destination buffer too small: " + dst.remaining() + " < " + decodedLength);
+    }
+    if (dst.hasArray()) {
+      decode(source, off, len, dst.array(), dst.arrayOffset() + dst.position());
+      dst.position(dst.position() + decodedLength);
+    } else {
+      byte[] decoded = new byte[decodedLength];
+      decode(source, off, len, decoded, 0);
+      dst.put(decoded);
+    }
+    src.position(src.limit());
+    return decodedLength;
+  }
+
+  /**
+   * Decode a BASE64URL character sequence range into a new byte array.
+   *
+   * @param src the source characters
+   * @param off the start of the encoded characters
+   * @param len the number of encoded characters
+   * @return the decoded bytes
+   * @throws IllegalArgumentException if the source is not valid BASE64URL
+   */
+  public static byte[] fromBase64Url(CharSequence src, int off, int len) {
+    byte[] dst = new byte[decodedLength(src, off, len)];
+    decode(src, off, len, dst, 0);
+    return dst;
+  }
+
+  /**
+   * Decode a BASE64URL ASCII byte range into a new byte array.
+   *
+   * @param src the source bytes
+   * @param off the start of the encoded bytes
+   * @param len the number of encoded bytes
+   * @return the decoded bytes
+   * @throws IllegalArgumentException if the source is not valid BASE64URL
+   */
+  public static byte[] fromBase64Url(byte[] src, int off, int len) {
+    byte[] dst = new byte[decodedLength(src, off, len)];
+    decode(src, off, len, dst, 0);
+    return dst;
+  }
+
+  /**
+   * Build a compact serialization string: the BASE64URL encoding of each
+   * segment, separated by a period ('.') character. The output is written into
+   * a single, exactly sized character array.
+   *
+   * @param segments the segments to encode; a null segment is encoded as empty
+   * @return the compact serialization
+   */
+  public static String toCompactSerialization(byte[]... segments) {
+    int length = segments.length - 1;
+    for (byte[] segment : segments) {
+      length += segment == null ? 0 : encodedLength(segment.length);
+    }
+    char[] compact = new char[length];
+    int position = 0;
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0) {
+        compact[position++] = '.';
+      }
+      if (segments[i] != null) {
+        position += encodeInto(segments[i], 0, segments[i].length, compact, position);
+      }
+    }
+    return new String(compact);
+  }
+
+  /**
+   * Count the trailing padding characters (at most two).
+   */
+  private static int padding(CharSequence src, int off, int len) {
+    if (len > 0 && src.charAt(off + len - 1) == '=') {
+      return len > 1 && src.charAt(off + len - 2) == '=' ? 2 : 1;
+    }
+    return 0;
+  }
+
+  /**
+   * Count the trailing padding characters (at most two).
+   */
+  private static int padding(byte[] src, int off, int len) {
+    if (len > 0 && src[off + len - 1] == '=') {
+      return len > 1 && src[off + len - 2] == '=' ? 2 : 1;
+    }
+    return 0;
+  }
+
+  /**
+   * Decode a single BASE64URL character.
+   */
+  private static int decode(int c) {
+    if (c < 0 || c >= 128 || DECODE[c] < 0) {
+      throw new IllegalArgumentException("Illegal base64url character " + Integer.toHexString(c & 0xffff));
+    }
+    return DECODE[c];
+  }
 }
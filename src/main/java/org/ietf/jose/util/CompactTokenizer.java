@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Tokenizer for the JOSE compact serialization.
+ * <p>
+ * A compact JWS is three and a compact JWE is five BASE64URL encoded segments
+ * separated by a period ('.') character. This tokenizer finds all segment
+ * boundaries in a single pass over the source and then provides offset and
+ * length views of each segment. Segments are decoded directly from the source
+ * without first creating a substring. Empty segments (e.g. the JWE Encrypted
+ * Key when using direct encryption) are permitted.
+ * <p>
+ * The source may be a character sequence, a byte array or a byte buffer. The
+ * source is not copied and must not be modified while the tokenizer is in
+ * use. Instances are not thread safe.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class CompactTokenizer {
+
+  /**
+   * The maximum number of segments in a compact serialization (JWE).
+   */
+  public static final int MAX_SEGMENTS = 5;
+  /**
+   * The segment separator.
+   */
+  private static final char SEPARATOR = '.';
+
+  /**
+   * The character source. Null if the source is binary.
+   */
+  private final CharSequence chars;
+  /**
+   * The binary source. Null if the source is a character sequence.
+   */
+  private final ByteBuffer bytes;
+  /**
+   * The segment start positions (within the source). The end of segment
+   * {@code i} is {@code boundaries[i + 1] - 1}. Only the first
+   * {@link #MAX_SEGMENTS} segments are recorded.
+   */
+  private final int[] boundaries = new int[MAX_SEGMENTS + 1];
+  /**
+   * The total number of segments in the source.
+   */
+  private final int segmentCount;
+
+  /**
+   * Tokenize a character sequence.
+   *
+   * @param source the compact serialization
+   */
+  private CompactTokenizer(CharSequence source) {
+    this.chars = source;
+    this.bytes = null;
+    int count = 0;
+    boundaries[0] = 0;
+    int length = source.length();
+    for (int i = 0; i < length; i++) {
+      if (source.charAt(i) == SEPARATOR && ++count <= MAX_SEGMENTS) {
+        boundaries[count] = i + 1;
+      }
+    }
+    this.segmentCount = count + 1;
+    if (segmentCount <= MAX_SEGMENTS) {
+      boundaries[segmentCount] = length + 1;
+    }
+  }
+
+  /**
+   * Tokenize the remaining bytes of a byte buffer. Positions are absolute
+   * buffer indexes.
+   *
+   * @param source the compact serialization
+   */
+  private CompactTokenizer(ByteBuffer source) {
+    this.chars = null;
+    this.bytes = source;
+    int count = 0;
+    int start = source.position();
+    int limit = source.limit();
+    boundaries[0] = start;
+    for (int i = start; i < limit; i++) {
+      if (source.get(i) == SEPARATOR && ++count <= MAX_SEGMENTS) {
+        boundaries[count] = i + 1;
+      }
+    }
+    this.segmentCount = count + 1;
+    if (segmentCount <= MAX_SEGMENTS) {
+      boundaries[segmentCount] = limit + 1;
+    }
+  }
+
+  /**
+   * Tokenize a compact serialization character sequence.
+   *
+   * @param compactForm the compact serialization
+   * @return a new tokenizer
+   */
+  public static CompactTokenizer of(CharSequence compactForm) {
+    return new CompactTokenizer(Objects.requireNonNull(compactForm, "compactForm"));
+  }
+
+  /**
+   * Tokenize a compact serialization in ASCII encoded bytes.
+   *
+   * @param compactForm the ASCII encoded compact serialization
+   * @return a new tokenizer
+   */
+  public static CompactTokenizer of(byte[] compactForm) {
+    return new CompactTokenizer(ByteBuffer.wrap(compactForm));
+  }
+
+  /**
+   * Tokenize a compact serialization in ASCII encoded bytes.
+   *
+   * @param compactForm the ASCII encoded source
+   * @param offset      the start of the compact serialization in the source
+   * @param length      the length of the compact serialization
+   * @return a new tokenizer
+   */
+  public static CompactTokenizer of(byte[] compactForm, int offset, int length) {
+    return new CompactTokenizer(ByteBuffer.wrap(compactForm, offset, length));
+  }
+
+  /**
+   * Tokenize the remaining bytes of a buffer holding an ASCII encoded compact
+   * serialization. The buffer position is not changed.
+   *
+   * @param compactForm the ASCII encoded compact serialization
+   * @return a new tokenizer
+   */
+  public static CompactTokenizer of(ByteBuffer compactForm) {
+    return new CompactTokenizer(compactForm.duplicate());
+  }
+
+  /**
+   * Get the number of segments. This is the number of separators plus one.
+   *
+   * @return the number of segments
+   */
+  public int getSegmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Require the indicated number of segments.
+   *
+   * @param expected the expected number of segments
+   * @param type     the serialization type, for the error message
+   * @return this tokenizer
+   * @throws IllegalArgumentException if the number of segments differs
+   */
+  public CompactTokenizer requireSegmentCount(int expected, String type) {
+    if (segmentCount != expected) {
+      throw new IllegalArgumentException(type + " compact form must have " + expected
+        + " elements separated by dots. Supplied string has " + segmentCount + ".");
+    }
+    return this;
+  }
+
+  /**
+   * Get the start position of a segment within the source.
+   *
+   * @param segment the segment index (zero based)
+   * @return the segment start position
+   */
+  public int getOffset(int segment) {
+    checkSegment(segment);
+    return boundaries[segment];
+  }
+
+  /**
+   * Get the length of a segment.
+   *
+   * @param segment the segment index (zero based)
+   * @return the segment length
+   */
+  public int getLength(int segment) {
+    checkSegment(segment);
+    return boundaries[segment + 1] - 1 - boundaries[segment];
+  }
+
+  /**
+   * Get a segment as a String.
+   *
+   * @param segment the segment index (zero based)
+   * @return the segment text
+   */
+  public String getSegment(int segment) {
+    if (chars != null) {
+      checkSegment(segment);
+      return chars.subSequence(boundaries[segment], boundaries[segment + 1] - 1).toString();
+    }
+    return new String(getAsciiBytes(segment, segment), StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Get the ASCII bytes of a segment. For example, the JWE Additional
+   * Authenticated Data is the ASCII encoded first segment.
+   *
+   * @param segment the segment index (zero based)
+   * @return a new byte array
+   */
+  public byte[] getAsciiBytes(int segment) {
+    return getAsciiBytes(segment, segment);
+  }
+
+  /**
+   * Get the JWS Signing Input: the ASCII bytes of the first two segments,
+   * including the separator between them.
+   * <pre>
+   *   ASCII(BASE64URL(UTF8(JWS Protected Header)) || ’.’ || BASE64URL(JWS Payload))
+   * </pre>
+   *
+   * @return a new byte array
+   */
+  public byte[] getSigningInput() {
+    return getAsciiBytes(0, 1);
+  }
+
+  /**
+   * BASE64URL decode a segment.
+   *
+   * @param segment the segment index (zero based)
+   * @return the decoded segment bytes
+   * @throws IllegalArgumentException if the segment is not valid BASE64URL
+   */
+  public byte[] decode(int segment) {
+    checkSegment(segment);
+    int start = boundaries[segment];
+    int length = boundaries[segment + 1] - 1 - start;
+    if (chars != null) {
+      return Base64Utility.fromBase64Url(chars, start, length);
+    }
+    if (bytes.hasArray()) {
+      return Base64Utility.fromBase64Url(bytes.array(), bytes.arrayOffset() + start, length);
+    }
+    return Base64Utility.fromBase64Url(getAsciiBytes(segment, segment), 0, length);
+  }
+
+  /**
+   * Copy the ASCII bytes from the start of the first segment to the end of
+   * the last segment, inclusive.
+   *
+   * @param first the first segment index
+   * @param last  the last segment index
+   * @return a new byte array
+   */
+  private byte[] getAsciiBytes(int first, int last) {
+    checkSegment(first);
+    checkSegment(last);
+    int start = boundaries[first];
+    byte[] ascii = new byte[boundaries[last + 1] - 1 - start];
+    if (bytes != null) {
+      if (bytes.hasArray()) {
+        System.arraycopy(bytes.array(), bytes.arrayOffset() + start, ascii, 0, ascii.length);
+      } else {
+        for (int i = 0; i < ascii.length; i++) {
+          ascii[i] = bytes.get(start + i);
+        }
+      }
+    } else {
+      for (int i = 0; i < ascii.length; i++) {
+        char c = chars.charAt(start + i);
+        /**
+         * Non-ASCII characters are never valid BASE64URL; map them to an
+         * invalid byte so that decoding fails.
+         */
+        ascii[i] = c < 0x80 ? (byte) c : (byte) '?';
+      }
+    }
+    return ascii;
+  }
+
+  /**
+   * Validate a segment index.
+   */
+  private void checkSegment(int segment) {
+    if (segment < 0 || segment >= Math.min(segmentCount, MAX_SEGMENTS)) {
+      throw new IndexOutOfBoundsException("Segment " + segment + " of " + segmentCount);
+    }
+  }
+
+}
@@ -21,12 +21,13 @@ import java.util.Arrays;
 import javax.crypto.Cipher;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
 import org.ietf.jose.jwa.JwsAlgorithmType;
 import org.ietf.jose.jwk.key.*;
 
 /**
  * A utility class for common cryptographic operations
+ * <p>
+ * JCA engines are borrowed from the shared {@link JcaEngines} pools.
  *
  * @author Key Bridge
  */
@@ -74,12 +75,17 @@ public class CryptographyUtility {
    */
   public static byte[] encrypt(byte[] payload, Key key, String algo, AlgorithmParameterSpec spec, byte[] additionalAuthenticationData) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Cipher cipher = Cipher.getInstance(algo);
-    cipher.init(Cipher.ENCRYPT_MODE, key, spec);
-    if (additionalAuthenticationData != null) {
-      cipher.updateAAD(additionalAuthenticationData);
+    EnginePool<Cipher> pool = JcaEngines.cipher(algo);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+      if (additionalAuthenticationData != null) {
+        cipher.updateAAD(additionalAuthenticationData);
+      }
+      return cipher.doFinal(payload);
+    } finally {
+      pool.release(cipher);
     }
-    return cipher.doFinal(payload);
   }
 
   /**
@@ -96,12 +102,17 @@ public class CryptographyUtility {
    */
   public static byte[] decrypt(byte[] ciphertext, Key key, String algo, AlgorithmParameterSpec spec, byte[] additionalAuthenticationData) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Cipher cipher = Cipher.getInstance(algo);
-    cipher.init(Cipher.DECRYPT_MODE, key, spec);
-    if (additionalAuthenticationData != null) {
-      cipher.updateAAD(additionalAuthenticationData);
+    EnginePool<Cipher> pool = JcaEngines.cipher(algo);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.DECRYPT_MODE, key, spec);
+      if (additionalAuthenticationData != null) {
+        cipher.updateAAD(additionalAuthenticationData);
+      }
+      return cipher.doFinal(ciphertext);
+    } finally {
+      pool.release(cipher);
     }
-    return cipher.doFinal(ciphertext);
   }
 
   /**
@@ -116,9 +127,14 @@ public class CryptographyUtility {
    */
   public static byte[] wrapKey(Key payloadKey, Key key, String algo) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Cipher cipher = Cipher.getInstance(algo);
-    cipher.init(Cipher.WRAP_MODE, key);
-    return cipher.wrap(payloadKey);
+    EnginePool<Cipher> pool = JcaEngines.cipher(algo);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.WRAP_MODE, key);
+      return cipher.wrap(payloadKey);
+    } finally {
+      pool.release(cipher);
+    }
   }
 
   /**
@@ -135,9 +151,14 @@ public class CryptographyUtility {
    */
   public static Key unwrapKey(byte[] payload, Key key, String algo, String keyAlgo) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Cipher cipher = Cipher.getInstance(algo);
-    cipher.init(Cipher.UNWRAP_MODE, key);
-    return cipher.unwrap(payload, keyAlgo, Cipher.SECRET_KEY);
+    EnginePool<Cipher> pool = JcaEngines.cipher(algo);
+    Cipher cipher = pool.borrow();
+    try {
+      cipher.init(Cipher.UNWRAP_MODE, key);
+      return cipher.unwrap(payload, keyAlgo, Cipher.SECRET_KEY);
+    } finally {
+      pool.release(cipher);
+    }
   }
 
   /**
@@ -166,9 +187,14 @@ public class CryptographyUtility {
    * @throws GeneralSecurityException in case of failure
    */
   public static byte[] sign(byte[] payload, SecretKey key, String alg) throws GeneralSecurityException {
-    Mac mac = Mac.getInstance(alg);
-    mac.init(key);
-    return mac.doFinal(payload);
+    EnginePool<Mac> pool = JcaEngines.mac(alg);
+    Mac mac = pool.borrow();
+    try {
+      mac.init(key);
+      return mac.doFinal(payload);
+    } finally {
+      pool.release(mac);
+    }
   }
 
   /**
@@ -182,10 +208,15 @@ public class CryptographyUtility {
    * @throws GeneralSecurityException in case of failure
    */
   public static boolean validate(byte[] signature, byte[] payload, SecretKey key, String algorithm) throws GeneralSecurityException {
-    Mac mac = Mac.getInstance(algorithm);
-    mac.init(key);
-    byte[] computedMac = mac.doFinal(payload);
-    return Arrays.equals(signature, computedMac);
+    EnginePool<Mac> pool = JcaEngines.mac(algorithm);
+    Mac mac = pool.borrow();
+    try {
+      mac.init(key);
+      byte[] computedMac = mac.doFinal(payload);
+      return Arrays.equals(signature, computedMac);
+    } finally {
+      pool.release(mac);
+    }
   }
 
   /**
@@ -199,10 +230,15 @@ public class CryptographyUtility {
    */
   public static byte[] sign(byte[] payload, PrivateKey key, String alg) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Signature signer = Signature.getInstance(alg);
-    signer.initSign(key);
-    signer.update(payload);
-    return signer.sign();
+    EnginePool<Signature> pool = JcaEngines.signature(alg);
+    Signature signer = pool.borrow();
+    try {
+      signer.initSign(key);
+      signer.update(payload);
+      return signer.sign();
+    } finally {
+      pool.release(signer);
+    }
   }
 
   private static void validateAsymmetricKey(Key key) {
@@ -225,10 +261,15 @@ public class CryptographyUtility {
    */
   public static boolean validate(byte[] signature, byte[] payload, PublicKey key, String algorithm) throws GeneralSecurityException {
     validateAsymmetricKey(key);
-    Signature sig = Signature.getInstance(algorithm);
-    sig.initVerify(key);
-    sig.update(payload);
-    return sig.verify(signature);
+    EnginePool<Signature> pool = JcaEngines.signature(algorithm);
+    Signature sig = pool.borrow();
+    try {
+      sig.initVerify(key);
+      sig.update(payload);
+      return sig.verify(signature);
+    } finally {
+      pool.release(sig);
+    }
   }
 
   /**
@@ -245,7 +286,7 @@ public class CryptographyUtility {
     if (jwk instanceof SymmetricJwk) {
       SymmetricJwk symmetricKey = (SymmetricJwk) jwk;
       String jcaAlgorithm = algorithm.getJavaAlgorithmName();
-      return sign(payloadBytes, new SecretKeySpec(symmetricKey.getK(), jcaAlgorithm), jcaAlgorithm);
+      return sign(payloadBytes, symmetricKey.getSecretKey(jcaAlgorithm), jcaAlgorithm);
     } else if (jwk instanceof RsaPrivateJwk) {
       RsaPrivateJwk rsaKey = (RsaPrivateJwk) jwk;
       return sign(payloadBytes, rsaKey.getPrivateKey(), algorithm.getJavaAlgorithmName());
@@ -290,8 +331,7 @@ public class CryptographyUtility {
     GeneralSecurityException {
     if (jwk instanceof SymmetricJwk) {
       SymmetricJwk symmetricKey = (SymmetricJwk) jwk;
-      SecretKey key = new SecretKeySpec(symmetricKey.getK(), algorithm);
-      return validate(signature, payload, key, algorithm);
+      return validate(signature, payload, symmetricKey.getSecretKey(algorithm), algorithm);
     } else if (jwk instanceof RsaPublicJwk) {
       RsaPublicJwk key = (RsaPublicJwk) jwk;
       return validate(signature, payload, key.getPublicKey(), algorithm);
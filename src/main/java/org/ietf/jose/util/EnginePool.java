@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.security.GeneralSecurityException;
+import java.security.ProviderException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A striped, lock-free pool of JCA engine instances (Mac, Signature, Cipher,
+ * KeyFactory, MessageDigest) for a single algorithm and provider.
+ * <p>
+ * Looking up a JCA engine (e.g. {@code Mac.getInstance}) searches the
+ * installed providers and synchronizes on the provider service maps, which
+ * becomes a point of contention under heavy concurrent use. A pool hands out
+ * engines that have already been looked up. Engines are NOT initialized:
+ * callers must always call {@code init} (or {@code initSign},
+ * {@code initVerify}) before use and must not retain the engine after
+ * {@link #release(Object)}.
+ * <p>
+ * The pool is an array of slots indexed by a hash of the current thread ID.
+ * Borrowing atomically takes an engine from the thread's slot (or its
+ * neighbour) and releasing atomically returns it. If the slots are empty a new
+ * engine is created; if they are full a released engine is discarded. No
+ * thread-local state is used, so the pool is safe to use from virtual threads
+ * and from thread pools of any size.
+ * <pre>
+ *   Mac mac = pool.borrow();
+ *   try {
+ *     mac.init(key);
+ *     return mac.doFinal(payload);
+ *   } finally {
+ *     pool.release(mac);
+ *   }
+ * </pre>
+ *
+ * @author Key Bridge
+ * @param <T> the JCA engine type
+ * @since v1.4.0 created 2026-10-16
+ * @see JcaEngines
+ */
+public final class EnginePool<T> {
+
+  /**
+   * The maximum number of slots in a pool.
+   */
+  private static final int MAX_SLOTS = 256;
+  /**
+   * The number of slots examined by each borrow or release.
+   */
+  private static final int PROBES = 2;
+
+  /**
+   * A JCA engine factory.
+   *
+   * @param <T> the JCA engine type
+   */
+  @FunctionalInterface
+  public interface Factory<T> {
+
+    /**
+     * Create a new, uninitialized engine instance.
+     *
+     * @return a new engine
+     * @throws GeneralSecurityException if the algorithm or provider is not
+     *                                  available
+     */
+    T create() throws GeneralSecurityException;
+  }
+
+  /**
+   * The engine factory.
+   */
+  private final Factory<T> factory;
+  /**
+   * Resets an engine before it is returned to the pool. May be null.
+   */
+  private final Consumer<T> resetter;
+  /**
+   * The pooled engines. An empty slot is null.
+   */
+  private final AtomicReferenceArray<T> slots;
+  /**
+   * The slot index mask. The number of slots is a power of two.
+   */
+  private final int mask;
+
+  /**
+   * Construct a new engine pool.
+   *
+   * @param factory  the engine factory
+   * @param resetter an optional action to reset an engine before it is
+   *                 returned to the pool
+   */
+  public EnginePool(Factory<T> factory, Consumer<T> resetter) {
+    this.factory = Objects.requireNonNull(factory, "factory");
+    this.resetter = resetter;
+    int size = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(Math.min(size, MAX_SLOTS));
+    this.mask = slots.length() - 1;
+  }
+
+  /**
+   * Borrow an uninitialized engine from the pool. A new engine is created if
+   * none is available.
+   *
+   * @return an engine, which must be initialized before use
+   * @throws ProviderException if a new engine cannot be created
+   */
+  public T borrow() {
+    int index = index();
+    for (int i = 0; i < PROBES; i++) {
+      T engine = slots.getAndSet((index + i) & mask, null);
+      if (engine != null) {
+        return engine;
+      }
+    }
+    try {
+      return factory.create();
+    } catch (GeneralSecurityException ex) {
+      throw new ProviderException("Failed to create JCA engine: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Return an engine to the pool. The engine is discarded if the pool is full.
+   * A null engine is ignored.
+   *
+   * @param engine the engine previously returned by {@link #borrow()}
+   */
+  public void release(T engine) {
+    if (engine == null) {
+      return;
+    }
+    if (resetter != null) {
+      resetter.accept(engine);
+    }
+    int index = index();
+    for (int i = 0; i < PROBES; i++) {
+      if (slots.compareAndSet((index + i) & mask, null, engine)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Seed the pool with an engine. Used to validate the algorithm when the pool
+   * is created.
+   *
+   * @param engine a new engine
+   * @return this pool
+   */
+  EnginePool<T> seed(T engine) {
+    release(engine);
+    return this;
+  }
+
+  /**
+   * Get the number of engines currently available in the pool.
+   *
+   * @return the number of pooled engines
+   */
+  public int available() {
+    int count = 0;
+    for (int i = 0; i < slots.length(); i++) {
+      if (slots.get(i) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the home slot index for the current thread.
+   */
+  private int index() {
+    long id = Thread.currentThread().getId();
+    int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+}
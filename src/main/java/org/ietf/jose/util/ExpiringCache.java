@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread safe cache whose entries expire at a fixed time.
+ * <p>
+ * The cache is divided into independently locked shards selected by the key
+ * hash. Each shard is a segmented LRU: new entries enter a probationary
+ * segment and are promoted to a protected segment when they are read again.
+ * When a shard is full the least recently used probationary entry is evicted
+ * first, so a burst of single-use keys cannot flush frequently used entries.
+ * <p>
+ * Every entry has an absolute expiration time. An expired entry is never
+ * returned and is removed when it is next looked up or evicted. Times are
+ * supplied by the caller (in any consistent unit, typically epoch
+ * milliseconds) so that the cache shares its caller's clock.
+ *
+ * @param <K> the key type; must have stable equals and hashCode
+ * @param <V> the value type
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class ExpiringCache<K, V> {
+
+  /**
+   * The share of each shard reserved for the protected segment.
+   */
+  private static final double PROTECTED_RATIO = 0.8;
+  /**
+   * The minimum number of entries per shard. Smaller caches use fewer shards.
+   */
+  private static final int MIN_SHARD_CAPACITY = 16;
+
+  private final Shard<K, V>[] shards;
+  private final int mask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * A cached value and its expiration time.
+   */
+  private static final class Entry<V> {
+
+    private final V value;
+    private final long expiresAt;
+
+    private Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * One independently locked segmented LRU. Both segments are access ordered
+   * maps: the eldest entry is the least recently used.
+   */
+  private static final class Shard<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final int capacity;
+    private final int protectedCapacity;
+
+    private Shard(int capacity) {
+      this.capacity = capacity;
+      this.protectedCapacity = Math.max(1, (int) (capacity * PROTECTED_RATIO));
+    }
+  }
+
+  /**
+   * Construct a new cache.
+   *
+   * @param maximumSize the maximum number of entries; must be positive
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public ExpiringCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive");
+    }
+    int shardCount = 1;
+    int target = Math.min(Runtime.getRuntime().availableProcessors() * 2, maximumSize / MIN_SHARD_CAPACITY);
+    while (shardCount < target && shardCount < 64) {
+      shardCount <<= 1;
+    }
+    int shardCapacity = (maximumSize + shardCount - 1) / shardCount;
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard<>(shardCapacity);
+    }
+    this.mask = shardCount - 1;
+  }
+
+  /**
+   * Get a cached value.
+   *
+   * @param key the key
+   * @param now the current time
+   * @return the value, or null if absent or expired
+   */
+  public V get(K key, long now) {
+    Shard<K, V> shard = shardFor(key);
+    synchronized (shard) {
+      Entry<V> entry = shard.protectedSegment.get(key);
+      if (entry == null) {
+        entry = shard.probation.get(key);
+        if (entry != null && entry.expiresAt > now) {
+          /**
+           * Second access: promote, demoting the least recently used
+           * protected entry if the protected segment is full.
+           */
+          shard.probation.remove(key);
+          shard.protectedSegment.put(key, entry);
+          if (shard.protectedSegment.size() > shard.protectedCapacity) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = shard.protectedSegment.entrySet().iterator();
+            Map.Entry<K, Entry<V>> demoted = eldest.next();
+            eldest.remove();
+            shard.probation.put(demoted.getKey(), demoted.getValue());
+          }
+        }
+      }
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      if (entry.expiresAt <= now) {
+        shard.protectedSegment.remove(key);
+        shard.probation.remove(key);
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      return entry.value;
+    }
+  }
+
+  /**
+   * Put a value into the cache. A value that has already expired is not
+   * stored.
+   *
+   * @param key       the key
+   * @param value     the value
+   * @param expiresAt the expiration time, in the same unit as {@code now}
+   * @param now       the current time
+   */
+  public void put(K key, V value, long expiresAt, long now) {
+    Objects.requireNonNull(value, "value");
+    if (expiresAt <= now) {
+      return;
+    }
+    Shard<K, V> shard = shardFor(key);
+    synchronized (shard) {
+      Entry<V> entry = new Entry<>(value, expiresAt);
+      if (shard.protectedSegment.containsKey(key)) {
+        shard.protectedSegment.put(key, entry);
+        return;
+      }
+      shard.probation.put(key, entry);
+      while (shard.probation.size() + shard.protectedSegment.size() > shard.capacity) {
+        LinkedHashMap<K, Entry<V>> segment = shard.probation.isEmpty() ? shard.protectedSegment : shard.probation;
+        Iterator<Entry<V>> eldest = segment.values().iterator();
+        eldest.next();
+        eldest.remove();
+        evictions.increment();
+      }
+    }
+  }
+
+  /**
+   * Remove a value from the cache.
+   *
+   * @param key the key
+   */
+  public void remove(K key) {
+    Shard<K, V> shard = shardFor(key);
+    synchronized (shard) {
+      shard.protectedSegment.remove(key);
+      shard.probation.remove(key);
+    }
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    for (Shard<K, V> shard : shards) {
+      synchronized (shard) {
+        shard.protectedSegment.clear();
+        shard.probation.clear();
+      }
+    }
+  }
+
+  /**
+   * Get the number of entries, including expired entries that have not yet
+   * been removed.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    int size = 0;
+    for (Shard<K, V> shard : shards) {
+      synchronized (shard) {
+        size += shard.protectedSegment.size() + shard.probation.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Get the number of lookups that returned a value.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of lookups that did not return a value.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Get the number of entries evicted to respect the maximum size.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  private Shard<K, V> shardFor(K key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return shards[hash & mask];
+  }
+
+}
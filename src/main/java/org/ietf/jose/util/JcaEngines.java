@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.security.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+
+/**
+ * A process-wide registry of JCA engine pools, keyed by engine type, algorithm
+ * and provider.
+ * <p>
+ * All cryptographic operations in this library obtain their Mac, Signature,
+ * Cipher, KeyFactory and MessageDigest engines from these pools instead of
+ * calling {@code getInstance} for every operation. The first request for a
+ * given algorithm creates the pool and one engine, so an unknown algorithm or
+ * provider is reported with the same checked exception as the corresponding
+ * {@code getInstance} method. Subsequent requests are a single concurrent map
+ * lookup; callers with a fixed algorithm should hold the pool in a static
+ * field.
+ * <p>
+ * Mac and MessageDigest engines are reset when they are released. Cipher and
+ * Signature engines are always re-initialized by the caller, which resets
+ * them. KeyFactory engines are stateless. Note that an idle pooled engine may
+ * retain a reference to the key of its last initialization.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JcaEngines {
+
+  /**
+   * The engine pools, keyed by engine type, algorithm and provider name.
+   */
+  private static final ConcurrentMap<String, EnginePool<?>> POOLS = new ConcurrentHashMap<>();
+
+  private JcaEngines() {
+  }
+
+  /**
+   * Get the Mac engine pool for an algorithm from the preferred provider.
+   *
+   * @param algorithm the JCA Mac algorithm name, e.g. "HmacSHA256"
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if no provider supports the algorithm
+   */
+  public static EnginePool<Mac> mac(String algorithm) throws NoSuchAlgorithmException {
+    EnginePool<Mac> pool = lookup("Mac", algorithm, null);
+    return pool != null ? pool : register("Mac", algorithm, null,
+                                          new EnginePool<>(() -> Mac.getInstance(algorithm), Mac::reset)
+                                            .seed(Mac.getInstance(algorithm)));
+  }
+
+  /**
+   * Get the Mac engine pool for an algorithm from a named provider.
+   *
+   * @param algorithm the JCA Mac algorithm name
+   * @param provider  the provider name
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if the provider does not support the
+   *                                  algorithm
+   * @throws NoSuchProviderException  if the provider is not installed
+   */
+  public static EnginePool<Mac> mac(String algorithm, String provider) throws NoSuchAlgorithmException,
+    NoSuchProviderException {
+    EnginePool<Mac> pool = lookup("Mac", algorithm, provider);
+    return pool != null ? pool : register("Mac", algorithm, provider,
+                                          new EnginePool<>(() -> Mac.getInstance(algorithm, provider), Mac::reset)
+                                            .seed(Mac.getInstance(algorithm, provider)));
+  }
+
+  /**
+   * Get the Signature engine pool for an algorithm from the preferred
+   * provider.
+   *
+   * @param algorithm the JCA Signature algorithm name, e.g. "SHA256withRSA"
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if no provider supports the algorithm
+   */
+  public static EnginePool<Signature> signature(String algorithm) throws NoSuchAlgorithmException {
+    EnginePool<Signature> pool = lookup("Signature", algorithm, null);
+    return pool != null ? pool : register("Signature", algorithm, null,
+                                          new EnginePool<>(() -> Signature.getInstance(algorithm), null)
+                                            .seed(Signature.getInstance(algorithm)));
+  }
+
+  /**
+   * Get the Signature engine pool for an algorithm from a named provider.
+   *
+   * @param algorithm the JCA Signature algorithm name
+   * @param provider  the provider name
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if the provider does not support the
+   *                                  algorithm
+   * @throws NoSuchProviderException  if the provider is not installed
+   */
+  public static EnginePool<Signature> signature(String algorithm, String provider) throws NoSuchAlgorithmException,
+    NoSuchProviderException {
+    EnginePool<Signature> pool = lookup("Signature", algorithm, provider);
+    return pool != null ? pool : register("Signature", algorithm, provider,
+                                          new EnginePool<>(() -> Signature.getInstance(algorithm, provider), null)
+                                            .seed(Signature.getInstance(algorithm, provider)));
+  }
+
+  /**
+   * Get the Cipher engine pool for a transformation from the preferred
+   * provider.
+   *
+   * @param transformation the JCA Cipher transformation, e.g.
+   *                       "AES/GCM/NoPadding"
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if no provider supports the
+   *                                  transformation
+   * @throws NoSuchPaddingException   if the padding scheme is not available
+   */
+  public static EnginePool<Cipher> cipher(String transformation) throws NoSuchAlgorithmException,
+    NoSuchPaddingException {
+    EnginePool<Cipher> pool = lookup("Cipher", transformation, null);
+    return pool != null ? pool : register("Cipher", transformation, null,
+                                          new EnginePool<>(() -> Cipher.getInstance(transformation), null)
+                                            .seed(Cipher.getInstance(transformation)));
+  }
+
+  /**
+   * Get the Cipher engine pool for a transformation from a named provider.
+   *
+   * @param transformation the JCA Cipher transformation
+   * @param provider       the provider name
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if the provider does not support the
+   *                                  transformation
+   * @throws NoSuchPaddingException   if the padding scheme is not available
+   * @throws NoSuchProviderException  if the provider is not installed
+   */
+  public static EnginePool<Cipher> cipher(String transformation, String provider) throws NoSuchAlgorithmException,
+    NoSuchPaddingException, NoSuchProviderException {
+    EnginePool<Cipher> pool = lookup("Cipher", transformation, provider);
+    return pool != null ? pool : register("Cipher", transformation, provider,
+                                          new EnginePool<>(() -> Cipher.getInstance(transformation, provider), null)
+                                            .seed(Cipher.getInstance(transformation, provider)));
+  }
+
+  /**
+   * Get the KeyFactory engine pool for an algorithm from the preferred
+   * provider.
+   *
+   * @param algorithm the JCA KeyFactory algorithm name, e.g. "RSA"
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if no provider supports the algorithm
+   */
+  public static EnginePool<KeyFactory> keyFactory(String algorithm) throws NoSuchAlgorithmException {
+    EnginePool<KeyFactory> pool = lookup("KeyFactory", algorithm, null);
+    return pool != null ? pool : register("KeyFactory", algorithm, null,
+                                          new EnginePool<>(() -> KeyFactory.getInstance(algorithm), null)
+                                            .seed(KeyFactory.getInstance(algorithm)));
+  }
+
+  /**
+   * Get the MessageDigest engine pool for an algorithm from the preferred
+   * provider.
+   *
+   * @param algorithm the JCA MessageDigest algorithm name, e.g. "SHA-256"
+   * @return the shared pool
+   * @throws NoSuchAlgorithmException if no provider supports the algorithm
+   */
+  public static EnginePool<MessageDigest> messageDigest(String algorithm) throws NoSuchAlgorithmException {
+    EnginePool<MessageDigest> pool = lookup("MessageDigest", algorithm, null);
+    return pool != null ? pool : register("MessageDigest", algorithm, null,
+                                          new EnginePool<>(() -> MessageDigest.getInstance(algorithm), MessageDigest::reset)
+                                            .seed(MessageDigest.getInstance(algorithm)));
+  }
+
+  /**
+   * Look up an existing pool.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> EnginePool<T> lookup(String type, String algorithm, String provider) {
+    return (EnginePool<T>) POOLS.get(key(type, algorithm, provider));
+  }
+
+  /**
+   * Register a new pool. If another thread registered a pool first then that
+   * pool is returned.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> EnginePool<T> register(String type, String algorithm, String provider, EnginePool<T> pool) {
+    EnginePool<?> existing = POOLS.putIfAbsent(key(type, algorithm, provider), pool);
+    return existing != null ? (EnginePool<T>) existing : pool;
+  }
+
+  /**
+   * Build the pool key.
+   */
+  private static String key(String type, String algorithm, String provider) {
+    return provider == null ? type + ':' + algorithm : type + ':' + algorithm + '@' + provider;
+  }
+
+}
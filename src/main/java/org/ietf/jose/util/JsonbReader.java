@@ -18,8 +18,10 @@
  */
 package org.ietf.jose.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import javax.json.bind.Jsonb;
-import javax.json.bind.JsonbBuilder;
 import javax.json.bind.JsonbConfig;
 import javax.json.bind.JsonbException;
 import javax.json.bind.adapter.JsonbAdapter;
@@ -29,6 +31,11 @@ import javax.json.bind.serializer.JsonbDeserializer;
 /**
  * Common JsonB marshaling and un-marshaling utilities. These methods help to
  * serialize and un-serialize object representations to and from JSON.
+ * <p>
+ * A configured reader is thread safe. The {@code with...} methods modify this
+ * reader and return it, so configure a reader before sharing it and use
+ * {@link #copy()} to derive a differently configured reader from a shared one.
+ * The underlying JsonB engine is shared through the {@link JsonbRegistry}.
  *
  * @see <a href="http://json-b.net">JSON Binding</a>
  * @author Key Bridge
@@ -59,7 +66,7 @@ public class JsonbReader {
     jsonbConfig = new JsonbConfig()
       .withBinaryDataStrategy(BinaryDataStrategy.BASE_64_URL)
       .withPropertyVisibilityStrategy(new JsonbPropertyVisibilityStrategy());
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
   }
 
   /**
@@ -68,8 +75,8 @@ public class JsonbReader {
    * @param jsonbConfig the custom configuratino
    */
   public JsonbReader(JsonbConfig jsonbConfig) {
-    this.jsonbConfig = jsonbConfig;
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig);
+    this.jsonb = JsonbRegistry.getJsonb(this.jsonbConfig);
   }
 
   /**
@@ -78,11 +85,11 @@ public class JsonbReader {
    * will merge the deserializers with previous value.
    *
    * @param deserializers Custom deserializers which affects deserialization.
-   * @return This JsonbUtility instance.
+   * @return This JsonbReader instance.
    */
   public final JsonbReader withDeserializers(final JsonbDeserializer... deserializers) {
-    this.jsonbConfig = jsonbConfig.withDeserializers(deserializers);
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig).withDeserializers(deserializers);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
     return this;
   }
 
@@ -93,14 +100,24 @@ public class JsonbReader {
    *
    * @param adapters Custom mapping adapters which affects serialization and
    *                 deserialization.
-   * @return This JsonbConfig instance.
+   * @return This JsonbReader instance.
    */
   public final JsonbReader withAdapters(final JsonbAdapter... adapters) {
-    this.jsonbConfig = jsonbConfig.withAdapters(adapters);
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig).withAdapters(adapters);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
     return this;
   }
 
+  /**
+   * Get a copy of this reader. Configuring the copy does not modify this
+   * reader.
+   *
+   * @return a new JsonbReader instance with the same configuration.
+   */
+  public final JsonbReader copy() {
+    return new JsonbReader(jsonbConfig);
+  }
+
   /**
    * Parse a JSON file into a container class. This method calls the JsonB
    * un-marshaller and returns a class containing all of the content defined in
@@ -119,4 +136,77 @@ public class JsonbReader {
   public final <T> T unmarshal(String json, Class<T> clazz) throws JsonbException, NullPointerException {
     return jsonb.fromJson(json, clazz);
   }
+
+  /**
+   * Parse UTF-8 encoded JSON content into a container class. The content is
+   * read directly without first decoding it into a String.
+   *
+   * @param <T>   the class type that is returned
+   * @param json  the UTF-8 encoded JSON source content
+   * @param clazz the class type that is parsed - this is the same as the class
+   *              type that is returned
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(byte[] json, Class<T> clazz) throws JsonbException, NullPointerException {
+    return jsonb.fromJson(new ByteArrayInputStream(json), clazz);
+  }
+
+  /**
+   * Parse JSON content from an input stream into a container class. The
+   * character encoding is detected from the content as described in RFC 7159;
+   * UTF-8 is expected. The stream is not closed.
+   *
+   * @param <T>         the class type that is returned
+   * @param inputStream the JSON source content
+   * @param clazz       the class type that is parsed - this is the same as the
+   *                    class type that is returned
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(InputStream inputStream, Class<T> clazz) throws JsonbException, NullPointerException {
+    return jsonb.fromJson(inputStream, clazz);
+  }
+
+  /**
+   * Parse the remaining UTF-8 encoded JSON content of a byte buffer into a
+   * container class. The buffer position is not changed.
+   *
+   * @param <T>    the class type that is returned
+   * @param buffer the UTF-8 encoded JSON source content
+   * @param clazz  the class type that is parsed - this is the same as the
+   *               class type that is returned
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(ByteBuffer buffer, Class<T> clazz) throws JsonbException, NullPointerException {
+    if (buffer.hasArray()) {
+      return jsonb.fromJson(new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                                                     buffer.remaining()), clazz);
+    }
+    final ByteBuffer source = buffer.duplicate();
+    return jsonb.fromJson(new InputStream() {
+      @Override
+      public int read() {
+        return source.hasRemaining() ? source.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+        if (!source.hasRemaining()) {
+          return -1;
+        }
+        int count = Math.min(len, source.remaining());
+        source.get(b, off, count);
+        return count;
+      }
+    }, clazz);
+  }
+
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+
+/**
+ * A process-wide registry of built JsonB engines, keyed by configuration.
+ * <p>
+ * Building a {@code Jsonb} instance bootstraps the JSON-B provider and each
+ * engine then builds and caches its own class models on first use. Both are
+ * expensive and are repeated in full if a new engine is created for every
+ * call. Engines are thread safe, so a single engine is built for each distinct
+ * configuration and then shared by all readers and writers.
+ * <p>
+ * Developer note: configuration entries are compared by value for simple
+ * types (String, Boolean, Number, Locale, etc.). Adapters, serializers,
+ * deserializers and strategies without instance fields, such as all of the
+ * JOSE adapters in this library, are compared by class. Any other
+ * customization instance may hold state that is not visible to the registry,
+ * so a configuration containing one is not shared: a new engine is built for
+ * it on every request.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class JsonbRegistry {
+
+  /**
+   * The built JsonB engines, keyed by their configuration.
+   */
+  private static final ConcurrentMap<List<Object>, Jsonb> ENGINES = new ConcurrentHashMap<>();
+  /**
+   * Whether a class declares no instance fields, in itself or a superclass.
+   * Instances of such a class cannot differ in configuration.
+   */
+  private static final ClassValue<Boolean> STATELESS = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+          for (Field field : c.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+              return false;
+            }
+          }
+        }
+        return true;
+      } catch (SecurityException ex) {
+        return false;
+      }
+    }
+  };
+  /**
+   * Marks a configuration value that cannot be compared.
+   */
+  private static final Object UNSHARED = new Object();
+
+  private JsonbRegistry() {
+  }
+
+  /**
+   * Get the shared JsonB engine for the indicated configuration. The engine is
+   * built on first request and reused thereafter.
+   * <p>
+   * The configuration must not be modified after it has been registered. A
+   * configuration that contains a customization instance with instance fields
+   * is not registered and a new engine is returned.
+   *
+   * @param jsonbConfig the JsonB configuration
+   * @return a shared, thread-safe JsonB engine
+   */
+  public static Jsonb getJsonb(JsonbConfig jsonbConfig) {
+    List<Object> key = toKey(jsonbConfig);
+    if (key == null) {
+      return JsonbBuilder.create(jsonbConfig);
+    }
+    Jsonb jsonb = ENGINES.get(key);
+    return jsonb != null ? jsonb : ENGINES.computeIfAbsent(key, k -> JsonbBuilder.create(jsonbConfig));
+  }
+
+  /**
+   * Get the number of distinct engines currently registered.
+   *
+   * @return the number of registered engines
+   */
+  public static int size() {
+    return ENGINES.size();
+  }
+
+  /**
+   * Copy a JsonB configuration. JsonbConfig {@code with...} methods modify and
+   * return the same instance; copy the configuration before adding to it so
+   * that registered configurations are never changed.
+   *
+   * @param jsonbConfig the configuration to copy
+   * @return a new, equivalent configuration instance
+   */
+  static JsonbConfig copyOf(JsonbConfig jsonbConfig) {
+    JsonbConfig copy = new JsonbConfig();
+    for (Map.Entry<String, Object> entry : jsonbConfig.getAsMap().entrySet()) {
+      Object value = entry.getValue();
+      copy.setProperty(entry.getKey(), value instanceof Object[] ? ((Object[]) value).clone() : value);
+    }
+    return copy;
+  }
+
+  /**
+   * Build a comparable registry key from a JsonB configuration.
+   *
+   * @param jsonbConfig the configuration
+   * @return a list of alternating property names and normalized values, null
+   *         if the configuration cannot be shared
+   */
+  private static List<Object> toKey(JsonbConfig jsonbConfig) {
+    Map<String, Object> properties = new TreeMap<>(jsonbConfig.getAsMap());
+    List<Object> key = new ArrayList<>(properties.size() * 2);
+    for (Map.Entry<String, Object> entry : properties.entrySet()) {
+      Object value = toKeyValue(entry.getValue());
+      if (value == UNSHARED) {
+        return null;
+      }
+      key.add(entry.getKey());
+      key.add(value);
+    }
+    return key;
+  }
+
+  /**
+   * Normalize a configuration value. Simple values are used as is, arrays are
+   * normalized element by element and customizations without instance fields
+   * are identified by their class.
+   *
+   * @param value the configuration value
+   * @return the normalized value, UNSHARED if the value cannot be compared
+   */
+  private static Object toKeyValue(Object value) {
+    if (value == null
+      || value instanceof CharSequence
+      || value instanceof Boolean
+      || value instanceof Number
+      || value instanceof Locale
+      || value instanceof Enum) {
+      return value instanceof CharSequence ? value.toString() : value;
+    }
+    if (value instanceof Object[]) {
+      List<Object> values = new ArrayList<>();
+      for (Object element : (Object[]) value) {
+        Object normalized = toKeyValue(element);
+        if (normalized == UNSHARED) {
+          return UNSHARED;
+        }
+        values.add(normalized);
+      }
+      return values;
+    }
+    return STATELESS.get(value.getClass()) ? value.getClass() : UNSHARED;
+  }
+
+}
@@ -18,6 +18,9 @@
  */
 package org.ietf.jose.util;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import javax.json.bind.JsonbConfig;
 import javax.json.bind.JsonbException;
 import javax.json.bind.adapter.JsonbAdapter;
@@ -31,6 +34,13 @@ import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
 /**
  * Common JsonB marshaling and un-marshaling utilities. These methods help to
  * serialize and un-serialize object representations to and from JSON.
+ * <p>
+ * A configured utility is thread safe; a single instance may be shared. The
+ * underlying JsonB engines are shared through the {@link JsonbRegistry} so
+ * creating a new utility instance does not re-build the JSON-B provider. The
+ * {@code with...} methods modify this utility and return it, so configure a
+ * utility before sharing it and use {@link #copy()} to derive a differently
+ * configured utility from a shared one.
  *
  * @see <a href="http://json-b.net">JSON Binding</a>
  * @author Key Bridge
@@ -71,6 +81,17 @@ public class JsonbUtility {
     writer = new JsonbWriter(jsonbConfig);
   }
 
+  /**
+   * Construct a utility from an existing reader and writer.
+   *
+   * @param reader the JsonB reader instance
+   * @param writer the JsonB writer instance
+   */
+  private JsonbUtility(JsonbReader reader, JsonbWriter writer) {
+    this.reader = reader;
+    this.writer = writer;
+  }
+
   /**
    * Property used to specify custom mapping adapters. Configures value of
    * {@code ADAPTERS} property. Calling withAdapters more than once will merge
@@ -78,7 +99,7 @@ public class JsonbUtility {
    *
    * @param adapters Custom mapping adapters which affects serialization and
    *                 deserialization.
-   * @return This JsonbConfig instance.
+   * @return This JsonbUtility instance.
    */
   public final JsonbUtility withAdapters(final JsonbAdapter... adapters) {
     reader = reader.withAdapters(adapters);
@@ -126,6 +147,16 @@ public class JsonbUtility {
     return this;
   }
 
+  /**
+   * Get a copy of this utility. Configuring the copy does not modify this
+   * utility.
+   *
+   * @return a new JsonbUtility instance with the same configuration.
+   */
+  public final JsonbUtility copy() {
+    return new JsonbUtility(reader.copy(), writer.copy());
+  }
+
   /**
    * Marshal an entity class into a JSON String representation.
    * <p>
@@ -163,4 +194,80 @@ public class JsonbUtility {
     return reader.unmarshal(json, clazz);
   }
 
+  /**
+   * Marshal an entity class into a UTF-8 encoded JSON byte array.
+   *
+   * @param <T>   the entity class type
+   * @param clazz the entity class to be written
+   * @return the entity class serialized into UTF-8 encoded JSON form
+   * @throws JsonbException       If any unexpected problem occurs during the
+   *                              serialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> byte[] marshalToBytes(T clazz) throws JsonbException, NullPointerException {
+    return writer.marshalToBytes(clazz);
+  }
+
+  /**
+   * Marshal an entity class as UTF-8 encoded JSON into an output stream. The
+   * stream is flushed but not closed.
+   *
+   * @param <T>          the entity class type
+   * @param clazz        the entity class to be written
+   * @param outputStream the stream to write to
+   * @throws JsonbException       If any unexpected problem occurs during the
+   *                              serialization, such as I/O error.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> void marshal(T clazz, OutputStream outputStream) throws JsonbException, NullPointerException {
+    writer.marshal(clazz, outputStream);
+  }
+
+  /**
+   * Parse UTF-8 encoded JSON content into a container class.
+   *
+   * @param <T>   the class type that is returned
+   * @param json  the UTF-8 encoded JSON source content
+   * @param clazz the class type that is parsed
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(byte[] json, Class<T> clazz) throws JsonbException, NullPointerException {
+    return reader.unmarshal(json, clazz);
+  }
+
+  /**
+   * Parse JSON content from an input stream into a container class. The
+   * stream is not closed.
+   *
+   * @param <T>         the class type that is returned
+   * @param inputStream the JSON source content
+   * @param clazz       the class type that is parsed
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(InputStream inputStream, Class<T> clazz) throws JsonbException, NullPointerException {
+    return reader.unmarshal(inputStream, clazz);
+  }
+
+  /**
+   * Parse the remaining UTF-8 encoded JSON content of a byte buffer into a
+   * container class. The buffer position is not changed.
+   *
+   * @param <T>    the class type that is returned
+   * @param buffer the UTF-8 encoded JSON source content
+   * @param clazz  the class type that is parsed
+   * @return the JSON source parsed into the identified class type
+   * @throws JsonbException       If any unexpected error(s) occur(s) during
+   *                              deserialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> T unmarshal(ByteBuffer buffer, Class<T> clazz) throws JsonbException, NullPointerException {
+    return reader.unmarshal(buffer, clazz);
+  }
+
 }
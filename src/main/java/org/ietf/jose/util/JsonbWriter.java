@@ -18,8 +18,12 @@
  */
 package org.ietf.jose.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
 import javax.json.bind.Jsonb;
-import javax.json.bind.JsonbBuilder;
 import javax.json.bind.JsonbConfig;
 import javax.json.bind.JsonbException;
 import javax.json.bind.adapter.JsonbAdapter;
@@ -29,6 +33,11 @@ import javax.json.bind.serializer.JsonbSerializer;
 /**
  * Common JsonB marshaling and un-marshaling utilities. These methods help to
  * serialize and un-serialize object representations to and from JSON.
+ * <p>
+ * A configured writer is thread safe. The {@code with...} methods modify this
+ * writer and return it, so configure a writer before sharing it and use
+ * {@link #copy()} to derive a differently configured writer from a shared one.
+ * The underlying JsonB engine is shared through the {@link JsonbRegistry}.
  *
  * @see <a href="http://json-b.net">JSON Binding</a>
  * @author Key Bridge
@@ -60,7 +69,7 @@ public class JsonbWriter {
       .withStrictIJSON(true)
       .withBinaryDataStrategy(BinaryDataStrategy.BASE_64)
       .withPropertyVisibilityStrategy(new JsonbPropertyVisibilityStrategy());
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
   }
 
   /**
@@ -69,8 +78,8 @@ public class JsonbWriter {
    * @param jsonbConfig the JsonB configuration
    */
   public JsonbWriter(JsonbConfig jsonbConfig) {
-    this.jsonbConfig = jsonbConfig;
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig);
+    this.jsonb = JsonbRegistry.getJsonb(this.jsonbConfig);
   }
 
   /**
@@ -80,11 +89,11 @@ public class JsonbWriter {
    *
    * @param formatting True means serialized data is formatted, false (default)
    *                   means no formatting.
-   * @return This JsonbUtility instance.
+   * @return This JsonbWriter instance.
    */
   public final JsonbWriter withFormatting(final boolean formatting) {
-    this.jsonbConfig = jsonbConfig.withFormatting(formatting);
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig).withFormatting(formatting);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
     return this;
   }
 
@@ -94,11 +103,11 @@ public class JsonbWriter {
    * merge the serializers with previous value.
    *
    * @param serializers Custom serializers which affects serialization.
-   * @return This JsonbUtility instance.
+   * @return This JsonbWriter instance.
    */
   public final JsonbWriter withSerializers(final JsonbSerializer... serializers) {
-    this.jsonbConfig = jsonbConfig.withSerializers(serializers);
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig).withSerializers(serializers);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
     return this;
   }
 
@@ -109,14 +118,24 @@ public class JsonbWriter {
    *
    * @param adapters Custom mapping adapters which affects serialization and
    *                 deserialization.
-   * @return This JsonbConfig instance.
+   * @return This JsonbWriter instance.
    */
   public final JsonbWriter withAdapters(final JsonbAdapter... adapters) {
-    this.jsonbConfig = jsonbConfig.withAdapters(adapters);
-    this.jsonb = JsonbBuilder.create(jsonbConfig);
+    this.jsonbConfig = JsonbRegistry.copyOf(jsonbConfig).withAdapters(adapters);
+    this.jsonb = JsonbRegistry.getJsonb(jsonbConfig);
     return this;
   }
 
+  /**
+   * Get a copy of this writer. Configuring the copy does not modify this
+   * writer.
+   *
+   * @return a new JsonbWriter instance with the same configuration.
+   */
+  public final JsonbWriter copy() {
+    return new JsonbWriter(jsonbConfig);
+  }
+
   /**
    * Marshal an entity class into a JSON String representation.
    *
@@ -131,4 +150,49 @@ public class JsonbWriter {
     return jsonb.toJson(clazz);
   }
 
+  /**
+   * Marshal an entity class into a UTF-8 encoded JSON byte array.
+   *
+   * @param <T>   the entity class type
+   * @param clazz the entity class to be written
+   * @return the entity class serialized into UTF-8 encoded JSON form
+   * @throws JsonbException       If any unexpected problem occurs during the
+   *                              serialization.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> byte[] marshalToBytes(T clazz) throws JsonbException, NullPointerException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+    jsonb.toJson(clazz, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Marshal an entity class as UTF-8 encoded JSON into an output stream. The
+   * stream is flushed but not closed.
+   *
+   * @param <T>          the entity class type
+   * @param clazz        the entity class to be written
+   * @param outputStream the stream to write to
+   * @throws JsonbException       If any unexpected problem occurs during the
+   *                              serialization, such as I/O error.
+   * @throws NullPointerException If any of the parameters are null.
+   */
+  public final <T> void marshal(T clazz, OutputStream outputStream) throws JsonbException, NullPointerException {
+    /**
+     * The JsonB engine closes the stream when generation is complete; shield
+     * the caller's stream from the close.
+     */
+    jsonb.toJson(clazz, new FilterOutputStream(Objects.requireNonNull(outputStream)) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    });
+  }
+
 }
@@ -17,30 +17,155 @@ package org.ietf.jose.util;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A SecureRandom utility to generate random bits and bytes.
  * <p>
  * When using SecureRandom you must ALWAYS specify a number generator algorithm.
  * <p>
- * Tested working algorithms: NativePRNGNonBlocking, SHA1PRNG
+ * Tested working algorithms: NativePRNGNonBlocking, DRBG, SHA1PRNG
+ * <p>
+ * A single, thread safe SecureRandom instance is created and seeded on first
+ * use and then shared by all callers. The algorithm is the first available of
+ * a comma separated list given by the system property
+ * {@value #ALGORITHM_PROPERTY}, or by default {@code NativePRNGNonBlocking},
+ * {@code DRBG} (JDK 9+), {@code SHA1PRNG}. It may be replaced at runtime with
+ * {@link #configure(String)} or {@link #configure(SecureRandom)}.
+ * <p>
+ * Small requests (such as initialization vectors and content encryption keys)
+ * are served from a per-thread buffer that is refilled with one bulk
+ * {@code nextBytes} call. Bytes are handed out exactly once and are cleared
+ * from the buffer as they are consumed.
  *
  * @author Key Bridge
  * @see
  * <a href="https://docs.oracle.com/javase/8/docs/technotes/guides/security/StandardNames.html#SecureRandom">SecureRandom</a>
+ * @since v1.4.0 2026-10-16 shared and buffered SecureRandom
  */
 public class SecureRandomUtility {
 
+  private static final Logger LOG = Logger.getLogger(SecureRandomUtility.class.getName());
+
+  /**
+   * The system property naming the preferred SecureRandom algorithm(s). The
+   * value is a comma separated list; the first available algorithm is used.
+   */
+  public static final String ALGORITHM_PROPERTY = "org.ietf.jose.securerandom.algorithm";
+  /**
+   * The default SecureRandom algorithms, in order of preference.
+   */
+  private static final String DEFAULT_ALGORITHMS = "NativePRNGNonBlocking,DRBG,SHA1PRNG";
+  /**
+   * The per-thread buffer size, in bytes.
+   */
+  private static final int BUFFER_SIZE = 512;
+  /**
+   * Requests larger than this are served directly from the SecureRandom
+   * instead of the buffer.
+   */
+  private static final int MAX_BUFFERED_REQUEST = 64;
+
+  /**
+   * The shared SecureRandom instance. Created on first use.
+   */
+  private static volatile SecureRandom secureRandom;
+  /**
+   * The per-thread random byte buffers.
+   */
+  private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+  /**
+   * A per-thread buffer of random bytes. Bytes from position to the end of the
+   * array are unused.
+   */
+  private static final class Buffer {
+
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private int position = BUFFER_SIZE;
+    /**
+     * The source from which the buffer was filled.
+     */
+    private SecureRandom source;
+  }
+
+  /**
+   * Get the shared SecureRandom instance, creating it on first use.
+   *
+   * @return the shared SecureRandom instance
+   * @throws NoSuchAlgorithmException if none of the configured algorithms is
+   *                                  available
+   */
+  public static SecureRandom getSecureRandom() throws NoSuchAlgorithmException {
+    SecureRandom random = secureRandom;
+    if (random == null) {
+      synchronized (SecureRandomUtility.class) {
+        random = secureRandom;
+        if (random == null) {
+          random = newSecureRandom(System.getProperty(ALGORITHM_PROPERTY, DEFAULT_ALGORITHMS));
+          secureRandom = random;
+        }
+      }
+    }
+    return random;
+  }
+
+  /**
+   * Replace the shared SecureRandom with a new instance of the first available
+   * algorithm in a comma separated list. Buffered bytes from the previous
+   * instance are discarded.
+   *
+   * @param algorithms the SecureRandom algorithm(s), e.g. "DRBG" or
+   *                   "NativePRNGNonBlocking,SHA1PRNG"
+   * @throws NoSuchAlgorithmException if none of the algorithms is available
+   */
+  public static void configure(String algorithms) throws NoSuchAlgorithmException {
+    configure(newSecureRandom(Objects.requireNonNull(algorithms, "algorithms")));
+  }
+
+  /**
+   * Replace the shared SecureRandom. Buffered bytes from the previous instance
+   * are discarded. The instance must be thread safe.
+   *
+   * @param random the SecureRandom instance
+   */
+  public static void configure(SecureRandom random) {
+    secureRandom = Objects.requireNonNull(random, "random");
+  }
+
+  /**
+   * Create a new SecureRandom from the first available algorithm.
+   */
+  private static SecureRandom newSecureRandom(String algorithms) throws NoSuchAlgorithmException {
+    NoSuchAlgorithmException failure = null;
+    for (String algorithm : algorithms.split(",")) {
+      try {
+        SecureRandom random = SecureRandom.getInstance(algorithm.trim());
+        /**
+         * Force seeding now rather than on the first request.
+         */
+        random.nextBytes(new byte[1]);
+        LOG.log(Level.FINE, "SecureRandom algorithm {0}", random.getAlgorithm());
+        return random;
+      } catch (NoSuchAlgorithmException ex) {
+        failure = ex;
+      }
+    }
+    throw failure != null ? failure : new NoSuchAlgorithmException("No SecureRandom algorithm configured");
+  }
+
   /**
    * Generate a sequence of random bits. This is a shortcut method to
    * {@code generateBytes}.
    *
    * @param numberOfBits the number of bits to generate
    * @return a byte array
-   * @throws NoSuchAlgorithmException if the JRE/JDK does not support the
-   *                                  {@code SHA1PRNG} SecureRandom Number
-   *                                  Generation Algorithms (highly unlikely
-   *                                  since this is the JRE default)
+   * @throws NoSuchAlgorithmException if none of the configured SecureRandom
+   *                                  algorithms is available (highly unlikely
+   *                                  since SHA1PRNG is the JRE default)
    */
   public static byte[] generateBits(int numberOfBits) throws NoSuchAlgorithmException {
     int bytes = numberOfBits / 8;
@@ -51,23 +176,19 @@ public class SecureRandomUtility {
   }
 
   /**
-   * Generate a sequence of random bytes.
-   * <p>
-   * This uses an internal SecureRandom object with the {@code SHA1PRNG} Number
-   * Generation Algorithm.
+   * Generate a sequence of random bytes from the shared SecureRandom.
    *
    * @param numberOfBytes the number of bytes to generate
    * @return a byte array
-   * @throws NoSuchAlgorithmException if the JRE/JDK does not support the
-   *                                  {@code SHA1PRNG} SecureRandom Number
-   *                                  Generation Algorithms (highly unlikely
-   *                                  since this is the JRE default)
+   * @throws NoSuchAlgorithmException if none of the configured SecureRandom
+   *                                  algorithms is available (highly unlikely
+   *                                  since SHA1PRNG is the JRE default)
    */
   public static byte[] generateBytes(int numberOfBytes) throws NoSuchAlgorithmException {
     /**
-     * Developer note: do NOT call getInstance or getInstanceStrong. These will
-     * HANG on linux systems. See bug JDK-6521844 : SecureRandom hangs on Linux
-     * Systems (JDK7)
+     * Developer note: do NOT call getInstanceStrong. This will HANG on linux
+     * systems. See bug JDK-6521844 : SecureRandom hangs on Linux Systems
+     * (JDK7)
      * <p>
      * The JCK test api/java_security/SecureRandom/SecureRandomTests.html#misc
      * can hang on Linux platforms if there is no other activity on the system.
@@ -83,12 +204,47 @@ public class SecureRandomUtility {
      * When using SecureRandom you must ALWAYS specify a number generator
      * algorithm.
      * <p>
-     * Tested and working algorithms: NativePRNGNonBlocking, SHA1PRNG
+     * Tested and working algorithms: NativePRNGNonBlocking, DRBG, SHA1PRNG
      */
 //    SecureRandom random = SecureRandom.getInstanceStrong();  // DO NOT USE
-    SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
     byte[] bytes = new byte[numberOfBytes];
-    random.nextBytes(bytes);
+    nextBytes(bytes, 0, numberOfBytes);
     return bytes;
   }
+
+  /**
+   * Fill a region of an array with random bytes from the shared SecureRandom.
+   *
+   * @param bytes  the destination array
+   * @param offset the start of the region
+   * @param length the number of random bytes
+   * @throws NoSuchAlgorithmException if none of the configured SecureRandom
+   *                                  algorithms is available
+   */
+  public static void nextBytes(byte[] bytes, int offset, int length) throws NoSuchAlgorithmException {
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + bytes.length);
+    }
+    SecureRandom random = getSecureRandom();
+    if (length > MAX_BUFFERED_REQUEST) {
+      if (offset == 0 && length == bytes.length) {
+        random.nextBytes(bytes);
+      } else {
+        byte[] direct = new byte[length];
+        random.nextBytes(direct);
+        System.arraycopy(direct, 0, bytes, offset, length);
+        Arrays.fill(direct, (byte) 0);
+      }
+      return;
+    }
+    Buffer buffer = BUFFER.get();
+    if (buffer.source != random || BUFFER_SIZE - buffer.position < length) {
+      random.nextBytes(buffer.bytes);
+      buffer.source = random;
+      buffer.position = 0;
+    }
+    System.arraycopy(buffer.bytes, buffer.position, bytes, offset, length);
+    Arrays.fill(buffer.bytes, buffer.position, buffer.position + length, (byte) 0);
+    buffer.position += length;
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProviderException;
+import java.util.Arrays;
+
+/**
+ * A SHA-256 digest of a serialized token, used as a compact, collision
+ * resistant cache key in place of the token itself.
+ * <p>
+ * Two digests are equal if all 32 digest bytes are equal. The hash code is
+ * taken from the digest, which is uniformly distributed.
+ *
+ * @author Key Bridge
+ * @since v1.4.0 created 2026-10-16
+ */
+public final class TokenDigest {
+
+  private final byte[] digest;
+  private final int hash;
+
+  private TokenDigest(byte[] digest) {
+    this.digest = digest;
+    this.hash = (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
+  }
+
+  /**
+   * Digest a token in compact form.
+   *
+   * @param token the compact token
+   * @return the token digest
+   */
+  public static TokenDigest of(CharSequence token) {
+    int length = token.length();
+    byte[] ascii = new byte[length];
+    for (int i = 0; i < length; i++) {
+      char c = token.charAt(i);
+      if (c >= 0x80) {
+        /**
+         * Not a valid compact serialization; digest the UTF-8 encoding so
+         * that distinct tokens still have distinct digests.
+         */
+        return of(token.toString().getBytes(StandardCharsets.UTF_8));
+      }
+      ascii[i] = (byte) c;
+    }
+    return of(ascii);
+  }
+
+  /**
+   * Digest a token.
+   *
+   * @param token the serialized token bytes
+   * @return the token digest
+   */
+  public static TokenDigest of(byte[] token) {
+    return of(token, 0, token.length);
+  }
+
+  /**
+   * Digest a region of a byte array holding a serialized token.
+   *
+   * @param token  the source bytes
+   * @param offset the token offset
+   * @param length the token length
+   * @return the token digest
+   */
+  public static TokenDigest of(byte[] token, int offset, int length) {
+    EnginePool<MessageDigest> pool;
+    try {
+      pool = JcaEngines.messageDigest("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new ProviderException("SHA-256 is not available", ex);
+    }
+    MessageDigest sha256 = pool.borrow();
+    try {
+      sha256.update(token, offset, length);
+      return new TokenDigest(sha256.digest());
+    } finally {
+      pool.release(sha256);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TokenDigest)) {
+      return false;
+    }
+    return Arrays.equals(digest, ((TokenDigest) obj).digest);
+  }
+
+  @Override
+  public String toString() {
+    return "TokenDigest(" + Base64Utility.toBase64Url(digest) + ")";
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.jose;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwt.JwtClaims;
+import org.ietf.jose.jwt.JwtVerificationException;
+import org.ietf.jose.jwt.JwtVerifier;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class AsyncJoseUtilityTest {
+
+  private static final String SECRET = "correct horse battery staple";
+
+  private static KeyPair rsaKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPair() throws Exception {
+    rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+  }
+
+  private static JwtClaims claims() {
+    JwtClaims claims = new JwtClaims();
+    claims.setIssuer("issuer");
+    claims.setSubject("subject");
+    claims.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    return claims;
+  }
+
+  @Test
+  public void testJwtRoundTrip() throws Exception {
+    AsyncJoseUtility async = AsyncJoseUtility.getInstance();
+    System.out.println("Default executor " + async.getExecutor());
+    JwtClaims verified = async.signJwt(claims(), rsaKeyPair.getPrivate(), "rsa")
+      .thenCompose(jwt -> async.verifyJwt(jwt, rsaKeyPair.getPublic()))
+      .get(10, TimeUnit.SECONDS);
+    assertEquals("subject", verified.getSubject());
+
+    JwtClaims decrypted = async.encryptJwt(claims(), rsaKeyPair.getPublic(), "rsa")
+      .thenCompose(jwe -> async.decryptJwt(jwe, rsaKeyPair.getPrivate()))
+      .get(10, TimeUnit.SECONDS);
+    assertEquals("subject", decrypted.getSubject());
+
+    JwtClaims payload = async.signJws(claims(), SECRET, "hmac")
+      .thenCompose(jws -> async.verifyJws(jws, JwtClaims.class, SECRET))
+      .get(10, TimeUnit.SECONDS);
+    assertEquals("subject", payload.getSubject());
+  }
+
+  @Test
+  public void testFailureCompletesExceptionally() throws Exception {
+    AsyncJoseUtility async = AsyncJoseUtility.getInstance();
+    String jwt = async.signJwt(claims(), SECRET, "hmac").get(10, TimeUnit.SECONDS);
+    CompletableFuture<JwtClaims> future = async.verifyJwt(jwt, "wrong secret");
+    try {
+      future.get(10, TimeUnit.SECONDS);
+      fail("Expected an invalid signature");
+    } catch (ExecutionException ex) {
+      System.out.println("Failed as expected: " + ex.getCause());
+      assertTrue(ex.getCause() instanceof GeneralSecurityException);
+    }
+    /**
+     * The cause is not wrapped in a CompletionException for dependent stages.
+     */
+    Throwable failure = future.handle((claims, ex) -> ex).get(10, TimeUnit.SECONDS);
+    assertTrue(failure instanceof GeneralSecurityException);
+
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.HS256)
+      .withSharedSecret("hmac", "another secret")
+      .build();
+    failure = async.verifyJwt(verifier, jwt).handle((claims, ex) -> ex).get(10, TimeUnit.SECONDS);
+    assertEquals(JwtVerificationException.Reason.INVALID_SIGNATURE, ((JwtVerificationException) failure).getReason());
+  }
+
+  @Test
+  public void testConfiguredExecutor() throws Exception {
+    AtomicInteger executed = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      AsyncJoseUtility async = new AsyncJoseUtility(task -> {
+        executed.incrementAndGet();
+        pool.execute(task);
+      });
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        futures.add(async.signJwt(claims(), SECRET, "hmac"));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+      assertEquals(10, executed.get());
+    } finally {
+      pool.shutdownNow();
+    }
+    /**
+     * A rejected task completes the future exceptionally.
+     */
+    AsyncJoseUtility rejecting = new AsyncJoseUtility(task -> {
+      throw new RejectedExecutionException("full");
+    });
+    assertTrue(rejecting.signJwt(claims(), SECRET, "hmac").isCompletedExceptionally());
+  }
+
+}
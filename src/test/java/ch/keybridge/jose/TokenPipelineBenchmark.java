@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.jose;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ietf.jose.jwt.JwtClaims;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static ch.keybridge.jose.TokenPipelineTest.builder;
+import static ch.keybridge.jose.TokenPipelineTest.message;
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class TokenPipelineBenchmark {
+
+  private static final int MESSAGES = 1000;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    TokenPipelineTest.generateKeyPairs();
+  }
+
+  /**
+   * Pipeline throughput and the time spent in each stage.
+   */
+  @Test
+  public void benchmarkPipeline() throws Exception {
+    List<String> messages = new ArrayList<>();
+    for (int i = 0; i < MESSAGES; i++) {
+      messages.add(message(i));
+    }
+    AtomicInteger verified = new AtomicInteger();
+    long start = System.nanoTime();
+    try (TokenPipeline<JwtClaims> pipeline = builder()
+      .withListener((message, payload, failure) -> {
+        if (failure == null) {
+          verified.incrementAndGet();
+        }
+      })
+      .build()) {
+      for (String message : messages) {
+        pipeline.submit(message);
+      }
+      pipeline.close();
+      long elapsed = System.nanoTime() - start;
+      System.out.println("Pipeline " + messages.size() * 1_000_000_000L / elapsed + " messages/s");
+      for (TokenPipeline.Stage stage : TokenPipeline.Stage.values()) {
+        System.out.println(stage + " processed " + pipeline.getProcessedCount(stage)
+          + " failed " + pipeline.getFailedCount(stage)
+          + " busy " + TimeUnit.NANOSECONDS.toMillis(pipeline.getBusyNanos(stage)) + " ms");
+      }
+    }
+    assertEquals(MESSAGES, verified.get());
+  }
+
+  /**
+   * The number of messages held by a pipeline with the default queue capacity
+   * while the listener is blocked.
+   */
+  @Test
+  public void benchmarkBackpressure() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger delivered = new AtomicInteger();
+    TokenPipeline<JwtClaims> pipeline = builder()
+      .withListener((message, payload, failure) -> {
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        delivered.incrementAndGet();
+      })
+      .build();
+    String message = message(0);
+    int accepted = 0;
+    while (pipeline.offer(message, 200, TimeUnit.MILLISECONDS)) {
+      accepted++;
+    }
+    System.out.println("Accepted " + accepted + " messages before backpressure");
+    release.countDown();
+    pipeline.close();
+    assertEquals(accepted, delivered.get());
+  }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.jose;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwe.JweBuilder;
+import org.ietf.jose.jws.JsonWebSignature;
+import org.ietf.jose.jws.JwsBuilder;
+import org.ietf.jose.jwt.JwtClaims;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class TokenPipelineTest {
+
+  private static KeyPair senderKeyPair;
+  private static KeyPair recipientKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPairs() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    senderKeyPair = generator.generateKeyPair();
+    recipientKeyPair = generator.generateKeyPair();
+  }
+
+  static String message(int i) throws Exception {
+    JwtClaims claims = new JwtClaims();
+    claims.setSubject("subject-" + i);
+    claims.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    return JwtUtility.signAndEncrypt(claims, senderKeyPair.getPrivate(), recipientKeyPair.getPublic(), "sender", "recipient");
+  }
+
+  static TokenPipeline.Builder<JwtClaims> builder() {
+    return TokenPipeline.builder(JwtClaims.class)
+      .withDecryptionKey(recipientKeyPair.getPrivate())
+      .withVerificationKey(senderKeyPair.getPublic());
+  }
+
+  @Test
+  public void testPipeline() throws Exception {
+    List<String> messages = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      messages.add(message(i));
+    }
+    /**
+     * A message encrypted for another recipient fails to unwrap; a message
+     * signed by another sender fails to verify.
+     */
+    JwtClaims claims = new JwtClaims();
+    KeyPair other = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    String wrongRecipient = JwtUtility.signAndEncrypt(claims, senderKeyPair.getPrivate(), other.getPublic(), "sender", "other");
+    String wrongSender = JwtUtility.signAndEncrypt(claims, other.getPrivate(), recipientKeyPair.getPublic(), "other", "recipient");
+
+    Map<String, JwtClaims> verified = new ConcurrentHashMap<>();
+    Map<String, Exception> failed = new ConcurrentHashMap<>();
+    try (TokenPipeline<JwtClaims> pipeline = builder()
+      .withParallelism(TokenPipeline.Stage.UNWRAP, 2)
+      .withQueueCapacity(8)
+      .withListener((message, payload, failure) -> {
+        if (failure == null) {
+          verified.put(message, payload);
+        } else {
+          failed.put(message, failure);
+        }
+      })
+      .build()) {
+      for (String message : messages) {
+        pipeline.submit(message);
+      }
+      pipeline.submit(wrongRecipient);
+      pipeline.submit(wrongSender);
+      pipeline.submit("not a token");
+      pipeline.close();
+      for (TokenPipeline.Stage stage : TokenPipeline.Stage.values()) {
+        assertEquals(0, pipeline.getQueueSize(stage));
+      }
+      assertEquals(1, pipeline.getFailedCount(TokenPipeline.Stage.PARSE));
+      assertEquals(1, pipeline.getFailedCount(TokenPipeline.Stage.UNWRAP));
+      assertEquals(1, pipeline.getFailedCount(TokenPipeline.Stage.VERIFY));
+      assertEquals(messages.size(), pipeline.getProcessedCount(TokenPipeline.Stage.BIND));
+    }
+    assertEquals(messages.size(), verified.size());
+    for (int i = 0; i < messages.size(); i++) {
+      assertEquals("subject-" + i, verified.get(messages.get(i)).getSubject());
+    }
+    assertEquals(new HashSet<>(Arrays.asList(wrongRecipient, wrongSender, "not a token")), failed.keySet());
+  }
+
+  /**
+   * Custom claims and a single string audience survive the pipeline, and no
+   * registered claims are added.
+   */
+  @Test
+  public void testBindClaims() throws Exception {
+    long exp = ZonedDateTime.now(ZoneOffset.UTC).plusHours(1).toEpochSecond();
+    String payload = "{\"sub\":\"subject\",\"aud\":\"audience\",\"exp\":" + exp + ",\"role\":\"admin\",\"level\":3}";
+    JsonWebSignature jws = JwsBuilder.getInstance()
+      .withStringPayload(payload)
+      .sign(senderKeyPair.getPrivate(), JwsAlgorithmType.RS256, "sender")
+      .buildJsonWebSignature();
+    String message = JweBuilder.getInstance()
+      .withBinaryPayload(jws.toJsonBytes())
+      .withKey(recipientKeyPair.getPublic(), "recipient")
+      .build();
+    List<JwtClaims> results = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    try (TokenPipeline<JwtClaims> pipeline = builder()
+      .withListener((m, claims, failure) -> {
+        if (failure == null) {
+          results.add(claims);
+        } else {
+          failures.add(failure);
+        }
+      })
+      .build()) {
+      pipeline.submit(message);
+    }
+    assertEquals(Collections.emptyList(), failures);
+    assertEquals(1, results.size());
+    JwtClaims claims = results.get(0);
+    assertEquals("subject", claims.getSubject());
+    assertEquals(Collections.singletonList("audience"), new ArrayList<>(claims.getAudience()));
+    assertEquals(exp, claims.getExpiresAt().toEpochSecond());
+    assertEquals("admin", claims.getClaims().get("role"));
+    assertEquals(3, ((Number) claims.getClaims().get("level")).intValue());
+    assertNull(claims.getJwtId());
+    assertNull(claims.getIssuedAt());
+    assertNull(claims.getNotBefore());
+  }
+
+  @Test
+  public void testBackpressure() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<JwtClaims> results = Collections.synchronizedList(new ArrayList<>());
+    TokenPipeline<JwtClaims> pipeline = builder()
+      .withParallelism(TokenPipeline.Stage.UNWRAP, 1)
+      .withParallelism(TokenPipeline.Stage.VERIFY, 1)
+      .withQueueCapacity(1)
+      .withListener((message, payload, failure) -> {
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        results.add(payload);
+      })
+      .build();
+    String message = message(0);
+    /**
+     * With the listener blocked, at most one message is held per queue and per
+     * worker; the pipeline then refuses further messages.
+     */
+    int accepted = 0;
+    while (pipeline.offer(message, 500, TimeUnit.MILLISECONDS)) {
+      accepted++;
+      assertTrue("The pipeline did not apply backpressure", accepted <= 10);
+    }
+    release.countDown();
+    pipeline.close();
+    assertEquals(accepted, results.size());
+    try {
+      pipeline.submit(message);
+      fail("Expected a closed pipeline");
+    } catch (IllegalStateException ex) {
+      System.out.println(ex.getMessage());
+    }
+  }
+
+  /**
+   * Every message accepted while the pipeline is closed concurrently is
+   * delivered to the listener.
+   */
+  @Test
+  public void testCloseWhileSubmitting() throws Exception {
+    for (int round = 0; round < 20; round++) {
+      AtomicInteger delivered = new AtomicInteger();
+      AtomicInteger accepted = new AtomicInteger();
+      TokenPipeline<JwtClaims> pipeline = builder()
+        .withQueueCapacity(4)
+        .withListener((message, payload, failure) -> delivered.incrementAndGet())
+        .build();
+      List<Thread> submitters = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        Thread submitter = new Thread(() -> {
+          try {
+            while (true) {
+              pipeline.submit("not a token");
+              accepted.incrementAndGet();
+            }
+          } catch (IllegalStateException | InterruptedException ex) {
+          }
+        });
+        submitters.add(submitter);
+        submitter.start();
+      }
+      Thread.sleep(round % 5);
+      pipeline.close();
+      for (Thread submitter : submitters) {
+        submitter.join();
+      }
+      assertEquals(accepted.get(), delivered.get());
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwe;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jwe.JweRecipientsTest.SUBSCRIBERS;
+import static org.ietf.jose.jwe.JweRecipientsTest.fanOut;
+import static org.ietf.jose.jwe.JweRecipientsTest.keyPairs;
+import static org.ietf.jose.jwe.JweRecipientsTest.payload;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JweRecipientsBenchmark {
+
+  private static final int ITERATIONS = 5;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    JweRecipientsTest.createKeys();
+  }
+
+  /**
+   * Encrypting a payload for every subscriber with one flattened JWE each
+   * against one general JWE.
+   */
+  @Test
+  public void benchmarkFanOut() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      flattenedPerSubscriber();
+      fanOut().buildJweJsonGeneral().toJson();
+    }
+    long start = System.nanoTime();
+    long flattenedSize = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      flattenedSize = flattenedPerSubscriber();
+    }
+    long flattenedNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    long generalSize = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      generalSize = fanOut().buildJweJsonGeneral().toJson().length();
+    }
+    long generalNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("Encrypt " + payload.length / 1024 + " KB for " + SUBSCRIBERS + " subscribers");
+    System.out.println("  flattened per subscriber " + flattenedNanos / 1000 + " us, " + flattenedSize + " characters");
+    System.out.println("  general recipients       " + generalNanos / 1000 + " us, " + generalSize + " characters");
+  }
+
+  private static long flattenedPerSubscriber() throws Exception {
+    long size = 0;
+    for (int i = 0; i < SUBSCRIBERS; i++) {
+      size += JweBuilder.getInstance()
+        .withBinaryPayload(payload)
+        .buildJweJsonFlattened(keyPairs[i].getPublic(), "subscriber-" + i)
+        .toJson().length();
+    }
+    return size;
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwe;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwa.JweKeyAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JweRecipientsTest {
+
+  static final int SUBSCRIBERS = 40;
+
+  static KeyPair[] keyPairs;
+  private static SecretKey secretKey;
+  static byte[] payload;
+
+  @BeforeClass
+  public static void createKeys() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    keyPairs = new KeyPair[SUBSCRIBERS];
+    for (int i = 0; i < SUBSCRIBERS; i++) {
+      keyPairs[i] = generator.generateKeyPair();
+    }
+    secretKey = SecretKeyBuilder.fromSharedSecret("a shared secret for the symmetric recipient");
+    payload = new byte[64 * 1024];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) i;
+    }
+  }
+
+  static JweBuilder fanOut() {
+    JweBuilder builder = JweBuilder.getInstance().withBinaryPayload(payload);
+    for (int i = 0; i < SUBSCRIBERS; i++) {
+      builder.withRecipient(keyPairs[i].getPublic(), "subscriber-" + i);
+    }
+    return builder;
+  }
+
+  @Test
+  public void testGeneralSerialization() throws Exception {
+    JsonWebEncryption jwe = fanOut()
+      .withRecipient(secretKey, JweKeyAlgorithmType.A128KW, "shared")
+      .buildJweJsonGeneral();
+    String json = jwe.toJson();
+    System.out.println("General JWE for " + (SUBSCRIBERS + 1) + " recipients: " + json.length() + " characters");
+
+    JsonWebEncryption read = JsonWebEncryption.fromJson(json);
+    assertEquals(SUBSCRIBERS + 1, read.getRecipients().size());
+    assertNull(read.getEncryptedKey());
+    assertEquals("subscriber-0", read.getRecipients().get(0).getKeyId());
+    assertEquals(JweKeyAlgorithmType.A128KW, read.getRecipients().get(SUBSCRIBERS).getHeader().getJweKeyAlgorithmType());
+
+    for (int i = 0; i < SUBSCRIBERS; i += 13) {
+      assertArrayEquals(payload, JweDecryptor.createFor(read).decrypt(keyPairs[i].getPrivate(), "subscriber-" + i).getAsBytes());
+    }
+    assertArrayEquals(payload, JweDecryptor.createFor(read).decrypt(secretKey, "shared").getAsBytes());
+    /**
+     * Without a key ID each recipient is tried in turn.
+     */
+    assertArrayEquals(payload, JweDecryptor.createFor(read).decrypt(keyPairs[7].getPrivate()).getAsBytes());
+  }
+
+  @Test(expected = InvalidKeyException.class)
+  public void testUnknownKeyId() throws Exception {
+    JsonWebEncryption jwe = JweBuilder.getInstance()
+      .withBinaryPayload(payload)
+      .withRecipient(keyPairs[0].getPublic(), "subscriber-0")
+      .buildJweJsonGeneral();
+    JweDecryptor.createFor(jwe).decrypt(keyPairs[0].getPrivate(), "subscriber-1");
+  }
+
+  /**
+   * A recipient key that fails to wrap on a worker thread surfaces as the
+   * checked exception.
+   */
+  @Test
+  public void testRecipientFailure() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(256);
+    Key wrong = generator.generateKeyPair().getPublic();
+    int recipients = 8;
+    int failures = 0;
+    for (int index = 1; index < recipients; index++) {
+      for (int run = 0; run < 3; run++) {
+        JweBuilder builder = JweBuilder.getInstance().withBinaryPayload(payload);
+        for (int i = 0; i < recipients; i++) {
+          builder.withRecipient(i == index ? wrong : keyPairs[i].getPublic(), JweKeyAlgorithmType.RSA_OAEP, "subscriber-" + i);
+        }
+        try {
+          builder.buildJweJsonGeneral();
+          fail("Expected a GeneralSecurityException");
+        } catch (GeneralSecurityException ex) {
+          failures++;
+        }
+      }
+    }
+    assertEquals(3 * (recipients - 1), failures);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNoCompactForm() throws Exception {
+    JweBuilder.getInstance()
+      .withBinaryPayload(payload)
+      .withRecipient(keyPairs[0].getPublic(), "subscriber-0")
+      .buildJweJsonGeneral()
+      .toCompactForm();
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwa.JweEncryptionAlgorithmType;
+import org.ietf.jose.jwa.JweKeyAlgorithmType;
+import org.junit.Test;
+
+import static org.ietf.jose.jwe.JweStreamEncrypterTest.randomBytes;
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JweStreamEncrypterBenchmark {
+
+  private static final int BENCHMARK_SIZE = 32 * 1024 * 1024;
+
+  /**
+   * In memory and streaming encryption of a large payload, with the bytes
+   * allocated by the encrypting thread.
+   */
+  @Test
+  public void benchmarkStreaming() throws Exception {
+    SecretKey key = SecretKeyBuilder.fromSharedSecret("a shared secret");
+    byte[] plaintext = randomBytes(BENCHMARK_SIZE);
+    JweStreamEncrypter encrypter = JweStreamEncrypter.getInstance(JweEncryptionAlgorithmType.A128CBC_HS256,
+                                                                  JweKeyAlgorithmType.A128KW, key, null);
+    encrypter.encryptCompact(new RepeatingInputStream(plaintext, 1024 * 1024), new CountingOutputStream());
+    JweBuilder.getInstance().withBinaryPayload(randomBytes(1024 * 1024)).withKey(key, null).build();
+
+    long allocated = allocatedBytes();
+    long start = System.nanoTime();
+    String compact = JweBuilder.getInstance().withBinaryPayload(plaintext).withKey(key, null).build();
+    long memoryNanos = System.nanoTime() - start;
+    long memoryBytes = allocatedBytes() - allocated;
+
+    CountingOutputStream out = new CountingOutputStream();
+    allocated = allocatedBytes();
+    start = System.nanoTime();
+    encrypter.encryptCompact(new RepeatingInputStream(plaintext, plaintext.length), out);
+    long streamNanos = System.nanoTime() - start;
+    long streamBytes = allocatedBytes() - allocated;
+    assertEquals(compact.length(), out.count);
+
+    System.out.println("Encrypt " + BENCHMARK_SIZE / (1024 * 1024) + " MB A128CBC-HS256");
+    System.out.println("  JweBuilder.build      " + memoryNanos / 1_000_000 + " ms, " + memoryBytes / 1024 + " KB allocated");
+    System.out.println("  JweStreamEncrypter    " + streamNanos / 1_000_000 + " ms, " + streamBytes / 1024 + " KB allocated");
+  }
+
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  /**
+   * Reads the indicated number of bytes from a source array without copying
+   * it, as a file or network stream would.
+   */
+  private static final class RepeatingInputStream extends InputStream {
+
+    private final byte[] source;
+    private long remaining;
+    private int position;
+
+    RepeatingInputStream(byte[] source, long length) {
+      this.source = source;
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (remaining == 0) {
+        return -1;
+      }
+      int n = (int) Math.min(Math.min(len, remaining), source.length - position);
+      System.arraycopy(source, position, b, off, n);
+      position = (position + n) % source.length;
+      remaining -= n;
+      return n;
+    }
+  }
+
+  /**
+   * Discards the output and counts the bytes written.
+   */
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwe;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Random;
+import javax.crypto.SecretKey;
+import org.ietf.jose.jwa.JweEncryptionAlgorithmType;
+import org.ietf.jose.jwa.JweKeyAlgorithmType;
+import org.ietf.jose.jwe.encryption.EncryptionResult;
+import org.ietf.jose.jwe.encryption.EncryptionStream;
+import org.ietf.jose.jwe.encryption.Encrypter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JweStreamEncrypterTest {
+
+  private static final JweEncryptionAlgorithmType[] ALGORITHMS = {
+    JweEncryptionAlgorithmType.A128CBC_HS256,
+    JweEncryptionAlgorithmType.A256CBC_HS512,
+    JweEncryptionAlgorithmType.A128GCM,
+    JweEncryptionAlgorithmType.A256GCM
+  };
+
+  static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * The streamed ciphertext and tag are identical to those of encrypt, for
+   * any write pattern and for plaintexts shorter than one block.
+   */
+  @Test
+  public void testStreamMatchesEncrypt() throws Exception {
+    byte[] aad = "eyJhbGciOiJBMTI4S1cifQ".getBytes(StandardCharsets.US_ASCII);
+    for (JweEncryptionAlgorithmType algorithm : ALGORITHMS) {
+      Encrypter encrypter = algorithm.getEncrypter();
+      Key key = encrypter.generateKey();
+      for (int length : new int[]{5, 16, 1000, 100_003}) {
+        byte[] plaintext = randomBytes(length);
+        EncryptionResult expected = encrypter.encrypt(plaintext, null, aad, key);
+
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        EncryptionStream stream = encrypter.openEncryptionStream(ciphertext, expected.getIv(), aad, key);
+        int offset = 0;
+        for (int chunk = 1; offset < length; chunk = chunk * 3 + 1) {
+          int len = Math.min(chunk, length - offset);
+          stream.write(plaintext, offset, len);
+          offset += len;
+        }
+        stream.close();
+        assertArrayEquals(algorithm + " " + length, expected.getCiphertext(), ciphertext.toByteArray());
+        assertArrayEquals(algorithm + " " + length, expected.getAuthTag(), stream.getAuthTag());
+      }
+    }
+  }
+
+  @Test
+  public void testCompactRoundTrip() throws Exception {
+    SecretKey key = SecretKeyBuilder.fromSharedSecret("a shared secret");
+    byte[] plaintext = randomBytes(300_001);
+    for (JweEncryptionAlgorithmType algorithm : ALGORITHMS) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JweStreamEncrypter.getInstance(algorithm, JweKeyAlgorithmType.A128KW, key, "stream")
+        .encryptCompact(new ByteArrayInputStream(plaintext), out);
+      JsonWebEncryption jwe = JsonWebEncryption.fromCompactForm(new String(out.toByteArray(), StandardCharsets.US_ASCII));
+      assertEquals("stream", jwe.getProtectedHeader().getKid());
+      assertEquals(algorithm, jwe.getProtectedHeader().getEnc());
+      assertArrayEquals(algorithm.toString(), plaintext, JweDecryptor.createFor(jwe).decrypt(key).getAsBytes());
+    }
+  }
+
+  @Test
+  public void testJsonRoundTrip() throws Exception {
+    SecretKey key = SecretKeyBuilder.fromSharedSecret("a shared secret");
+    byte[] plaintext = randomBytes(70_000);
+    for (JweEncryptionAlgorithmType algorithm : ALGORITHMS) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JweBuilder.getInstance()
+        .withEncryptionAlgorithm(algorithm)
+        .withKey(key, "stream")
+        .buildStreamEncrypter()
+        .encryptJson(new ByteArrayInputStream(plaintext), out);
+      JsonWebEncryption jwe = JsonWebEncryption.fromJson(out.toByteArray());
+      assertArrayEquals(algorithm.toString(), plaintext, JweDecryptor.createFor(jwe).decrypt(key).getAsBytes());
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwk;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwkSetBenchmark {
+
+  /**
+   * A linear scan by kid against the indexed lookup.
+   */
+  @Test
+  public void benchmarkKidLookup() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    RSAPublicKey publicKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+    JwkSet jwkSet = new JwkSet();
+    int size = 500;
+    for (int i = 0; i < size; i++) {
+      jwkSet.addKey(RsaPublicJwk.getInstance(publicKey, "tenant-" + i + "-signing-key"));
+    }
+    int iterations = 100000;
+    int found = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      String kid = "tenant-" + (i % size) + "-signing-key";
+      for (AbstractJwk key : jwkSet.getKeys()) {
+        if (kid.equals(key.getKid())) {
+          found++;
+          break;
+        }
+      }
+    }
+    long scanNanos = (System.nanoTime() - start) / iterations;
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      if (jwkSet.findKey("tenant-" + (i % size) + "-signing-key") != null) {
+        found++;
+      }
+    }
+    long indexNanos = (System.nanoTime() - start) / iterations;
+    assertEquals(2 * iterations, found);
+    System.out.println("Linear scan of " + size + " keys  " + scanNanos + " ns");
+    System.out.println("Indexed lookup                " + indexNanos + " ns");
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwk;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.ietf.TestFileReader;
+import org.ietf.jose.jwk.key.AbstractJwk;
+import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.ietf.jose.util.JsonbUtility;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwkSetSourceTest {
+
+  private static String rfcKeys;
+  private static String rotatedKeys;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    rfcKeys = TestFileReader.getTestCase("/rfc7517/appendix-a/public-keys.json");
+    JwkSet rotated = new JsonbUtility().unmarshal(rfcKeys, JwkSet.class);
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    rotated.addKey(RsaPublicJwk.getInstance((RSAPublicKey) generator.generateKeyPair().getPublic(), "rotated"));
+    rotatedKeys = new JsonbUtility().marshal(rotated);
+  }
+
+  @Test
+  public void testIncrementalReload() {
+    JwkSetLoader.MemoryLoader loader = JwkSetLoader.memory(rfcKeys);
+    JwkSetSource source = new JwkSetSource(loader);
+    assertTrue(source.getJwkSet().getKeys().isEmpty());
+    assertEquals(0, source.getVersion());
+
+    assertTrue(source.refresh());
+    assertEquals(1, source.getVersion());
+    JwkSet first = source.getJwkSet();
+    AbstractJwk rsa = first.findKey("2011-04-29");
+    assertNotNull(rsa);
+    assertFalse("Unchanged document", source.refresh());
+
+    loader.update(rfcKeys);
+    assertFalse("Same document", source.refresh());
+    loader.update(rfcKeys + "\n");
+    assertFalse("Same keys", source.refresh());
+    assertSame(first, source.getJwkSet());
+    assertEquals(1, source.getVersion());
+
+    loader.update(rotatedKeys);
+    assertTrue(source.refresh());
+    assertEquals(2, source.getVersion());
+    assertSame("Unchanged keys are carried over", rsa, source.getJwkSet().findKey("2011-04-29"));
+    assertNotNull(source.getJwkSet().findKey("rotated"));
+
+    loader.update(rotatedKeys.replace("2011-04-29", "2026-10-16"));
+    assertTrue(source.refresh());
+    assertNull(source.getJwkSet().findKey("2011-04-29"));
+    assertEquals(rsa.getThumbprint(), source.getJwkSet().findKey("2026-10-16").getThumbprint());
+
+    loader.update("{\"keys\": [ not json");
+    assertFalse(source.refresh());
+    assertNotNull(source.getLastError());
+    System.out.println("Expected error " + source.getLastError());
+    assertEquals("The previous snapshot is kept", 3, source.getVersion());
+    assertEquals(3, source.getJwkSet().getKeys().size());
+
+    loader.update(rfcKeys);
+    assertTrue(source.refresh());
+    assertNull(source.getLastError());
+    assertEquals(2, source.getJwkSet().getKeys().size());
+  }
+
+  /**
+   * A removed key is dropped even if a remaining key is repeated in its place
+   * and the key count is unchanged.
+   */
+  @Test
+  public void testRemovedKeyReplacedByRepeat() {
+    JwkSet repeated = new JsonbUtility().unmarshal(rfcKeys, JwkSet.class);
+    AbstractJwk ec = repeated.findKey("1");
+    repeated.setKeys(new ArrayList<>(Arrays.asList(ec, ec)));
+    JwkSetLoader.MemoryLoader loader = JwkSetLoader.memory(rfcKeys);
+    JwkSetSource source = new JwkSetSource(loader);
+    assertTrue(source.refresh());
+    assertNotNull(source.getJwkSet().findKey("2011-04-29"));
+
+    loader.update(new JsonbUtility().marshal(repeated));
+    assertTrue(source.refresh());
+    assertEquals(2, source.getVersion());
+    assertNull("The removed key is no longer trusted", source.getJwkSet().findKey("2011-04-29"));
+    assertNotNull(source.getJwkSet().findKey("1"));
+  }
+
+  @Test
+  public void testWatchFile() throws Exception {
+    Path file = Files.createTempFile("jwks", ".json");
+    try {
+      Files.write(file, rfcKeys.getBytes(StandardCharsets.UTF_8));
+      try (JwkSetSource source = JwkSetSource.watch(file, Duration.ofMillis(20))) {
+        assertEquals(1, source.getVersion());
+        assertNull(source.getJwkSet().findKey("rotated"));
+        /**
+         * A rewrite that keeps the modification time is still picked up.
+         */
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.write(file, rotatedKeys.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (source.getVersion() < 2 && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10);
+        }
+        assertEquals(2, source.getVersion());
+        assertNotNull(source.getJwkSet().findKey("rotated"));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testClasspathLoader() {
+    JwkSetSource source = new JwkSetSource(JwkSetLoader.classpath("/rfc7517/appendix-a/public-keys.json"));
+    assertTrue(source.refresh());
+    assertEquals(2, source.getJwkSet().getKeys().size());
+    JwkSetSource missing = new JwkSetSource(JwkSetLoader.classpath("/missing-jwks.json"));
+    assertFalse(missing.refresh());
+    assertNotNull(missing.getLastError());
+  }
+
+}
@@ -18,13 +18,20 @@
  */
 package org.ietf.jose.jwk;
 
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
 import org.ietf.TestFileReader;
 import org.ietf.jose.jwk.key.AbstractJwk;
 import org.ietf.jose.jwk.key.EllipticCurvePublicJwk;
 import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.ietf.jose.jws.JwsHeader;
 import org.ietf.jose.util.JsonbUtility;
 import org.junit.*;
 
+import static org.junit.Assert.*;
+
 /**
  *
  * @author Key Bridge
@@ -145,4 +152,55 @@ public class JwkSetTest {
 //    JwkSet reconverted = new JsonbUtility().unmarshal(new JsonbUtility().marshal(jwkSet), JwkSet.class);
 //    Assert.assertEquals(jwkSet, reconverted);
   }
+
+  @Test
+  public void testIndexedLookup() {
+    JwkSet jwkSet = jsonb.unmarshal(TestFileReader.getTestCase("/rfc7517/appendix-a/public-keys.json"), JwkSet.class);
+    assertTrue(jwkSet.findKey("1") instanceof EllipticCurvePublicJwk);
+    assertTrue(jwkSet.findKey("2011-04-29") instanceof RsaPublicJwk);
+    assertNull(jwkSet.findKey("missing"));
+    assertEquals(1, jwkSet.findByUse(PublicKeyUseType.enc).size());
+    assertEquals(1, jwkSet.findByAlg("RS256").size());
+    assertTrue(jwkSet.findByX5t("none").isEmpty());
+
+    JwsHeader header = new JwsHeader();
+    header.setAlg("RS256");
+    header.setKid("2011-04-29");
+    assertSame(jwkSet.findKey("2011-04-29"), jwkSet.findVerificationKey(header));
+    header.setKid(null);
+    assertSame("Select by algorithm when there is no kid",
+               jwkSet.findKey("2011-04-29"), jwkSet.findVerificationKey(header));
+    header.setAlg("RS384");
+    assertNull("Key alg must match", jwkSet.findVerificationKey(header));
+    header.setAlg("ES256");
+    header.setKid("1");
+    assertNull("An encryption key is not a verification key", jwkSet.findVerificationKey(header));
+  }
+
+  @Test
+  public void testIndexTracksModification() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    RsaPublicJwk first = RsaPublicJwk.getInstance((RSAPublicKey) generator.generateKeyPair().getPublic(), "first");
+    RsaPublicJwk second = RsaPublicJwk.getInstance((RSAPublicKey) generator.generateKeyPair().getPublic(), "second");
+
+    JwkSet jwkSet = new JwkSet();
+    assertNull(jwkSet.findKey("first"));
+    jwkSet.addKey(first);
+    assertSame(first, jwkSet.findKey("first"));
+    jwkSet.getKeys().add(second);
+    assertSame(second, jwkSet.findKey("second"));
+    jwkSet.getKeys().remove(first);
+    assertNull(jwkSet.findKey("first"));
+    List<AbstractJwk> keys = new ArrayList<>();
+    keys.add(first);
+    jwkSet.setKeys(keys);
+    assertSame(first, jwkSet.findKey("first"));
+    assertNull(jwkSet.findKey("second"));
+    keys.add(second);
+    assertNull("setKeys copies the list", jwkSet.findKey("second"));
+    JwkSet recovered = jsonb.unmarshal(jsonb.marshal(jwkSet), JwkSet.class);
+    assertEquals(1, recovered.getKeys().size());
+    assertEquals("first", recovered.findKey("first").getKid());
+  }
 }
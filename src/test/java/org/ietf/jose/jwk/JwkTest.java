@@ -150,4 +150,21 @@ public class JwkTest {
     JwkSet reconverted = new JsonbUtility().unmarshal(new JsonbUtility().marshal(deserialized), JwkSet.class);
     assertEquals(deserialized, reconverted);
   }
+
+  /**
+   * RFC 7638 section 3.1 example: the thumbprint of the RFC 7517 appendix A
+   * RSA public key.
+   */
+  @Test
+  public void thumbprintTest() throws IOException {
+    JwkSet jwkSet = new JsonbUtility().unmarshal(TestFileReader.getTestCase("/rfc7517/appendix-a/public-keys.json"), JwkSet.class);
+    assertEquals("NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs", jwkSet.findKey("2011-04-29").getThumbprint());
+
+    AbstractJwk publicKey = new JsonbUtility().unmarshal(TestFileReader.getTestCase("/rfc7520/section3-jwk-examples/ec-public-key.json"), EllipticCurvePublicJwk.class);
+    AbstractJwk privateKey = new JsonbUtility().unmarshal(TestFileReader.getTestCase("/rfc7520/section3-jwk-examples/ec-private-key.json"), EllipticCurvePrivateJwk.class);
+    assertEquals("dHri3SADZkrush5HU_50AoRhcKFryN-PI6jPBtPL55M", publicKey.getThumbprint());
+    assertEquals(publicKey.getThumbprint(), privateKey.getThumbprint());
+    publicKey.setKid("another");
+    assertEquals(privateKey.getThumbprint(), publicKey.getThumbprint());
+  }
 }
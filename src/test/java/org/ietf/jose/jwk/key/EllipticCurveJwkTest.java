@@ -19,13 +19,16 @@
 package org.ietf.jose.jwk.key;
 
 import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
 import org.ietf.TestFileReader;
 import org.ietf.jose.jwk.PublicKeyUseType;
 import org.ietf.jose.util.Base64Utility;
 import org.ietf.jose.util.JsonbUtility;
 import org.junit.*;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  *
@@ -88,4 +91,41 @@ public class EllipticCurveJwkTest {
     EllipticCurvePrivateJwk keyReconverted = new JsonbUtility().unmarshal(new JsonbUtility().marshal(ecKey), EllipticCurvePrivateJwk.class);
     assertEquals(ecKey, keyReconverted);
   }
+
+  @Test
+  public void ecKeyMaterializationTest() throws Exception {
+    String json = TestFileReader.getTestCase("/rfc7520/section3-jwk-examples/ec-private-key.json");
+    EllipticCurvePrivateJwk ecKey = jsonb.unmarshal(json, EllipticCurvePrivateJwk.class);
+    KeyPair keyPair = ecKey.getKeyPair();
+    assertSame(keyPair.getPublic(), ecKey.getPublicKey());
+    assertSame(keyPair.getPrivate(), ecKey.getPrivateKey());
+    assertEquals(ecKey.getX(), ((ECPublicKey) keyPair.getPublic()).getW().getAffineX());
+
+    Signature signer = Signature.getInstance("SHA512withECDSA");
+    signer.initSign(ecKey.getPrivateKey());
+    signer.update(new byte[]{1, 2, 3});
+    byte[] signature = signer.sign();
+    Signature verifier = Signature.getInstance("SHA512withECDSA");
+    verifier.initVerify(ecKey.getPublicKey());
+    verifier.update(new byte[]{1, 2, 3});
+    assertTrue(verifier.verify(signature));
+    /**
+     * Cached keys are not serialized and are cleared when a parameter changes.
+     */
+    assertFalse(jsonb.marshal(ecKey).contains("cached"));
+    PublicKey cached = ecKey.getPublicKey();
+    ecKey.setX(ecKey.getX());
+    assertNotSame(cached, ecKey.getPublicKey());
+  }
+
+  @Test
+  public void ecKeyFromKeyPairTest() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = generator.generateKeyPair();
+    EllipticCurvePrivateJwk ecKey = EllipticCurvePrivateJwk.getInstance(keyPair, "p256");
+    assertEquals(EllipticCurveType.P_256, ecKey.getCrv());
+    assertArrayEquals(keyPair.getPublic().getEncoded(), ecKey.getPublicKey().getEncoded());
+    assertArrayEquals(keyPair.getPrivate().getEncoded(), ecKey.getPrivateKey().getEncoded());
+  }
 }
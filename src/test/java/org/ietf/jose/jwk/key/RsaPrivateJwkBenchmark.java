@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwk.key;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.Signature;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RsaPrivateJwkBenchmark {
+
+  private static final int ITERATIONS = 200;
+
+  /**
+   * RS256 signing with and without the CRT parameters.
+   */
+  @Test
+  public void benchmarkCrtSigning() throws Exception {
+    KeyPair keyPair = RsaPrivateJwkTest.generateKeyPair();
+    RsaPrivateJwk crt = RsaPrivateJwk.getInstance(keyPair, "crt");
+    RsaPrivateJwk plain = RsaPrivateJwk.getInstance(keyPair, "plain");
+    plain.setP(null);
+    plain.setQ(null);
+    plain.setDp(null);
+    plain.setDq(null);
+    plain.setQi(null);
+    byte[] payload = new byte[256];
+    PrivateKey crtKey = crt.getPrivateKey();
+    PrivateKey plainKey = plain.getPrivateKey();
+    sign(crtKey, payload, ITERATIONS / 4);
+    sign(plainKey, payload, ITERATIONS / 4);
+
+    long start = System.nanoTime();
+    sign(plainKey, payload, ITERATIONS);
+    long plainMicros = (System.nanoTime() - start) / ITERATIONS / 1000;
+    start = System.nanoTime();
+    sign(crtKey, payload, ITERATIONS);
+    long crtMicros = (System.nanoTime() - start) / ITERATIONS / 1000;
+    System.out.println("RS256 sign without CRT  " + plainMicros + " us");
+    System.out.println("RS256 sign with CRT     " + crtMicros + " us");
+  }
+
+  private static void sign(PrivateKey key, byte[] payload, int iterations) throws Exception {
+    Signature signer = Signature.getInstance("SHA256withRSA");
+    for (int i = 0; i < iterations; i++) {
+      signer.initSign(key);
+      signer.update(payload);
+      signer.sign();
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwk.key;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.InvalidKeySpecException;
+import org.ietf.TestFileReader;
+import org.ietf.jose.util.JsonbUtility;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RsaPrivateJwkTest {
+
+  private static JsonbUtility jsonb;
+
+  @BeforeClass
+  public static void setUpClass() {
+    jsonb = new JsonbUtility();
+  }
+
+  @Test
+  public void testCrtKeyFromRfcExample() throws Exception {
+    String json = TestFileReader.getTestCase("/rfc7520/section3-jwk-examples/rsa-private-key.json");
+    RsaPrivateJwk jwk = jsonb.unmarshal(json, RsaPrivateJwk.class);
+    assertTrue(jwk.hasCrtParameters());
+    PrivateKey privateKey = jwk.getPrivateKey();
+    assertTrue(privateKey instanceof RSAPrivateCrtKey);
+    assertTrue(jwk.getKeyPair().getPrivate() instanceof RSAPrivateCrtKey);
+
+    Signature signer = Signature.getInstance("SHA256withRSA");
+    signer.initSign(privateKey);
+    signer.update(new byte[]{1, 2, 3});
+    byte[] signature = signer.sign();
+    Signature verifier = Signature.getInstance("SHA256withRSA");
+    verifier.initVerify(jwk.getPublicKey());
+    verifier.update(new byte[]{1, 2, 3});
+    assertTrue(verifier.verify(signature));
+  }
+
+  @Test
+  public void testNonCrtKey() throws Exception {
+    RsaPrivateJwk jwk = RsaPrivateJwk.getInstance(generateKeyPair(), "non-crt");
+    jwk.setP(null);
+    jwk.setQ(null);
+    jwk.setDp(null);
+    jwk.setDq(null);
+    jwk.setQi(null);
+    assertFalse(jwk.hasCrtParameters());
+    assertFalse(jwk.getPrivateKey() instanceof RSAPrivateCrtKey);
+  }
+
+  @Test(expected = InvalidKeySpecException.class)
+  public void testIncompleteCrtParameters() throws Exception {
+    RsaPrivateJwk jwk = RsaPrivateJwk.getInstance(generateKeyPair(), "incomplete");
+    jwk.setQi(null);
+    jwk.getPrivateKey();
+  }
+
+  @Test(expected = InvalidKeySpecException.class)
+  public void testInconsistentCrtParameters() throws Exception {
+    RsaPrivateJwk jwk = RsaPrivateJwk.getInstance(generateKeyPair(), "inconsistent");
+    jwk.setDp(jwk.getDp().add(BigInteger.ONE));
+    jwk.getPrivateKey();
+  }
+
+  @Test
+  public void testCachedKeys() throws Exception {
+    RsaPrivateJwk jwk = RsaPrivateJwk.getInstance(generateKeyPair(), "memoized");
+    PrivateKey privateKey = jwk.getPrivateKey();
+    PublicKey publicKey = jwk.getPublicKey();
+    assertSame(privateKey, jwk.getPrivateKey());
+    assertSame(publicKey, jwk.getPublicKey());
+    assertFalse(jsonb.marshal(jwk).contains("cached"));
+    /**
+     * Changing a parameter clears the cached keys.
+     */
+    jwk.setModulus(jwk.getModulus());
+    assertNotSame(privateKey, jwk.getPrivateKey());
+    assertNotSame(publicKey, jwk.getPublicKey());
+    privateKey = jwk.getPrivateKey();
+    jwk.setQi(jwk.getQi());
+    assertNotSame(privateKey, jwk.getPrivateKey());
+  }
+
+  static KeyPair generateKeyPair() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+
+}
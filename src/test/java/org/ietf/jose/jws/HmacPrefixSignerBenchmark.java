@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class HmacPrefixSignerBenchmark {
+
+  private static final int ITERATIONS = 20000;
+
+  /**
+   * Short payload signing with a full Signature against the prefix signer.
+   */
+  @Test
+  public void benchmarkPrefixSigning() throws Exception {
+    SecretKey key = new SecretKeySpec(new byte[32], "HmacSHA256");
+    JwsHeader header = HmacPrefixSignerTest.newHeader(JwsAlgorithmType.HS256);
+    HmacPrefixSigner signer = HmacPrefixSigner.getInstance(key, header);
+    byte[] payload = "{\"sub\":\"1234567890\",\"iat\":1516239022}".getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < ITERATIONS; i++) {
+      new JsonWebSignature(payload, Collections.singletonList(Signature.getInstance(payload, key, header))).toCompactForm();
+      signer.sign(payload);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      new JsonWebSignature(payload, Collections.singletonList(Signature.getInstance(payload, key, header))).toCompactForm();
+    }
+    long fullNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      signer.sign(payload);
+    }
+    long prefixNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("Signature + toCompactForm  " + fullNanos + " ns");
+    System.out.println("HmacPrefixSigner           " + prefixNanos + " ns");
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.util.CompactTokenizer;
+import org.ietf.jose.util.CryptographyUtility;
+import org.ietf.jose.util.SecureRandomUtility;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class HmacPrefixSignerTest {
+
+  @Test
+  public void testMatchesSignature() throws Exception {
+    for (JwsAlgorithmType algorithm : new JwsAlgorithmType[]{JwsAlgorithmType.HS256, JwsAlgorithmType.HS384, JwsAlgorithmType.HS512}) {
+      SecretKey key = new SecretKeySpec(SecureRandomUtility.generateBytes(64), algorithm.getJavaAlgorithmName());
+      JwsHeader header = newHeader(algorithm);
+      HmacPrefixSigner signer = HmacPrefixSigner.getInstance(key, header);
+      for (int length = 0; length < 40; length++) {
+        byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++) {
+          payload[i] = (byte) (i * 31);
+        }
+        String compact = signer.sign(payload);
+        Signature expected = Signature.getInstance(payload, key, header);
+        JsonWebSignature jws = JsonWebSignature.fromCompactForm(compact);
+        assertArrayEquals(payload, jws.getPayload());
+        assertArrayEquals(expected.getSignatureBytes(), jws.getSignature().getSignatureBytes());
+        CompactTokenizer tokens = CompactTokenizer.of(compact);
+        assertTrue(CryptographyUtility.validate(tokens.decode(2), tokens.getSigningInput(), key,
+                                                algorithm.getJavaAlgorithmName()));
+      }
+      System.out.println(algorithm + " " + signer.sign("{\"sub\":\"prefix\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  @Test(expected = GeneralSecurityException.class)
+  public void testRejectsNonHmacAlgorithm() throws Exception {
+    HmacPrefixSigner.getInstance(new SecretKeySpec(new byte[32], "HmacSHA256"), newHeader(JwsAlgorithmType.RS256));
+  }
+
+  static JwsHeader newHeader(JwsAlgorithmType algorithm) {
+    JwsHeader header = new JwsHeader();
+    header.setAlg(algorithm.getJoseAlgorithmName());
+    header.setKid("prefix-key");
+    header.setTyp("JWT");
+    return header;
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.security.Key;
+import java.util.Map;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jws.JwsBuilderTest.PARTIES;
+import static org.ietf.jose.jws.JwsBuilderTest.keyPairs;
+import static org.ietf.jose.jws.JwsBuilderTest.payload;
+import static org.ietf.jose.jws.JwsBuilderTest.privateKeys;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwsBuilderBenchmark {
+
+  private static final int ITERATIONS = 20;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    JwsBuilderTest.createKeys();
+  }
+
+  /**
+   * Signing a large payload with several keys one at a time against signAll.
+   */
+  @Test
+  public void benchmarkSignAll() throws Exception {
+    Map<String, Key> keys = privateKeys();
+    for (int i = 0; i < ITERATIONS / 4; i++) {
+      signSequential();
+      JwsBuilder.getInstance().withBinaryPayload(payload).signAll(keys, JwsAlgorithmType.RS256);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      signSequential();
+    }
+    long sequentialNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      JwsBuilder.getInstance().withBinaryPayload(payload).signAll(keys, JwsAlgorithmType.RS256);
+    }
+    long signAllNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("Sign " + PARTIES + " keys, " + payload.length / 1024 + " KB payload");
+    System.out.println("  getInstance per key " + sequentialNanos / 1000 + " us");
+    System.out.println("  signAll             " + signAllNanos / 1000 + " us");
+  }
+
+  /**
+   * The previous behaviour: encode the payload again for every signature.
+   */
+  private static void signSequential() throws Exception {
+    for (int i = 0; i < PARTIES; i++) {
+      JwsHeader header = new JwsHeader();
+      header.setKid("party-" + i);
+      header.setAlg(JwsAlgorithmType.RS256.getJoseAlgorithmName());
+      Signature.getInstance(payload, keyPairs[i].getPrivate(), header, null);
+    }
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwsBuilderTest {
+
+  static final int PARTIES = 8;
+
+  static KeyPair[] keyPairs;
+  static byte[] payload;
+
+  @BeforeClass
+  public static void createKeys() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    keyPairs = new KeyPair[PARTIES];
+    for (int i = 0; i < PARTIES; i++) {
+      keyPairs[i] = generator.generateKeyPair();
+    }
+    payload = new byte[256 * 1024];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) i;
+    }
+  }
+
+  static Map<String, Key> privateKeys() {
+    Map<String, Key> keys = new LinkedHashMap<>();
+    for (int i = 0; i < PARTIES; i++) {
+      keys.put("party-" + i, keyPairs[i].getPrivate());
+    }
+    return keys;
+  }
+
+  @Test
+  public void testSignAll() throws Exception {
+    String json = JwsBuilder.getInstance()
+      .withBinaryPayload(payload)
+      .signAll(privateKeys(), JwsAlgorithmType.RS256)
+      .buildJson();
+    JsonWebSignature jws = JsonWebSignature.fromJson(json);
+    assertArrayEquals(payload, jws.getPayload());
+    assertEquals(PARTIES, jws.getSignatures().size());
+    for (int i = 0; i < PARTIES; i++) {
+      Signature signature = jws.getSignatures().get(i);
+      assertEquals("party-" + i, signature.getProtectedHeader().getKid());
+      assertTrue(SignatureValidator.isValid(jws, "party-" + i, keyPairs[i].getPublic()));
+    }
+    /**
+     * Signatures from signAll are identical to those computed one at a time.
+     */
+    JwsBuilder.Signable sequential = JwsBuilder.getInstance().withBinaryPayload(payload);
+    for (int i = 0; i < PARTIES; i++) {
+      sequential.sign(keyPairs[i].getPrivate(), JwsAlgorithmType.RS256, "party-" + i);
+    }
+    assertEquals(json, sequential.buildJson());
+  }
+
+  @Test(expected = GeneralSecurityException.class)
+  public void testSignAllFailure() throws Exception {
+    Map<String, Key> keys = privateKeys();
+    keys.put("wrong", KeyPairGenerator.getInstance("EC").generateKeyPair().getPrivate());
+    JwsBuilder.getInstance().withBinaryPayload(payload).signAll(keys, JwsAlgorithmType.RS256);
+  }
+
+  /**
+   * A failing key that is signed on a worker thread surfaces as the checked
+   * exception.
+   */
+  @Test
+  public void testSignAllFailureOnWorker() throws Exception {
+    Key wrong = KeyPairGenerator.getInstance("EC").generateKeyPair().getPrivate();
+    int failures = 0;
+    for (int index = 1; index < PARTIES; index++) {
+      Map<String, Key> keys = new LinkedHashMap<>();
+      for (int i = 0; i < PARTIES; i++) {
+        keys.put("party-" + i, i == index ? wrong : keyPairs[i].getPrivate());
+      }
+      for (int run = 0; run < 5; run++) {
+        try {
+          JwsBuilder.getInstance().withBinaryPayload(payload).signAll(keys, JwsAlgorithmType.RS256);
+          fail("Expected a GeneralSecurityException");
+        } catch (GeneralSecurityException ex) {
+          failures++;
+        }
+      }
+    }
+    assertEquals(5 * (PARTIES - 1), failures);
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.security.Key;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jws.SignatureValidatorTest.PARTIES;
+import static org.ietf.jose.jws.SignatureValidatorTest.approval;
+import static org.ietf.jose.jws.SignatureValidatorTest.keyPairs;
+import static org.ietf.jose.jws.SignatureValidatorTest.publicKeys;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SignatureValidatorBenchmark {
+
+  private static final int ITERATIONS = 500;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    SignatureValidatorTest.createApproval();
+  }
+
+  /**
+   * Trying one key against every signature with the kid directed lookup, and
+   * a sequential check of every signature with the parallel all must verify
+   * mode.
+   */
+  @Test
+  public void benchmarkMultipleSignatures() {
+    Key last = keyPairs[PARTIES - 1].getPublic();
+    KeyResolver resolver = KeyResolver.of(publicKeys());
+    for (int i = 0; i < ITERATIONS / 5; i++) {
+      SignatureValidator.isValid(approval, last);
+      SignatureValidator.isValid(approval, "party-" + (PARTIES - 1), last);
+      SignatureValidator.isValidAll(approval, resolver);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      SignatureValidator.isValid(approval, last);
+    }
+    long anyNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      SignatureValidator.isValid(approval, "party-" + (PARTIES - 1), last);
+    }
+    long kidNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      for (Signature signature : approval.getSignatures()) {
+        SignatureValidator.isValid(signature, resolver.resolve(signature));
+      }
+    }
+    long sequentialNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      SignatureValidator.isValidAll(approval, resolver);
+    }
+    long parallelNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("RS256 x" + PARTIES + " try every signature  " + anyNanos + " ns");
+    System.out.println("RS256 x" + PARTIES + " kid directed         " + kidNanos + " ns");
+    System.out.println("RS256 x" + PARTIES + " all, sequential      " + sequentialNanos + " ns");
+    System.out.println("RS256 x" + PARTIES + " all, parallel        " + parallelNanos + " ns");
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jws;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwk.JwkSet;
+import org.ietf.jose.jwk.key.RsaPublicJwk;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SignatureValidatorTest {
+
+  static final int PARTIES = 12;
+
+  static KeyPair[] keyPairs;
+  static JsonWebSignature approval;
+
+  @BeforeClass
+  public static void createApproval() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    keyPairs = new KeyPair[PARTIES];
+    JwsBuilder.Signable signable = JwsBuilder.getInstance().withStringPayload("{\"approved\":true}");
+    for (int i = 0; i < PARTIES; i++) {
+      keyPairs[i] = generator.generateKeyPair();
+      signable.sign(keyPairs[i].getPrivate(), JwsAlgorithmType.RS256, "party-" + i);
+    }
+    approval = JsonWebSignature.fromJson(signable.buildJson());
+  }
+
+  static Map<String, Key> publicKeys() {
+    Map<String, Key> keys = new HashMap<>();
+    for (int i = 0; i < PARTIES; i++) {
+      keys.put("party-" + i, keyPairs[i].getPublic());
+    }
+    return keys;
+  }
+
+  @Test
+  public void testKeyIdDirected() {
+    assertEquals(PARTIES, approval.getSignatures().size());
+    assertTrue(SignatureValidator.isValid(approval, "party-3", keyPairs[3].getPublic()));
+    assertFalse(SignatureValidator.isValid(approval, "party-3", keyPairs[4].getPublic()));
+    assertFalse(SignatureValidator.isValid(approval, "unknown", keyPairs[3].getPublic()));
+    assertTrue(SignatureValidator.isValid(approval, null, keyPairs[3].getPublic()));
+    assertTrue(SignatureValidator.isValid(approval, keyPairs[3].getPublic()));
+  }
+
+  @Test
+  public void testAllMustVerify() {
+    Map<String, Key> keys = publicKeys();
+    assertTrue(SignatureValidator.isValidAll(approval, KeyResolver.of(keys)));
+    assertTrue(SignatureValidator.isValid(approval, KeyResolver.of(keys)));
+    /**
+     * A missing or wrong key for any one party fails the approval.
+     */
+    keys.remove("party-7");
+    assertFalse(SignatureValidator.isValidAll(approval, KeyResolver.of(keys)));
+    keys.put("party-7", keyPairs[8].getPublic());
+    assertFalse(SignatureValidator.isValidAll(approval, KeyResolver.of(keys)));
+    assertTrue(SignatureValidator.isValid(approval, KeyResolver.of(keys)));
+  }
+
+  @Test
+  public void testJwkSetResolver() {
+    JwkSet jwkSet = new JwkSet();
+    for (int i = 0; i < PARTIES; i++) {
+      jwkSet.addKey(RsaPublicJwk.getInstance((RSAPublicKey) keyPairs[i].getPublic(), "party-" + i));
+    }
+    assertTrue(SignatureValidator.isValidAll(approval, KeyResolver.of(jwkSet)));
+    jwkSet.setKeys(jwkSet.getKeys().subList(1, PARTIES));
+    assertFalse(SignatureValidator.isValidAll(approval, KeyResolver.of(jwkSet)));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testSignaturesUnmodifiable() {
+    approval.getSignatures().clear();
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.Duration;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwtClaimsBenchmark {
+
+  /**
+   * The direct claims writer against the generic JsonB map writer.
+   */
+  @Test
+  public void benchmarkToJson() throws Exception {
+    JwtClaims claims = new JwtClaims()
+      .withIssuer("issuer")
+      .withSubject("subject")
+      .withAudience("audience")
+      .withDuration(Duration.ofHours(1))
+      .withClaim(ClaimType.email, "email@foo.bar");
+    int iterations = 20_000;
+    for (int i = 0; i < iterations; i++) {
+      JwtClaimsTest.toJsonWithJsonb(claims);
+      claims.toJson();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      JwtClaimsTest.toJsonWithJsonb(claims);
+    }
+    long jsonbNanos = (System.nanoTime() - start) / iterations;
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      claims.toJson();
+    }
+    long directNanos = (System.nanoTime() - start) / iterations;
+    System.out.println("  JsonB map writer " + jsonbNanos + " ns");
+    System.out.println("  direct writer    " + directNanos + " ns");
+  }
+
+}
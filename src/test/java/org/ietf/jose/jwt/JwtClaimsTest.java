@@ -1,13 +1,23 @@
 package org.ietf.jose.jwt;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
+import org.ietf.jose.util.JsonbReader;
+import org.ietf.jose.util.JsonbWriter;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Andrius Druzinis-Vitkus
@@ -15,6 +25,11 @@ import static org.junit.Assert.assertEquals;
  */
 public class JwtClaimsTest {
 
+  /**
+   * The generic JsonB writer; the reference claims serializer.
+   */
+  private static final JsonbWriter JSONB_WRITER = new JsonbWriter().withAdapters(new JsonZonedDateTimeEpochAdapter());
+
   @Test
   public void equals() throws IOException, Exception {
     ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS);
@@ -70,4 +85,133 @@ public class JwtClaimsTest {
 
     System.out.println("JwtClaimsTest testCustomClaims   OK ");
   }
+
+  @Test
+  public void testFromJsonStreaming() throws IOException, Exception {
+    String json = "{\"iss\":\"issuer\",\"aud\":\"single\",\"exp\":\"1792188357\",\"nbf\":1792184757.5,"
+      + "\"iat\":null,\"n\":42,\"d\":1.5,\"b\":true,\"o\":{\"x\":[1,\"s\",false,null]},\"z\":null,\"n\":43}";
+    JwtClaims claims = JwtClaims.fromJson(json);
+    System.out.println("  fromJson " + claims.toJson());
+    assertEquals("issuer", claims.getIssuer());
+    assertNull(claims.getSubject());
+    assertNull(claims.getJwtId());
+    assertNull(claims.getIssuedAt());
+    assertEquals(Collections.singleton("single"), claims.getAudience());
+    assertEquals(1792188357L, claims.getExpiresAt().toEpochSecond());
+    assertEquals(1792184757L, claims.getNotBefore().toEpochSecond());
+    /**
+     * Custom claims are decoded to the same types as the JSON-B untyped map.
+     */
+    Map<String, Object> expected = new HashMap<>(new JsonbReader().unmarshal(json, HashMap.class));
+    for (String registered : Arrays.asList("iss", "aud", "exp", "nbf", "iat")) {
+      expected.remove(registered);
+    }
+    assertEquals(expected, claims.getClaims());
+
+    assertTrue(JwtClaims.fromJson("{\"sub\":\"s\"}").getClaims().isEmpty());
+    try {
+      JwtClaims.fromJson("{\"iss\":1}");
+      fail("non-string issuer must be rejected");
+    } catch (IOException expectedException) {
+    }
+    try {
+      JwtClaims.fromJson("[]");
+      fail("non-object claims must be rejected");
+    } catch (IOException expectedException) {
+    }
+    System.out.println("JwtClaimsTest testFromJsonStreaming   OK ");
+  }
+
+  @Test
+  public void testFromJsonNumericDateOutOfRange() {
+    for (String name : Arrays.asList("exp", "nbf", "iat")) {
+      for (String value : Arrays.asList("1e300", "-1e300", "99999999999999999999", "1e17", "\"99999999999999999\"")) {
+        try {
+          JwtClaims.fromJson(("{\"" + name + "\":" + value + "}").getBytes(StandardCharsets.UTF_8));
+          fail(name + " " + value + " must be rejected");
+        } catch (IOException expectedException) {
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testToJsonBytes() {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      large.append("\u00e9\u20ac");
+    }
+    JwtClaims claims = new JwtClaims()
+      .withIssuer("ascii \"quoted\" \n")
+      .withSubject("\u00e9 \u20ac \ud83d\ude00")
+      .withClaim("unpaired", "\ud83d x \ude00")
+      .withClaim("large", large.toString());
+    assertArrayEquals(claims.toJson().getBytes(StandardCharsets.UTF_8), claims.toJsonBytes());
+    claims.withClaim("large", null);
+    assertArrayEquals(claims.toJson().getBytes(StandardCharsets.UTF_8), claims.toJsonBytes());
+  }
+
+  @Test
+  public void testToJsonMatchesJsonb() throws Exception {
+    ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS);
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("k", null);
+    nested.put("j", 1);
+    JwtClaims claims = new JwtClaims()
+      .withIssuer("iss \"quoted\" \\ / \u0001\u001f\n\t\u00e9")
+      .withSubject("subject")
+      .withAudience(Arrays.asList("a", "b"))
+      .withExpirationTime(now.plusHours(1))
+      .withClaim("str", "value")
+      .withClaim("nul", null)
+      .withClaim("bool", true)
+      .withClaim("int", 42)
+      .withClaim("long", Long.MAX_VALUE)
+      .withClaim("negative", -9007199254740991L)
+      .withClaim("double", 1.5d)
+      .withClaim("decimal", new BigDecimal("1E+3"))
+      .withClaim("bigint", BigInteger.TEN.pow(30))
+      .withClaim("date", now)
+      .withClaim("list", Arrays.asList(1, null, "x"))
+      .withClaim("array", new String[]{"a"})
+      .withClaim("map", nested);
+
+    String expected = toJsonWithJsonb(claims);
+    String actual = claims.toJson();
+    System.out.println("  jsonb  " + expected);
+    System.out.println("  direct " + actual);
+    assertEquals(expected, actual);
+    assertEquals("{}", new JwtClaims().withJwtId(null).withIssuedAt(null).withNotBefore(null).toJson());
+    System.out.println("JwtClaimsTest testToJsonMatchesJsonb   OK ");
+  }
+
+  /**
+   * The generic JsonB serialization of the claims; the reference output.
+   */
+  static String toJsonWithJsonb(JwtClaims claims) {
+    Map<String, Object> jsonObject = new LinkedHashMap<>();
+    if (claims.getIssuer() != null) {
+      jsonObject.put("iss", claims.getIssuer());
+    }
+    if (claims.getSubject() != null) {
+      jsonObject.put("sub", claims.getSubject());
+    }
+    if (!claims.getAudience().isEmpty()) {
+      jsonObject.put("aud", claims.getAudience());
+    }
+    if (claims.getJwtId() != null) {
+      jsonObject.put("jti", claims.getJwtId());
+    }
+    if (claims.getExpiresAt() != null) {
+      jsonObject.put("exp", claims.getExpiresAt().toEpochSecond());
+    }
+    if (claims.getNotBefore() != null) {
+      jsonObject.put("nbf", claims.getNotBefore().toEpochSecond());
+    }
+    if (claims.getIssuedAt() != null) {
+      jsonObject.put("iat", claims.getIssuedAt().toEpochSecond());
+    }
+    jsonObject.putAll(claims.getClaims());
+    return JSONB_WRITER.marshal(jsonObject);
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jwt.JwtSignerTest.SECRET;
+import static org.ietf.jose.jwt.JwtSignerTest.claims;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwtSignerBenchmark {
+
+  private static final int ITERATIONS = 20000;
+
+  private static KeyPair rsaKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPair() throws Exception {
+    rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+  }
+
+  /**
+   * The JwsBuilder chain against a shared signer.
+   */
+  @Test
+  public void benchmarkSign() throws Exception {
+    JwtClaims claims = claims();
+    JwtSigner hmac = JwtSigner.builder().withSharedSecret(SECRET, JwsAlgorithmType.HS256).withKeyId("hmac").build();
+    JwtSigner rsa = JwtSigner.builder().withKey(rsaKeyPair.getPrivate(), JwsAlgorithmType.RS256).withKeyId("rsa").build();
+    for (int i = 0; i < 2000; i++) {
+      JwtUtility.sign(claims, SECRET, "hmac");
+      hmac.sign(claims);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      JwtUtility.sign(claims, SECRET, "hmac");
+    }
+    long builderNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      hmac.sign(claims);
+    }
+    long signerNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("JwsBuilder HS256  " + builderNanos + " ns");
+    System.out.println("JwtSigner HS256   " + signerNanos + " ns");
+
+    int rsaIterations = ITERATIONS / 50;
+    for (int i = 0; i < 100; i++) {
+      JwtUtility.sign(claims, rsaKeyPair.getPrivate(), "rsa");
+      rsa.sign(claims);
+    }
+    start = System.nanoTime();
+    for (int i = 0; i < rsaIterations; i++) {
+      JwtUtility.sign(claims, rsaKeyPair.getPrivate(), "rsa");
+    }
+    builderNanos = (System.nanoTime() - start) / rsaIterations;
+    start = System.nanoTime();
+    for (int i = 0; i < rsaIterations; i++) {
+      rsa.sign(claims);
+    }
+    signerNanos = (System.nanoTime() - start) / rsaIterations;
+    System.out.println("JwsBuilder RS256  " + builderNanos + " ns");
+    System.out.println("JwtSigner RS256   " + signerNanos + " ns");
+  }
+
+  /**
+   * A sequential JwtUtility.sign loop against batch signing with an
+   * increasing number of worker threads, for HS256 and RS256.
+   */
+  @Test
+  public void benchmarkSignAll() throws Exception {
+    JwtSigner hmac = JwtSigner.builder().withSharedSecret(SECRET, JwsAlgorithmType.HS256).withKeyId("hmac").build();
+    JwtSigner rsa = JwtSigner.builder().withKey(rsaKeyPair.getPrivate(), JwsAlgorithmType.RS256).withKeyId("rsa").build();
+    List<JwtClaims> batch = new ArrayList<>();
+    for (int i = 0; i < ITERATIONS; i++) {
+      JwtClaims claims = claims();
+      claims.setSubject("subject-" + i);
+      batch.add(claims);
+    }
+    List<JwtClaims> rsaBatch = batch.subList(0, ITERATIONS / 50);
+
+    long start = System.nanoTime();
+    for (JwtClaims claims : batch) {
+      JwtUtility.sign(claims, SECRET, "hmac");
+    }
+    System.out.println("JwtUtility.sign loop HS256  " + throughput(batch.size(), start) + " tokens/s");
+    start = System.nanoTime();
+    for (JwtClaims claims : rsaBatch) {
+      JwtUtility.sign(claims, rsaKeyPair.getPrivate(), "rsa");
+    }
+    System.out.println("JwtUtility.sign loop RS256  " + throughput(rsaBatch.size(), start) + " tokens/s");
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= processors; threads *= 2) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        hmac.signAll(batch, executor);
+        start = System.nanoTime();
+        hmac.signAll(batch, executor);
+        System.out.println("JwtSigner.signAll HS256 " + threads + " threads  " + throughput(batch.size(), start) + " tokens/s");
+        rsa.signAll(rsaBatch, executor);
+        start = System.nanoTime();
+        rsa.signAll(rsaBatch, executor);
+        System.out.println("JwtSigner.signAll RS256 " + threads + " threads  " + throughput(rsaBatch.size(), start) + " tokens/s");
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static long throughput(int count, long start) {
+    return count * 1_000_000_000L / Math.max(1, System.nanoTime() - start);
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jws.JsonWebSignature;
+import org.ietf.jose.jws.JwsBuilder;
+import org.ietf.jose.jws.JwsHeader;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwtSignerTest {
+
+  static final String SECRET = "correct horse battery staple";
+
+  private static KeyPair rsaKeyPair;
+  private static KeyPair ecKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPairs() throws Exception {
+    rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(256);
+    ecKeyPair = generator.generateKeyPair();
+  }
+
+  static JwtClaims claims() {
+    JwtClaims claims = new JwtClaims();
+    claims.setIssuer("issuer");
+    claims.setSubject("subject");
+    claims.setAudience(Collections.singletonList("audience"));
+    claims.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    return claims;
+  }
+
+  @Test
+  public void testHmacSigner() throws Exception {
+    JwtSigner signer = JwtSigner.builder()
+      .withSharedSecret(SECRET, JwsAlgorithmType.HS256)
+      .withKeyId("hmac")
+      .build();
+    JwtClaims claims = claims();
+    String jwt = signer.sign(claims);
+    System.out.println("HS256 " + jwt);
+    /**
+     * Identical to the JwsBuilder output for the same claims.
+     */
+    assertEquals(JwtUtility.sign(claims, SECRET, "hmac"), jwt);
+    assertEquals(claims, JwtUtility.verifySignature(jwt, SECRET));
+  }
+
+  @Test
+  public void testRsaSigner() throws Exception {
+    JwsHeader typ = new JwsHeader();
+    typ.setTyp("JWT");
+    JwtSigner signer = JwtSigner.builder()
+      .withKey(rsaKeyPair.getPrivate(), JwsAlgorithmType.RS256)
+      .withKeyId("rsa")
+      .withHeader(typ)
+      .build();
+    assertNull("The caller's header must not be modified", typ.getAlg());
+    String jwt = signer.sign(claims());
+    JsonWebSignature jws = JsonWebSignature.fromCompactForm(jwt);
+    assertEquals("JWT", jws.getSignature().getProtectedHeader().getTyp());
+    assertEquals("rsa", jws.getSignature().getProtectedHeader().getKid());
+    assertEquals("subject", JwtUtility.verifySignature(jwt, rsaKeyPair.getPublic()).getSubject());
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey("rsa", rsaKeyPair.getPublic())
+      .build();
+    assertEquals("subject", verifier.verify(jwt).getSubject());
+  }
+
+  @Test
+  public void testEcdsaSigner() throws Exception {
+    JwtSigner signer = JwtSigner.builder()
+      .withKey(ecKeyPair.getPrivate(), JwsAlgorithmType.ES256)
+      .build();
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.ES256)
+      .withKey(ecKeyPair.getPublic())
+      .build();
+    for (int i = 0; i < 50; i++) {
+      assertEquals("subject", verifier.verify(signer.sign(claims())).getSubject());
+    }
+  }
+
+  @Test(expected = InvalidKeyException.class)
+  public void testKeyTypeMismatch() throws Exception {
+    JwtSigner.builder().withKey(rsaKeyPair.getPrivate(), JwsAlgorithmType.ES256).build();
+  }
+
+  @Test
+  public void testSignableDoesNotModifyHeader() throws Exception {
+    JwsHeader shared = new JwsHeader();
+    shared.setTyp("JWT");
+    JwsBuilder.getInstance()
+      .withStringPayload("one")
+      .withProtectedHeader(shared)
+      .sign(rsaKeyPair.getPrivate(), JwsAlgorithmType.RS256, "first")
+      .build();
+    assertNull(shared.getKid());
+    assertNull(shared.getAlg());
+    assertEquals("JWT", shared.getTyp());
+  }
+
+  @Test
+  public void testSignAll() throws Exception {
+    JwtSigner signer = JwtSigner.builder()
+      .withKey(rsaKeyPair.getPrivate(), JwsAlgorithmType.RS256)
+      .withKeyId("rsa")
+      .build();
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey("rsa", rsaKeyPair.getPublic())
+      .build();
+    List<JwtClaims> batch = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      JwtClaims claims = claims();
+      claims.setSubject("subject-" + i);
+      batch.add(claims);
+    }
+    List<String> tokens = signer.signAll(batch);
+    assertEquals(batch.size(), tokens.size());
+    for (int i = 0; i < tokens.size(); i++) {
+      assertEquals("subject-" + i, verifier.verify(tokens.get(i)).getSubject());
+    }
+    List<String> streamed = signer.signAll(batch.parallelStream()).collect(Collectors.toList());
+    for (int i = 0; i < streamed.size(); i++) {
+      assertEquals("subject-" + i, verifier.verify(streamed.get(i)).getSubject());
+    }
+  }
+
+}
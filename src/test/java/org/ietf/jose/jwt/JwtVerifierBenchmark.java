@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.Test;
+
+import static org.ietf.jose.jwt.JwtVerifierTest.SECRET;
+import static org.ietf.jose.jwt.JwtVerifierTest.claims;
+import static org.ietf.jose.jwt.JwtVerifierTest.hmacVerifier;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwtVerifierBenchmark {
+
+  private static final int ITERATIONS = 20000;
+
+  /**
+   * The shared verifier against JwtUtility.verifySignature, which parses the
+   * JWS and derives the key on every call.
+   */
+  @Test
+  public void benchmarkVerify() throws Exception {
+    String jwt = JwtUtility.sign(claims(), SECRET, "hmac");
+    JwtVerifier verifier = hmacVerifier();
+    for (int i = 0; i < 2000; i++) {
+      JwtUtility.verifySignature(jwt, SECRET);
+      verifier.verify(jwt);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      JwtUtility.verifySignature(jwt, SECRET);
+    }
+    long utilityNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      verifier.verify(jwt);
+    }
+    long verifierNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("JwtUtility.verifySignature HS256  " + utilityNanos + " ns");
+    System.out.println("JwtVerifier.verify HS256          " + verifierNanos + " ns");
+  }
+
+  /**
+   * A sequential JwtUtility.verifySignature loop against batch verification
+   * with an increasing number of worker threads.
+   */
+  @Test
+  public void benchmarkVerifyAll() throws Exception {
+    KeyPair rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey(rsaKeyPair.getPublic())
+      .build();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      JwtClaims claims = claims();
+      claims.setSubject("subject-" + i);
+      tokens.add(JwtUtility.sign(claims, rsaKeyPair.getPrivate(), "rsa"));
+    }
+    verifier.verifyAll(tokens);
+    long start = System.nanoTime();
+    for (String jwt : tokens) {
+      JwtUtility.verifySignature(jwt, rsaKeyPair.getPublic());
+    }
+    System.out.println("JwtUtility.verifySignature loop RS256  "
+      + tokens.size() * 1_000_000_000L / (System.nanoTime() - start) + " tokens/s");
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= processors; threads *= 2) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        verifier.verifyAll(tokens.subList(0, 200), executor);
+        start = System.nanoTime();
+        verifier.verifyAll(tokens, executor);
+        System.out.println("JwtVerifier.verifyAll RS256 " + threads + " threads  "
+          + tokens.size() * 1_000_000_000L / (System.nanoTime() - start) + " tokens/s");
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+}
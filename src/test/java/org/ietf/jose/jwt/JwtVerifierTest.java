@@ -0,0 +1,307 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.ietf.jose.jwe.SecretKeyBuilder;
+import org.ietf.jose.jws.JwsBuilder;
+import org.ietf.jose.util.Base64Utility;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JwtVerifierTest {
+
+  static final String SECRET = "correct horse battery staple";
+
+  private static KeyPair rsaKeyPair;
+  private static KeyPair ecKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPairs() throws Exception {
+    rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(256);
+    ecKeyPair = generator.generateKeyPair();
+  }
+
+  static JwtClaims claims() {
+    JwtClaims claims = new JwtClaims();
+    claims.setIssuer("issuer");
+    claims.setSubject("subject");
+    claims.setAudience(Collections.singletonList("audience"));
+    claims.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    return claims;
+  }
+
+  static JwtVerifier hmacVerifier() throws Exception {
+    return JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.HS256)
+      .withSharedSecret("hmac", SECRET)
+      .build();
+  }
+
+  @Test
+  public void testHmacRoundTrip() throws Exception {
+    JwtClaims claims = claims();
+    String jwt = JwtUtility.sign(claims, SECRET, "hmac");
+    JwtClaims verified = hmacVerifier().verify(jwt);
+    System.out.println("HS256 verified " + verified.toJson());
+    assertEquals(claims.getSubject(), verified.getSubject());
+    assertEquals(claims.getExpiresAt().toEpochSecond(), verified.getExpiresAt().toEpochSecond());
+    assertEquals(verified.getSubject(), hmacVerifier().verify(jwt.getBytes(StandardCharsets.US_ASCII)).getSubject());
+  }
+
+  @Test
+  public void testRsaRoundTrip() throws Exception {
+    String jwt = JwtUtility.sign(claims(), rsaKeyPair.getPrivate(), "rsa");
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey("rsa", rsaKeyPair.getPublic())
+      .withIssuer("issuer")
+      .withAudience("audience")
+      .build();
+    assertEquals("subject", verifier.verify(jwt).getSubject());
+  }
+
+  @Test
+  public void testEcdsaRoundTrip() throws Exception {
+    String jwt = JwsBuilder.getInstance()
+      .withClaimsPayload(claims())
+      .sign(ecKeyPair.getPrivate(), JwsAlgorithmType.ES256, "ec")
+      .build();
+    JwtVerifier verifier = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.ES256)
+      .withKey("ec", ecKeyPair.getPublic())
+      .build();
+    assertEquals("subject", verifier.verify(jwt).getSubject());
+    /**
+     * Re-encode the DER signature as the JWS R || S form (RFC 7518 3.4).
+     */
+    String[] segments = jwt.split("\\.");
+    byte[] raw = derToRaw(Base64Utility.fromBase64Url(segments[2]), 32);
+    String rawJwt = segments[0] + "." + segments[1] + "." + Base64Utility.toBase64Url(raw);
+    assertEquals("subject", verifier.verify(rawJwt).getSubject());
+  }
+
+  @Test
+  public void testFailureReasons() throws Exception {
+    JwtVerifier verifier = hmacVerifier();
+    String jwt = JwtUtility.sign(claims(), SECRET, "hmac");
+
+    assertReason(JwtVerificationException.Reason.MALFORMED, verifier, "abc.def");
+    assertReason(JwtVerificationException.Reason.MALFORMED, verifier, "!!!.e30.AAAA");
+    assertReason(JwtVerificationException.Reason.UNSUPPORTED_ALGORITHM, verifier,
+                 Base64Utility.toBase64Url("{\"alg\":\"XX999\"}") + ".e30.AAAA");
+    assertReason(JwtVerificationException.Reason.ALGORITHM_NOT_PERMITTED, verifier,
+                 Base64Utility.toBase64Url("{\"alg\":\"none\"}") + ".e30.");
+    assertReason(JwtVerificationException.Reason.ALGORITHM_NOT_PERMITTED, verifier,
+                 JwtUtility.sign(claims(), rsaKeyPair.getPrivate(), "rsa"));
+    assertReason(JwtVerificationException.Reason.INVALID_SIGNATURE, verifier,
+                 JwtUtility.sign(claims(), "another secret", "hmac"));
+    String tampered = jwt.substring(0, jwt.lastIndexOf('.') - 2) + "AA" + jwt.substring(jwt.lastIndexOf('.'));
+    assertReason(JwtVerificationException.Reason.INVALID_SIGNATURE, verifier, tampered);
+
+    JwtClaims expired = claims();
+    expired.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(5));
+    assertReason(JwtVerificationException.Reason.EXPIRED, verifier, JwtUtility.sign(expired, SECRET, "hmac"));
+    JwtClaims future = claims();
+    future.setNotBefore(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(5));
+    assertReason(JwtVerificationException.Reason.NOT_YET_VALID, verifier, JwtUtility.sign(future, SECRET, "hmac"));
+
+    JwtVerifier strict = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.HS256)
+      .withSharedSecret("other", SECRET)
+      .withIssuer("someone else")
+      .build();
+    assertReason(JwtVerificationException.Reason.KEY_NOT_FOUND, strict, jwt);
+    JwtVerifier issuer = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.HS256)
+      .withSharedSecret(null, SECRET)
+      .withIssuer("someone else")
+      .build();
+    assertReason(JwtVerificationException.Reason.INVALID_CLAIMS, issuer, jwt);
+  }
+
+  /**
+   * An out of range NumericDate is a malformed token and does not abort a
+   * batch.
+   */
+  @Test
+  public void testNumericDateOutOfRange() throws Exception {
+    JwtVerifier verifier = hmacVerifier();
+    String jwt = JwsBuilder.getInstance()
+      .withStringPayload("{\"sub\":\"subject\",\"exp\":1e300}")
+      .sign(SecretKeyBuilder.fromSharedSecret(SECRET), JwsAlgorithmType.HS256, "hmac")
+      .build();
+    assertReason(JwtVerificationException.Reason.MALFORMED, verifier, jwt);
+    List<JwtVerificationResult> results = verifier.verifyAll(Arrays.asList(jwt, JwtUtility.sign(claims(), SECRET, "hmac")));
+    assertEquals(JwtVerificationException.Reason.MALFORMED, results.get(0).getReason());
+    assertTrue(results.get(1).isValid());
+  }
+
+  @Test
+  public void testClockSkew() throws Exception {
+    JwtClaims claims = claims();
+    String jwt = JwtUtility.sign(claims, SECRET, "hmac");
+    Clock late = Clock.fixed(Instant.ofEpochSecond(claims.getExpiresAt().toEpochSecond() + 10), ZoneOffset.UTC);
+    assertReason(JwtVerificationException.Reason.EXPIRED, JwtVerifier.builder()
+                 .withAlgorithms(JwsAlgorithmType.HS256)
+                 .withSharedSecret("hmac", SECRET)
+                 .withClock(late)
+                 .build(), jwt);
+    JwtVerifier tolerant = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.HS256)
+      .withSharedSecret("hmac", SECRET)
+      .withClock(late)
+      .withClockSkew(Duration.ofMinutes(1))
+      .build();
+    assertEquals("subject", tolerant.verify(jwt).getSubject());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoneNotPermitted() {
+    JwtVerifier.builder().withAlgorithms(JwsAlgorithmType.NONE);
+  }
+
+  @Test
+  public void testConcurrentVerification() throws Exception {
+    JwtVerifier verifier = hmacVerifier();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      JwtClaims claims = claims();
+      claims.setSubject("subject-" + i);
+      tokens.add(JwtUtility.sign(claims, SECRET, "hmac"));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          int verified = 0;
+          for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < tokens.size(); i++) {
+              assertEquals("subject-" + i, verifier.verify(tokens.get(i)).getSubject());
+              verified++;
+            }
+          }
+          return verified;
+        }));
+      }
+      int total = 0;
+      for (Future<Integer> future : futures) {
+        total += future.get();
+      }
+      System.out.println("Concurrently verified " + total + " tokens");
+      assertEquals(8 * 50 * tokens.size(), total);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVerifyAll() throws Exception {
+    JwtVerifier verifier = hmacVerifier();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      JwtClaims claims = claims();
+      claims.setSubject("subject-" + i);
+      String jwt = JwtUtility.sign(claims, SECRET, "hmac");
+      tokens.add(i % 10 == 3 ? jwt.substring(0, jwt.length() - 4) + "AAAA" : i % 10 == 7 ? "garbage" : jwt);
+    }
+    List<JwtVerificationResult> results = verifier.verifyAll(tokens);
+    assertEquals(tokens.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      JwtVerificationResult result = results.get(i);
+      assertEquals(i, result.getIndex());
+      if (i % 10 == 3) {
+        assertEquals(JwtVerificationException.Reason.INVALID_SIGNATURE, result.getReason());
+      } else if (i % 10 == 7) {
+        assertEquals(JwtVerificationException.Reason.MALFORMED, result.getReason());
+      } else {
+        assertTrue(result.isValid());
+        assertEquals("subject-" + i, result.getClaims().getSubject());
+      }
+    }
+    System.out.println(results.get(3));
+    /**
+     * The same batch on a supplied executor, and with a streamed source.
+     */
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<JwtVerificationResult> executed = verifier.verifyAll(new LinkedList<>(tokens), executor);
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals(results.get(i).getReason(), executed.get(i).getReason());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    List<JwtVerificationResult> streamed = verifier.verifyAll(tokens.parallelStream()).collect(Collectors.toList());
+    assertEquals(tokens.size(), streamed.size());
+    for (int i = 0; i < streamed.size(); i++) {
+      assertEquals(i, streamed.get(i).getIndex());
+      assertEquals(results.get(i).getReason(), streamed.get(i).getReason());
+    }
+    assertTrue(verifier.verifyAll(Collections.<String>emptyList()).isEmpty());
+  }
+
+  private static void assertReason(JwtVerificationException.Reason expected, JwtVerifier verifier, String jwt) {
+    try {
+      verifier.verify(jwt);
+      fail("Expected " + expected);
+    } catch (JwtVerificationException ex) {
+      System.out.println(expected + " " + ex.getMessage());
+      assertEquals(expected, ex.getReason());
+    }
+  }
+
+  /**
+   * Convert a DER ECDSA signature to the fixed length R || S form.
+   */
+  private static byte[] derToRaw(byte[] der, int size) {
+    int offset = der[1] == (byte) 0x81 ? 3 : 2;
+    byte[] raw = new byte[2 * size];
+    for (int i = 0; i < 2; i++) {
+      int length = der[offset + 1];
+      int start = offset + 2;
+      int copy = Math.min(length, size);
+      System.arraycopy(der, start + length - copy, raw, (i + 1) * size - copy, copy);
+      offset = start + length;
+    }
+    return raw;
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.Duration;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jwt.RejectedTokenCacheTest.otherKeyPair;
+import static org.ietf.jose.jwt.RejectedTokenCacheTest.reject;
+import static org.ietf.jose.jwt.RejectedTokenCacheTest.token;
+import static org.ietf.jose.jwt.RejectedTokenCacheTest.verifier;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RejectedTokenCacheBenchmark {
+
+  private static final int ITERATIONS = 2000;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    RejectedTokenCacheTest.generateKeyPairs();
+  }
+
+  /**
+   * Rejecting the same forged RS256 token with and without the cache.
+   */
+  @Test
+  public void benchmarkRepeatedRejection() throws Exception {
+    String forged = token(otherKeyPair, null);
+    JwtVerifier uncached = verifier(null);
+    JwtVerifier cached = verifier(new RejectedTokenCache(1000, Duration.ofMinutes(1)));
+    for (int i = 0; i < ITERATIONS; i++) {
+      reject(uncached, forged);
+      reject(cached, forged);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      reject(uncached, forged);
+    }
+    long uncachedNanos = (System.nanoTime() - start) / ITERATIONS;
+    int cachedIterations = 50 * ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < cachedIterations; i++) {
+      reject(cached, forged);
+    }
+    long cachedNanos = (System.nanoTime() - start) / cachedIterations;
+    System.out.println("RS256 reject uncached  " + uncachedNanos + " ns");
+    System.out.println("RS256 reject cached    " + cachedNanos + " ns");
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RejectedTokenCacheTest {
+
+  private static KeyPair rsaKeyPair;
+  static KeyPair otherKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPairs() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    rsaKeyPair = generator.generateKeyPair();
+    otherKeyPair = generator.generateKeyPair();
+  }
+
+  static JwtVerifier verifier(RejectedTokenCache rejectedCache) throws Exception {
+    return JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey(rsaKeyPair.getPublic())
+      .withRejectedCache(rejectedCache)
+      .build();
+  }
+
+  static String token(KeyPair keyPair, ZonedDateTime notBefore) throws Exception {
+    JwtClaims claims = new JwtClaims();
+    claims.setSubject("subject");
+    claims.setNotBefore(notBefore);
+    claims.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    return JwtUtility.sign(claims, keyPair.getPrivate(), "rsa");
+  }
+
+  static JwtVerificationException.Reason reject(JwtVerifier verifier, String jwt) {
+    try {
+      verifier.verify(jwt);
+      fail("Expected a rejection");
+      return null;
+    } catch (JwtVerificationException ex) {
+      return ex.getReason();
+    }
+  }
+
+  @Test
+  public void testRepeatedRejection() throws Exception {
+    RejectedTokenCache rejectedCache = new RejectedTokenCache(100, Duration.ofMinutes(1));
+    JwtVerifier verifier = verifier(rejectedCache);
+    String forged = token(otherKeyPair, null);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(JwtVerificationException.Reason.INVALID_SIGNATURE, reject(verifier, forged));
+    }
+    assertEquals(JwtVerificationException.Reason.MALFORMED, reject(verifier, "not.a-token"));
+    assertEquals(JwtVerificationException.Reason.MALFORMED, reject(verifier, "not.a-token"));
+    assertEquals(9, rejectedCache.getHitCount(JwtVerificationException.Reason.INVALID_SIGNATURE));
+    assertEquals(1, rejectedCache.getHitCount(JwtVerificationException.Reason.MALFORMED));
+    assertEquals(10, rejectedCache.getHitCount());
+    assertEquals(2, rejectedCache.getMissCount());
+    System.out.println("Hit rate " + rejectedCache.getHitRate());
+
+    String valid = token(rsaKeyPair, null);
+    assertEquals("subject", verifier.verify(valid).getSubject());
+    assertEquals(2, rejectedCache.size());
+  }
+
+  @Test
+  public void testNotYetValidIsNotRecorded() throws Exception {
+    RejectedTokenCache rejectedCache = new RejectedTokenCache(100, Duration.ofMinutes(1));
+    JwtVerifier verifier = verifier(rejectedCache);
+    String early = token(rsaKeyPair, ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(5));
+    assertEquals(JwtVerificationException.Reason.NOT_YET_VALID, reject(verifier, early));
+    assertEquals(0, rejectedCache.size());
+  }
+
+  @Test
+  public void testBoundToKeyConfiguration() throws Exception {
+    RejectedTokenCache rejectedCache = new RejectedTokenCache(100, Duration.ofMinutes(1));
+    String jwt = token(otherKeyPair, null);
+    assertEquals(JwtVerificationException.Reason.INVALID_SIGNATURE, reject(verifier(rejectedCache), jwt));
+    JwtVerifier rotated = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey(otherKeyPair.getPublic())
+      .withRejectedCache(rejectedCache)
+      .build();
+    assertEquals("subject", rotated.verify(jwt).getSubject());
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.ietf.jose.jwt.VerifiedTokenCacheTest.token;
+import static org.ietf.jose.jwt.VerifiedTokenCacheTest.verifier;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class VerifiedTokenCacheBenchmark {
+
+  private static final int ITERATIONS = 2000;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    VerifiedTokenCacheTest.generateKeyPair();
+  }
+
+  /**
+   * Verifying the same RS256 token with and without the cache.
+   */
+  @Test
+  public void benchmarkRepeatedToken() throws Exception {
+    String jwt = token(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    JwtVerifier uncached = verifier(null, Clock.systemUTC());
+    JwtVerifier cached = verifier(new VerifiedTokenCache(1000), Clock.systemUTC());
+    for (int i = 0; i < ITERATIONS; i++) {
+      uncached.verify(jwt);
+      cached.verify(jwt);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      uncached.verify(jwt);
+    }
+    long uncachedNanos = (System.nanoTime() - start) / ITERATIONS;
+    int cachedIterations = 50 * ITERATIONS;
+    for (int i = 0; i < cachedIterations; i++) {
+      cached.verify(jwt);
+    }
+    start = System.nanoTime();
+    for (int i = 0; i < cachedIterations; i++) {
+      cached.verify(jwt);
+    }
+    long cachedNanos = (System.nanoTime() - start) / cachedIterations;
+    System.out.println("RS256 verify uncached  " + uncachedNanos + " ns");
+    System.out.println("RS256 verify cached    " + cachedNanos + " ns");
+  }
+
+}
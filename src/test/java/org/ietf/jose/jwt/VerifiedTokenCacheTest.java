@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.jwt;
+
+import ch.keybridge.jose.JwtUtility;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.ietf.jose.jwa.JwsAlgorithmType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class VerifiedTokenCacheTest {
+
+  private static KeyPair rsaKeyPair;
+
+  @BeforeClass
+  public static void generateKeyPair() throws Exception {
+    rsaKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+  }
+
+  /**
+   * A clock that is advanced by the test.
+   */
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant instant = Instant.now();
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+  static JwtVerifier verifier(VerifiedTokenCache cache, Clock clock) throws Exception {
+    return JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey(rsaKeyPair.getPublic())
+      .withClock(clock)
+      .withCache(cache)
+      .build();
+  }
+
+  static String token(ZonedDateTime expiresAt) throws Exception {
+    JwtClaims claims = new JwtClaims();
+    claims.setSubject("subject");
+    claims.setExpiresAt(expiresAt);
+    return JwtUtility.sign(claims, rsaKeyPair.getPrivate(), "rsa");
+  }
+
+  @Test
+  public void testHitReturnsCopy() throws Exception {
+    VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    JwtVerifier verifier = verifier(cache, Clock.systemUTC());
+    String jwt = token(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    JwtClaims first = verifier.verify(jwt);
+    first.setSubject("modified by caller");
+    JwtClaims second = verifier.verify(jwt);
+    assertEquals("subject", second.getSubject());
+    assertNotSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void testBoundToKeyConfiguration() throws Exception {
+    VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    String jwt = token(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+    verifier(cache, Clock.systemUTC()).verify(jwt);
+    KeyPair other = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    JwtVerifier rotated = JwtVerifier.builder()
+      .withAlgorithms(JwsAlgorithmType.RS256)
+      .withKey(other.getPublic())
+      .withCache(cache)
+      .build();
+    try {
+      rotated.verify(jwt);
+      fail("A result cached for other keys must not be used");
+    } catch (JwtVerificationException ex) {
+      assertEquals(JwtVerificationException.Reason.INVALID_SIGNATURE, ex.getReason());
+    }
+  }
+
+  @Test
+  public void testNeverOutlivesExpiry() throws Exception {
+    VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    MutableClock clock = new MutableClock();
+    JwtVerifier verifier = verifier(cache, clock);
+    String jwt = token(ZonedDateTime.ofInstant(clock.instant().plusSeconds(60), ZoneOffset.UTC));
+    verifier.verify(jwt);
+    verifier.verify(jwt);
+    assertEquals(1, cache.getHitCount());
+    clock.instant = clock.instant.plusSeconds(61);
+    try {
+      verifier.verify(jwt);
+      fail("Expired token must not be served from the cache");
+    } catch (JwtVerificationException ex) {
+      assertEquals(JwtVerificationException.Reason.EXPIRED, ex.getReason());
+    }
+    assertEquals(0, cache.size());
+  }
+
+}
@@ -1,9 +1,15 @@
 package org.ietf.jose.util;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
 import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @author Andrius Druzinis-Vitkus
@@ -26,4 +32,90 @@ public class Base64UtilityTest {
     byte[] output = Base64Utility.fromBase64Url(base64Url);
     assertArrayEquals(input, output);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void offsetCodecTest() {
+    Random random = new Random(42);
+    for (int length = 0; length < 100; length++) {
+      byte[] input = new byte[length];
+      random.nextBytes(input);
+      String expected = Base64.getUrlEncoder().withoutPadding().encodeToString(input);
+      assertEquals(expected.length(), Base64Utility.encodedLength(length));
+      assertEquals(length, Base64Utility.decodedLength(expected.length()));
+      /**
+       * Encode from an offset into an offset, as characters and as bytes.
+       */
+      byte[] source = new byte[length + 7];
+      System.arraycopy(input, 0, source, 3, length);
+      char[] chars = new char[expected.length() + 5];
+      assertEquals(expected.length(), Base64Utility.encodeInto(source, 3, length, chars, 2));
+      assertEquals(expected, new String(chars, 2, expected.length()));
+      byte[] ascii = new byte[expected.length() + 5];
+      assertEquals(expected.length(), Base64Utility.encodeInto(source, 3, length, ascii, 1));
+      assertEquals(expected, new String(ascii, 1, expected.length(), StandardCharsets.US_ASCII));
+      /**
+       * Decode from an offset into an offset.
+       */
+      String padded = "xx." + expected + ".yy";
+      byte[] decoded = new byte[length + 4];
+      assertEquals(length, Base64Utility.decode(padded, 3, expected.length(), decoded, 2));
+      assertArrayEquals(input, Arrays.copyOfRange(decoded, 2, 2 + length));
+      byte[] paddedBytes = padded.getBytes(StandardCharsets.US_ASCII);
+      assertArrayEquals(input, Base64Utility.fromBase64Url(paddedBytes, 3, expected.length()));
+      /**
+       * Padded input is accepted.
+       */
+      String withPadding = Base64.getUrlEncoder().encodeToString(input);
+      assertArrayEquals(input, Base64Utility.fromBase64Url((CharSequence) withPadding, 0, withPadding.length()));
+    }
+  }
+
+  @Test
+  public void byteBufferCodecTest() {
+    byte[] input = new byte[1000];
+    new Random(7).nextBytes(input);
+    String expected = Base64.getUrlEncoder().withoutPadding().encodeToString(input);
+    for (boolean direct : new boolean[]{false, true}) {
+      ByteBuffer src = direct ? ByteBuffer.allocateDirect(input.length) : ByteBuffer.allocate(input.length);
+      src.put(input).flip();
+      int encodedLength = Base64Utility.encodedLength(input.length);
+      ByteBuffer encoded = direct ? ByteBuffer.allocateDirect(encodedLength) : ByteBuffer.allocate(encodedLength);
+      assertEquals(encodedLength, Base64Utility.encodeInto(src, encoded));
+      assertEquals(0, src.remaining());
+      assertEquals(0, encoded.remaining());
+      encoded.flip();
+      byte[] ascii = new byte[encoded.remaining()];
+      encoded.duplicate().get(ascii);
+      assertEquals(expected, new String(ascii, StandardCharsets.US_ASCII));
+
+      ByteBuffer decoded = direct ? ByteBuffer.allocateDirect(input.length) : ByteBuffer.allocate(input.length);
+      assertEquals(input.length, Base64Utility.decode(encoded, decoded));
+      decoded.flip();
+      byte[] output = new byte[decoded.remaining()];
+      decoded.get(output);
+      assertArrayEquals(input, output);
+    }
+  }
+
+  @Test
+  public void invalidInputTest() {
+    for (String invalid : new String[]{"a", "ab+c", "ab/c", "ab c", "abc\u00e9"}) {
+      try {
+        Base64Utility.fromBase64Url((CharSequence) invalid, 0, invalid.length());
+        fail("Expected IllegalArgumentException for " + invalid);
+      } catch (IllegalArgumentException ex) {
+        System.out.println("invalid " + invalid + " : " + ex.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void compactSerializationTest() {
+    byte[] a = "{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8);
+    byte[] b = new byte[]{1, 2, 3, 4};
+    assertEquals(Base64Utility.toBase64Url(a) + ".." + Base64Utility.toBase64Url(b),
+                 Base64Utility.toCompactSerialization(a, null, b));
+    assertEquals(Base64Utility.toBase64Url(a) + "." + Base64Utility.toBase64Url(b) + ".",
+                 Base64Utility.toCompactSerialization(a, b, new byte[0]));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class CompactTokenizerTest {
+
+  private static final String HEADER = Base64Utility.toBase64Url("{\"alg\":\"HS256\"}");
+  private static final String PAYLOAD = Base64Utility.toBase64Url("{\"sub\":\"é\"}");
+  private static final String SIGNATURE = Base64Utility.toBase64Url(new byte[]{1, 2, 3, 4, 5});
+  private static final String JWS = HEADER + '.' + PAYLOAD + '.' + SIGNATURE;
+
+  @Test
+  public void testSources() {
+    byte[] ascii = JWS.getBytes(StandardCharsets.US_ASCII);
+    byte[] padded = ("xx" + JWS + "yy").getBytes(StandardCharsets.US_ASCII);
+    ByteBuffer direct = ByteBuffer.allocateDirect(ascii.length);
+    direct.put(ascii).flip();
+
+    List<CompactTokenizer> tokenizers = Arrays.asList(CompactTokenizer.of(JWS),
+                                                      CompactTokenizer.of(new StringBuilder(JWS)),
+                                                      CompactTokenizer.of(ascii),
+                                                      CompactTokenizer.of(padded, 2, ascii.length),
+                                                      CompactTokenizer.of(direct));
+    for (CompactTokenizer tokenizer : tokenizers) {
+      assertEquals(3, tokenizer.getSegmentCount());
+      assertEquals(HEADER, tokenizer.getSegment(0));
+      assertEquals(PAYLOAD, tokenizer.getSegment(1));
+      assertEquals(SIGNATURE, tokenizer.getSegment(2));
+      assertEquals(PAYLOAD.length(), tokenizer.getLength(1));
+      assertEquals("{\"alg\":\"HS256\"}", new String(tokenizer.decode(0), StandardCharsets.UTF_8));
+      assertEquals("{\"sub\":\"é\"}", new String(tokenizer.decode(1), StandardCharsets.UTF_8));
+      assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, tokenizer.decode(2));
+      assertArrayEquals((HEADER + '.' + PAYLOAD).getBytes(StandardCharsets.US_ASCII), tokenizer.getSigningInput());
+      assertArrayEquals(HEADER.getBytes(StandardCharsets.US_ASCII), tokenizer.getAsciiBytes(0));
+    }
+    assertEquals(2, CompactTokenizer.of(padded, 2, ascii.length).getOffset(0));
+    assertEquals(0, direct.position());
+    System.out.println("CompactTokenizerTest testSources OK");
+  }
+
+  @Test
+  public void testEmptySegments() {
+    CompactTokenizer tokenizer = CompactTokenizer.of(HEADER + "..iv.ct.tag");
+    assertEquals(5, tokenizer.getSegmentCount());
+    assertEquals(0, tokenizer.getLength(1));
+    assertEquals(0, tokenizer.decode(1).length);
+    assertEquals("tag", tokenizer.getSegment(4));
+
+    tokenizer = CompactTokenizer.of(HEADER + '.' + PAYLOAD + '.');
+    assertEquals(3, tokenizer.getSegmentCount());
+    assertEquals(0, tokenizer.decode(2).length);
+
+    assertEquals(1, CompactTokenizer.of("").getSegmentCount());
+    assertEquals(7, CompactTokenizer.of("a.b.c.d.e.f.g").getSegmentCount());
+    assertEquals("e", CompactTokenizer.of("a.b.c.d.e.f.g").getSegment(4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRequireSegmentCount() {
+    CompactTokenizer.of("a.b").requireSegmentCount(3, "JWS");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCharacter() {
+    CompactTokenizer.of("aébc.d.e").decode(0);
+  }
+
+}
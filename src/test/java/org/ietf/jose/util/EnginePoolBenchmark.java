@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class EnginePoolBenchmark {
+
+  private static final int ITERATIONS = 20000;
+
+  /**
+   * Mac.getInstance per call against the pooled HMAC engine.
+   */
+  @Test
+  public void benchmarkPooledMac() throws Exception {
+    byte[] payload = new byte[64];
+    SecretKeySpec key = new SecretKeySpec(new byte[32], "HmacSHA256");
+    for (int i = 0; i < ITERATIONS; i++) {
+      CryptographyUtility.sign(payload, key, "HmacSHA256");
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(key);
+      mac.doFinal(payload);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(key);
+      mac.doFinal(payload);
+    }
+    long lookupNanos = (System.nanoTime() - start) / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      CryptographyUtility.sign(payload, key, "HmacSHA256");
+    }
+    long pooledNanos = (System.nanoTime() - start) / ITERATIONS;
+    System.out.println("Mac.getInstance per call  " + lookupNanos + " ns");
+    System.out.println("JcaEngines pooled Mac     " + pooledNanos + " ns");
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class EnginePoolTest {
+
+  @Test
+  public void testSamePoolPerAlgorithm() throws Exception {
+    assertSame(JcaEngines.mac("HmacSHA256"), JcaEngines.mac("HmacSHA256"));
+    assertNotSame(JcaEngines.mac("HmacSHA256"), JcaEngines.mac("HmacSHA512"));
+    assertNotSame(JcaEngines.mac("HmacSHA256"), JcaEngines.mac("HmacSHA256", "SunJCE"));
+  }
+
+  @Test(expected = NoSuchAlgorithmException.class)
+  public void testUnknownAlgorithm() throws Exception {
+    JcaEngines.mac("HmacNoSuchThing");
+  }
+
+  @Test
+  public void testBorrowReleaseReuse() throws Exception {
+    EnginePool<MessageDigest> pool = JcaEngines.messageDigest("SHA-256");
+    MessageDigest first = pool.borrow();
+    first.update((byte) 1); // left dirty; release must reset
+    pool.release(first);
+    MessageDigest second = pool.borrow();
+    try {
+      assertSame(first, second);
+      byte[] expected = MessageDigest.getInstance("SHA-256").digest("abc".getBytes(StandardCharsets.UTF_8));
+      assertArrayEquals(expected, second.digest("abc".getBytes(StandardCharsets.UTF_8)));
+    } finally {
+      pool.release(second);
+    }
+  }
+
+  @Test
+  public void testConcurrentUse() throws Exception {
+    EnginePool<Mac> pool = JcaEngines.mac("HmacSHA256");
+    byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+    SecretKeySpec key = new SecretKeySpec(new byte[32], "HmacSHA256");
+    Mac reference = Mac.getInstance("HmacSHA256");
+    reference.init(key);
+    byte[] expected = reference.doFinal(payload);
+
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            Mac mac = pool.borrow();
+            try {
+              mac.init(key);
+              if (!Arrays.equals(expected, mac.doFinal(payload))) {
+                return false;
+              }
+            } finally {
+              pool.release(mac);
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    System.out.println("pooled HmacSHA256 engines available " + pool.available());
+    assertTrue(pool.available() > 0);
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ExpiringCacheTest {
+
+  @Test
+  public void testExpiry() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(100);
+    cache.put("a", "alpha", 1000, 0);
+    cache.put("b", "bravo", 10, 20);
+    assertEquals("alpha", cache.get("a", 999));
+    assertNull("Already expired values are not stored", cache.get("b", 0));
+    assertNull(cache.get("a", 1000));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testScanResistance() {
+    ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(16);
+    /**
+     * Read the hot keys twice so they are promoted to the protected segment.
+     */
+    for (int i = 0; i < 8; i++) {
+      cache.put(i, i, Long.MAX_VALUE, 0);
+      assertEquals(Integer.valueOf(i), cache.get(i, 0));
+    }
+    for (int i = 1000; i < 2000; i++) {
+      cache.put(i, i, Long.MAX_VALUE, 0);
+    }
+    assertTrue(cache.size() <= 16);
+    for (int i = 0; i < 8; i++) {
+      assertEquals("A scan must not evict hot key " + i, Integer.valueOf(i), cache.get(i, 0));
+    }
+    System.out.println("Evictions " + cache.getEvictionCount());
+    assertTrue(cache.getEvictionCount() > 0);
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(1000);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      int base = t * 100000;
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 20000; i++) {
+          cache.put(base + i, i, Long.MAX_VALUE, 0);
+          cache.get(base + i / 2, 0);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    System.out.println("Size " + cache.size() + " hits " + cache.getHitCount() + " misses " + cache.getMissCount());
+    assertTrue(cache.size() <= 1000 + 64);
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+}
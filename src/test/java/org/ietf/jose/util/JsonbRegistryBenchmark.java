@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.lang.management.ManagementFactory;
+import java.time.ZonedDateTime;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
+import org.ietf.jose.jwt.JwtClaims;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JsonbRegistryBenchmark {
+
+  private static final int ITERATIONS = 200;
+
+  /**
+   * A new engine per call against the shared registry engine: time and
+   * allocation per call.
+   */
+  @Test
+  public void benchmarkEngineReuse() throws Exception {
+    JwtClaims claims = new JwtClaims();
+    claims.setIssuer("issuer");
+    claims.setSubject("subject");
+    claims.setExpiresAt(ZonedDateTime.now().plusHours(1));
+    /**
+     * Warm up both paths.
+     */
+    JsonbConfig config = new JsonbConfig().withAdapters(new JsonZonedDateTimeEpochAdapter());
+    for (int i = 0; i < 20; i++) {
+      try (Jsonb jsonb = JsonbBuilder.create(config)) {
+        jsonb.toJson(claims);
+      }
+      JsonbRegistry.getJsonb(config).toJson(claims);
+    }
+
+    long allocated = allocatedBytes();
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      try (Jsonb jsonb = JsonbBuilder.create(config)) {
+        jsonb.toJson(claims);
+      }
+    }
+    long createNanos = (System.nanoTime() - start) / ITERATIONS;
+    long createBytes = (allocatedBytes() - allocated) / ITERATIONS;
+
+    allocated = allocatedBytes();
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      JsonbRegistry.getJsonb(config).toJson(claims);
+    }
+    long sharedNanos = (System.nanoTime() - start) / ITERATIONS;
+    long sharedBytes = (allocatedBytes() - allocated) / ITERATIONS;
+
+    System.out.println("JsonbBuilder.create per call  " + createNanos + " ns, " + createBytes + " bytes");
+    System.out.println("JsonbRegistry shared engine   " + sharedNanos + " ns, " + sharedBytes + " bytes");
+  }
+
+  /**
+   * Get the bytes allocated by the current thread, if supported by the JVM.
+   *
+   * @return the allocated bytes, or -1 if not supported
+   */
+  static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+}
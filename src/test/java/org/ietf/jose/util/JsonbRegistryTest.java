@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.util.Collections;
+import java.util.Map;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.adapter.JsonbAdapter;
+import org.ietf.jose.adapter.JsonZonedDateTimeEpochAdapter;
+import org.ietf.jose.jwt.JwtClaims;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class JsonbRegistryTest {
+
+  @Test
+  public void testSameConfigurationSharesEngine() {
+    Jsonb first = JsonbRegistry.getJsonb(new JsonbConfig().withFormatting(true));
+    Jsonb second = JsonbRegistry.getJsonb(new JsonbConfig().withFormatting(true));
+    assertSame(first, second);
+
+    Jsonb adapted = JsonbRegistry.getJsonb(new JsonbConfig().withAdapters(new JsonZonedDateTimeEpochAdapter()));
+    Jsonb adaptedAgain = JsonbRegistry.getJsonb(new JsonbConfig().withAdapters(new JsonZonedDateTimeEpochAdapter()));
+    assertSame(adapted, adaptedAgain);
+  }
+
+  @Test
+  public void testDifferentConfigurationDoesNotShareEngine() {
+    Jsonb formatted = JsonbRegistry.getJsonb(new JsonbConfig().withFormatting(true));
+    Jsonb compact = JsonbRegistry.getJsonb(new JsonbConfig().withFormatting(false));
+    assertNotSame(formatted, compact);
+  }
+
+  /**
+   * Two differently configured instances of the same adapter class must not
+   * share an engine.
+   */
+  @Test
+  public void testStatefulAdaptersDoNotShareEngine() {
+    Jsonb lower = JsonbRegistry.getJsonb(new JsonbConfig().withAdapters(new CaseAdapter(false)));
+    Jsonb upper = JsonbRegistry.getJsonb(new JsonbConfig().withAdapters(new CaseAdapter(true)));
+    assertNotSame(lower, upper);
+    assertEquals("{\"value\":\"jose\"}", lower.toJson(new Named("JoSe")));
+    assertEquals("{\"value\":\"JOSE\"}", upper.toJson(new Named("JoSe")));
+  }
+
+  @Test
+  public void testCopyDoesNotModifyOriginal() throws Exception {
+    JsonbWriter writer = new JsonbWriter();
+    JsonbWriter formatted = writer.copy().withFormatting(true);
+    assertNotSame(writer, formatted);
+    String compactJson = writer.marshal(new JwtClaims());
+    String formattedJson = formatted.marshal(new JwtClaims());
+    System.out.println("compact   " + compactJson);
+    System.out.println("formatted " + formattedJson);
+    assertFalse(compactJson.contains("\n"));
+    assertTrue(formattedJson.contains("\n"));
+  }
+
+  @Test
+  public void testWithModifiesInPlace() throws Exception {
+    JsonbWriter writer = new JsonbWriter();
+    assertSame(writer, writer.withFormatting(true));
+    assertTrue(writer.marshal(new JwtClaims()).contains("\n"));
+    JsonbUtility utility = new JsonbUtility();
+    assertSame(utility, utility.withFormatting(true));
+    assertTrue(utility.marshal(new JwtClaims()).contains("\n"));
+  }
+
+  /**
+   * A value type that is adapted to a JSON object.
+   */
+  public static class Named {
+
+    private final String name;
+
+    public Named(String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * An adapter whose output depends on its configuration.
+   */
+  public static class CaseAdapter implements JsonbAdapter<Named, Map<String, String>> {
+
+    private final boolean upperCase;
+
+    public CaseAdapter(boolean upperCase) {
+      this.upperCase = upperCase;
+    }
+
+    @Override
+    public Map<String, String> adaptToJson(Named named) {
+      return Collections.singletonMap("value", upperCase ? named.name.toUpperCase() : named.name.toLowerCase());
+    }
+
+    @Override
+    public Named adaptFromJson(Map<String, String> json) {
+      return new Named(json.get("value"));
+    }
+  }
+
+}
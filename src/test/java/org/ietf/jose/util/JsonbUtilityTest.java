@@ -18,7 +18,10 @@
  */
 package org.ietf.jose.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
@@ -80,4 +83,41 @@ public class JsonbUtilityTest {
     assertEquals(original, unmarshalledFromPrettyJson);
   }
 
+  @Test
+  public void jsonMarshalUnmarshalBytes() throws NoSuchAlgorithmException, IOException, GeneralSecurityException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    JsonWebEncryption original = JweBuilder.getInstance()
+      .withBinaryPayload("somePayload \u00e9".getBytes(StandardCharsets.UTF_8))
+      .buildJweJsonFlattened(keyPair.getPublic(), "someKeyId \u00e9");
+    JsonbUtility utility = new JsonbUtility();
+
+    byte[] bytes = utility.marshalToBytes(original);
+    assertEquals(utility.marshal(original), new String(bytes, StandardCharsets.UTF_8));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        throw new AssertionError("the caller's stream must not be closed");
+      }
+    };
+    utility.marshal(original, outputStream);
+    outputStream.write('\n'); // still open
+    assertEquals(bytes.length + 1, outputStream.size());
+
+    assertEquals(original, utility.unmarshal(bytes, JsonWebEncryption.class));
+    assertEquals(original, utility.unmarshal(new ByteArrayInputStream(bytes), JsonWebEncryption.class));
+    ByteBuffer heap = ByteBuffer.allocate(bytes.length + 4);
+    heap.position(2);
+    heap.put(bytes).flip().position(2);
+    assertEquals(original, utility.unmarshal(heap, JsonWebEncryption.class));
+    assertEquals(2, heap.position());
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    assertEquals(original, utility.unmarshal(direct, JsonWebEncryption.class));
+    assertEquals(0, direct.position());
+    System.out.println("JsonbUtilityTest jsonMarshalUnmarshalBytes OK");
+  }
+
 }
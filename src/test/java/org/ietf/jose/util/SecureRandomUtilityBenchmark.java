@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.jose.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SecureRandomUtilityBenchmark {
+
+  /**
+   * A new SHA1PRNG per call against the shared, buffered SecureRandom.
+   */
+  @Test
+  public void benchmarkGenerateBytes() throws NoSuchAlgorithmException {
+    int iterations = 2000;
+    for (int i = 0; i < iterations; i++) {
+      SecureRandom.getInstance("SHA1PRNG").nextBytes(new byte[12]);
+      SecureRandomUtility.generateBytes(12);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      SecureRandom.getInstance("SHA1PRNG").nextBytes(new byte[12]);
+    }
+    long perCallNanos = (System.nanoTime() - start) / iterations;
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      SecureRandomUtility.generateBytes(12);
+    }
+    long sharedNanos = (System.nanoTime() - start) / iterations;
+    System.out.println("new SHA1PRNG per call     " + perCallNanos + " ns");
+    System.out.println("shared buffered random    " + sharedNanos + " ns");
+  }
+
+}
@@ -21,6 +21,12 @@ package org.ietf.jose.util;
 import org.junit.Test;
 
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -41,6 +47,34 @@ public class SecureRandomUtilityTest {
     }
 
   }
+  @Test
+  public void testBufferedBytesAreNotRepeated() throws NoSuchAlgorithmException {
+    Set<String> seen = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(seen.add(bytesToHex(SecureRandomUtility.generateBytes(12))));
+    }
+    byte[] region = new byte[40];
+    SecureRandomUtility.nextBytes(region, 8, 16);
+    for (int i = 0; i < 8; i++) {
+      assertEquals(0, region[i]);
+      assertEquals(0, region[24 + i]);
+    }
+    assertEquals(128, SecureRandomUtility.generateBytes(128).length);
+  }
+
+  @Test
+  public void testConfigure() throws NoSuchAlgorithmException {
+    SecureRandom original = SecureRandomUtility.getSecureRandom();
+    System.out.println("Default SecureRandom algorithm " + original.getAlgorithm());
+    try {
+      SecureRandomUtility.configure("NoSuchAlgorithm, SHA1PRNG");
+      assertEquals("SHA1PRNG", SecureRandomUtility.getSecureRandom().getAlgorithm());
+      assertEquals(16, SecureRandomUtility.generateBytes(16).length);
+    } finally {
+      SecureRandomUtility.configure(original);
+    }
+  }
+
   private final static char[] hexArray = "0123456789ABCDEF".toCharArray();
 
   public static String bytesToHex(byte[] bytes) {